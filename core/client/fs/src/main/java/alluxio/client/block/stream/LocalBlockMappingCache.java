@@ -0,0 +1,145 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.collections.Pair;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of read-only memory mappings of local block files, shared by all short circuit streams
+ * of the client reading the same block from the same worker.
+ *
+ * A mapping is reference counted: each stream acquires it while it holds the worker lock on the
+ * block, and releases it before releasing the lock. The mapping is removed from the cache when the
+ * last reference is released, as the worker may then move or evict the block. The memory of a
+ * removed mapping is unmapped once it is garbage collected, as slices of it may still be in use.
+ */
+@ThreadSafe
+public final class LocalBlockMappingCache {
+  private static final LocalBlockMappingCache INSTANCE = new LocalBlockMappingCache();
+
+  private final ConcurrentMap<Pair<WorkerNetAddress, Long>, Mapping> mMappings =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @return the cache shared by all streams of the client
+   */
+  public static LocalBlockMappingCache getInstance() {
+    return INSTANCE;
+  }
+
+  @VisibleForTesting
+  LocalBlockMappingCache() {}
+
+  /**
+   * Acquires the mapping of a block file, mapping the file if it is not mapped yet. The mapping
+   * must be released with {@link #release(Mapping)}.
+   *
+   * @param address the address of the worker storing the block
+   * @param blockId the block id
+   * @param path the path of the block file
+   * @return the mapping, or null if the file is too large to be mapped at once
+   */
+  @Nullable
+  public Mapping acquire(WorkerNetAddress address, long blockId, String path) throws IOException {
+    Pair<WorkerNetAddress, Long> key = new Pair<>(address, blockId);
+    Mapping mapping = mMappings.computeIfPresent(key, (k, m) -> m.retain());
+    if (mapping != null) {
+      return mapping;
+    }
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        return null;
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    // another stream may have mapped the file in the meantime, in which case its mapping is used
+    return mMappings.compute(key, (k, m) -> m == null ? new Mapping(key, buffer) : m.retain());
+  }
+
+  /**
+   * Releases a mapping acquired with {@link #acquire}.
+   *
+   * @param mapping the mapping
+   */
+  public void release(Mapping mapping) {
+    mMappings.computeIfPresent(mapping.mKey, (k, m) -> {
+      Preconditions.checkState(m == mapping, "Releasing mapping %s which is not cached", mapping);
+      return --m.mReferences == 0 ? null : m;
+    });
+  }
+
+  /**
+   * @return the number of cached mappings
+   */
+  @VisibleForTesting
+  int size() {
+    return mMappings.size();
+  }
+
+  /**
+   * A read-only mapping of a block file.
+   */
+  @ThreadSafe
+  public static final class Mapping {
+    private final Pair<WorkerNetAddress, Long> mKey;
+    private final ByteBuffer mBuffer;
+    /** Number of streams using the mapping, only updated within updates of its cache entry. */
+    private int mReferences = 1;
+
+    private Mapping(Pair<WorkerNetAddress, Long> key, MappedByteBuffer buffer) {
+      mKey = key;
+      mBuffer = buffer.asReadOnlyBuffer();
+    }
+
+    private Mapping retain() {
+      mReferences++;
+      return this;
+    }
+
+    /**
+     * @return the length of the block file
+     */
+    public long getLength() {
+      return mBuffer.capacity();
+    }
+
+    /**
+     * @param offset the offset in the block file
+     * @param length the number of bytes
+     * @return a read-only buffer sharing the mapped memory of the given range of the file
+     */
+    public ByteBuffer slice(long offset, long length) {
+      Preconditions.checkArgument(offset >= 0 && length >= 0 && offset + length <= getLength(),
+          "offset=%s, length=%s, exceeding fileSize=%s", offset, length, getLength());
+      ByteBuffer buffer = mBuffer.duplicate();
+      buffer.position((int) offset);
+      buffer.limit((int) (offset + length));
+      return buffer.slice();
+    }
+  }
+}
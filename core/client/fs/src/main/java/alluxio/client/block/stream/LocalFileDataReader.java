@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -43,6 +44,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class LocalFileDataReader implements DataReader {
   /** The file reader to read a local block. */
   private final LocalFileBlockReader mReader;
+  /** The shared mapping of the block file to read from instead of the file reader, if any. */
+  @Nullable
+  private final LocalBlockMappingCache.Mapping mMapping;
   private final long mEnd;
   private final long mChunkSize;
   private long mPos;
@@ -52,12 +56,15 @@ public final class LocalFileDataReader implements DataReader {
    * Creates an instance of {@link LocalFileDataReader}.
    *
    * @param reader the file reader to the block path
+   * @param mapping the mapping of the block file, or null to read through the file reader
    * @param offset the offset
    * @param len the length to read
    * @param chunkSize the chunk size
    */
-  private LocalFileDataReader(LocalFileBlockReader reader, long offset, long len, long chunkSize) {
+  private LocalFileDataReader(LocalFileBlockReader reader,
+      @Nullable LocalBlockMappingCache.Mapping mapping, long offset, long len, long chunkSize) {
     mReader = reader;
+    mMapping = mapping;
     Preconditions.checkArgument(chunkSize > 0);
     mPos = offset;
     mEnd = Math.min(mReader.getLength(), offset + len);
@@ -69,7 +76,8 @@ public final class LocalFileDataReader implements DataReader {
     if (mPos >= mEnd) {
       return null;
     }
-    ByteBuffer buffer = mReader.read(mPos, Math.min(mChunkSize, mEnd - mPos));
+    long len = Math.min(mChunkSize, mEnd - mPos);
+    ByteBuffer buffer = mMapping != null ? mMapping.slice(mPos, len) : mReader.read(mPos, len);
     DataBuffer dataBuffer = new NioDataBuffer(buffer, buffer.remaining());
     mPos += dataBuffer.getLength();
     MetricsSystem.counter(MetricKey.CLIENT_BYTES_READ_LOCAL.getName()).inc(dataBuffer.getLength());
@@ -101,8 +109,13 @@ public final class LocalFileDataReader implements DataReader {
     private final String mPath;
     private final long mLocalReaderChunkSize;
     private final GrpcBlockingStream<OpenLocalBlockRequest, OpenLocalBlockResponse> mStream;
+    private final WorkerNetAddress mAddress;
+    private final long mBlockId;
+    private final boolean mMmapEnabled;
 
     private LocalFileBlockReader mReader;
+    @Nullable
+    private LocalBlockMappingCache.Mapping mMapping;
     private final long mDataTimeoutMs;
     private boolean mClosed;
 
@@ -120,6 +133,9 @@ public final class LocalFileDataReader implements DataReader {
       AlluxioConfiguration conf = context.getClusterConf();
       mLocalReaderChunkSize = localReaderChunkSize;
       mDataTimeoutMs = conf.getMs(PropertyKey.USER_STREAMING_DATA_READ_TIMEOUT);
+      mAddress = address;
+      mBlockId = blockId;
+      mMmapEnabled = conf.getBoolean(PropertyKey.USER_SHORT_CIRCUIT_MMAP_ENABLED);
       if (conf.getBoolean(PropertyKey.USER_DIRECT_MEMORY_IO_ENABLED)) {
         mBlockWorker = null;
         mStream = null;
@@ -164,10 +180,13 @@ public final class LocalFileDataReader implements DataReader {
     public DataReader create(long offset, long len) throws IOException {
       if (mReader == null) {
         mReader = new LocalFileBlockReader(mPath);
+        if (mMmapEnabled) {
+          mMapping = LocalBlockMappingCache.getInstance().acquire(mAddress, mBlockId, mPath);
+        }
       }
       Preconditions.checkState(mReader.getUsageCount() == 0);
       mReader.increaseUsageCount();
-      return new LocalFileDataReader(mReader, offset, len, mLocalReaderChunkSize);
+      return new LocalFileDataReader(mReader, mMapping, offset, len, mLocalReaderChunkSize);
     }
 
     @Override
@@ -176,6 +195,11 @@ public final class LocalFileDataReader implements DataReader {
         return;
       }
       try {
+        // the mapping must be released before the worker releases its lock on the block
+        if (mMapping != null) {
+          LocalBlockMappingCache.getInstance().release(mMapping);
+          mMapping = null;
+        }
         if (mReader != null) {
           mReader.close();
         }
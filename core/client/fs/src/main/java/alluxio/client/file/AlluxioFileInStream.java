@@ -26,6 +26,7 @@ import alluxio.resource.CloseableResource;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.RetryUtils;
 import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.WorkerNetAddress;
@@ -37,11 +38,24 @@ import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -67,12 +81,19 @@ import javax.annotation.concurrent.NotThreadSafe;
 public class AlluxioFileInStream extends FileInStream {
   private static final Logger LOG = LoggerFactory.getLogger(AlluxioFileInStream.class);
 
+  /** Executor reading the blocks of vectored reads, shared by all streams. */
+  @GuardedBy("AlluxioFileInStream.class")
+  private static ExecutorService sVectoredReadExecutor;
+
   private Supplier<RetryPolicy> mRetryPolicySupplier;
   private final URIStatus mStatus;
   private final InStreamOptions mOptions;
   private final BlockStoreClient mBlockStore;
   private final FileSystemContext mContext;
   private final boolean mPassiveCachingEnabled;
+  private final long mVectoredReadMinSeek;
+  private final long mVectoredReadMaxMergedSize;
+  private final int mVectoredReadThreads;
 
   /* Convenience values derived from mStatus, use these instead of querying mStatus. */
   /** Length of the file in bytes. */
@@ -108,6 +129,10 @@ public class AlluxioFileInStream extends FileInStream {
     try {
       AlluxioConfiguration conf = mContext.getPathConf(new AlluxioURI(status.getPath()));
       mPassiveCachingEnabled = conf.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
+      mVectoredReadMinSeek = conf.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MIN_SEEK);
+      mVectoredReadMaxMergedSize =
+          conf.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MAX_MERGED_SIZE);
+      mVectoredReadThreads = conf.getInt(PropertyKey.USER_FILE_VECTORED_READ_THREADS);
       final Duration blockReadRetryMaxDuration =
           conf.getDuration(PropertyKey.USER_BLOCK_READ_RETRY_MAX_DURATION);
       final Duration blockReadRetrySleepBase =
@@ -294,6 +319,98 @@ public class AlluxioFileInStream extends FileInStream {
     return lenCopy - len;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Merged reads never span blocks. When the ranges fall into more than one block, each block is
+   * read through its own block stream on a shared executor, so the blocks are fetched
+   * concurrently. Reads which fail are retried through {@link #positionedRead}.
+   */
+  @Override
+  public void readVectored(List<ReadRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    List<ReadRange> sorted = VectoredReadUtils.sortRanges(ranges);
+    List<ReadRange> inFile = new ArrayList<>(sorted.size());
+    for (ReadRange range : sorted) {
+      if (range.getEnd() > mLength) {
+        range.getData().completeExceptionally(new EOFException(String.format(
+            "Range %s extends past the end of file %s of length %d", range, mStatus.getPath(),
+            mLength)));
+      } else {
+        inFile.add(range);
+      }
+    }
+    List<VectoredReadUtils.CombinedRange> combinedRanges = VectoredReadUtils.mergeRanges(inFile,
+        mVectoredReadMinSeek, mVectoredReadMaxMergedSize, mBlockSize);
+    Map<Long, List<VectoredReadUtils.CombinedRange>> rangesByBlock = new TreeMap<>();
+    for (VectoredReadUtils.CombinedRange range : combinedRanges) {
+      long blockIndex = range.getOffset() / mBlockSize;
+      // a single range larger than a block is left to positionedRead
+      if (range.getLength() > 0 && (range.getEnd() - 1) / mBlockSize == blockIndex) {
+        rangesByBlock.computeIfAbsent(blockIndex, k -> new ArrayList<>()).add(range);
+      }
+    }
+    if (rangesByBlock.size() > 1) {
+      ExecutorService executor = getVectoredReadExecutor(mVectoredReadThreads);
+      List<Future<?>> futures = new ArrayList<>(rangesByBlock.size());
+      for (Map.Entry<Long, List<VectoredReadUtils.CombinedRange>> entry
+          : rangesByBlock.entrySet()) {
+        Map<WorkerNetAddress, Long> failedWorkers = new HashMap<>(mFailedWorkers);
+        futures.add(executor.submit(() -> {
+          readBlockRanges(entry.getKey(), entry.getValue(), failedWorkers, allocate);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          futures.forEach(f -> f.cancel(true));
+          IOException ioe = new InterruptedIOException("Interrupted during vectored read");
+          combinedRanges.forEach(range -> VectoredReadUtils.failRange(range, ioe));
+          return;
+        } catch (ExecutionException e) {
+          LOG.debug("Failed to read ranges of file {}, falling back to positioned reads",
+              mStatus.getPath(), e.getCause());
+        }
+      }
+    }
+    for (VectoredReadUtils.CombinedRange range : combinedRanges) {
+      if (range.isDone()) {
+        continue;
+      }
+      try {
+        VectoredReadUtils.readRange(this, 0, range, allocate);
+      } catch (IOException | RuntimeException e) {
+        VectoredReadUtils.failRange(range, e);
+      }
+    }
+  }
+
+  private void readBlockRanges(long blockIndex, List<VectoredReadUtils.CombinedRange> ranges,
+      Map<WorkerNetAddress, Long> failedWorkers, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    long blockId = mStatus.getBlockIds().get(Math.toIntExact(blockIndex));
+    try (BlockInStream stream = mBlockStore.getInStream(blockId, mOptions, failedWorkers)) {
+      for (VectoredReadUtils.CombinedRange range : ranges) {
+        VectoredReadUtils.readRange(stream, blockIndex * mBlockSize, range, allocate);
+      }
+    }
+  }
+
+  private static synchronized ExecutorService getVectoredReadExecutor(int threads) {
+    if (sVectoredReadExecutor == null) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(threads), ThreadFactoryUtils.build("vectored-read-%d", true),
+          // read on the calling thread when all threads are busy
+          new ThreadPoolExecutor.CallerRunsPolicy());
+      executor.allowCoreThreadTimeOut(true);
+      sVectoredReadExecutor = executor;
+    }
+    return sVectoredReadExecutor;
+  }
+
   /* Seekable methods */
   @Override
   public long getPos() {
@@ -21,6 +21,7 @@ import alluxio.client.block.BlockWorkerInfo;
 import alluxio.client.file.FileSystemContextReinitializer.ReinitBlockerResource;
 import alluxio.client.file.options.InStreamOptions;
 import alluxio.client.file.options.OutStreamOptions;
+import alluxio.collections.Pair;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
@@ -97,6 +98,16 @@ public class BaseFileSystem implements FileSystem {
 
   protected volatile boolean mClosed = false;
 
+  /** Coalesce the concurrent metadata calls into batches, when enabled. */
+  private final RpcBatcher<FileSystemMasterClient, Pair<AlluxioURI, GetStatusPOptions>, URIStatus>
+      mGetStatusBatcher;
+  private final RpcBatcher<FileSystemMasterClient, Pair<AlluxioURI, CreateFilePOptions>,
+      URIStatus> mCreateFileBatcher;
+  private final RpcBatcher<FileSystemMasterClient, Pair<AlluxioURI, DeletePOptions>, Void>
+      mDeleteBatcher;
+  private final RpcBatcher<FileSystemMasterClient, Pair<AlluxioURI, SetAttributePOptions>, Void>
+      mSetAttributeBatcher;
+
   /**
    * Constructs a new base file system.
    *
@@ -106,6 +117,23 @@ public class BaseFileSystem implements FileSystem {
     mFsContext = fsContext;
     mBlockStore = BlockStoreClient.create(fsContext);
     mCloser.register(mFsContext);
+    AlluxioConfiguration conf = fsContext.getClusterConf();
+    int maxBatchSize = conf.getBoolean(PropertyKey.USER_FILE_MASTER_CLIENT_BATCH_ENABLED)
+        ? conf.getInt(PropertyKey.USER_FILE_MASTER_CLIENT_BATCH_SIZE_MAX) : 1;
+    mGetStatusBatcher = new RpcBatcher<>(maxBatchSize,
+        (client, request) -> client.getStatus(request.getFirst(), request.getSecond()),
+        FileSystemMasterClient::getStatusBatch);
+    mCreateFileBatcher = new RpcBatcher<>(maxBatchSize,
+        (client, request) -> client.createFile(request.getFirst(), request.getSecond()),
+        FileSystemMasterClient::createFileBatch);
+    mDeleteBatcher = new RpcBatcher<>(maxBatchSize, (client, request) -> {
+      client.delete(request.getFirst(), request.getSecond());
+      return null;
+    }, FileSystemMasterClient::deleteBatch);
+    mSetAttributeBatcher = new RpcBatcher<>(maxBatchSize, (client, request) -> {
+      client.setAttribute(request.getFirst(), request.getSecond());
+      return null;
+    }, FileSystemMasterClient::setAttributeBatch);
   }
 
   /**
@@ -163,7 +191,7 @@ public class BaseFileSystem implements FileSystem {
     return rpc(client -> {
       CreateFilePOptions mergedOptions = FileSystemOptions.createFileDefaults(
           mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
-      URIStatus status = client.createFile(path, mergedOptions);
+      URIStatus status = mCreateFileBatcher.call(client, new Pair<>(path, mergedOptions));
       LOG.debug("Created file {}, options: {}", path.getPath(), mergedOptions);
       OutStreamOptions outStreamOptions =
           new OutStreamOptions(mergedOptions, mFsContext.getClientContext(),
@@ -187,7 +215,7 @@ public class BaseFileSystem implements FileSystem {
     rpc(client -> {
       DeletePOptions mergedOptions = FileSystemOptions.deleteDefaults(
           mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
-      client.delete(path, mergedOptions);
+      mDeleteBatcher.call(client, new Pair<>(path, mergedOptions));
       LOG.debug("Deleted {}, options: {}", path.getPath(), mergedOptions);
       return null;
     });
@@ -267,7 +295,7 @@ public class BaseFileSystem implements FileSystem {
     URIStatus status = rpc(client -> {
       GetStatusPOptions mergedOptions = FileSystemOptions.getStatusDefaults(
           mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
-      return client.getStatus(path, mergedOptions);
+      return mGetStatusBatcher.call(client, new Pair<>(path, mergedOptions));
     });
     if (!status.isCompleted()) {
       LOG.debug("File {} is not yet completed. getStatus will see incomplete metadata.", path);
@@ -287,6 +315,21 @@ public class BaseFileSystem implements FileSystem {
     });
   }
 
+  @Override
+  public ListStatusBatch listStatusBatch(AlluxioURI path, final ListStatusPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    checkUri(path);
+    return rpc(client -> {
+      ListStatusPOptions.Builder mergedOptions = FileSystemOptions.listStatusDefaults(
+          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options);
+      if (mergedOptions.getBatchSize() <= 0) {
+        mergedOptions.setBatchSize(mFsContext.getPathConf(path)
+            .getInt(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE));
+      }
+      return client.listStatusBatch(path, mergedOptions.build());
+    });
+  }
+
   @Override
   public void iterateStatus(AlluxioURI path, final ListStatusPOptions options,
       Consumer<? super URIStatus> action)
@@ -443,7 +486,7 @@ public class BaseFileSystem implements FileSystem {
         FileSystemOptions.setAttributeClientDefaults(mFsContext.getPathConf(path))
             .toBuilder().mergeFrom(options).build();
     rpc(client -> {
-      client.setAttribute(path, mergedOptions);
+      mSetAttributeBatcher.call(client, new Pair<>(path, mergedOptions));
       LOG.debug("Set attributes for {}, options: {}", path.getPath(), options);
       return null;
     });
@@ -125,6 +125,12 @@ public class DelegatingFileSystem implements FileSystem {
     return mDelegatedFileSystem.listStatus(path, options);
   }
 
+  @Override
+  public ListStatusBatch listStatusBatch(AlluxioURI path, ListStatusPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    return mDelegatedFileSystem.listStatusBatch(path, options);
+  }
+
   @Override
   public void iterateStatus(AlluxioURI path, ListStatusPOptions options,
       Consumer<? super URIStatus> action)
@@ -22,6 +22,8 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -100,4 +102,27 @@ public abstract class FileInStream extends InputStream
     }
     return nread;
   }
+
+  /**
+   * Reads a list of ranges of the file. Ranges close to each other are merged into a single read.
+   * When this method returns, the data or the failure of each range is available through
+   * {@link ReadRange#getData()}; a range which extends past the end of the file fails with an
+   * {@link java.io.EOFException}. This method does not change the position of the stream.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function allocating the buffers for the data of the ranges
+   */
+  public void readVectored(List<ReadRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    List<VectoredReadUtils.CombinedRange> combinedRanges = VectoredReadUtils.mergeRanges(
+        VectoredReadUtils.sortRanges(ranges), VectoredReadUtils.DEFAULT_MIN_SEEK,
+        VectoredReadUtils.DEFAULT_MAX_MERGED_SIZE, Long.MAX_VALUE);
+    for (VectoredReadUtils.CombinedRange range : combinedRanges) {
+      try {
+        VectoredReadUtils.readRange(this, 0, range, allocate);
+      } catch (IOException | RuntimeException e) {
+        VectoredReadUtils.failRange(range, e);
+      }
+    }
+  }
 }
@@ -421,6 +421,23 @@ public interface FileSystem extends Closeable {
   List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Lists a batch of the {@link URIStatus} of the entries of the given path, as limited by the
+   * batch size of the options, starting after the continuation token of the options. The master
+   * releases its locks between the batches, so a listing made of several batches is not a
+   * snapshot of the directory.
+   *
+   * @param path the path to list information about
+   * @param options options to associate with this operation, with the batch size and the
+   *        continuation token returned by the previous batch, if any
+   * @return the batch of {@link URIStatus}s, with the token to list the next batch
+   * @throws FileDoesNotExistException if the given path does not exist
+   */
+  default ListStatusBatch listStatusBatch(AlluxioURI path, ListStatusPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    return new ListStatusBatch(listStatus(path, options), null);
+  }
+
   /**
    * Convenience method for {@link #loadMetadata(AlluxioURI, ListStatusPOptions)} with default
    * options.
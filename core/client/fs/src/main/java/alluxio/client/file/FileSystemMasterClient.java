@@ -13,6 +13,7 @@ package alluxio.client.file;
 
 import alluxio.AlluxioURI;
 import alluxio.Client;
+import alluxio.collections.Pair;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.AlreadyExistsException;
 import alluxio.exception.status.NotFoundException;
@@ -35,6 +36,7 @@ import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.master.MasterClientContext;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.BatchResult;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -106,6 +108,15 @@ public interface FileSystemMasterClient extends Client {
    */
   URIStatus createFile(AlluxioURI path, CreateFilePOptions options) throws AlluxioStatusException;
 
+  /**
+   * Creates a batch of files in one call, sharing a journal flush on the master.
+   *
+   * @param requests the file paths with their options
+   * @return the results of the requests, in the order of the requests
+   */
+  List<BatchResult<URIStatus>> createFileBatch(List<Pair<AlluxioURI, CreateFilePOptions>> requests)
+      throws AlluxioStatusException;
+
   /**
    * Marks a file as completed.
    *
@@ -122,6 +133,15 @@ public interface FileSystemMasterClient extends Client {
    */
   void delete(AlluxioURI path, DeletePOptions options) throws AlluxioStatusException;
 
+  /**
+   * Deletes a batch of files or directories in one call, sharing a journal flush on the master.
+   *
+   * @param requests the paths with their options
+   * @return the results of the requests, in the order of the requests
+   */
+  List<BatchResult<Void>> deleteBatch(List<Pair<AlluxioURI, DeletePOptions>> requests)
+      throws AlluxioStatusException;
+
   /**
    * Checks whether a file or directory exists.
    *
@@ -154,6 +174,15 @@ public interface FileSystemMasterClient extends Client {
    */
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options) throws AlluxioStatusException;
 
+  /**
+   * Gets the statuses of a batch of paths in one call.
+   *
+   * @param requests the paths with their options
+   * @return the results of the requests, in the order of the requests
+   */
+  List<BatchResult<URIStatus>> getStatusBatch(List<Pair<AlluxioURI, GetStatusPOptions>> requests)
+      throws AlluxioStatusException;
+
   /**
    * @param path the file path
    * @return the next blockId for the file
@@ -190,6 +219,20 @@ public interface FileSystemMasterClient extends Client {
   List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws AlluxioStatusException;
 
+  /**
+   * Lists a batch of the statuses of the given path, starting after the continuation token of the
+   * options, if any.
+   *
+   * @param path the path to list
+   * @param options the listStatus options, with the batch size
+   * @return the batch of statuses, with the token to list the next batch
+   * @throws NotFoundException if the path does not exist
+   */
+  default ListStatusBatch listStatusBatch(AlluxioURI path, ListStatusPOptions options)
+      throws AlluxioStatusException {
+    return new ListStatusBatch(listStatus(path, options), null);
+  }
+
   /**
    * Mounts the given UFS path under the given Alluxio path.
    *
@@ -264,6 +307,15 @@ public interface FileSystemMasterClient extends Client {
    */
   void setAttribute(AlluxioURI path, SetAttributePOptions options) throws AlluxioStatusException;
 
+  /**
+   * Sets the attributes of a batch of paths in one call, sharing a journal flush on the master.
+   *
+   * @param requests the paths with their options
+   * @return the results of the requests, in the order of the requests
+   */
+  List<BatchResult<Void>> setAttributeBatch(List<Pair<AlluxioURI, SetAttributePOptions>> requests)
+      throws AlluxioStatusException;
+
   /**
    * Start the active syncing process for a specified path.
    *
@@ -0,0 +1,66 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.annotation.PublicApi;
+import alluxio.grpc.ListStatusPOptions;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A batch of the statuses of a listing, as limited by {@link ListStatusPOptions#getBatchSize()},
+ * with the token to list the next batch.
+ */
+@PublicApi
+@ThreadSafe
+public final class ListStatusBatch {
+  private final List<URIStatus> mStatuses;
+  @Nullable
+  private final String mContinuationToken;
+
+  /**
+   * @param statuses the statuses of the batch
+   * @param continuationToken the token to list the next batch, or null if the listing is done
+   */
+  public ListStatusBatch(List<URIStatus> statuses, @Nullable String continuationToken) {
+    mStatuses = statuses;
+    mContinuationToken = continuationToken;
+  }
+
+  /**
+   * @return the statuses of the batch, in the order of their names within each directory
+   */
+  public List<URIStatus> getStatuses() {
+    return mStatuses;
+  }
+
+  /**
+   * @return the token to pass in {@link ListStatusPOptions#getContinuationToken()} to list the
+   *         next batch, or empty if the listing is done
+   */
+  public Optional<String> getContinuationToken() {
+    return Optional.ofNullable(mContinuationToken);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("statuses", mStatuses.size())
+        .add("continuationToken", mContinuationToken)
+        .toString();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.annotation.PublicApi;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A range of a file to read with {@link FileInStream#readVectored}. Once the range is read, its
+ * data is available through {@link #getData()} as a buffer positioned at zero and limited to the
+ * length of the range.
+ */
+@PublicApi
+@ThreadSafe
+public final class ReadRange {
+  private final long mOffset;
+  private final int mLength;
+  private final CompletableFuture<ByteBuffer> mData = new CompletableFuture<>();
+
+  /**
+   * @param offset the offset of the range in the file
+   * @param length the length of the range in bytes
+   */
+  public ReadRange(long offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "Offset %s must be non-negative", offset);
+    Preconditions.checkArgument(length >= 0, "Length %s must be non-negative", length);
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the range in the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the length of the range in bytes
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the offset in the file right after the range
+   */
+  public long getEnd() {
+    return mOffset + mLength;
+  }
+
+  /**
+   * @return the future of the data of the range
+   */
+  public CompletableFuture<ByteBuffer> getData() {
+    return mData;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("Length", mLength)
+        .add("Offset", mOffset)
+        .toString();
+  }
+}
@@ -14,6 +14,7 @@ package alluxio.client.file;
 import alluxio.AbstractMasterClient;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
+import alluxio.collections.Pair;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.grpc.CheckAccessPOptions;
 import alluxio.grpc.CheckAccessPRequest;
@@ -23,12 +24,16 @@ import alluxio.grpc.CompleteFilePOptions;
 import alluxio.grpc.CompleteFilePRequest;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateDirectoryPRequest;
+import alluxio.grpc.CreateFileBatchPRequest;
+import alluxio.grpc.CreateFileBatchPResponse;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.CreateFilePRequest;
+import alluxio.grpc.DeleteBatchPRequest;
 import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.ExistsPRequest;
+import alluxio.grpc.FileInfo;
 import alluxio.grpc.FileSystemMasterClientServiceGrpc;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.FreePRequest;
@@ -38,12 +43,15 @@ import alluxio.grpc.GetNewBlockIdForFilePOptions;
 import alluxio.grpc.GetNewBlockIdForFilePRequest;
 import alluxio.grpc.GetStateLockHoldersPOptions;
 import alluxio.grpc.GetStateLockHoldersPRequest;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetSyncPathListPRequest;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.ListStatusPRequest;
+import alluxio.grpc.ListStatusPResponse;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.MountPRequest;
 import alluxio.grpc.RenamePOptions;
@@ -55,6 +63,7 @@ import alluxio.grpc.ServiceType;
 import alluxio.grpc.SetAclAction;
 import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAclPRequest;
+import alluxio.grpc.SetAttributeBatchPRequest;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.SetAttributePRequest;
 import alluxio.grpc.StartSyncPRequest;
@@ -68,6 +77,7 @@ import alluxio.master.MasterClientContext;
 import alluxio.retry.RetryUtils;
 import alluxio.security.authorization.AclEntry;
 import alluxio.util.FileSystemOptions;
+import alluxio.wire.BatchResult;
 import alluxio.wire.SyncPointInfo;
 
 import org.slf4j.Logger;
@@ -75,6 +85,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
@@ -167,6 +178,25 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         RPC_LOG, "CreateFile", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> createFileBatch(
+      final List<Pair<AlluxioURI, CreateFilePOptions>> requests) throws AlluxioStatusException {
+    CreateFileBatchPRequest.Builder request = CreateFileBatchPRequest.newBuilder();
+    for (Pair<AlluxioURI, CreateFilePOptions> fileRequest : requests) {
+      request.addRequests(CreateFilePRequest.newBuilder()
+          .setPath(getTransportPath(fileRequest.getFirst())).setOptions(fileRequest.getSecond()));
+    }
+    return retryRPC(() -> {
+      CreateFileBatchPResponse response = mClient.createFileBatch(request.build());
+      List<BatchResult<URIStatus>> results = new ArrayList<>(requests.size());
+      for (int i = 0; i < response.getStatusesCount(); i++) {
+        results.add(GrpcUtils.fromProto(response.getStatuses(i),
+            new URIStatus(GrpcUtils.fromProto(response.getResponses(i).getFileInfo()))));
+      }
+      return results;
+    }, RPC_LOG, "CreateFileBatch", "requests=%s", requests.size());
+  }
+
   @Override
   public void completeFile(final AlluxioURI path, final CompleteFilePOptions options)
       throws AlluxioStatusException {
@@ -183,6 +213,20 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<Void>> deleteBatch(final List<Pair<AlluxioURI, DeletePOptions>> requests)
+      throws AlluxioStatusException {
+    DeleteBatchPRequest.Builder request = DeleteBatchPRequest.newBuilder();
+    for (Pair<AlluxioURI, DeletePOptions> deleteRequest : requests) {
+      request.addRequests(DeletePRequest.newBuilder()
+          .setPath(getTransportPath(deleteRequest.getFirst()))
+          .setOptions(deleteRequest.getSecond()));
+    }
+    return retryRPC(() -> mClient.removeBatch(request.build()).getStatusesList().stream()
+        .map(status -> GrpcUtils.<Void>fromProto(status, null)).collect(Collectors.toList()),
+        RPC_LOG, "DeleteBatch", "requests=%s", requests.size());
+  }
+
   @Override
   public boolean exists(final AlluxioURI path, final ExistsPOptions options)
       throws AlluxioStatusException {
@@ -215,6 +259,26 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         RPC_LOG, "GetStatus", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> getStatusBatch(
+      final List<Pair<AlluxioURI, GetStatusPOptions>> requests) throws AlluxioStatusException {
+    GetStatusBatchPRequest.Builder request = GetStatusBatchPRequest.newBuilder();
+    for (Pair<AlluxioURI, GetStatusPOptions> statusRequest : requests) {
+      request.addRequests(GetStatusPRequest.newBuilder()
+          .setPath(getTransportPath(statusRequest.getFirst()))
+          .setOptions(statusRequest.getSecond()));
+    }
+    return retryRPC(() -> {
+      GetStatusBatchPResponse response = mClient.getStatusBatch(request.build());
+      List<BatchResult<URIStatus>> results = new ArrayList<>(requests.size());
+      for (int i = 0; i < response.getStatusesCount(); i++) {
+        results.add(GrpcUtils.fromProto(response.getStatuses(i),
+            new URIStatus(GrpcUtils.fromProto(response.getResponses(i).getFileInfo()))));
+      }
+      return results;
+    }, RPC_LOG, "GetStatusBatch", "requests=%s", requests.size());
+  }
+
   @Override
   public synchronized List<SyncPointInfo> getSyncPathList() throws AlluxioStatusException {
     return retryRPC(() -> mClient.getSyncPathList(GetSyncPathListPRequest.getDefaultInstance())
@@ -270,6 +334,20 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
   @Override
   public List<URIStatus> listStatus(final AlluxioURI path, final ListStatusPOptions options)
       throws AlluxioStatusException {
+    if (options.getBatchSize() > 0) {
+      // each batch is a separate call, so the master does not hold its locks for the whole listing
+      List<URIStatus> result = new ArrayList<>();
+      ListStatusPOptions batchOptions = options;
+      while (true) {
+        ListStatusBatch batch = listStatusBatch(path, batchOptions);
+        result.addAll(batch.getStatuses());
+        if (!batch.getContinuationToken().isPresent()) {
+          return result;
+        }
+        batchOptions = batchOptions.toBuilder()
+            .setContinuationToken(batch.getContinuationToken().get()).build();
+      }
+    }
     return retryRPC(() -> {
       List<URIStatus> result = new ArrayList<>();
       mClient
@@ -283,6 +361,27 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
     }, RPC_LOG, "ListStatus", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public ListStatusBatch listStatusBatch(final AlluxioURI path, final ListStatusPOptions options)
+      throws AlluxioStatusException {
+    return retryRPC(() -> {
+      List<URIStatus> statuses = new ArrayList<>();
+      String continuationToken = null;
+      Iterator<ListStatusPResponse> responses = mClient.listStatus(ListStatusPRequest.newBuilder()
+          .setPath(getTransportPath(path)).setOptions(options).build());
+      while (responses.hasNext()) {
+        ListStatusPResponse response = responses.next();
+        for (FileInfo fileInfo : response.getFileInfosList()) {
+          statuses.add(new URIStatus(GrpcUtils.fromProto(fileInfo)));
+        }
+        if (response.hasContinuationToken()) {
+          continuationToken = response.getContinuationToken();
+        }
+      }
+      return new ListStatusBatch(statuses, continuationToken);
+    }, RPC_LOG, "ListStatusBatch", "path=%s,options=%s", path, options);
+  }
+
   @Override
   public void mount(final AlluxioURI alluxioPath, final AlluxioURI ufsPath,
       final MountPOptions options) throws AlluxioStatusException {
@@ -342,6 +441,20 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<Void>> setAttributeBatch(
+      final List<Pair<AlluxioURI, SetAttributePOptions>> requests) throws AlluxioStatusException {
+    SetAttributeBatchPRequest.Builder request = SetAttributeBatchPRequest.newBuilder();
+    for (Pair<AlluxioURI, SetAttributePOptions> attributeRequest : requests) {
+      request.addRequests(SetAttributePRequest.newBuilder()
+          .setPath(getTransportPath(attributeRequest.getFirst()))
+          .setOptions(attributeRequest.getSecond()));
+    }
+    return retryRPC(() -> mClient.setAttributeBatch(request.build()).getStatusesList().stream()
+        .map(status -> GrpcUtils.<Void>fromProto(status, null)).collect(Collectors.toList()),
+        RPC_LOG, "SetAttributeBatch", "requests=%s", requests.size());
+  }
+
   @Override
   public void scheduleAsyncPersist(final AlluxioURI path, ScheduleAsyncPersistencePOptions options)
       throws AlluxioStatusException {
@@ -0,0 +1,194 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.CancelledException;
+import alluxio.wire.BatchResult;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Coalesces the concurrent calls of an RPC into batch RPCs.
+ *
+ * A call made while no batch is in flight is sent right away, together with the calls waiting
+ * for it, so a lone caller sees no added latency. The calls made while a batch is in flight wait
+ * for it to complete, and one of them then sends them all in the next batch. Each caller passes
+ * the client it would have used for its own call, and the caller sending a batch uses its own.
+ *
+ * @param <C> the type of the client
+ * @param <T> the type of the requests
+ * @param <R> the type of the results
+ */
+@ThreadSafe
+public final class RpcBatcher<C, T, R> {
+  private final int mMaxBatchSize;
+  private final Call<C, T, R> mCall;
+  private final BatchCall<C, T, R> mBatchCall;
+
+  @GuardedBy("this")
+  private final Queue<PendingCall<T, R>> mPending = new ArrayDeque<>();
+  @GuardedBy("this")
+  private boolean mSending = false;
+
+  /**
+   * @param maxBatchSize the maximum number of requests of a batch, 1 to send every call alone
+   * @param call the RPC of a single request
+   * @param batchCall the RPC of a batch of requests
+   */
+  public RpcBatcher(int maxBatchSize, Call<C, T, R> call, BatchCall<C, T, R> batchCall) {
+    Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+    mMaxBatchSize = maxBatchSize;
+    mCall = call;
+    mBatchCall = batchCall;
+  }
+
+  /**
+   * Makes a call, alone or in a batch with the concurrent calls.
+   *
+   * @param client the client of the caller
+   * @param request the request
+   * @return the result of the call
+   */
+  public R call(C client, T request) throws AlluxioStatusException {
+    if (mMaxBatchSize == 1) {
+      return mCall.call(client, request);
+    }
+    PendingCall<T, R> call = new PendingCall<>(request);
+    synchronized (this) {
+      mPending.add(call);
+    }
+    List<PendingCall<T, R>> batch = new ArrayList<>();
+    while (true) {
+      synchronized (this) {
+        try {
+          while (mSending && call.mResult == null) {
+            wait();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          // a call already in flight still completes on the master
+          mPending.remove(call);
+          throw new CancelledException(e);
+        }
+        if (call.mResult != null) {
+          return call.get();
+        }
+        mSending = true;
+        batch.clear();
+        while (batch.size() < mMaxBatchSize && !mPending.isEmpty()) {
+          batch.add(mPending.poll());
+        }
+      }
+      try {
+        send(client, batch);
+      } finally {
+        synchronized (this) {
+          mSending = false;
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  private void send(C client, List<PendingCall<T, R>> batch) {
+    try {
+      if (batch.size() == 1) {
+        batch.get(0).mResult = BatchResult.success(mCall.call(client, batch.get(0).mRequest));
+        return;
+      }
+      List<T> requests = new ArrayList<>(batch.size());
+      for (PendingCall<T, R> call : batch) {
+        requests.add(call.mRequest);
+      }
+      List<BatchResult<R>> results = mBatchCall.call(client, requests);
+      Preconditions.checkState(results.size() == batch.size(),
+          "Expected %s results for the batch, got %s", batch.size(), results.size());
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).mResult = results.get(i);
+      }
+    } catch (Exception e) {
+      // each caller throws the error of its call, so the callers must not share an exception
+      AlluxioStatusException error = AlluxioStatusException.fromThrowable(e);
+      for (PendingCall<T, R> call : batch) {
+        call.mResult = BatchResult.failure(copy(error));
+      }
+    }
+  }
+
+  /**
+   * @param error an error
+   * @return a new exception with the status and message of the error, caused by the error
+   */
+  private static AlluxioStatusException copy(AlluxioStatusException error) {
+    return AlluxioStatusException.from(error.getStatus().withDescription(error.getMessage())
+        .withCause(error));
+  }
+
+  /**
+   * The RPC of a single request.
+   *
+   * @param <C> the type of the client
+   * @param <T> the type of the request
+   * @param <R> the type of the result
+   */
+  @FunctionalInterface
+  public interface Call<C, T, R> {
+    /**
+     * @param client the client
+     * @param request the request
+     * @return the result
+     */
+    R call(C client, T request) throws AlluxioStatusException;
+  }
+
+  /**
+   * The RPC of a batch of requests.
+   *
+   * @param <C> the type of the client
+   * @param <T> the type of the requests
+   * @param <R> the type of the results
+   */
+  @FunctionalInterface
+  public interface BatchCall<C, T, R> {
+    /**
+     * @param client the client
+     * @param requests the requests
+     * @return the results of the requests, in the order of the requests
+     */
+    List<BatchResult<R>> call(C client, List<T> requests) throws AlluxioStatusException;
+  }
+
+  private static final class PendingCall<T, R> {
+    private final T mRequest;
+    /** Set once the call completed, then read by the caller after synchronizing. */
+    private volatile BatchResult<R> mResult;
+
+    PendingCall(T request) {
+      mRequest = request;
+    }
+
+    R get() throws AlluxioStatusException {
+      if (!mResult.isSuccess()) {
+        throw mResult.getError();
+      }
+      return mResult.getValue();
+    }
+  }
+}
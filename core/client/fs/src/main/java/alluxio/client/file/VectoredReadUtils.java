@@ -0,0 +1,211 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.Constants;
+import alluxio.client.PositionedReadable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Utility methods for vectored reads, see {@link FileInStream#readVectored}.
+ */
+@ThreadSafe
+public final class VectoredReadUtils {
+  /** Default gap below which ranges are merged into one read. */
+  public static final int DEFAULT_MIN_SEEK = 4 * Constants.KB;
+  /** Default maximum size of a read of merged ranges. */
+  public static final int DEFAULT_MAX_MERGED_SIZE = Constants.MB;
+
+  /**
+   * Sorts ranges by offset.
+   *
+   * @param ranges the ranges to sort
+   * @return a sorted copy of the ranges
+   * @throws IllegalArgumentException if any two ranges overlap
+   */
+  public static List<ReadRange> sortRanges(List<ReadRange> ranges) {
+    List<ReadRange> sorted = new ArrayList<>(ranges);
+    sorted.sort(Comparator.comparingLong(ReadRange::getOffset));
+    for (int i = 1; i < sorted.size(); i++) {
+      Preconditions.checkArgument(sorted.get(i - 1).getEnd() <= sorted.get(i).getOffset(),
+          "Overlapping ranges %s and %s", sorted.get(i - 1), sorted.get(i));
+    }
+    return sorted;
+  }
+
+  /**
+   * Merges sorted ranges into fewer, larger reads. Two consecutive ranges are read together if
+   * the gap between them is at most {@code minSeek}, the merged read is at most
+   * {@code maxMergedSize} bytes, and both ranges fall into the same aligned section of the file,
+   * e.g. the same block.
+   *
+   * @param sortedRanges ranges sorted by offset, without overlaps
+   * @param minSeek the maximum gap between merged ranges
+   * @param maxMergedSize the maximum size of a merged read
+   * @param alignment the size of the sections which merged reads must not cross
+   * @return the merged reads
+   */
+  public static List<CombinedRange> mergeRanges(List<ReadRange> sortedRanges, long minSeek,
+      long maxMergedSize, long alignment) {
+    Preconditions.checkArgument(alignment > 0, "Alignment %s must be positive", alignment);
+    List<CombinedRange> result = new ArrayList<>();
+    CombinedRange current = null;
+    for (ReadRange range : sortedRanges) {
+      if (current != null
+          && range.getOffset() - current.getEnd() <= minSeek
+          && range.getEnd() - current.getOffset() <= maxMergedSize
+          && current.getOffset() / alignment == lastByte(range) / alignment) {
+        current.add(range);
+      } else {
+        current = new CombinedRange(range);
+        result.add(current);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reads a merged range with a single read and completes its ranges.
+   *
+   * @param reader the reader to read from
+   * @param base the offset in the file of position zero of the reader
+   * @param range the merged range
+   * @param allocate the function allocating the buffers of the ranges
+   * @throws EOFException if the end of the reader is reached before the end of the range
+   */
+  public static void readRange(PositionedReadable reader, long base, CombinedRange range,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    byte[] data = new byte[range.getLength()];
+    int bytesRead = 0;
+    while (bytesRead < data.length) {
+      int n = reader.positionedRead(range.getOffset() - base + bytesRead, data, bytesRead,
+          data.length - bytesRead);
+      if (n <= 0) {
+        throw new EOFException(String.format("Reached end of file reading %s", range));
+      }
+      bytesRead += n;
+    }
+    range.complete(data, allocate);
+  }
+
+  /**
+   * Fails the ranges of a merged range which are not complete.
+   *
+   * @param range the merged range
+   * @param t the cause of the failure
+   */
+  public static void failRange(CombinedRange range, Throwable t) {
+    for (ReadRange r : range.getRanges()) {
+      r.getData().completeExceptionally(t);
+    }
+  }
+
+  private static long lastByte(ReadRange range) {
+    return Math.max(range.getOffset(), range.getEnd() - 1);
+  }
+
+  /**
+   * A contiguous section of a file covering one or more ranges of a vectored read.
+   */
+  public static final class CombinedRange {
+    private final long mOffset;
+    private long mEnd;
+    private final List<ReadRange> mRanges;
+
+    private CombinedRange(ReadRange range) {
+      mOffset = range.getOffset();
+      mEnd = range.getEnd();
+      mRanges = new ArrayList<>();
+      mRanges.add(range);
+    }
+
+    private void add(ReadRange range) {
+      mEnd = range.getEnd();
+      mRanges.add(range);
+    }
+
+    /**
+     * @return the offset of the section in the file
+     */
+    public long getOffset() {
+      return mOffset;
+    }
+
+    /**
+     * @return the offset in the file right after the section
+     */
+    public long getEnd() {
+      return mEnd;
+    }
+
+    /**
+     * @return the length of the section
+     */
+    public int getLength() {
+      return Math.toIntExact(mEnd - mOffset);
+    }
+
+    /**
+     * @return the ranges covered by the section
+     */
+    public List<ReadRange> getRanges() {
+      return Collections.unmodifiableList(mRanges);
+    }
+
+    /**
+     * @return whether the data of all ranges is available
+     */
+    public boolean isDone() {
+      return mRanges.stream().allMatch(r -> r.getData().isDone());
+    }
+
+    /**
+     * Completes the ranges with the data of the section.
+     *
+     * @param data the data of the section
+     * @param allocate the function allocating the buffers of the ranges
+     */
+    public void complete(byte[] data, IntFunction<ByteBuffer> allocate) {
+      Preconditions.checkArgument(data.length == getLength(), "Data of %s bytes for %s",
+          data.length, this);
+      for (ReadRange range : mRanges) {
+        ByteBuffer buffer = allocate.apply(range.getLength());
+        buffer.put(data, (int) (range.getOffset() - mOffset), range.getLength());
+        buffer.flip();
+        range.getData().complete(buffer);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("End", mEnd)
+          .add("NumRanges", mRanges.size())
+          .add("Offset", mOffset)
+          .toString();
+    }
+  }
+
+  private VectoredReadUtils() {} // prevent instantiation
+}
@@ -12,6 +12,8 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.trace.CacheTraceWriter;
+import alluxio.client.file.cache.trace.TracingCacheManager;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.metrics.MetricKey;
@@ -104,13 +106,22 @@ public interface CacheManager extends AutoCloseable {
     public static CacheManager create(AlluxioConfiguration conf,
                                       MetaStore metaStore) throws IOException {
       try {
+        CacheManager cacheManager =
+            conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_TIERED_ENABLED)
+                ? TieredCacheManager.create(conf, metaStore)
+                : LocalCacheManager.create(conf, metaStore);
+        if (conf.isSet(PropertyKey.USER_CLIENT_CACHE_TRACE_FILE)) {
+          cacheManager = new TracingCacheManager(cacheManager, CacheTraceWriter.create(
+              conf.getString(PropertyKey.USER_CLIENT_CACHE_TRACE_FILE),
+              conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE)));
+        }
         boolean isShadowCacheEnabled =
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_SHADOW_ENABLED);
         if (isShadowCacheEnabled) {
           return new NoExceptionCacheManager(
-              new CacheManagerWithShadowCache(LocalCacheManager.create(conf, metaStore), conf));
+              new CacheManagerWithShadowCache(cacheManager, conf));
         }
-        return new NoExceptionCacheManager(LocalCacheManager.create(conf, metaStore));
+        return new NoExceptionCacheManager(cacheManager);
       } catch (IOException e) {
         Metrics.CREATE_ERRORS.inc();
         LOG.error("Failed to create CacheManager", e);
@@ -211,6 +222,15 @@ public interface CacheManager extends AutoCloseable {
   int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int offsetInBuffer,
       CacheContext cacheContext);
 
+  /**
+   * Checks whether a page is in the cache. Unlike {@link #get}, this only looks up the metadata
+   * of the cache and is not counted as an access of the page.
+   *
+   * @param pageId page identifier
+   * @return whether the page is in the cache
+   */
+  boolean hasPage(PageId pageId);
+
   /**
    * Get page ids by the given file id.
    * @param fileId file identifier
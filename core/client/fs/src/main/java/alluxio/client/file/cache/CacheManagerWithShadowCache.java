@@ -110,6 +110,11 @@ public class CacheManagerWithShadowCache implements CacheManager {
     Metrics.SHADOW_CACHE_BYTES.inc(mShadowCacheBytes - oldBytes);
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManager.hasPage(pageId);
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     return mCacheManager.delete(pageId);
@@ -12,6 +12,7 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.index.CompactPageTable;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.exception.PageNotFoundException;
 import alluxio.metrics.MetricKey;
@@ -23,32 +24,49 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 
 /**
- * The default implementation of a metadata store for pages stored in cache. This implementation
- * is not thread safe and requires synchronizations on external callers.
+ * The default implementation of a metadata store for pages stored in cache. Lookups through
+ * {@link #hasPage} and {@link #getPageInfo} are safe to run concurrently with each other and with
+ * updates, so that cache hits need no external lock. Updates are not atomic with respect to each
+ * other and require synchronizations on external callers.
+ *
+ * Pages are kept in a {@link CompactPageTable}, which costs a few dozen bytes per page instead of
+ * a map entry with a page id, a page info and their fields.
  */
 public class DefaultMetaStore implements MetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultMetaStore.class);
-  /** A map from PageId to page info. */
-  private final Map<PageId, PageInfo> mPageMap = new HashMap<>();
+  /** A table of the pages stored. */
+  private final CompactPageTable mPageTable = new CompactPageTable();
   /** The number of logical bytes used. */
   private final AtomicLong mBytes = new AtomicLong(0);
   /** The evictor. */
   private final CacheEvictor mEvictor;
+  /** The metric of the bytes used in the cache, or null if the store reports no metrics. */
+  @Nullable
+  private final Counter mSpaceUsed;
 
   /**
    * @param conf configuration
    */
   public DefaultMetaStore(AlluxioConfiguration conf) {
-    this(CacheEvictor.create(conf));
-    //metrics for the num of pages stored in the cache
-    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
-        mPageMap::size);
+    this(conf, true);
+  }
+
+  /**
+   * @param conf configuration
+   * @param reportMetrics whether the store reports the pages and the bytes used in the cache,
+   *        which a store holding only a part of the cache, such as a cache tier, does not
+   */
+  public DefaultMetaStore(AlluxioConfiguration conf, boolean reportMetrics) {
+    this(CacheEvictor.create(conf), reportMetrics);
+    if (reportMetrics) {
+      //metrics for the num of pages stored in the cache
+      MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
+          mPageTable::size);
+    }
   }
 
   /**
@@ -56,40 +74,56 @@ public class DefaultMetaStore implements MetaStore {
    */
   @VisibleForTesting
   public DefaultMetaStore(CacheEvictor evictor) {
+    this(evictor, true);
+  }
+
+  private DefaultMetaStore(CacheEvictor evictor, boolean reportMetrics) {
     mEvictor = evictor;
+    mSpaceUsed = reportMetrics ? Metrics.SPACE_USED : null;
   }
 
   @Override
   public boolean hasPage(PageId pageId) {
-    return mPageMap.containsKey(pageId);
+    return mPageTable.contains(pageId);
   }
 
   @Override
   public void addPage(PageId pageId, PageInfo pageInfo) {
     Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
-    mPageMap.put(pageId, pageInfo);
+    mPageTable.put(pageInfo);
     mBytes.addAndGet(pageInfo.getPageSize());
-    Metrics.SPACE_USED.inc(pageInfo.getPageSize());
-    mEvictor.updateOnPut(pageId);
+    if (mSpaceUsed != null) {
+      mSpaceUsed.inc(pageInfo.getPageSize());
+    }
+    mEvictor.updateOnPut(mPageTable.canonicalize(pageId));
   }
 
   @Override
   public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
-    if (!mPageMap.containsKey(pageId)) {
+    PageInfo pageInfo = mPageTable.get(pageId);
+    if (pageInfo == null) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
     mEvictor.updateOnGet(pageId);
-    return mPageMap.get(pageId);
+    return pageInfo;
+  }
+
+  @Override
+  @Nullable
+  public PageInfo peekPageInfo(PageId pageId) {
+    return mPageTable.get(pageId);
   }
 
   @Override
   public PageInfo removePage(PageId pageId) throws PageNotFoundException {
-    if (!mPageMap.containsKey(pageId)) {
+    PageInfo pageInfo = mPageTable.remove(pageId);
+    if (pageInfo == null) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
-    PageInfo pageInfo = mPageMap.remove(pageId);
     mBytes.addAndGet(-pageInfo.getPageSize());
-    Metrics.SPACE_USED.dec(pageInfo.getPageSize());
+    if (mSpaceUsed != null) {
+      mSpaceUsed.dec(pageInfo.getPageSize());
+    }
     mEvictor.updateOnDelete(pageId);
     return pageInfo;
   }
@@ -101,14 +135,16 @@ public class DefaultMetaStore implements MetaStore {
 
   @Override
   public long pages() {
-    return mPageMap.size();
+    return mPageTable.size();
   }
 
   @Override
   public void reset() {
     mBytes.set(0);
-    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
-    mPageMap.clear();
+    if (mSpaceUsed != null) {
+      mSpaceUsed.dec(mSpaceUsed.getCount());
+    }
+    mPageTable.clear();
     mEvictor.reset();
   }
 
@@ -123,7 +159,7 @@ public class DefaultMetaStore implements MetaStore {
     if (victim == null) {
       return null;
     }
-    PageInfo victimInfo = mPageMap.get(victim);
+    PageInfo victimInfo = mPageTable.get(victim);
     if (victimInfo == null) {
       LOG.error("Invalid result returned by evictor: page {} not available", victim);
       evictor.updateOnDelete(victim);
@@ -13,7 +13,9 @@ package alluxio.client.file.cache;
 
 import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileInStream;
+import alluxio.client.file.ReadRange;
 import alluxio.client.file.URIStatus;
+import alluxio.client.file.VectoredReadUtils;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
@@ -28,13 +30,29 @@ import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Implementation of {@link FileInStream} that reads from a local cache if possible.
+ *
+ * If read-ahead is enabled, pages following a sequential read are loaded into the cache in the
+ * background, each load reading from one of a few additional external streams.
  */
 @NotThreadSafe
 public class LocalCacheFileInStream extends FileInStream {
@@ -66,6 +84,15 @@ public class LocalCacheFileInStream extends FileInStream {
   private boolean mClosed = false;
   private boolean mEOF = false;
 
+  /** Read-ahead of pages, or null if disabled. */
+  @Nullable
+  private final PageReadAhead mReadAhead;
+  /** External streams used to read ahead, which are not in use by a load. */
+  private final Queue<FileInStream> mIdleReadAheadStreams = new ConcurrentLinkedQueue<>();
+  /** All external streams opened to read ahead. */
+  private final Set<FileInStream> mReadAheadStreams = ConcurrentHashMap.newKeySet();
+  private volatile boolean mReadAheadClosed = false;
+
   /**
    * Interface to wrap open method of file system.
    */
@@ -114,6 +141,15 @@ public class LocalCacheFileInStream extends FileInStream {
     if (mBufferSize > 0) {
       mBuffer = new byte[mBufferSize];
     }
+    if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_ENABLED)) {
+      long numPages = (status.getLength() + mPageSize - 1) / mPageSize;
+      mReadAhead = new PageReadAhead(this::readAheadPage,
+          PageReadAhead.getExecutor(conf.getInt(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_THREADS)),
+          numPages, conf.getInt(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_MAX_PAGES));
+      mCloser.register(this::closeReadAhead);
+    } else {
+      mReadAhead = null;
+    }
   }
 
   @Override
@@ -166,12 +202,10 @@ public class LocalCacheFileInStream extends FileInStream {
   private int localCachedRead(byte[] bytesBuffer, int offset, int length, ReadType readType,
                               long position, Stopwatch stopwatch) throws IOException {
     long currentPage = position / mPageSize;
-    PageId pageId;
+    PageId pageId = getPageId(currentPage);
     CacheContext cacheContext = mStatus.getCacheContext();
-    if (cacheContext != null && cacheContext.getCacheIdentifier() != null) {
-      pageId = new PageId(cacheContext.getCacheIdentifier(), currentPage);
-    } else {
-      pageId = new PageId(Long.toString(mStatus.getFileId()), currentPage);
+    if (mReadAhead != null) {
+      mReadAhead.onRead(currentPage);
     }
     int currentPageOffset = (int) (position % mPageSize);
     int bytesLeftInPage = (int) (mPageSize - currentPageOffset);
@@ -215,6 +249,14 @@ public class LocalCacheFileInStream extends FileInStream {
     return bytesToReadInPage;
   }
 
+  private PageId getPageId(long pageIndex) {
+    CacheContext cacheContext = mStatus.getCacheContext();
+    if (cacheContext != null && cacheContext.getCacheIdentifier() != null) {
+      return new PageId(cacheContext.getCacheIdentifier(), pageIndex);
+    }
+    return new PageId(Long.toString(mStatus.getFileId()), pageIndex);
+  }
+
   // TODO(binfan): take ByteBuffer once CacheManager takes ByteBuffer to avoid extra mem copy
   private int readInternal(byte[] bytesBuffer, int offset, int length, ReadType readType,
                            long position, boolean isPositionedRead) throws IOException {
@@ -282,6 +324,98 @@ public class LocalCacheFileInStream extends FileInStream {
     return readInternal(b, off, len, ReadType.READ_INTO_BYTE_ARRAY, pos, true);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The pages of the ranges found in the cache are read from the cache. The missing pages are
+   * fetched from external storage with a single vectored read and added to the cache.
+   */
+  @Override
+  public void readVectored(List<ReadRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    checkIfClosed();
+    List<ReadRange> sorted = VectoredReadUtils.sortRanges(ranges);
+    List<PendingRange> pending = new ArrayList<>(sorted.size());
+    TreeMap<Long, ReadRange> missingPages = new TreeMap<>();
+    long bytesReadCache = 0;
+    for (ReadRange range : sorted) {
+      if (range.getEnd() > mStatus.getLength()) {
+        range.getData().completeExceptionally(new EOFException(String.format(
+            "Range %s extends past the end of file %s of length %d", range, mStatus.getPath(),
+            mStatus.getLength())));
+        continue;
+      }
+      PendingRange pendingRange = new PendingRange(range);
+      for (long position = range.getOffset(); position < range.getEnd(); ) {
+        long pageIndex = position / mPageSize;
+        int pageOffset = (int) (position % mPageSize);
+        int length = (int) Math.min(mPageSize - pageOffset, range.getEnd() - position);
+        int bytesRead = mCacheManager.get(getPageId(pageIndex), pageOffset, length,
+            pendingRange.mData, (int) (position - range.getOffset()), mCacheContext);
+        if (bytesRead == length) {
+          bytesReadCache += bytesRead;
+        } else {
+          pendingRange.mMissingPages.add(pageIndex);
+          missingPages.computeIfAbsent(pageIndex, index -> new ReadRange(index * mPageSize,
+              (int) Math.min(mPageSize, mStatus.getLength() - index * mPageSize)));
+        }
+        position += length;
+      }
+      pending.add(pendingRange);
+    }
+    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesReadCache);
+    if (!missingPages.isEmpty()) {
+      readExternalPages(missingPages);
+    }
+    for (PendingRange pendingRange : pending) {
+      pendingRange.complete(missingPages, allocate);
+    }
+  }
+
+  /**
+   * Reads pages from external storage and adds them to the cache. Once this method returns, the
+   * data of every page is available or has failed.
+   *
+   * @param pages the ranges of the pages to read by page index
+   */
+  private void readExternalPages(TreeMap<Long, ReadRange> pages) {
+    long bytesRequested = 0;
+    for (ReadRange page : pages.values()) {
+      bytesRequested += page.getLength();
+    }
+    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
+        .mark(bytesRequested);
+    try {
+      readExternalVectored(new ArrayList<>(pages.values()));
+    } catch (IOException | RuntimeException e) {
+      pages.values().forEach(page -> page.getData().completeExceptionally(e));
+    }
+    for (Map.Entry<Long, ReadRange> entry : pages.entrySet()) {
+      CompletableFuture<ByteBuffer> future = entry.getValue().getData();
+      if (!future.isDone()) {
+        future.completeExceptionally(
+            new IOException("Page " + entry.getKey() + " was not read from external storage"));
+      }
+      if (future.isCompletedExceptionally()) {
+        continue;
+      }
+      ByteBuffer data = future.join();
+      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName())
+          .mark(data.remaining());
+      byte[] page = new byte[data.remaining()];
+      data.duplicate().get(page);
+      mCacheManager.put(getPageId(entry.getKey()), page, mCacheContext);
+    }
+  }
+
+  /**
+   * Vectored read from the external stream, synchronized as the stream is shared with
+   * {@link #readExternalPage}.
+   */
+  private synchronized void readExternalVectored(List<ReadRange> ranges) throws IOException {
+    getExternalFileInStream().readVectored(ranges, ByteBuffer::allocate);
+  }
+
   @Override
   public long getPos() {
     return mPosition;
@@ -318,6 +452,18 @@ public class LocalCacheFileInStream extends FileInStream {
    * @param position position to set the external stream to
    */
   private FileInStream getExternalFileInStream(long position) throws IOException {
+    getExternalFileInStream();
+    long pageStart = position - (position % mPageSize);
+    if (mExternalFileInStream.getPos() != pageStart) {
+      mExternalFileInStream.seek(pageStart);
+    }
+    return mExternalFileInStream;
+  }
+
+  /**
+   * @return the external stream, opened if necessary, at an unspecified position
+   */
+  private FileInStream getExternalFileInStream() throws IOException {
     try {
       if (mExternalFileInStream == null) {
         mExternalFileInStream = mExternalFileInStreamOpener.open(mStatus);
@@ -326,10 +472,6 @@ public class LocalCacheFileInStream extends FileInStream {
     } catch (AlluxioException e) {
       throw new IOException(e);
     }
-    long pageStart = position - (position % mPageSize);
-    if (mExternalFileInStream.getPos() != pageStart) {
-      mExternalFileInStream.seek(pageStart);
-    }
     return mExternalFileInStream;
   }
 
@@ -351,7 +493,19 @@ public class LocalCacheFileInStream extends FileInStream {
   private synchronized byte[] readExternalPage(long position, ReadType readType)
       throws IOException {
     long pageStart = position - (position % mPageSize);
-    FileInStream stream = getExternalFileInStream(pageStart);
+    return readPage(getExternalFileInStream(pageStart), pageStart, readType);
+  }
+
+  /**
+   * Reads a complete page from an external stream positioned at the start of the page.
+   *
+   * @param stream the external stream
+   * @param pageStart the offset of the page in the file
+   * @param readType the read type
+   * @return a byte array of the page data
+   */
+  private byte[] readPage(FileInStream stream, long pageStart, ReadType readType)
+      throws IOException {
     int pageSize = (int) Math.min(mPageSize, mStatus.getLength() - pageStart);
     byte[] page = new byte[pageSize];
     ByteBuffer buffer = readType == ReadType.READ_INTO_BYTE_BUFFER ? ByteBuffer.wrap(page) : null;
@@ -382,6 +536,104 @@ public class LocalCacheFileInStream extends FileInStream {
     return page;
   }
 
+  /**
+   * Loads a page into the cache ahead of the stream position, reading it from an idle read-ahead
+   * stream. Called from the read-ahead executor.
+   *
+   * @param pageIndex index of the page
+   * @return whether the page was read from external storage
+   */
+  private boolean readAheadPage(long pageIndex) throws IOException {
+    PageId pageId = getPageId(pageIndex);
+    if (mCacheManager.hasPage(pageId)) {
+      return false;
+    }
+    FileInStream stream = mIdleReadAheadStreams.poll();
+    if (stream == null) {
+      try {
+        stream = mExternalFileInStreamOpener.open(mStatus);
+      } catch (AlluxioException e) {
+        throw new IOException(e);
+      }
+      mReadAheadStreams.add(stream);
+    }
+    boolean reusable = false;
+    try {
+      if (mReadAheadClosed) {
+        throw new IOException("Stream is closed");
+      }
+      long pageStart = pageIndex * mPageSize;
+      if (stream.getPos() != pageStart) {
+        stream.seek(pageStart);
+      }
+      byte[] page = readPage(stream, pageStart, ReadType.READ_INTO_BYTE_ARRAY);
+      reusable = true;
+      mCacheManager.put(pageId, page, mCacheContext);
+      return true;
+    } finally {
+      if (reusable) {
+        mIdleReadAheadStreams.offer(stream);
+      } else {
+        mReadAheadStreams.remove(stream);
+        stream.close();
+      }
+    }
+  }
+
+  private void closeReadAhead() throws IOException {
+    mReadAheadClosed = true;
+    mReadAhead.close();
+    Closer closer = Closer.create();
+    for (FileInStream stream : mReadAheadStreams) {
+      closer.register(stream);
+    }
+    mReadAheadStreams.clear();
+    mIdleReadAheadStreams.clear();
+    closer.close();
+  }
+
+  /**
+   * A range of a vectored read, with the data found in the cache.
+   */
+  private static final class PendingRange {
+    private final ReadRange mRange;
+    private final byte[] mData;
+    /** Indexes of the pages of the range which were not in the cache. */
+    private final List<Long> mMissingPages = new ArrayList<>();
+
+    private PendingRange(ReadRange range) {
+      mRange = range;
+      mData = new byte[range.getLength()];
+    }
+
+    /**
+     * Fills in the missing pages and completes the range.
+     *
+     * @param pages the ranges of the missing pages by page index, all completed
+     * @param allocate the function allocating the buffer of the range
+     */
+    private void complete(Map<Long, ReadRange> pages, IntFunction<ByteBuffer> allocate) {
+      for (long pageIndex : mMissingPages) {
+        ReadRange page = pages.get(pageIndex);
+        ByteBuffer data;
+        try {
+          data = page.getData().join().duplicate();
+        } catch (CompletionException e) {
+          mRange.getData().completeExceptionally(e.getCause());
+          return;
+        }
+        long start = Math.max(page.getOffset(), mRange.getOffset());
+        long end = Math.min(page.getEnd(), mRange.getEnd());
+        data.position((int) (start - page.getOffset()));
+        data.get(mData, (int) (start - mRange.getOffset()), (int) (end - start));
+      }
+      ByteBuffer buffer = allocate.apply(mData.length);
+      buffer.put(mData);
+      buffer.flip();
+      mRange.getData().complete(buffer);
+    }
+  }
+
   private static final class Metrics {
     // Note that only counter/guage can be added here.
     // Both meter and timer need to be used inline
@@ -16,6 +16,7 @@ import static alluxio.client.file.cache.CacheManager.State.READ_ONLY;
 import static alluxio.client.file.cache.CacheManager.State.READ_WRITE;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.filter.TinyLfuAdmissionPolicy;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.client.quota.CacheQuota;
@@ -75,6 +76,11 @@ import javax.annotation.concurrent.ThreadSafe;
  * <li>Update the pagestore and evictor</li>
  * <li>Release corresponding page lock</li>
  * </ol>
+ *
+ * Cache hits only acquire the corresponding page read lock, as the metastore supports lookups
+ * concurrent with updates and the evictor is thread-safe. Puts, deletes and evictions still
+ * serialize on mMetaLock, which keeps the check of the space left in the cache and the update of
+ * the metastore atomic with respect to each other.
  */
 @ThreadSafe
 public class LocalCacheManager implements CacheManager {
@@ -99,8 +105,14 @@ public class LocalCacheManager implements CacheManager {
   private final ExecutorService mAsyncCacheExecutor;
   private final ConcurrentHashSet<PageId> mPendingRequests;
   private final boolean mQuotaEnabled;
+  /** Policy deciding whether a page may evict another, or null to always admit pages. */
+  @Nullable
+  private final TinyLfuAdmissionPolicy mAdmissionPolicy;
   /** State of this cache. */
   private final AtomicReference<CacheManager.State> mState = new AtomicReference<>();
+  /** Listener of evicted pages, or null if evicted pages are dropped. */
+  @Nullable
+  private volatile EvictionListener mEvictionListener;
 
   /**
    * @param conf the Alluxio configuration
@@ -170,6 +182,8 @@ public class LocalCacheManager implements CacheManager {
             : null;
     mInitService = mAsyncRestore ? Executors.newSingleThreadExecutor() : null;
     mQuotaEnabled = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED);
+    mAdmissionPolicy = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ADMISSION_ENABLED)
+        ? new TinyLfuAdmissionPolicy(mCacheSize / mPageSize) : null;
     Metrics.registerGauges(mCacheSize, mMetaStore);
     mState.set(READ_ONLY);
     Metrics.STATE.inc();
@@ -219,10 +233,34 @@ public class LocalCacheManager implements CacheManager {
     BENIGN_RACING,
     INSUFFICIENT_SPACE_EVICTED,
     NO_SPACE_LEFT,
+    NOT_ADMITTED,
     OK,
     OTHER,
   }
 
+  /**
+   * Listener of the pages evicted to make room for new pages.
+   */
+  interface EvictionListener {
+    /**
+     * Called after a page is evicted, with the page locks of the evicted page held.
+     *
+     * @param pageInfo info of the evicted page
+     * @param page the data of the evicted page
+     */
+    void onEvicted(PageInfo pageInfo, byte[] page);
+  }
+
+  /**
+   * Sets the listener of evicted pages. The data of each evicted page is read before the page is
+   * deleted from the page store, so this must only be used with fast page stores.
+   *
+   * @param listener the listener, or null to drop evicted pages
+   */
+  void setEvictionListener(@Nullable EvictionListener listener) {
+    mEvictionListener = listener;
+  }
+
   /**
    * @return which scope to evict a page or null if space is sufficient
    */
@@ -255,12 +293,12 @@ public class LocalCacheManager implements CacheManager {
       return false;
     }
     if (!mAsyncWrite) {
-      boolean ok = putInternal(pageId, page, cacheContext);
-      LOG.debug("put({},{} bytes) exits: {}", pageId, page.length, ok);
-      if (!ok) {
+      PutResult result = putInternal(pageId, page, cacheContext);
+      LOG.debug("put({},{} bytes) exits: {}", pageId, page.length, result);
+      if (isPutError(result)) {
         Metrics.PUT_ERRORS.inc();
       }
-      return ok;
+      return result == PutResult.OK;
     }
 
     if (!mPendingRequests.add(pageId)) { // already queued
@@ -269,8 +307,7 @@ public class LocalCacheManager implements CacheManager {
     try {
       mAsyncCacheExecutor.submit(() -> {
         try {
-          boolean ok = putInternal(pageId, page, cacheContext);
-          if (!ok) {
+          if (isPutError(putInternal(pageId, page, cacheContext))) {
             Metrics.PUT_ERRORS.inc();
           }
         } finally {
@@ -290,14 +327,18 @@ public class LocalCacheManager implements CacheManager {
     return true;
   }
 
-  private boolean putInternal(PageId pageId, byte[] page, CacheContext cacheContext) {
+  private static boolean isPutError(PutResult result) {
+    return result != PutResult.OK && result != PutResult.NOT_ADMITTED;
+  }
+
+  private PutResult putInternal(PageId pageId, byte[] page, CacheContext cacheContext) {
     PutResult result = PutResult.OK;
     boolean forcedToEvict = false;
     for (int i = 0; i <= mMaxEvictionRetries; i++) {
       result = putAttempt(pageId, page, cacheContext, forcedToEvict);
       switch (result) {
         case OK:
-          return true;
+          return result;
         case BENIGN_RACING:
           // failed put attempt due to a benign race, try again.
         case INSUFFICIENT_SPACE_EVICTED:
@@ -313,10 +354,13 @@ public class LocalCacheManager implements CacheManager {
           // otherwise hitratio may drop due to inability to write new data to cache.
           forcedToEvict = true;
           continue;
+        case NOT_ADMITTED:
+          Metrics.PUT_NOT_ADMITTED.inc();
+          return result;
         case OTHER:
           // fall through intentionally
         default:
-          return false;
+          return result;
       }
     }
     if (result == PutResult.BENIGN_RACING) {
@@ -324,7 +368,7 @@ public class LocalCacheManager implements CacheManager {
     } else if (result == PutResult.INSUFFICIENT_SPACE_EVICTED) {
       Metrics.PUT_INSUFFICIENT_SPACE_ERRORS.inc();
     }
-    return false;
+    return result;
   }
 
   private PutResult putAttempt(PageId pageId, byte[] page, CacheContext cacheContext,
@@ -357,6 +401,12 @@ public class LocalCacheManager implements CacheManager {
             Metrics.PUT_EVICTION_ERRORS.inc();
             return PutResult.OTHER;
           }
+          if (mAdmissionPolicy != null
+              && !mAdmissionPolicy.admit(pageId, victimPageInfo.getPageId())) {
+            LOG.debug("{} is accessed less often than victim {}, not admitted", pageId,
+                victimPageInfo.getPageId());
+            return PutResult.NOT_ADMITTED;
+          }
         }
       }
       if (scopeToEvict == null) {
@@ -409,6 +459,14 @@ public class LocalCacheManager implements CacheManager {
       // phase2: remove victim and add new page in pagestore
       // Regardless of enoughSpace, delete the victim as it has been removed from the metastore
       PageId victim = victimPageInfo.getPageId();
+      EvictionListener listener = mEvictionListener;
+      byte[] evictedPage = null;
+      if (listener != null) {
+        evictedPage = new byte[(int) victimPageInfo.getPageSize()];
+        if (getPage(victim, 0, evictedPage.length, evictedPage, 0) < 0) {
+          evictedPage = null;
+        }
+      }
       try {
         mPageStore.delete(victim);
         // Bytes evicted from the cache
@@ -416,6 +474,9 @@ public class LocalCacheManager implements CacheManager {
             .mark(victimPageInfo.getPageSize());
         // Errors when adding pages
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_PAGES_EVICTED.getName()).mark();
+        if (evictedPage != null) {
+          listener.onEvicted(victimPageInfo, evictedPage);
+        }
       } catch (IOException | PageNotFoundException e) {
         if (scopeToEvict == null) {
           // Failed to evict page, remove new page from metastore as there will not be enough space
@@ -476,9 +537,12 @@ public class LocalCacheManager implements CacheManager {
       Metrics.GET_ERRORS.inc();
       return -1;
     }
+    if (mAdmissionPolicy != null) {
+      mAdmissionPolicy.recordAccess(pageId);
+    }
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.readLock())) {
-      try (LockResource r2 = new LockResource(mMetaLock.readLock())) {
+      try {
         mMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
       } catch (PageNotFoundException e) {
         LOG.debug("get({},pageOffset={}) fails due to page not found", pageId, pageOffset);
@@ -537,6 +601,55 @@ public class LocalCacheManager implements CacheManager {
     return mState.get();
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mMetaStore.hasPage(pageId);
+  }
+
+  /**
+   * Reads a whole page from the page store. Unlike {@link #get}, this is not counted as an access
+   * of the page, neither for eviction nor for admission.
+   *
+   * @param pageId page identifier
+   * @return the data of the page, or null if the page is not in the cache or cannot be read
+   */
+  @Nullable
+  byte[] readPage(PageId pageId) {
+    ReadWriteLock pageLock = getPageLock(pageId);
+    try (LockResource r = new LockResource(pageLock.readLock())) {
+      PageInfo pageInfo = mMetaStore.peekPageInfo(pageId);
+      if (pageInfo == null) {
+        return null;
+      }
+      byte[] page = new byte[(int) pageInfo.getPageSize()];
+      if (getPage(pageId, 0, page.length, page, 0) < 0) {
+        return null;
+      }
+      return page;
+    }
+  }
+
+  /**
+   * @return the capacity of the cache in bytes
+   */
+  long getCacheSize() {
+    return mCacheSize;
+  }
+
+  /**
+   * @return the bytes used by the pages in the cache
+   */
+  long getUsedBytes() {
+    return mMetaStore.bytes();
+  }
+
+  /**
+   * @return the number of pages in the cache
+   */
+  long getPageCount() {
+    return mMetaStore.pages();
+  }
+
   /**
    * Restores a page store at the configured location, updating meta store accordingly.
    * If restore process fails, cleanup the location and create a new page store.
@@ -627,12 +740,10 @@ public class LocalCacheManager implements CacheManager {
   public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
     int numOfPages = (int) (fileLength / mPageSize);
     List<PageId> pageIds = new ArrayList<>(numOfPages);
-    try (LockResource r = new LockResource(mMetaLock.readLock())) {
-      for (long pageIndex = 0; pageIndex < numOfPages; pageIndex++) {
-        PageId pageId = new PageId(fileId, pageIndex);
-        if (mMetaStore.hasPage(pageId)) {
-          pageIds.add(pageId);
-        }
+    for (long pageIndex = 0; pageIndex < numOfPages; pageIndex++) {
+      PageId pageId = new PageId(fileId, pageIndex);
+      if (mMetaStore.hasPage(pageId)) {
+        pageIds.add(pageId);
       }
     }
     return pageIds;
@@ -724,6 +835,9 @@ public class LocalCacheManager implements CacheManager {
     /** Errors when adding pages due to failed eviction. */
     private static final Counter PUT_EVICTION_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_EVICTION_ERRORS.getName());
+    /** Pages not added as they are accessed less often than the page they would evict. */
+    private static final Counter PUT_NOT_ADMITTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_NOT_ADMITTED.getName());
     /** Errors when adding pages due to benign racing eviction. */
     private static final Counter PUT_BENIGN_RACING_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_BENIGN_RACING_ERRORS.getName());
@@ -15,6 +15,8 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 
+import javax.annotation.Nullable;
+
 /**
  * The metadata store for pages stored in cache.
  */
@@ -25,10 +27,20 @@ public interface MetaStore {
    * @return an instance of MetaStore
    */
   static MetaStore create(AlluxioConfiguration conf) {
+    return create(conf, true);
+  }
+
+  /**
+   * @param conf the alluxio configuration
+   * @param reportMetrics whether the store reports the pages and the bytes used in the cache,
+   *        which a store holding only a part of the cache, such as a cache tier, does not
+   * @return an instance of MetaStore
+   */
+  static MetaStore create(AlluxioConfiguration conf, boolean reportMetrics) {
     if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED)) {
-      return new QuotaMetaStore(conf);
+      return new QuotaMetaStore(conf, reportMetrics);
     }
-    return new DefaultMetaStore(conf);
+    return new DefaultMetaStore(conf, reportMetrics);
   }
 
   /**
@@ -51,6 +63,15 @@ public interface MetaStore {
    */
   PageInfo getPageInfo(PageId pageId) throws PageNotFoundException;
 
+  /**
+   * Gets the info of a page without counting it as an access of the page for eviction.
+   *
+   * @param pageId page identifier
+   * @return page info, or null if the page is not stored in cache
+   */
+  @Nullable
+  PageInfo peekPageInfo(PageId pageId);
+
   /**
    * Removes a page.
    *
@@ -93,6 +93,16 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean hasPage(PageId pageId) {
+    try {
+      return mCacheManager.hasPage(pageId);
+    } catch (Exception e) {
+      LOG.error("Failed to check page {}", pageId, e);
+      return false;
+    }
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     try {
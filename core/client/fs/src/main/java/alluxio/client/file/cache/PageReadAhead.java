@@ -0,0 +1,256 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Read-ahead of the pages of a single stream. The stream reports each page it reads through
+ * {@link #onRead}. Once a few consecutive pages have been read, the following pages are loaded
+ * into the cache asynchronously on an executor shared by all streams.
+ *
+ * The number of pages loaded ahead adapts to how useful they are: the window doubles every time
+ * the stream reads a page that was loaded ahead, and is halved when the stream seeks away and
+ * leaves pages unread.
+ *
+ * This class is only accessed by the thread reading the stream; loads run on the executor.
+ */
+@NotThreadSafe
+public final class PageReadAhead implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(PageReadAhead.class);
+  /** Number of consecutive page reads before the access is considered sequential. */
+  private static final int SEQUENTIAL_READS_THRESHOLD = 2;
+  /** Number of pages loaded ahead once the access is considered sequential. */
+  private static final int INITIAL_WINDOW = 2;
+  /** Number of queued loads allowed per executor thread. */
+  private static final int QUEUE_SIZE_PER_THREAD = 16;
+
+  @GuardedBy("PageReadAhead.class")
+  private static ExecutorService sExecutor;
+
+  /**
+   * Loads a page into the cache.
+   */
+  @FunctionalInterface
+  public interface PageLoader {
+    /**
+     * @param pageIndex index of the page to load
+     * @return whether the page was read from external storage, false if it was already cached
+     */
+    boolean load(long pageIndex) throws Exception;
+  }
+
+  private final PageLoader mLoader;
+  private final ExecutorService mExecutor;
+  private final long mNumPages;
+  private final int mMaxWindow;
+
+  /** Pages being loaded or loaded ahead, which have not been read by the stream yet. */
+  private final TreeMap<Long, Future<Boolean>> mPending = new TreeMap<>();
+  private long mLastPage = -1;
+  private int mSequentialReads = 0;
+  private int mWindow;
+  /** The first page after the ones already scheduled. */
+  private long mNextPage = 0;
+
+  /**
+   * @param threads the number of threads of the shared executor, used on first call only
+   * @return the executor shared by the read-ahead of all streams
+   */
+  public static synchronized ExecutorService getExecutor(int threads) {
+    if (sExecutor == null) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(threads * QUEUE_SIZE_PER_THREAD),
+          ThreadFactoryUtils.build("cache-read-ahead-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      sExecutor = executor;
+    }
+    return sExecutor;
+  }
+
+  /**
+   * @param loader the function loading a page into the cache
+   * @param executor the executor to run loads on
+   * @param numPages the number of pages of the file
+   * @param maxWindow the maximum number of pages to load ahead
+   */
+  public PageReadAhead(PageLoader loader, ExecutorService executor, long numPages,
+      int maxWindow) {
+    Preconditions.checkArgument(maxWindow > 0, "Read-ahead window must be positive: %s",
+        maxWindow);
+    mLoader = loader;
+    mExecutor = executor;
+    mNumPages = numPages;
+    mMaxWindow = maxWindow;
+    mWindow = Math.min(INITIAL_WINDOW, maxWindow);
+  }
+
+  /**
+   * Called before the stream reads from a page. If the page is being loaded ahead, waits for the
+   * load to finish so that the read hits the cache. Schedules loads of the following pages if
+   * the access is sequential.
+   *
+   * @param pageIndex the index of the page about to be read
+   */
+  public void onRead(long pageIndex) {
+    if (pageIndex == mLastPage) {
+      return;
+    }
+    if (pageIndex == mLastPage + 1) {
+      mSequentialReads++;
+    } else {
+      mSequentialReads = 1;
+      mNextPage = pageIndex + 1;
+      if (discardPending() > 0) {
+        mWindow = Math.max(1, mWindow / 2);
+      }
+    }
+    mLastPage = pageIndex;
+    Future<Boolean> future = mPending.remove(pageIndex);
+    if (future != null && await(future)) {
+      MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_HITS.getName()).inc();
+      mWindow = Math.min(mMaxWindow, mWindow * 2);
+    }
+    if (mSequentialReads >= SEQUENTIAL_READS_THRESHOLD) {
+      schedule(pageIndex);
+    }
+  }
+
+  /**
+   * Cancels the loads not started yet.
+   */
+  @Override
+  public void close() {
+    discardPending();
+  }
+
+  /**
+   * @return the current number of pages to load ahead of the stream
+   */
+  @VisibleForTesting
+  int getWindow() {
+    return mWindow;
+  }
+
+  /**
+   * @return the number of pages scheduled and not yet read by the stream
+   */
+  @VisibleForTesting
+  int getNumPending() {
+    return mPending.size();
+  }
+
+  private void schedule(long pageIndex) {
+    long end = Math.min(mNumPages, pageIndex + 1 + mWindow);
+    for (long page = Math.max(mNextPage, pageIndex + 1); page < end; page++) {
+      final long pageToLoad = page;
+      try {
+        mPending.put(page, mExecutor.submit(() -> load(pageToLoad)));
+      } catch (RejectedExecutionException e) {
+        // retried on the next read
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_REJECTED.getName())
+            .inc(end - page);
+        LOG.debug("Read-ahead of pages {} to {} rejected", page, end, e);
+        return;
+      }
+      mNextPage = page + 1;
+    }
+  }
+
+  private boolean load(long pageIndex) throws Exception {
+    boolean loaded = mLoader.load(pageIndex);
+    if (loaded) {
+      MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_PAGES.getName()).inc();
+    }
+    return loaded;
+  }
+
+  /**
+   * Waits for a load to finish.
+   *
+   * @return whether the page was loaded ahead
+   */
+  private boolean await(Future<Boolean> future) {
+    long start = System.nanoTime();
+    boolean done = future.isDone();
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException | CancellationException e) {
+      LOG.debug("Failed to read ahead page", e);
+      return false;
+    } finally {
+      if (!done) {
+        MetricsSystem.timer(MetricKey.CLIENT_CACHE_READ_AHEAD_STALL_TIMER.getName())
+            .update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /**
+   * Discards all pending pages, cancelling the loads not started yet.
+   *
+   * @return the number of pages loaded ahead and never read
+   */
+  private int discardPending() {
+    int wasted = 0;
+    for (Iterator<Map.Entry<Long, Future<Boolean>>> it = mPending.entrySet().iterator();
+        it.hasNext(); ) {
+      Future<Boolean> future = it.next().getValue();
+      it.remove();
+      if (!future.cancel(false) && isLoaded(future)) {
+        wasted++;
+      }
+    }
+    MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_WASTED.getName()).inc(wasted);
+    return wasted;
+  }
+
+  private static boolean isLoaded(Future<Boolean> future) {
+    if (!future.isDone()) {
+      // a load in progress is counted as loaded
+      return true;
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException | CancellationException e) {
+      return false;
+    }
+  }
+}
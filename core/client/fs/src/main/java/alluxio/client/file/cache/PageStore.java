@@ -12,7 +12,10 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.store.LocalPageStore;
+import alluxio.client.file.cache.store.LogPageStore;
 import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreOptions;
+import alluxio.client.file.cache.store.OffHeapMemoryPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.client.file.cache.store.RocksPageStore;
@@ -71,8 +74,16 @@ public interface PageStore extends AutoCloseable {
       case ROCKS:
         pageStore = RocksPageStore.open(options.toOptions());
         break;
+      case LOG:
+        pageStore = new LogPageStore(options.toOptions());
+        break;
       case MEM:
-        pageStore = new MemoryPageStore(options.toOptions());
+        MemoryPageStoreOptions memOptions = options.toOptions();
+        if (memOptions.isOffHeap()) {
+          pageStore = new OffHeapMemoryPageStore(memOptions);
+        } else {
+          pageStore = new MemoryPageStore(memOptions);
+        }
         break;
       default:
         throw new IllegalArgumentException(
@@ -34,7 +34,15 @@ public class QuotaMetaStore extends DefaultMetaStore {
    * @param conf configuration
    */
   public QuotaMetaStore(AlluxioConfiguration conf) {
-    super(conf);
+    this(conf, true);
+  }
+
+  /**
+   * @param conf configuration
+   * @param reportMetrics whether the store reports the pages and the bytes used in the cache
+   */
+  public QuotaMetaStore(AlluxioConfiguration conf, boolean reportMetrics) {
+    super(conf, reportMetrics);
     mBytesInScope = new ConcurrentHashMap<>();
     mCacheEvictors = new ConcurrentHashMap<>();
     mSupplier = () -> CacheEvictor.create(conf);
@@ -0,0 +1,342 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.filter.FrequencySketch;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache manager with two tiers: a small memory tier holding the hottest pages on top of a
+ * larger tier backed by the configured page store, typically a local disk.
+ *
+ * A page lives in at most one tier, and each tier enforces its own capacity and quotas. New pages
+ * are added to the memory tier. Pages evicted from the memory tier are demoted to the lower tier
+ * instead of being dropped, and pages hit repeatedly in the lower tier are promoted back to the
+ * memory tier. Hits in the lower tier are counted by a {@link FrequencySketch}, so that pages read
+ * a few times long ago are not promoted.
+ *
+ * Demotions are written to the lower tier by a background thread, so that the eviction holding
+ * the locks of the memory tier does not wait for the lower tier. Until then the demoted pages are
+ * still served from memory. A page moves between the tiers with a lock of the page held, so that
+ * a promotion, a demotion and a deletion of the same page do not interleave.
+ */
+@ThreadSafe
+public class TieredCacheManager implements CacheManager {
+  private static final Logger LOG = LoggerFactory.getLogger(TieredCacheManager.class);
+  /** Number of hits between agings of the hit counts, as a multiple of the lower tier pages. */
+  private static final int SAMPLE_FACTOR = 10;
+  private static final int MAX_PROMOTION_HITS = 15;
+  /** Number of evicted pages waiting for the lower tier, beyond which evicted pages are dropped. */
+  private static final int MAX_PENDING_DEMOTIONS = 64;
+  private static final int LOCK_SIZE = 1024;
+
+  private final LocalCacheManager mMemoryTier;
+  private final LocalCacheManager mLowerTier;
+  private final FrequencySketch mLowerTierHits;
+  private final int mPromotionHits;
+  /** The locks of the pages moving between the tiers, striped by page. */
+  private final Lock[] mPageLocks = new Lock[LOCK_SIZE];
+  /** The pages evicted from the memory tier and not yet written to the lower tier. */
+  private final Map<PageId, byte[]> mDemoting = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor mDemoteExecutor = new ThreadPoolExecutor(1, 1, 0,
+      TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(MAX_PENDING_DEMOTIONS),
+      ThreadFactoryUtils.build("tiered-cache-demote-%d", true));
+
+  /**
+   * @param conf the Alluxio configuration
+   * @param metaStore the meta store of the lower tier
+   * @return an instance of {@link TieredCacheManager}
+   */
+  public static TieredCacheManager create(AlluxioConfiguration conf, MetaStore metaStore)
+      throws IOException {
+    InstancedConfiguration memoryConf = new InstancedConfiguration(conf.copyProperties());
+    memoryConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.MEM);
+    memoryConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE,
+        conf.getBytes(PropertyKey.USER_CLIENT_CACHE_TIERED_MEMORY_SIZE));
+    // a promoted page is deleted from the lower tier once the memory tier holds it
+    memoryConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    memoryConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    // the lower tier is created first, so that the gauges of a single tier cache report it
+    LocalCacheManager lowerTier = LocalCacheManager.create(conf, metaStore);
+    LocalCacheManager memoryTier;
+    try {
+      // the memory tier reports its space and pages in its own gauges
+      memoryTier = LocalCacheManager.create(memoryConf, MetaStore.create(memoryConf, false));
+    } catch (IOException e) {
+      try {
+        lowerTier.close();
+      } catch (Exception ex) {
+        e.addSuppressed(ex);
+      }
+      throw e;
+    }
+    return new TieredCacheManager(conf, memoryTier, lowerTier);
+  }
+
+  /**
+   * @param conf the Alluxio configuration
+   * @param memoryTier the cache manager of the memory tier
+   * @param lowerTier the cache manager of the lower tier
+   */
+  @VisibleForTesting
+  TieredCacheManager(AlluxioConfiguration conf, LocalCacheManager memoryTier,
+      LocalCacheManager lowerTier) {
+    mMemoryTier = memoryTier;
+    mLowerTier = lowerTier;
+    mPromotionHits = conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIERED_PROMOTION_HITS);
+    Preconditions.checkArgument(mPromotionHits > 0 && mPromotionHits <= MAX_PROMOTION_HITS,
+        "%s must be between 1 and %s: %s",
+        PropertyKey.Name.USER_CLIENT_CACHE_TIERED_PROMOTION_HITS, MAX_PROMOTION_HITS,
+        mPromotionHits);
+    mLowerTierHits = new FrequencySketch(Math.max(1,
+        conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE)
+            / conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE)), SAMPLE_FACTOR);
+    for (int i = 0; i < LOCK_SIZE; i++) {
+      mPageLocks[i] = new ReentrantLock();
+    }
+    mMemoryTier.setEvictionListener(this::onEvicted);
+    Metrics.registerGauges(mMemoryTier);
+  }
+
+  @Override
+  public boolean put(PageId pageId, byte[] page, CacheContext cacheContext) {
+    // pages rejected by the memory tier, e.g. by its admission policy, may still fit below
+    return mMemoryTier.put(pageId, page, cacheContext)
+        || mLowerTier.put(pageId, page, cacheContext);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
+      int offsetInBuffer, CacheContext cacheContext) {
+    int bytesRead =
+        mMemoryTier.get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer, cacheContext);
+    if (bytesRead > 0) {
+      Metrics.MEMORY_TIER_HITS.inc();
+      return bytesRead;
+    }
+    byte[] demoting = mDemoting.get(pageId);
+    if (demoting != null && pageOffset < demoting.length) {
+      bytesRead = Math.min(bytesToRead, demoting.length - pageOffset);
+      System.arraycopy(demoting, pageOffset, buffer, offsetInBuffer, bytesRead);
+      Metrics.MEMORY_TIER_HITS.inc();
+      return bytesRead;
+    }
+    bytesRead =
+        mLowerTier.get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer, cacheContext);
+    if (bytesRead > 0) {
+      Metrics.LOWER_TIER_HITS.inc();
+      long hash = hash(pageId);
+      mLowerTierHits.increment(hash);
+      if (mLowerTierHits.frequency(hash) >= mPromotionHits) {
+        promote(pageId, cacheContext);
+      }
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mMemoryTier.hasPage(pageId) || mDemoting.containsKey(pageId)
+        || mLowerTier.hasPage(pageId);
+  }
+
+  @Override
+  public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
+    List<PageId> pageIds =
+        new ArrayList<>(mMemoryTier.getCachedPageIdsByFileId(fileId, fileLength));
+    Set<PageId> memoryPageIds = new HashSet<>(pageIds);
+    for (PageId pageId : mDemoting.keySet()) {
+      if (pageId.getFileId().equals(fileId) && memoryPageIds.add(pageId)) {
+        pageIds.add(pageId);
+      }
+    }
+    for (PageId pageId : mLowerTier.getCachedPageIdsByFileId(fileId, fileLength)) {
+      if (!memoryPageIds.contains(pageId)) {
+        pageIds.add(pageId);
+      }
+    }
+    pageIds.sort(Comparator.comparingLong(PageId::getPageIndex));
+    return pageIds;
+  }
+
+  @Override
+  public boolean delete(PageId pageId) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      // a page put again while it was demoted may be in both tiers, so check both tiers
+      boolean demoting = mDemoting.remove(pageId) != null;
+      boolean inMemoryTier = mMemoryTier.hasPage(pageId);
+      boolean inLowerTier = mLowerTier.hasPage(pageId);
+      if (!demoting && !inMemoryTier && !inLowerTier) {
+        return false;
+      }
+      boolean deleted = true;
+      if (inMemoryTier) {
+        // the page may have been evicted from the memory tier since
+        deleted = mMemoryTier.delete(pageId) || mDemoting.remove(pageId) != null;
+      }
+      if (inLowerTier) {
+        deleted &= mLowerTier.delete(pageId);
+      }
+      return deleted;
+    }
+  }
+
+  @Override
+  public State state() {
+    State memoryState = mMemoryTier.state();
+    State lowerState = mLowerTier.state();
+    return memoryState.getValue() < lowerState.getValue() ? memoryState : lowerState;
+  }
+
+  @Override
+  public void close() throws Exception {
+    mDemoteExecutor.shutdownNow();
+    mDemoteExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    mDemoting.clear();
+    try {
+      mMemoryTier.close();
+    } finally {
+      mLowerTier.close();
+    }
+  }
+
+  /**
+   * Queues a page evicted from the memory tier for the lower tier. Called with the locks of the
+   * memory tier held, so it must not wait.
+   */
+  private void onEvicted(PageInfo pageInfo, byte[] page) {
+    PageId pageId = pageInfo.getPageId();
+    mDemoting.put(pageId, page);
+    try {
+      mDemoteExecutor.execute(() -> demote(pageInfo, page));
+    } catch (RejectedExecutionException e) {
+      mDemoting.remove(pageId, page);
+      LOG.debug("Dropped page {} evicted from the memory tier: too many pending demotions",
+          pageId);
+    }
+  }
+
+  /**
+   * Moves a page evicted from the memory tier to the lower tier.
+   */
+  private void demote(PageInfo pageInfo, byte[] page) {
+    PageId pageId = pageInfo.getPageId();
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      if (!mDemoting.remove(pageId, page)) {
+        // deleted, or evicted again and demoted by a later task
+        return;
+      }
+      if (mMemoryTier.hasPage(pageId)) {
+        // put again in the memory tier since it was evicted
+        return;
+      }
+      CacheContext context = CacheContext.defaults().setCacheScope(pageInfo.getScope());
+      if (mLowerTier.put(pageId, page, context)) {
+        Metrics.PAGES_DEMOTED.inc();
+      } else {
+        LOG.debug("Failed to demote page {} to the lower tier", pageId);
+      }
+    }
+  }
+
+  /**
+   * Moves a page from the lower tier to the memory tier.
+   */
+  private void promote(PageId pageId, CacheContext cacheContext) {
+    try (LockResource r = new LockResource(getPageLock(pageId))) {
+      // read the page store directly, as the read being served already counted as the page
+      // access
+      byte[] page = mLowerTier.readPage(pageId);
+      if (page == null) {
+        return;
+      }
+      // a demotion of the page evicted right away waits for the lock, so it follows the delete
+      if (mMemoryTier.put(pageId, page, cacheContext)) {
+        mLowerTier.delete(pageId);
+        Metrics.PAGES_PROMOTED.inc();
+      }
+    }
+  }
+
+  private Lock getPageLock(PageId pageId) {
+    return mPageLocks[
+        Math.floorMod((int) (pageId.getFileId().hashCode() + pageId.getPageIndex()), LOCK_SIZE)];
+  }
+
+  private static long hash(PageId pageId) {
+    return ((long) pageId.getFileId().hashCode() << 32) ^ pageId.getPageIndex();
+  }
+
+  private static final class Metrics {
+    /** Reads served by the memory tier. */
+    private static final Counter MEMORY_TIER_HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MEMORY_TIER_HITS.getName());
+    /** Reads served by the lower tier. */
+    private static final Counter LOWER_TIER_HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_LOWER_TIER_HITS.getName());
+    /** Pages moved from the memory tier to the lower tier. */
+    private static final Counter PAGES_DEMOTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_DEMOTED.getName());
+    /** Pages moved from the lower tier to the memory tier. */
+    private static final Counter PAGES_PROMOTED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_PROMOTED.getName());
+
+    /**
+     * Registers the space and page gauges of the memory tier. The gauges of the lower tier are
+     * registered under the names of a single tier cache.
+     */
+    private static void registerGauges(LocalCacheManager memoryTier) {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_MEMORY_TIER_PAGES.getName()),
+          memoryTier::getPageCount);
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(
+              MetricKey.CLIENT_CACHE_MEMORY_TIER_SPACE_AVAILABLE.getName()),
+          () -> memoryTier.getCacheSize() - memoryTier.getUsedBytes());
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_MEMORY_TIER_SPACE_USED.getName()),
+          memoryTier::getUsedBytes);
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+}
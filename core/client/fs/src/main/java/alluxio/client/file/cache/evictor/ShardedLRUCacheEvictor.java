@@ -0,0 +1,115 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * LRU client-side cache eviction policy which splits pages into shards, each with its own lock
+ * and access-ordered map, so that updates on different shards do not contend. Each page records
+ * the time of its last access; eviction compares the least recently used page of every shard and
+ * picks the oldest one.
+ */
+@ThreadSafe
+public class ShardedLRUCacheEvictor implements CacheEvictor {
+  private static final int NUM_SHARDS = 64;
+  private static final int LINKED_HASH_MAP_INIT_CAPACITY = 200;
+  private static final float LINKED_HASH_MAP_INIT_LOAD_FACTOR = 0.75f;
+  private static final boolean LINKED_HASH_MAP_ACCESS_ORDERED = true;
+
+  private final Shard[] mShards = new Shard[NUM_SHARDS];
+
+  /**
+   * Required constructor.
+   *
+   * @param conf Alluxio configuration
+   */
+  public ShardedLRUCacheEvictor(AlluxioConfiguration conf) {
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      mShards[i] = new Shard();
+    }
+  }
+
+  @Override
+  public void updateOnGet(PageId pageId) {
+    getShard(pageId).touch(pageId);
+  }
+
+  @Override
+  public void updateOnPut(PageId pageId) {
+    getShard(pageId).touch(pageId);
+  }
+
+  @Override
+  public void updateOnDelete(PageId pageId) {
+    getShard(pageId).remove(pageId);
+  }
+
+  @Nullable
+  @Override
+  public PageId evict() {
+    PageId victim = null;
+    long victimAccessTime = Long.MAX_VALUE;
+    for (Shard shard : mShards) {
+      synchronized (shard) {
+        if (shard.mLRUCache.isEmpty()) {
+          continue;
+        }
+        Map.Entry<PageId, Long> eldest = shard.mLRUCache.entrySet().iterator().next();
+        if (victim == null || eldest.getValue() - victimAccessTime < 0) {
+          victim = eldest.getKey();
+          victimAccessTime = eldest.getValue();
+        }
+      }
+    }
+    return victim;
+  }
+
+  @Override
+  public void reset() {
+    for (Shard shard : mShards) {
+      synchronized (shard) {
+        shard.mLRUCache.clear();
+      }
+    }
+  }
+
+  private Shard getShard(PageId pageId) {
+    int hash = pageId.hashCode();
+    return mShards[Math.floorMod(hash ^ (hash >>> 16), NUM_SHARDS)];
+  }
+
+  /**
+   * A shard of pages in access order, mapped to the time of their last access.
+   */
+  private static final class Shard {
+    @GuardedBy("this")
+    private final LinkedHashMap<PageId, Long> mLRUCache = new LinkedHashMap<>(
+        LINKED_HASH_MAP_INIT_CAPACITY, LINKED_HASH_MAP_INIT_LOAD_FACTOR,
+        LINKED_HASH_MAP_ACCESS_ORDERED);
+
+    synchronized void touch(PageId pageId) {
+      mLRUCache.put(pageId, System.nanoTime());
+    }
+
+    synchronized void remove(PageId pageId) {
+      mLRUCache.remove(pageId);
+    }
+  }
+}
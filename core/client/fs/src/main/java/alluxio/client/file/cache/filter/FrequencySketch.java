@@ -0,0 +1,161 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A count-min sketch estimating how often items were accessed recently, as used by TinyLFU.
+ *
+ * Each item maps to four 4-bit counters, one in each of four rows, and its frequency is the
+ * minimum of its counters, saturating at 15. Counters of a row are packed sixteen to a long and
+ * the four counters of an item share a long per row. After a number of increments proportional
+ * to the number of items tracked, all counters are halved so that old accesses fade away.
+ *
+ * Counters are updated with compare-and-set, so recording accesses does not take a lock. An
+ * increment racing with the halving of the counters may be lost, which only makes the estimate
+ * slightly less accurate.
+ */
+@ThreadSafe
+public final class FrequencySketch {
+  /** Number of rows, i.e. counters per item. */
+  private static final int DEPTH = 4;
+  private static final int MAX_COUNT = 15;
+  /** Mask of the low bit of each counter of a long. */
+  private static final long ONE_MASK = 0x1111111111111111L;
+  /** Mask of the three low bits of each counter of a long. */
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+  private final AtomicLongArray mTable;
+  private final int mMask;
+  private final int mSampleSize;
+  /** Number of increments since the counters were last halved. */
+  private final AtomicInteger mSize = new AtomicInteger();
+
+  /**
+   * @param maxItems the number of items expected to be tracked, e.g. the capacity of the cache
+   * @param sampleFactor the number of increments between agings, as a multiple of maxItems
+   */
+  public FrequencySketch(long maxItems, int sampleFactor) {
+    Preconditions.checkArgument(maxItems > 0, "maxItems must be positive: %s", maxItems);
+    Preconditions.checkArgument(sampleFactor > 0, "sampleFactor must be positive: %s",
+        sampleFactor);
+    int size = (int) Math.min(1 << 30, Math.max(16, Long.highestOneBit(maxItems - 1) << 1));
+    mTable = new AtomicLongArray(size);
+    mMask = size - 1;
+    mSampleSize = (int) Math.min(Integer.MAX_VALUE, maxItems * sampleFactor);
+  }
+
+  /**
+   * @param item the hash of the item
+   * @return the estimated number of recent accesses of the item, at most 15
+   */
+  public int frequency(long item) {
+    long hash = spread(item);
+    int start = (int) (hash & 3) << 2;
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < DEPTH; i++) {
+      int offset = (start + i) << 2;
+      int count = (int) ((mTable.get(indexOf(hash, i)) >>> offset) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access to an item.
+   *
+   * @param item the hash of the item
+   */
+  public void increment(long item) {
+    long hash = spread(item);
+    int start = (int) (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < DEPTH; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && mSize.incrementAndGet() >= mSampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * Increments a counter unless it is saturated.
+   *
+   * @param index the index of the long holding the counter
+   * @param counter the position of the counter in the long, between 0 and 15
+   * @return whether the counter was incremented
+   */
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    while (true) {
+      long value = mTable.get(index);
+      if ((value & mask) == mask) {
+        return false;
+      }
+      if (mTable.compareAndSet(index, value, value + (1L << offset))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Halves all counters.
+   */
+  private synchronized void reset() {
+    if (mSize.get() < mSampleSize) {
+      // another thread has aged the counters already
+      return;
+    }
+    int odd = 0;
+    for (int i = 0; i < mTable.length(); i++) {
+      long value = mTable.get(i);
+      odd += Long.bitCount(value & ONE_MASK);
+      mTable.set(i, (value >>> 1) & RESET_MASK);
+    }
+    // the halved counters lose a quarter of the odd counts, as each item has four counters
+    mSize.set(Math.max(0, (mSize.get() - (odd >>> 2)) >>> 1));
+  }
+
+  /**
+   * @return the number of increments since the counters were last halved
+   */
+  int getSize() {
+    return mSize.get();
+  }
+
+  private int indexOf(long hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h += h >>> 32;
+    return (int) h & mMask;
+  }
+
+  /**
+   * Applies a supplemental hash, the finalizer of murmur3, to spread the bits of the item.
+   */
+  private static long spread(long item) {
+    long h = item;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import alluxio.client.file.cache.PageId;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Admission policy of the client page cache based on TinyLFU. Where {@link CacheFilter} decides
+ * which files may be cached at all, this policy decides whether a page of such a file is worth
+ * evicting another page for: it is only admitted if it was accessed more often than the page it
+ * would replace. A scan touching many pages once therefore cannot flush out pages which are read
+ * over and over.
+ *
+ * Accesses are counted by a {@link FrequencySketch} sized for the number of pages the cache can
+ * hold, and aged after ten times as many accesses.
+ */
+@ThreadSafe
+public class TinyLfuAdmissionPolicy {
+  /** Number of accesses between agings, as a multiple of the number of pages in the cache. */
+  private static final int SAMPLE_FACTOR = 10;
+
+  private final FrequencySketch mSketch;
+
+  /**
+   * @param maxPages the number of pages the cache can hold
+   */
+  public TinyLfuAdmissionPolicy(long maxPages) {
+    mSketch = new FrequencySketch(Math.max(1, maxPages), SAMPLE_FACTOR);
+  }
+
+  /**
+   * Records an access to a page, whether the page is cached or not.
+   *
+   * @param pageId the page accessed
+   */
+  public void recordAccess(PageId pageId) {
+    mSketch.increment(hash(pageId));
+  }
+
+  /**
+   * @param candidate the page to add to the cache
+   * @param victim the page which would be evicted to make room for the candidate
+   * @return whether the candidate should replace the victim
+   */
+  public boolean admit(PageId candidate, PageId victim) {
+    return mSketch.frequency(hash(candidate)) > mSketch.frequency(hash(victim));
+  }
+
+  private static long hash(PageId pageId) {
+    return ((long) pageId.getFileId().hashCode() << 32) ^ pageId.getPageIndex();
+  }
+}
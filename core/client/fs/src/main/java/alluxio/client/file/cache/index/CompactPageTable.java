@@ -0,0 +1,224 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.index;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.quota.CacheScope;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A table of cached pages with a compact memory layout. File ids and cache scopes are interned to
+ * ints, and each page is stored as a pair of longs in a {@link LongHashIndex}:
+ * <ul>
+ *   <li>the key packs the file id (high 32 bits) and the page index (low 32 bits),</li>
+ *   <li>the value packs the cache scope (high 24 bits) and the page size (low 40 bits).</li>
+ * </ul>
+ * {@link PageInfo} objects are only created when queried. The rare pages that do not fit into
+ * this layout, e.g. with a page index beyond 32 bits, are kept in a regular map.
+ *
+ * Lookups through {@link #contains} and {@link #get} do not block and can run concurrently with
+ * updates. Updates of the same page are not atomic with respect to each other and require
+ * synchronizations on external callers.
+ */
+@ThreadSafe
+public final class CompactPageTable {
+  private static final long ABSENT = -1L;
+  private static final int PAGE_SIZE_BITS = 40;
+  private static final long MAX_PAGE_SIZE = (1L << PAGE_SIZE_BITS) - 1;
+  /** Scope ids are kept below 2^23 so that packed values are non-negative. */
+  private static final int MAX_SCOPE_ID = (1 << (Long.SIZE - PAGE_SIZE_BITS - 1)) - 1;
+  private static final long MAX_PAGE_INDEX = 0xFFFFFFFFL;
+  /** Scope id of {@link CacheScope#GLOBAL}, which is not interned. */
+  private static final int GLOBAL_SCOPE_ID = 0;
+
+  private final InternTable<String> mFileIds = new InternTable<>();
+  private final InternTable<CacheScope> mScopes = new InternTable<>();
+  private final LongHashIndex mIndex = new LongHashIndex();
+  /** Pages that do not fit into the packed layout. */
+  private final Map<PageId, PageInfo> mOverflow = new ConcurrentHashMap<>();
+
+  /**
+   * @param pageId page identifier
+   * @return whether the page is in the table
+   */
+  public boolean contains(PageId pageId) {
+    if (fitsKey(pageId)) {
+      int fileIdx = mFileIds.lookup(pageId.getFileId());
+      if (fileIdx >= 0 && mIndex.containsKey(packKey(fileIdx, pageId.getPageIndex()))) {
+        return true;
+      }
+    }
+    return !mOverflow.isEmpty() && mOverflow.containsKey(pageId);
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the info of the page, or null if the page is not in the table
+   */
+  @Nullable
+  public PageInfo get(PageId pageId) {
+    if (fitsKey(pageId)) {
+      int fileIdx = mFileIds.lookup(pageId.getFileId());
+      if (fileIdx >= 0) {
+        long value = mIndex.get(packKey(fileIdx, pageId.getPageIndex()), ABSENT);
+        if (value != ABSENT) {
+          CacheScope scope = getScope(unpackScopeId(value));
+          // the file id may have been released and reassigned while probing the index
+          if (scope != null && mFileIds.lookup(pageId.getFileId()) == fileIdx) {
+            return new PageInfo(pageId, unpackPageSize(value), scope);
+          }
+        }
+      }
+    }
+    return mOverflow.isEmpty() ? null : mOverflow.get(pageId);
+  }
+
+  /**
+   * Adds a page to the table, replacing the existing entry of the same page if any.
+   *
+   * @param pageInfo info of the page
+   * @return the info of the replaced page, or null if the page was not in the table
+   */
+  @Nullable
+  public PageInfo put(PageInfo pageInfo) {
+    PageId pageId = pageInfo.getPageId();
+    if (!fitsKey(pageId) || pageInfo.getPageSize() < 0
+        || pageInfo.getPageSize() > MAX_PAGE_SIZE) {
+      return mOverflow.put(pageId, pageInfo);
+    }
+    int scopeId = acquireScope(pageInfo.getScope());
+    if (scopeId > MAX_SCOPE_ID) {
+      releaseScope(scopeId);
+      return mOverflow.put(pageId, pageInfo);
+    }
+    int fileIdx = mFileIds.acquire(pageId.getFileId());
+    long prev = mIndex.put(packKey(fileIdx, pageId.getPageIndex()),
+        packValue(scopeId, pageInfo.getPageSize()), ABSENT);
+    if (prev == ABSENT) {
+      return null;
+    }
+    // the replaced entry held references on the file id and its scope
+    PageInfo prevInfo = new PageInfo(pageId, unpackPageSize(prev), getScope(unpackScopeId(prev)));
+    mFileIds.release(fileIdx);
+    releaseScope(unpackScopeId(prev));
+    return prevInfo;
+  }
+
+  /**
+   * Removes a page from the table.
+   *
+   * @param pageId page identifier
+   * @return the info of the removed page, or null if the page was not in the table
+   */
+  @Nullable
+  public PageInfo remove(PageId pageId) {
+    if (fitsKey(pageId)) {
+      int fileIdx = mFileIds.lookup(pageId.getFileId());
+      if (fileIdx >= 0) {
+        long value = mIndex.remove(packKey(fileIdx, pageId.getPageIndex()), ABSENT);
+        if (value != ABSENT) {
+          PageInfo pageInfo =
+              new PageInfo(pageId, unpackPageSize(value), getScope(unpackScopeId(value)));
+          mFileIds.release(fileIdx);
+          releaseScope(unpackScopeId(value));
+          return pageInfo;
+        }
+      }
+    }
+    return mOverflow.isEmpty() ? null : mOverflow.remove(pageId);
+  }
+
+  /**
+   * Returns a page identifier equal to the given one whose file id is the instance interned by
+   * this table, so that holders of page identifiers do not keep a copy of the file id per page.
+   *
+   * @param pageId page identifier
+   * @return the canonical page identifier
+   */
+  public PageId canonicalize(PageId pageId) {
+    String fileId = mFileIds.get(mFileIds.lookup(pageId.getFileId()));
+    if (fileId == null || fileId == pageId.getFileId() || !fileId.equals(pageId.getFileId())) {
+      return pageId;
+    }
+    return new PageId(fileId, pageId.getPageIndex());
+  }
+
+  /**
+   * @return the number of pages in the table
+   */
+  public int size() {
+    return mIndex.size() + mOverflow.size();
+  }
+
+  /**
+   * @return the number of distinct file ids of the pages in the table
+   */
+  public int numFiles() {
+    return mFileIds.size();
+  }
+
+  /**
+   * Removes all pages from the table.
+   */
+  public void clear() {
+    mIndex.clear();
+    mOverflow.clear();
+    mFileIds.clear();
+    mScopes.clear();
+  }
+
+  private int acquireScope(CacheScope scope) {
+    if (CacheScope.GLOBAL.equals(scope)) {
+      return GLOBAL_SCOPE_ID;
+    }
+    return mScopes.acquire(scope) + 1;
+  }
+
+  private void releaseScope(int scopeId) {
+    if (scopeId != GLOBAL_SCOPE_ID) {
+      mScopes.release(scopeId - 1);
+    }
+  }
+
+  @Nullable
+  private CacheScope getScope(int scopeId) {
+    if (scopeId == GLOBAL_SCOPE_ID) {
+      return CacheScope.GLOBAL;
+    }
+    return mScopes.get(scopeId - 1);
+  }
+
+  private static boolean fitsKey(PageId pageId) {
+    return pageId.getPageIndex() >= 0 && pageId.getPageIndex() <= MAX_PAGE_INDEX;
+  }
+
+  private static long packKey(int fileIdx, long pageIndex) {
+    return ((long) fileIdx << Integer.SIZE) | pageIndex;
+  }
+
+  private static long packValue(int scopeId, long pageSize) {
+    return ((long) scopeId << PAGE_SIZE_BITS) | pageSize;
+  }
+
+  private static int unpackScopeId(long value) {
+    return (int) (value >>> PAGE_SIZE_BITS);
+  }
+
+  private static long unpackPageSize(long value) {
+    return value & MAX_PAGE_SIZE;
+  }
+}
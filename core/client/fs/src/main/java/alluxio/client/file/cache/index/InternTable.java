@@ -0,0 +1,153 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.index;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A reference counted table which interns values and assigns each of them a dense non-negative
+ * int id. An id is held as long as the value has been acquired more times than released, and is
+ * recycled afterwards. Recycled ids are handed out in FIFO order, so an id is not reused shortly
+ * after it is freed.
+ *
+ * Lookups through {@link #lookup} and {@link #get} do not block and can run concurrently with
+ * updates.
+ *
+ * @param <T> the type of the interned values
+ */
+@ThreadSafe
+public final class InternTable<T> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final ConcurrentHashMap<T, Integer> mIds = new ConcurrentHashMap<>();
+  /** Interned values by id, replaced by a larger copy on growth. */
+  private volatile Object[] mValues = new Object[INITIAL_CAPACITY];
+  @GuardedBy("this")
+  private int[] mRefCounts = new int[INITIAL_CAPACITY];
+  /** Circular queue of released ids. */
+  @GuardedBy("this")
+  private int[] mFreeIds = new int[INITIAL_CAPACITY];
+  @GuardedBy("this")
+  private int mFreeHead = 0;
+  @GuardedBy("this")
+  private int mNumFreeIds = 0;
+  /** The first id that has never been handed out. */
+  @GuardedBy("this")
+  private int mNextId = 0;
+
+  /**
+   * Interns a value and increments its reference count.
+   *
+   * @param value the value to intern
+   * @return the id of the value
+   */
+  public synchronized int acquire(T value) {
+    Integer id = mIds.get(value);
+    if (id != null) {
+      mRefCounts[id]++;
+      return id;
+    }
+    int newId;
+    if (mNumFreeIds > 0) {
+      newId = mFreeIds[mFreeHead];
+      mFreeHead = (mFreeHead + 1) % mFreeIds.length;
+      mNumFreeIds--;
+    } else {
+      Preconditions.checkState(mNextId < Integer.MAX_VALUE, "Too many interned values");
+      newId = mNextId++;
+      if (newId == mRefCounts.length) {
+        grow();
+      }
+    }
+    mRefCounts[newId] = 1;
+    mValues[newId] = value;
+    // publish the id only after the value is visible in the value array
+    mIds.put(value, newId);
+    return newId;
+  }
+
+  /**
+   * Decrements the reference count of an id, and frees it when no reference is left.
+   *
+   * @param id the id to release
+   */
+  public synchronized void release(int id) {
+    Preconditions.checkArgument(id >= 0 && id < mNextId && mRefCounts[id] > 0,
+        "Id %s is not in use", id);
+    if (--mRefCounts[id] > 0) {
+      return;
+    }
+    mIds.remove(mValues[id]);
+    mValues[id] = null;
+    mFreeIds[(mFreeHead + mNumFreeIds) % mFreeIds.length] = id;
+    mNumFreeIds++;
+  }
+
+  /**
+   * @param value the value to look up
+   * @return the id of the value, or -1 if it is not interned
+   */
+  public int lookup(T value) {
+    Integer id = mIds.get(value);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * @param id the id to look up
+   * @return the interned value of the id, or null if the id is not in use
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public T get(int id) {
+    Object[] values = mValues;
+    if (id < 0 || id >= values.length) {
+      return null;
+    }
+    return (T) values[id];
+  }
+
+  /**
+   * @return the number of interned values
+   */
+  public int size() {
+    return mIds.size();
+  }
+
+  /**
+   * Removes all interned values.
+   */
+  public synchronized void clear() {
+    mIds.clear();
+    mValues = new Object[INITIAL_CAPACITY];
+    mRefCounts = new int[INITIAL_CAPACITY];
+    mFreeIds = new int[INITIAL_CAPACITY];
+    mFreeHead = 0;
+    mNumFreeIds = 0;
+    mNextId = 0;
+  }
+
+  @GuardedBy("this")
+  private void grow() {
+    int capacity = (int) Math.min((long) mRefCounts.length * 2, Integer.MAX_VALUE);
+    mRefCounts = Arrays.copyOf(mRefCounts, capacity);
+    // all ids below the old capacity are in use, so the free queue is empty
+    mFreeIds = new int[capacity];
+    mFreeHead = 0;
+    mValues = Arrays.copyOf(mValues, capacity);
+  }
+}
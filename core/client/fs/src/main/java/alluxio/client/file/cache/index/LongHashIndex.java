@@ -0,0 +1,344 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.index;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A concurrent hash index from non-negative long keys to long values. Entries are stored in
+ * primitive arrays with open addressing and linear probing, so there is no object allocated per
+ * entry.
+ *
+ * The index is split into segments, each guarded by its own {@link StampedLock}. Updates hold the
+ * write lock of the segment. Lookups first probe the segment without locking and only fall back
+ * to the read lock if an update raced with them.
+ */
+@ThreadSafe
+public final class LongHashIndex {
+  /** Marker of an empty slot. Keys are non-negative, so this is never a valid key. */
+  private static final long EMPTY = -1L;
+  private static final int NUM_SEGMENTS = 64;
+  private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(NUM_SEGMENTS);
+  private static final int MIN_SEGMENT_CAPACITY = 16;
+  private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+
+  private final Segment[] mSegments = new Segment[NUM_SEGMENTS];
+
+  /**
+   * Creates a new instance of {@link LongHashIndex}.
+   */
+  public LongHashIndex() {
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      mSegments[i] = new Segment();
+    }
+  }
+
+  /**
+   * @param key the key, must be non-negative
+   * @return whether the key is in the index
+   */
+  public boolean containsKey(long key) {
+    checkKey(key);
+    long hash = hash(key);
+    return getSegment(hash).containsKey(key, hash);
+  }
+
+  /**
+   * @param key the key, must be non-negative
+   * @param defaultValue the value returned if the key is absent
+   * @return the value mapped to the key, or the default value if the key is absent
+   */
+  public long get(long key, long defaultValue) {
+    checkKey(key);
+    long hash = hash(key);
+    return getSegment(hash).get(key, hash, defaultValue);
+  }
+
+  /**
+   * Maps a key to a value, replacing the existing mapping if any.
+   *
+   * @param key the key, must be non-negative
+   * @param value the value
+   * @param defaultValue the value returned if the key was absent
+   * @return the previous value of the key, or the default value if the key was absent
+   */
+  public long put(long key, long value, long defaultValue) {
+    checkKey(key);
+    long hash = hash(key);
+    return getSegment(hash).put(key, hash, value, defaultValue);
+  }
+
+  /**
+   * Removes the mapping of a key.
+   *
+   * @param key the key, must be non-negative
+   * @param defaultValue the value returned if the key was absent
+   * @return the removed value, or the default value if the key was absent
+   */
+  public long remove(long key, long defaultValue) {
+    checkKey(key);
+    long hash = hash(key);
+    return getSegment(hash).remove(key, hash, defaultValue);
+  }
+
+  /**
+   * @return the number of entries in the index
+   */
+  public int size() {
+    long size = 0;
+    for (Segment segment : mSegments) {
+      size += segment.size();
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Removes all entries from the index.
+   */
+  public void clear() {
+    for (Segment segment : mSegments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * @return the number of bytes of the arrays backing the index
+   */
+  public long getAllocatedBytes() {
+    long bytes = 0;
+    for (Segment segment : mSegments) {
+      bytes += segment.getAllocatedBytes();
+    }
+    return bytes;
+  }
+
+  private Segment getSegment(long hash) {
+    return mSegments[(int) (hash >>> SEGMENT_SHIFT)];
+  }
+
+  private static void checkKey(long key) {
+    Preconditions.checkArgument(key >= 0, "Key %s must be non-negative", key);
+  }
+
+  /**
+   * Mixes the bits of a key with the finalizer of MurmurHash3.
+   */
+  private static long hash(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static final class Segment {
+    private final StampedLock mLock = new StampedLock();
+    @GuardedBy("mLock")
+    private long[] mKeys;
+    @GuardedBy("mLock")
+    private long[] mValues;
+    @GuardedBy("mLock")
+    private int mSize;
+
+    Segment() {
+      allocate(MIN_SEGMENT_CAPACITY);
+    }
+
+    boolean containsKey(long key, long hash) {
+      long stamp = mLock.tryOptimisticRead();
+      if (stamp != 0) {
+        boolean found = find(mKeys, key, hash) >= 0;
+        if (mLock.validate(stamp)) {
+          return found;
+        }
+      }
+      stamp = mLock.readLock();
+      try {
+        return find(mKeys, key, hash) >= 0;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    long get(long key, long hash, long defaultValue) {
+      long stamp = mLock.tryOptimisticRead();
+      if (stamp != 0) {
+        long[] keys = mKeys;
+        long[] values = mValues;
+        // the arrays may belong to different generations if a resize is in progress
+        if (keys.length == values.length) {
+          int slot = find(keys, key, hash);
+          long value = slot >= 0 ? values[slot] : defaultValue;
+          if (mLock.validate(stamp)) {
+            return value;
+          }
+        }
+      }
+      stamp = mLock.readLock();
+      try {
+        int slot = find(mKeys, key, hash);
+        return slot >= 0 ? mValues[slot] : defaultValue;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    long put(long key, long hash, long value, long defaultValue) {
+      long stamp = mLock.writeLock();
+      try {
+        int mask = mKeys.length - 1;
+        int slot = (int) hash & mask;
+        while (mKeys[slot] != EMPTY) {
+          if (mKeys[slot] == key) {
+            long prev = mValues[slot];
+            mValues[slot] = value;
+            return prev;
+          }
+          slot = (slot + 1) & mask;
+        }
+        mKeys[slot] = key;
+        mValues[slot] = value;
+        mSize++;
+        // keep the load factor at or below 3/4
+        if (mSize > (mKeys.length >>> 2) * 3) {
+          resize(mKeys.length * 2);
+        }
+        return defaultValue;
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    long remove(long key, long hash, long defaultValue) {
+      long stamp = mLock.writeLock();
+      try {
+        int slot = find(mKeys, key, hash);
+        if (slot < 0) {
+          return defaultValue;
+        }
+        long prev = mValues[slot];
+        deleteSlot(slot);
+        mSize--;
+        return prev;
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    int size() {
+      long stamp = mLock.readLock();
+      try {
+        return mSize;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    void clear() {
+      long stamp = mLock.writeLock();
+      try {
+        allocate(MIN_SEGMENT_CAPACITY);
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    long getAllocatedBytes() {
+      long stamp = mLock.readLock();
+      try {
+        return (long) (mKeys.length + mValues.length) * Long.BYTES;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Probes for a key. The probe is bounded by the table length so that it terminates even when
+     * it observes a table being concurrently modified.
+     *
+     * @return the slot of the key, or -1 if absent
+     */
+    private static int find(long[] keys, long key, long hash) {
+      int mask = keys.length - 1;
+      int slot = (int) hash & mask;
+      for (int i = 0; i < keys.length; i++) {
+        long k = keys[slot];
+        if (k == key) {
+          return slot;
+        }
+        if (k == EMPTY) {
+          return -1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    /**
+     * Empties a slot and shifts back the following entries of the probe sequence, so that no
+     * tombstone is needed.
+     */
+    @GuardedBy("mLock")
+    private void deleteSlot(int slot) {
+      int mask = mKeys.length - 1;
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (mKeys[next] != EMPTY) {
+        int home = (int) hash(mKeys[next]) & mask;
+        // move the entry into the hole if the hole lies on the path from its home slot
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          mKeys[hole] = mKeys[next];
+          mValues[hole] = mValues[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      mKeys[hole] = EMPTY;
+    }
+
+    @GuardedBy("mLock")
+    private void resize(int capacity) {
+      Preconditions.checkState(capacity <= MAX_SEGMENT_CAPACITY, "Index segment is full");
+      long[] oldKeys = mKeys;
+      long[] oldValues = mValues;
+      allocate(capacity);
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY) {
+          int slot = (int) hash(oldKeys[i]) & mask;
+          while (mKeys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+          }
+          mKeys[slot] = oldKeys[i];
+          mValues[slot] = oldValues[i];
+          mSize++;
+        }
+      }
+    }
+
+    @GuardedBy("mLock")
+    private void allocate(int capacity) {
+      long[] keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      mKeys = keys;
+      mValues = new long[capacity];
+      mSize = 0;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link LogPageStore} is an implementation of {@link PageStore} which appends pages to large
+ * preallocated segment files in each root directory, instead of storing one file per page. Pages
+ * are located through an in-memory index and read with positional I/O. The index is checkpointed
+ * on close so that the store can be restored without scanning the segments.
+ */
+@ThreadSafe
+public class LogPageStore implements PageStore {
+  private final List<PageLog> mLogs;
+  private final long mCapacity;
+
+  /**
+   * Creates a new instance of {@link LogPageStore}.
+   *
+   * @param options options for the log page store
+   */
+  public LogPageStore(LogPageStoreOptions options) throws IOException {
+    Preconditions.checkArgument(options.getSegmentSize() >= options.getPageSize()
+            && options.getSegmentSize() <= Integer.MAX_VALUE,
+        "Segment size %s must be at least page size %s and less than 2GB",
+        options.getSegmentSize(), options.getPageSize());
+    Preconditions.checkArgument(options.getCompactionGarbageRatio() > 0
+            && options.getCompactionGarbageRatio() < 1,
+        "Compaction garbage ratio %s must be between 0 and 1",
+        options.getCompactionGarbageRatio());
+    Preconditions.checkArgument(options.getCheckpointInterval() > 0,
+        "Checkpoint interval %s must be positive", options.getCheckpointInterval());
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    List<Path> roots = options.getRootDirs();
+    mLogs = new ArrayList<>(roots.size());
+    try {
+      for (Path root : roots) {
+        mLogs.add(new PageLog(root, options.getPageSize(), (int) options.getSegmentSize(),
+            options.getCacheSize() / roots.size(), options.getCompactionGarbageRatio(),
+            options.getCheckpointInterval()));
+      }
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws ResourceExhaustedException, IOException {
+    getLog(pageId).put(pageId, page);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(buffer.length >= bufferOffset,
+        "page offset %s should be " + "less or equal than buffer length %s", bufferOffset,
+        buffer.length);
+    return getLog(pageId).get(pageId, pageOffset, bytesToRead, buffer, bufferOffset);
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    getLog(pageId).delete(pageId);
+  }
+
+  @Override
+  public Stream<PageInfo> getPages() throws IOException {
+    Stream<PageInfo> stream = Stream.empty();
+    for (PageLog log : mLogs) {
+      stream = Stream.concat(stream, log.getPages());
+    }
+    return stream;
+  }
+
+  @Override
+  public long getCacheSize() {
+    return mCapacity;
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOException exception = null;
+    for (PageLog log : mLogs) {
+      try {
+        log.close();
+      } catch (IOException e) {
+        if (exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+    mLogs.clear();
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  /**
+   * Compacts the segments of all root directories synchronously.
+   */
+  @VisibleForTesting
+  void compact() throws IOException {
+    for (PageLog log : mLogs) {
+      log.compact();
+    }
+  }
+
+  /**
+   * @return the number of segment files across all root directories
+   */
+  @VisibleForTesting
+  int getSegmentCount() {
+    return mLogs.stream().mapToInt(PageLog::getSegmentCount).sum();
+  }
+
+  private PageLog getLog(PageId pageId) {
+    return mLogs.get(Math.floorMod(pageId.hashCode(), mLogs.size()));
+  }
+}
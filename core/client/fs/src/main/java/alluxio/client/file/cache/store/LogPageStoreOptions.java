@@ -0,0 +1,121 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.Constants;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Options used to instantiate the {@link LogPageStore}.
+ */
+public class LogPageStoreOptions extends PageStoreOptions {
+  // Deleted pages occupy space in their segment until it is compacted, so reserve a larger share
+  // of the allocated space than the local page store does, i.e., with 1GB space allocated, we
+  // expect no more than 1024MB / (1 + LOG_OVERHEAD_RATIO) logical data stored
+  private static final double LOG_OVERHEAD_RATIO = 0.25;
+
+  /**
+   * Size of each segment file.
+   */
+  private long mSegmentSize;
+
+  /**
+   * Fraction of deleted bytes in a segment above which the segment is compacted.
+   */
+  private double mCompactionGarbageRatio;
+
+  /**
+   * Number of bytes appended to a log after which its index is checkpointed.
+   */
+  private long mCheckpointInterval;
+
+  /**
+   * Creates a new instance of {@link LogPageStoreOptions}.
+   */
+  public LogPageStoreOptions() {
+    mSegmentSize = 256 * Constants.MB;
+    mCompactionGarbageRatio = 0.5;
+    mCheckpointInterval = Constants.GB;
+    mOverheadRatio = LogPageStoreOptions.LOG_OVERHEAD_RATIO;
+  }
+
+  /**
+   * @param segmentSize the size of each segment file in bytes
+   * @return the updated options
+   */
+  public LogPageStoreOptions setSegmentSize(long segmentSize) {
+    mSegmentSize = segmentSize;
+    return this;
+  }
+
+  /**
+   * @return the size of each segment file in bytes
+   */
+  public long getSegmentSize() {
+    return mSegmentSize;
+  }
+
+  /**
+   * @param ratio the fraction of deleted bytes in a segment above which it is compacted
+   * @return the updated options
+   */
+  public LogPageStoreOptions setCompactionGarbageRatio(double ratio) {
+    mCompactionGarbageRatio = ratio;
+    return this;
+  }
+
+  /**
+   * @return the fraction of deleted bytes in a segment above which it is compacted
+   */
+  public double getCompactionGarbageRatio() {
+    return mCompactionGarbageRatio;
+  }
+
+  /**
+   * @param checkpointInterval the number of bytes appended to a log after which its index is
+   *                           checkpointed
+   * @return the updated options
+   */
+  public LogPageStoreOptions setCheckpointInterval(long checkpointInterval) {
+    mCheckpointInterval = checkpointInterval;
+    return this;
+  }
+
+  /**
+   * @return the number of bytes appended to a log after which its index is checkpointed
+   */
+  public long getCheckpointInterval() {
+    return mCheckpointInterval;
+  }
+
+  @Override
+  public PageStoreType getType() {
+    return PageStoreType.LOG;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("AlluxioVersion", mAlluxioVersion)
+        .add("CacheSize", mCacheSize)
+        .add("CheckpointInterval", mCheckpointInterval)
+        .add("CompactionGarbageRatio", mCompactionGarbageRatio)
+        .add("OverheadRatio", mOverheadRatio)
+        .add("PageSize", mPageSize)
+        .add("RootDirs", mRootDirs)
+        .add("SegmentSize", mSegmentSize)
+        .add("TimeoutDuration", mTimeoutDuration)
+        .add("TimeoutThreads", mTimeoutThreads)
+        .toString();
+  }
+}
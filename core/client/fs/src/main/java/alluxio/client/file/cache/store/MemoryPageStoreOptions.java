@@ -11,6 +11,8 @@
 
 package alluxio.client.file.cache.store;
 
+import alluxio.Constants;
+
 import com.google.common.base.MoreObjects;
 
 /**
@@ -22,11 +24,55 @@ public class MemoryPageStoreOptions extends PageStoreOptions {
   // expect no more than 1024MB / (1 + BUFF_MEMORY_OVERHEAD_RATIO) logical data stored
   private static final double MEMORY_OVERHEAD_RATIO = 0.1;
 
+  /**
+   * Whether to store pages in off-heap slabs instead of on-heap byte arrays.
+   */
+  private boolean mOffHeap;
+
+  /**
+   * Size of each off-heap slab allocated at once when pages are stored off-heap.
+   */
+  private long mSlabSize;
+
   /**
    * Creates a new instance of {@link MemoryPageStoreOptions}.
    */
   public MemoryPageStoreOptions() {
     mOverheadRatio = MemoryPageStoreOptions.MEMORY_OVERHEAD_RATIO;
+    mOffHeap = false;
+    mSlabSize = 64 * Constants.MB;
+  }
+
+  /**
+   * @param offHeap whether to store pages in off-heap slabs
+   * @return the updated options
+   */
+  public MemoryPageStoreOptions setOffHeap(boolean offHeap) {
+    mOffHeap = offHeap;
+    return this;
+  }
+
+  /**
+   * @return whether to store pages in off-heap slabs
+   */
+  public boolean isOffHeap() {
+    return mOffHeap;
+  }
+
+  /**
+   * @param slabSize the size of each off-heap slab in bytes
+   * @return the updated options
+   */
+  public MemoryPageStoreOptions setSlabSize(long slabSize) {
+    mSlabSize = slabSize;
+    return this;
+  }
+
+  /**
+   * @return the size of each off-heap slab in bytes
+   */
+  public long getSlabSize() {
+    return mSlabSize;
   }
 
   @Override
@@ -39,8 +85,10 @@ public class MemoryPageStoreOptions extends PageStoreOptions {
     return MoreObjects.toStringHelper(this)
         .add("AlluxioVersion", mAlluxioVersion)
         .add("CacheSize", mCacheSize)
+        .add("OffHeap", mOffHeap)
         .add("OverheadRatio", mOverheadRatio)
         .add("PageSize", mPageSize)
+        .add("SlabSize", mSlabSize)
         .add("TimeoutDuration", mTimeoutDuration)
         .add("TimeoutThreads", mTimeoutThreads)
         .toString();
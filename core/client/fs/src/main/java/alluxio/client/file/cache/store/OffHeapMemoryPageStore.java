@@ -0,0 +1,320 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.resource.LockResource;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link OffHeapMemoryPageStore} is an implementation of {@link PageStore} which stores all
+ * pages in off-heap memory. Memory is allocated lazily in large direct slabs, each of which is
+ * divided into fixed-size slots of one page. Free slots are tracked in a primitive lock-free
+ * stack, so the only per-page heap objects are the index entries, and page reads and writes take
+ * no monitor. A lock is only taken to allocate a slab.
+ *
+ * Reads copy page data straight from the slab into the caller's buffer, without any intermediate
+ * on-heap copy. Page reads and writes hold the read lock of the store, and closing the store takes
+ * the write lock, so the slabs are only freed once no page is read or written.
+ */
+@ThreadSafe
+public class OffHeapMemoryPageStore implements PageStore {
+  private static final Logger LOG = LoggerFactory.getLogger(OffHeapMemoryPageStore.class);
+
+  private final int mSlotSize;
+  private final int mSlotsPerSlab;
+  private final int mMaxSlots;
+  private final long mCapacity;
+
+  /** Slab buffers, allocated on demand while holding the slab lock. */
+  private final AtomicReferenceArray<ByteBuffer> mSlabs;
+  private final Object mSlabLock = new Object();
+  /**
+   * Stack of slots that have been released and can be reused. The head packs a version, bumped
+   * on every change so that a stale pop fails, with the top slot plus one, or 0 if the stack is
+   * empty. Each slot in the stack holds the next slot in the same encoding.
+   */
+  private final AtomicLong mFreeSlotsHead = new AtomicLong(0);
+  private final AtomicIntegerArray mNextFreeSlots;
+  /** Index of the first slot that has never been handed out. */
+  private final AtomicInteger mNextUnusedSlot = new AtomicInteger(0);
+
+  /** Held for reading by page I/O and for writing by close, which frees the slabs. */
+  private final ReentrantReadWriteLock mCloseLock = new ReentrantReadWriteLock();
+  @GuardedBy("mCloseLock")
+  private boolean mClosed = false;
+
+  /** Map from page to its location, packed as (slot index << 32 | page length). */
+  private final ConcurrentHashMap<PageId, Long> mPageIndex = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@link OffHeapMemoryPageStore}.
+   *
+   * @param options options for the off-heap page store
+   */
+  public OffHeapMemoryPageStore(MemoryPageStoreOptions options) {
+    Preconditions.checkArgument(
+        options.getPageSize() > 0 && options.getPageSize() <= Integer.MAX_VALUE,
+        "Invalid page size %s", options.getPageSize());
+    Preconditions.checkArgument(options.getSlabSize() >= options.getPageSize(),
+        "Slab size %s must not be smaller than page size %s", options.getSlabSize(),
+        options.getPageSize());
+    mSlotSize = (int) options.getPageSize();
+    mSlotsPerSlab =
+        (int) Math.min(options.getSlabSize() / mSlotSize, Integer.MAX_VALUE / mSlotSize);
+    mMaxSlots = (int) Math.min(options.getCacheSize() / mSlotSize, Integer.MAX_VALUE);
+    Preconditions.checkArgument(mMaxSlots > 0,
+        "Cache size %s must not be smaller than page size %s", options.getCacheSize(),
+        options.getPageSize());
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    mSlabs = new AtomicReferenceArray<>((mMaxSlots + mSlotsPerSlab - 1) / mSlotsPerSlab);
+    mNextFreeSlots = new AtomicIntegerArray(mMaxSlots);
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws ResourceExhaustedException, IOException {
+    if (page.length > mSlotSize) {
+      throw new IOException(String.format(
+          "Page %s of %d bytes exceeds slot size %d", pageId, page.length, mSlotSize));
+    }
+    try (LockResource r = new LockResource(mCloseLock.readLock())) {
+      checkOpen();
+      int slot = allocateSlot();
+      if (slot < 0) {
+        throw new ResourceExhaustedException(String.format(
+            "No free slot in off-heap page store for page %s", pageId));
+      }
+      ByteBuffer buf = slotBuffer(slot);
+      buf.put(page, 0, page.length);
+      Long prev = mPageIndex.put(pageId, pack(slot, page.length));
+      if (prev != null) {
+        releaseSlot(unpackSlot(prev));
+      }
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(buffer != null, "buffer is null");
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(buffer.length >= bufferOffset,
+        "page offset %s should be " + "less or equal than buffer length %s", bufferOffset,
+        buffer.length);
+    try (LockResource r = new LockResource(mCloseLock.readLock())) {
+      checkOpen();
+      Long location = mPageIndex.get(pageId);
+      if (location == null) {
+        throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+      }
+      int pageLength = unpackLength(location);
+      Preconditions.checkArgument(pageOffset <= pageLength,
+          "page offset %s exceeded page size %s", pageOffset, pageLength);
+      int bytesLeft = Math.min(pageLength - pageOffset, buffer.length - bufferOffset);
+      bytesLeft = Math.min(bytesLeft, bytesToRead);
+      ByteBuffer buf = slotBuffer(unpackSlot(location));
+      buf.position(buf.position() + pageOffset);
+      buf.get(buffer, bufferOffset, bytesLeft);
+      return bytesLeft;
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    Long location = mPageIndex.remove(pageId);
+    if (location == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    releaseSlot(unpackSlot(location));
+    LOG.debug("Remove cached page, size: {}", mPageIndex.size());
+  }
+
+  @Override
+  public void close() {
+    // waits for the pages being read or written
+    try (LockResource r = new LockResource(mCloseLock.writeLock())) {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
+    }
+    mPageIndex.clear();
+    synchronized (mSlabLock) {
+      for (int i = 0; i < mSlabs.length(); i++) {
+        ByteBuffer slab = mSlabs.getAndSet(i, null);
+        if (slab != null) {
+          BufferUtils.cleanDirectBuffer(slab);
+        }
+      }
+    }
+    mFreeSlotsHead.set(0);
+    mNextUnusedSlot.set(0);
+  }
+
+  @Override
+  public Stream<PageInfo> getPages() throws IOException {
+    return (new ArrayList<PageInfo>(0)).stream();
+  }
+
+  @Override
+  public long getCacheSize() {
+    return mCapacity;
+  }
+
+  /**
+   * @return the number of bytes of off-heap memory allocated for slabs
+   */
+  @VisibleForTesting
+  public long getAllocatedBytes() {
+    long bytes = 0;
+    for (int i = 0; i < mSlabs.length(); i++) {
+      ByteBuffer slab = mSlabs.get(i);
+      if (slab != null) {
+        bytes += slab.capacity();
+      }
+    }
+    return bytes;
+  }
+
+  @GuardedBy("mCloseLock")
+  private void checkOpen() throws IOException {
+    if (mClosed) {
+      throw new IOException("Off-heap page store is closed");
+    }
+  }
+
+  /**
+   * @return a free slot index, or -1 if all slots are in use
+   */
+  private int allocateSlot() throws IOException {
+    int slot = popFreeSlot();
+    if (slot < 0) {
+      slot = mNextUnusedSlot.getAndUpdate(next -> next < mMaxSlots ? next + 1 : next);
+      if (slot >= mMaxSlots) {
+        return -1;
+      }
+    }
+    // a slot whose slab failed to be allocated is released, so a reused slot may lack its slab
+    int slabIndex = slot / mSlotsPerSlab;
+    if (mSlabs.get(slabIndex) == null) {
+      try {
+        allocateSlab(slabIndex);
+      } catch (IOException e) {
+        releaseSlot(slot);
+        throw e;
+      }
+    }
+    return slot;
+  }
+
+  private void allocateSlab(int slabIndex) throws IOException {
+    synchronized (mSlabLock) {
+      if (mSlabs.get(slabIndex) != null) {
+        return;
+      }
+      int slots = Math.min(mSlotsPerSlab, mMaxSlots - slabIndex * mSlotsPerSlab);
+      try {
+        mSlabs.set(slabIndex, ByteBuffer.allocateDirect(slots * mSlotSize));
+      } catch (OutOfMemoryError e) {
+        throw new IOException(String.format(
+            "Failed to allocate off-heap slab of %d bytes", slots * mSlotSize), e);
+      }
+    }
+  }
+
+  /**
+   * @return a released slot, or -1 if there is none
+   */
+  private int popFreeSlot() {
+    while (true) {
+      long head = mFreeSlotsHead.get();
+      int top = (int) head - 1;
+      if (top < 0) {
+        return -1;
+      }
+      long next = nextVersion(head) | (mNextFreeSlots.get(top) & 0xFFFFFFFFL);
+      if (mFreeSlotsHead.compareAndSet(head, next)) {
+        return top;
+      }
+    }
+  }
+
+  private void releaseSlot(int slot) {
+    while (true) {
+      long head = mFreeSlotsHead.get();
+      mNextFreeSlots.set(slot, (int) head);
+      if (mFreeSlotsHead.compareAndSet(head, nextVersion(head) | (slot + 1))) {
+        return;
+      }
+    }
+  }
+
+  private static long nextVersion(long head) {
+    return ((head >>> 32) + 1) << 32;
+  }
+
+  /**
+   * @param slot the slot index
+   * @return a buffer view of the slot, positioned at its start and limited to its end
+   */
+  private ByteBuffer slotBuffer(int slot) {
+    ByteBuffer slab = getSlab(slot / mSlotsPerSlab);
+    if (slab == null) {
+      throw new IllegalStateException("Page store is closed");
+    }
+    ByteBuffer buf = slab.duplicate();
+    int offset = (slot % mSlotsPerSlab) * mSlotSize;
+    buf.limit(offset + mSlotSize);
+    buf.position(offset);
+    return buf;
+  }
+
+  @Nullable
+  private ByteBuffer getSlab(int slabIndex) {
+    return mSlabs.get(slabIndex);
+  }
+
+  private static long pack(int slot, int length) {
+    return ((long) slot << 32) | (length & 0xFFFFFFFFL);
+  }
+
+  private static int unpackSlot(long location) {
+    return (int) (location >>> 32);
+  }
+
+  private static int unpackLength(long location) {
+    return (int) location;
+  }
+}
@@ -0,0 +1,710 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A log of pages in a single directory. Pages are appended to fixed-size segment files and
+ * located through an in-memory index. Deleted pages leave garbage in their segments, which is
+ * reclaimed by a background compactor that copies the remaining pages of a segment into a
+ * dedicated compaction segment and then removes the segment file.
+ *
+ * Segment ids are never reused and segments are append-only, so an index entry stays valid for
+ * as long as its segment exists. The index is written to a checkpoint file on close, and in the
+ * background once the bytes appended since the last checkpoint, including the pages copied by
+ * compaction, reach the checkpoint interval, so a client which exits without closing the log only
+ * loses the pages appended since. The checkpoint is loaded on the next open; entries referring to
+ * segments that no longer exist, or beyond the checkpointed end of their segment, are dropped.
+ */
+@ThreadSafe
+final class PageLog implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(PageLog.class);
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String CHECKPOINT_FILE = "index.ckpt";
+  private static final String CHECKPOINT_TMP_FILE = "index.ckpt.tmp";
+  private static final long CHECKPOINT_MAGIC = 0x416C6C7578506C67L;
+  private static final int CHECKPOINT_VERSION = 1;
+  private static final String ERROR_NO_SPACE_LEFT = "No space left on device";
+
+  private final Path mDir;
+  private final long mPageSize;
+  private final int mSegmentSize;
+  private final double mCompactionGarbageRatio;
+  private final long mCheckpointInterval;
+  /** Max number of segments, including one reserved for compaction. */
+  private final int mMaxSegments;
+
+  private final ConcurrentHashMap<PageId, Location> mIndex = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Integer, Segment> mSegments = new ConcurrentHashMap<>();
+  /** Whether an existing log in the directory could not be restored. */
+  private final boolean mRestoreFailed;
+
+  private final Object mWriteLock = new Object();
+  @GuardedBy("mWriteLock")
+  private int mNextSegmentId = 0;
+  /** Segment receiving new pages. */
+  @GuardedBy("mWriteLock")
+  @Nullable
+  private Segment mActive;
+  /** Segment receiving pages copied by the compactor. */
+  @GuardedBy("mWriteLock")
+  @Nullable
+  private Segment mCompactionTarget;
+
+  private final ExecutorService mCompactor;
+  /** Serializes compactions. */
+  private final Object mCompactionLock = new Object();
+  private final AtomicBoolean mCompactionScheduled = new AtomicBoolean(false);
+  private final AtomicBoolean mCheckpointScheduled = new AtomicBoolean(false);
+  private final AtomicLong mBytesSinceCheckpoint = new AtomicLong();
+
+  /**
+   * @param dir the directory of the log
+   * @param pageSize the page size
+   * @param segmentSize the size of each segment
+   * @param capacity the number of bytes this log may use on disk
+   * @param compactionGarbageRatio the garbage ratio above which a segment is compacted
+   * @param checkpointInterval the number of bytes appended after which the index is checkpointed
+   */
+  PageLog(Path dir, long pageSize, int segmentSize, long capacity,
+      double compactionGarbageRatio, long checkpointInterval) throws IOException {
+    mDir = dir;
+    mPageSize = pageSize;
+    mSegmentSize = segmentSize;
+    mCompactionGarbageRatio = compactionGarbageRatio;
+    mCheckpointInterval = checkpointInterval;
+    // besides the segments for the capacity, allow one partially filled segment and one
+    // segment reserved for compaction
+    mMaxSegments = (int) Math.max(1, (capacity + segmentSize - 1) / segmentSize) + 2;
+    Files.createDirectories(dir);
+    mRestoreFailed = !restore();
+    mCompactor = Executors.newSingleThreadExecutor(
+        ThreadFactoryUtils.build("page-log-compactor-%d", true));
+    // restored segments may already hold enough garbage to be compacted
+    scheduleCompaction();
+  }
+
+  /**
+   * Appends a page to the log.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   */
+  void put(PageId pageId, byte[] page) throws ResourceExhaustedException, IOException {
+    Location location = append(pageId, page, 0, page.length, false);
+    Location prev = mIndex.put(pageId, location);
+    if (prev != null) {
+      release(prev);
+    }
+    onAppended(location);
+  }
+
+  /**
+   * Reads part of a page from the log.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset within page
+   * @param bytesToRead bytes to read in this page
+   * @param buffer destination buffer
+   * @param bufferOffset offset in buffer
+   * @return the number of bytes read
+   */
+  int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Location prev = null;
+    while (true) {
+      Location location = mIndex.get(pageId);
+      if (location != null && location == prev) {
+        throw new IOException(String.format("Page log in %s is closed", mDir));
+      }
+      prev = location;
+      if (location == null) {
+        throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+      }
+      Preconditions.checkArgument(pageOffset <= location.mLength,
+          "page offset %s exceeded page size %s", pageOffset, location.mLength);
+      int bytesLeft = Math.min(location.mLength - pageOffset, buffer.length - bufferOffset);
+      bytesLeft = Math.min(bytesLeft, bytesToRead);
+      Segment segment = mSegments.get(location.mSegmentId);
+      if (segment != null && segment.read(location.mOffset + pageOffset,
+          ByteBuffer.wrap(buffer, bufferOffset, bytesLeft))) {
+        return bytesLeft;
+      }
+      // the page was moved by compaction, look it up again
+    }
+  }
+
+  /**
+   * Deletes a page from the log.
+   *
+   * @param pageId page identifier
+   */
+  void delete(PageId pageId) throws PageNotFoundException {
+    Location location = mIndex.remove(pageId);
+    if (location == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    release(location);
+  }
+
+  /**
+   * @return a stream of all pages in the log
+   */
+  Stream<PageInfo> getPages() throws IOException {
+    if (mRestoreFailed) {
+      throw new IOException(String.format(
+          "Page log in %s has no valid checkpoint to restore from", mDir));
+    }
+    List<PageInfo> pages = new ArrayList<>(mIndex.size());
+    for (Map.Entry<PageId, Location> entry : mIndex.entrySet()) {
+      pages.add(new PageInfo(entry.getKey(), entry.getValue().mLength));
+    }
+    return pages.stream();
+  }
+
+  /**
+   * @return the number of segment files
+   */
+  @VisibleForTesting
+  int getSegmentCount() {
+    return mSegments.size();
+  }
+
+  /**
+   * Compacts all segments whose garbage ratio exceeds the threshold. If the log is out of
+   * segments, the segment with the most garbage is compacted regardless of the threshold.
+   */
+  @VisibleForTesting
+  void compact() throws IOException {
+    synchronized (mCompactionLock) {
+      Segment victim;
+      while ((victim = pickVictim()) != null) {
+        compactSegment(victim);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    mCompactor.shutdownNow();
+    try {
+      if (!mCompactor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("Timed out waiting for page log compactor in {} to stop", mDir);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (mWriteLock) {
+      try {
+        checkpoint();
+      } finally {
+        for (Segment segment : mSegments.values()) {
+          segment.close();
+        }
+        mSegments.clear();
+        mIndex.clear();
+        mActive = null;
+        mCompactionTarget = null;
+      }
+    }
+  }
+
+  /**
+   * Appends data to a segment, and records it as a page of the segment.
+   *
+   * @return the location of the data
+   */
+  private Location append(PageId pageId, byte[] data, int offset, int length,
+      boolean forCompaction) throws ResourceExhaustedException, IOException {
+    Segment segment;
+    int position;
+    synchronized (mWriteLock) {
+      segment = forCompaction ? mCompactionTarget : mActive;
+      if (segment == null || segment.mWritePosition + length > mSegmentSize) {
+        if (segment != null) {
+          segment.mSealed = true;
+          scheduleCompaction();
+        }
+        segment = newSegment(forCompaction);
+        if (forCompaction) {
+          mCompactionTarget = segment;
+        } else {
+          mActive = segment;
+        }
+      }
+      position = segment.mWritePosition;
+      segment.mWritePosition += length;
+      segment.mLiveBytes.addAndGet(length);
+    }
+    try {
+      segment.write(position, ByteBuffer.wrap(data, offset, length));
+    } catch (IOException e) {
+      segment.mLiveBytes.addAndGet(-length);
+      if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, failed to append to segment %d", mDir, segment.mId), e);
+      }
+      throw e;
+    }
+    Location location = new Location(segment.mId, position, length);
+    // the page is recorded before the index refers to it, so that releasing it always finds it
+    segment.mPages.put(location, pageId);
+    return location;
+  }
+
+  @GuardedBy("mWriteLock")
+  private Segment newSegment(boolean forCompaction)
+      throws ResourceExhaustedException, IOException {
+    // one segment is reserved so that compaction can always make progress
+    int limit = forCompaction ? mMaxSegments : mMaxSegments - 1;
+    if (mSegments.size() >= limit) {
+      scheduleCompaction();
+      throw new ResourceExhaustedException(String.format(
+          "Page log in %s is full with %d segments", mDir, mSegments.size()));
+    }
+    int id = mNextSegmentId++;
+    Segment segment = Segment.create(getSegmentPath(id), id, mSegmentSize);
+    mSegments.put(id, segment);
+    return segment;
+  }
+
+  private void release(Location location) {
+    Segment segment = mSegments.get(location.mSegmentId);
+    if (segment == null) {
+      return;
+    }
+    segment.mPages.remove(location);
+    segment.mLiveBytes.addAndGet(-location.mLength);
+    if (segment.mSealed && isCompactionCandidate(segment)) {
+      scheduleCompaction();
+    }
+  }
+
+  private boolean isCompactionCandidate(Segment segment) {
+    return segment.mLiveBytes.get() < (1 - mCompactionGarbageRatio) * segment.mWritePosition;
+  }
+
+  private void scheduleCompaction() {
+    if (!mCompactionScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      mCompactor.submit(() -> {
+        mCompactionScheduled.set(false);
+        try {
+          compact();
+        } catch (Throwable t) {
+          LOG.warn("Failed to compact page log in {}: {}", mDir, t.toString());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the log is closing
+      mCompactionScheduled.set(false);
+    }
+  }
+
+  /**
+   * Counts a page added to the index towards the next checkpoint.
+   *
+   * @param location the location of the page
+   */
+  private void onAppended(Location location) {
+    if (mBytesSinceCheckpoint.addAndGet(location.mLength) >= mCheckpointInterval) {
+      scheduleCheckpoint();
+    }
+  }
+
+  /**
+   * Checkpoints the index on the compactor thread, between compactions.
+   */
+  private void scheduleCheckpoint() {
+    if (!mCheckpointScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      mCompactor.submit(() -> {
+        mCheckpointScheduled.set(false);
+        mBytesSinceCheckpoint.set(0);
+        try {
+          checkpoint();
+        } catch (Throwable t) {
+          LOG.warn("Failed to checkpoint page log in {}: {}", mDir, t.toString());
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the log is closing, and checkpoints on close
+      mCheckpointScheduled.set(false);
+    }
+  }
+
+  @Nullable
+  private Segment pickVictim() {
+    boolean full;
+    synchronized (mWriteLock) {
+      full = mSegments.size() >= mMaxSegments - 1;
+    }
+    Optional<Segment> victim = mSegments.values().stream()
+        .filter(segment -> segment.mSealed)
+        .filter(segment -> isCompactionCandidate(segment)
+            || (full && segment.mLiveBytes.get() < segment.mWritePosition))
+        .min(Comparator.comparingLong(segment -> segment.mLiveBytes.get()));
+    return victim.orElse(null);
+  }
+
+  private void compactSegment(Segment victim) throws IOException {
+    LOG.debug("Compacting segment {} in {} with {} live bytes", victim.mId, mDir,
+        victim.mLiveBytes.get());
+    byte[] buffer = new byte[(int) mPageSize];
+    for (Map.Entry<Location, PageId> entry : victim.mPages.entrySet()) {
+      Location location = entry.getKey();
+      if (!victim.read(location.mOffset, ByteBuffer.wrap(buffer, 0, location.mLength))) {
+        return;
+      }
+      Location moved;
+      try {
+        moved = append(entry.getValue(), buffer, 0, location.mLength, true);
+      } catch (ResourceExhaustedException e) {
+        throw new IOException(e);
+      }
+      if (mIndex.replace(entry.getValue(), location, moved)) {
+        onAppended(moved);
+      } else {
+        // the page was deleted or replaced while being copied
+        release(moved);
+      }
+    }
+    synchronized (mWriteLock) {
+      mSegments.remove(victim.mId);
+    }
+    victim.close();
+    Files.deleteIfExists(victim.mPath);
+  }
+
+  private Path getSegmentPath(int id) {
+    return mDir.resolve(SEGMENT_PREFIX + id);
+  }
+
+  /**
+   * Writes the index and the segment table to the checkpoint file. Only the segment table is read
+   * under the write lock. The index is written while pages are appended and compacted, which is
+   * safe since the entries of segments missing from the table, or beyond the end recorded for
+   * their segment, are dropped on restore.
+   */
+  private void checkpoint() throws IOException {
+    int nextSegmentId;
+    Map<Segment, Integer> segments = new HashMap<>();
+    synchronized (mWriteLock) {
+      nextSegmentId = mNextSegmentId;
+      for (Segment segment : mSegments.values()) {
+        segments.put(segment, segment.mWritePosition);
+      }
+    }
+    // the pages referenced by the checkpoint are on disk before it is
+    for (Segment segment : segments.keySet()) {
+      segment.force();
+    }
+    Path tmp = mDir.resolve(CHECKPOINT_TMP_FILE);
+    CRC32 crc = new CRC32();
+    int pages = 0;
+    try (OutputStream os = Files.newOutputStream(tmp);
+         DataOutputStream out = new DataOutputStream(
+             new BufferedOutputStream(new CheckedOutputStream(os, crc)))) {
+      out.writeLong(CHECKPOINT_MAGIC);
+      out.writeInt(CHECKPOINT_VERSION);
+      out.writeLong(mPageSize);
+      out.writeInt(mSegmentSize);
+      out.writeInt(nextSegmentId);
+      out.writeInt(segments.size());
+      for (Map.Entry<Segment, Integer> entry : segments.entrySet()) {
+        out.writeInt(entry.getKey().mId);
+        out.writeInt(entry.getValue());
+      }
+      // the index may change while it is written, so a copy of its entries is written
+      List<Map.Entry<PageId, Location>> entries = new ArrayList<>(mIndex.entrySet());
+      out.writeInt(entries.size());
+      for (Map.Entry<PageId, Location> entry : entries) {
+        out.writeUTF(entry.getKey().getFileId());
+        out.writeLong(entry.getKey().getPageIndex());
+        out.writeInt(entry.getValue().mSegmentId);
+        out.writeInt(entry.getValue().mOffset);
+        out.writeInt(entry.getValue().mLength);
+      }
+      pages = entries.size();
+      out.flush();
+      // the checksum itself is not covered by the checksum
+      new DataOutputStream(os).writeLong(crc.getValue());
+    }
+    Files.move(tmp, mDir.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    LOG.info("Checkpointed page log in {} with {} pages in {} segments", mDir, pages,
+        segments.size());
+  }
+
+  /**
+   * Restores the index from the checkpoint file, removing any segment not referenced by it.
+   *
+   * @return false if the directory holds segments that could not be restored
+   */
+  private boolean restore() throws IOException {
+    Path checkpoint = mDir.resolve(CHECKPOINT_FILE);
+    boolean restored = false;
+    if (Files.exists(checkpoint)) {
+      try {
+        readCheckpoint(checkpoint);
+        restored = true;
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to load page log checkpoint {}: {}", checkpoint, e.toString());
+        for (Segment segment : mSegments.values()) {
+          segment.close();
+        }
+        mSegments.clear();
+        mIndex.clear();
+      }
+    }
+    boolean stale = false;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(mDir)) {
+      for (Path path : stream) {
+        String name = path.getFileName().toString();
+        if (name.equals(CHECKPOINT_FILE)) {
+          continue;
+        }
+        if (name.startsWith(SEGMENT_PREFIX) && mSegments.containsKey(parseSegmentId(name))) {
+          continue;
+        }
+        stale |= name.startsWith(SEGMENT_PREFIX);
+        Files.deleteIfExists(path);
+      }
+    }
+    return restored || !stale;
+  }
+
+  private void readCheckpoint(Path checkpoint) throws IOException {
+    CRC32 crc = new CRC32();
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(checkpoint));
+         DataInputStream in = new DataInputStream(new CheckedInputStream(is, crc))) {
+      if (in.readLong() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+        throw new IOException("Unrecognized checkpoint format");
+      }
+      long pageSize = in.readLong();
+      int segmentSize = in.readInt();
+      if (pageSize != mPageSize || segmentSize != mSegmentSize) {
+        throw new IOException(String.format(
+            "Checkpoint page size %d and segment size %d do not match configured %d and %d",
+            pageSize, segmentSize, mPageSize, mSegmentSize));
+      }
+      int nextSegmentId = in.readInt();
+      int numSegments = in.readInt();
+      Map<Integer, Integer> writePositions = new HashMap<>();
+      for (int i = 0; i < numSegments; i++) {
+        writePositions.put(in.readInt(), in.readInt());
+      }
+      int numPages = in.readInt();
+      List<PageId> pageIds = new ArrayList<>(numPages);
+      List<Location> locations = new ArrayList<>(numPages);
+      for (int i = 0; i < numPages; i++) {
+        pageIds.add(new PageId(in.readUTF(), in.readLong()));
+        locations.add(new Location(in.readInt(), in.readInt(), in.readInt()));
+      }
+      long expected = crc.getValue();
+      if (new DataInputStream(is).readLong() != expected) {
+        throw new IOException("Checkpoint checksum mismatch");
+      }
+      synchronized (mWriteLock) {
+        mNextSegmentId = nextSegmentId;
+        for (Map.Entry<Integer, Integer> entry : writePositions.entrySet()) {
+          Path path = getSegmentPath(entry.getKey());
+          if (!Files.exists(path) || Files.size(path) < entry.getValue()) {
+            LOG.warn("Segment {} referenced by checkpoint is missing or truncated", path);
+            continue;
+          }
+          Segment segment = Segment.open(path, entry.getKey(), entry.getValue());
+          segment.mSealed = true;
+          mSegments.put(entry.getKey(), segment);
+        }
+      }
+      for (int i = 0; i < numPages; i++) {
+        Location location = locations.get(i);
+        Segment segment = mSegments.get(location.mSegmentId);
+        if (segment == null || location.mOffset + location.mLength > segment.mWritePosition) {
+          continue;
+        }
+        segment.mLiveBytes.addAndGet(location.mLength);
+        segment.mPages.put(location, pageIds.get(i));
+        mIndex.put(pageIds.get(i), location);
+      }
+    }
+  }
+
+  private static int parseSegmentId(String name) {
+    try {
+      return Integer.parseInt(name.substring(SEGMENT_PREFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Location of a page in the log.
+   */
+  private static final class Location {
+    private final int mSegmentId;
+    private final int mOffset;
+    private final int mLength;
+
+    Location(int segmentId, int offset, int length) {
+      mSegmentId = segmentId;
+      mOffset = offset;
+      mLength = length;
+    }
+  }
+
+  /**
+   * A segment file. Reads and writes use positional I/O and hold the read lock; closing the
+   * segment takes the write lock so no I/O is in flight on a closed channel.
+   */
+  private static final class Segment {
+    private final int mId;
+    private final Path mPath;
+    private final FileChannel mChannel;
+    private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+    @GuardedBy("mLock")
+    private boolean mClosed = false;
+    /** Bytes of pages in this segment still referenced by the index. */
+    private final AtomicLong mLiveBytes = new AtomicLong();
+    /**
+     * Pages in this segment by location, so that compaction does not scan the whole index. Each
+     * location is a distinct key, as locations are compared by identity.
+     */
+    private final ConcurrentHashMap<Location, PageId> mPages = new ConcurrentHashMap<>();
+    /** Next write position, guarded by the write lock of the log. */
+    private int mWritePosition;
+    /** Whether no more pages are appended to this segment. */
+    private volatile boolean mSealed = false;
+
+    private Segment(int id, Path path, FileChannel channel, int writePosition) {
+      mId = id;
+      mPath = path;
+      mChannel = channel;
+      mWritePosition = writePosition;
+    }
+
+    static Segment create(Path path, int id, int size) throws IOException {
+      try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+        file.setLength(size);
+      }
+      return open(path, id, 0);
+    }
+
+    static Segment open(Path path, int id, int writePosition) throws IOException {
+      RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+      return new Segment(id, path, file.getChannel(), writePosition);
+    }
+
+    void write(long position, ByteBuffer buf) throws IOException {
+      try (LockResource r = new LockResource(mLock.readLock())) {
+        Preconditions.checkState(!mClosed, "segment %s is closed", mPath);
+        while (buf.hasRemaining()) {
+          position += mChannel.write(buf, position);
+        }
+      }
+    }
+
+    /**
+     * @return false if the segment has been closed
+     */
+    boolean read(long position, ByteBuffer buf) throws IOException {
+      try (LockResource r = new LockResource(mLock.readLock())) {
+        if (mClosed) {
+          return false;
+        }
+        while (buf.hasRemaining()) {
+          int bytes = mChannel.read(buf, position);
+          if (bytes < 0) {
+            throw new IOException(String.format("Unexpected end of segment %s", mPath));
+          }
+          position += bytes;
+        }
+        return true;
+      }
+    }
+
+    /**
+     * Forces the pages written to the segment to disk, unless the segment has been closed.
+     */
+    void force() throws IOException {
+      try (LockResource r = new LockResource(mLock.readLock())) {
+        if (!mClosed) {
+          mChannel.force(false);
+        }
+      }
+    }
+
+    void close() {
+      try (LockResource r = new LockResource(mLock.writeLock())) {
+        if (!mClosed) {
+          mClosed = true;
+          mChannel.close();
+        }
+      } catch (IOException e) {
+        LOG.warn("Failed to close segment {}: {}", mPath, e.toString());
+      }
+    }
+  }
+}
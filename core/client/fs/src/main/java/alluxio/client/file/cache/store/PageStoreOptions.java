@@ -41,8 +41,18 @@ public abstract class PageStoreOptions {
         options = new RocksPageStoreOptions();
         break;
       }
+      case LOG:
+        options = new LogPageStoreOptions()
+            .setSegmentSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_LOG_STORE_SEGMENT_SIZE))
+            .setCompactionGarbageRatio(
+                conf.getDouble(PropertyKey.USER_CLIENT_CACHE_LOG_STORE_COMPACTION_GARBAGE_RATIO))
+            .setCheckpointInterval(
+                conf.getBytes(PropertyKey.USER_CLIENT_CACHE_LOG_STORE_CHECKPOINT_INTERVAL));
+        break;
       case MEM:
-        options = new MemoryPageStoreOptions();
+        options = new MemoryPageStoreOptions()
+            .setOffHeap(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_STORE_MEMORY_OFFHEAP_ENABLED))
+            .setSlabSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_STORE_MEMORY_SLAB_SIZE));
         break;
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
@@ -0,0 +1,116 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.protobuf.CodedInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Reads a trace written by {@link CacheTraceWriter}.
+ */
+@NotThreadSafe
+public final class CacheTraceReader implements Closeable {
+  private static final CacheTraceRecord.Op[] OPS = CacheTraceRecord.Op.values();
+
+  private final InputStream mInput;
+  private final CodedInputStream mStream;
+  private final long mPageSize;
+  private final List<String> mFileIds = new ArrayList<>();
+  private long mTimeMicros = 0;
+
+  /**
+   * @param path the path of the trace file
+   * @return the reader
+   */
+  public static CacheTraceReader open(String path) throws IOException {
+    return new CacheTraceReader(new FileInputStream(path));
+  }
+
+  /**
+   * @param input the stream to read the trace from, closed by this reader
+   */
+  public CacheTraceReader(InputStream input) throws IOException {
+    mInput = new BufferedInputStream(input);
+    mStream = CodedInputStream.newInstance(mInput);
+    int magic = mStream.readFixed32();
+    if (magic != CacheTraceWriter.MAGIC) {
+      throw new IOException(String.format("Not a cache trace, magic number %x", magic));
+    }
+    int version = mStream.readUInt32();
+    // the previous version only lacks the markers resetting the numbering of files
+    if (version < 1 || version > CacheTraceWriter.VERSION) {
+      throw new IOException("Unsupported cache trace version " + version);
+    }
+    mPageSize = mStream.readUInt64();
+  }
+
+  /**
+   * @return the page size of the cache the trace was recorded from
+   */
+  public long getPageSize() {
+    return mPageSize;
+  }
+
+  /**
+   * @return the next record, or null at the end of the trace
+   */
+  @Nullable
+  public CacheTraceRecord next() throws IOException {
+    // traces may be larger than the size limit of the stream
+    mStream.resetSizeCounter();
+    if (mStream.isAtEnd()) {
+      return null;
+    }
+    int op = mStream.readUInt32();
+    if (op == CacheTraceWriter.RESET_FILES) {
+      mFileIds.clear();
+      return next();
+    }
+    String fileId;
+    if ((op & CacheTraceWriter.NEW_FILE_FLAG) != 0) {
+      fileId = mStream.readString();
+      mFileIds.add(fileId);
+    } else {
+      int fileIndex = mStream.readUInt32();
+      if (fileIndex >= mFileIds.size()) {
+        throw new IOException("Corrupted cache trace, unknown file " + fileIndex);
+      }
+      fileId = mFileIds.get(fileIndex);
+    }
+    op &= ~CacheTraceWriter.NEW_FILE_FLAG;
+    if (op >= OPS.length) {
+      throw new IOException("Corrupted cache trace, unknown operation " + op);
+    }
+    long pageIndex = mStream.readUInt64();
+    int pageOffset = mStream.readUInt32();
+    int length = mStream.readUInt32();
+    mTimeMicros += mStream.readUInt64();
+    return new CacheTraceRecord(OPS[op], mTimeMicros, new PageId(fileId, pageIndex), pageOffset,
+        length);
+  }
+
+  @Override
+  public void close() throws IOException {
+    mInput.close();
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A single access to the client cache recorded in a trace.
+ */
+@ThreadSafe
+public final class CacheTraceRecord {
+  /**
+   * Operations on the cache.
+   */
+  public enum Op {
+    /** Read of a part of a page. */
+    GET,
+    /** Write of a complete page. */
+    PUT,
+    /** Removal of a page. */
+    DELETE,
+  }
+
+  private final Op mOp;
+  private final long mTimeMicros;
+  private final PageId mPageId;
+  private final int mPageOffset;
+  private final int mLength;
+
+  /**
+   * @param op the operation
+   * @param timeMicros the time of the access in microseconds since the start of the trace
+   * @param pageId the page accessed
+   * @param pageOffset the offset of the access in the page
+   * @param length the number of bytes read or written
+   */
+  public CacheTraceRecord(Op op, long timeMicros, PageId pageId, int pageOffset, int length) {
+    mOp = op;
+    mTimeMicros = timeMicros;
+    mPageId = pageId;
+    mPageOffset = pageOffset;
+    mLength = length;
+  }
+
+  /**
+   * @return the operation
+   */
+  public Op getOp() {
+    return mOp;
+  }
+
+  /**
+   * @return the time of the access in microseconds since the start of the trace
+   */
+  public long getTimeMicros() {
+    return mTimeMicros;
+  }
+
+  /**
+   * @return the page accessed
+   */
+  public PageId getPageId() {
+    return mPageId;
+  }
+
+  /**
+   * @return the offset of the access in the page
+   */
+  public int getPageOffset() {
+    return mPageOffset;
+  }
+
+  /**
+   * @return the number of bytes read or written
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CacheTraceRecord)) {
+      return false;
+    }
+    CacheTraceRecord that = (CacheTraceRecord) o;
+    return mOp == that.mOp && mTimeMicros == that.mTimeMicros && mPageId.equals(that.mPageId)
+        && mPageOffset == that.mPageOffset && mLength == that.mLength;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(mOp, mTimeMicros, mPageId, mPageOffset, mLength);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("Length", mLength)
+        .add("Op", mOp)
+        .add("PageId", mPageId)
+        .add("PageOffset", mPageOffset)
+        .add("TimeMicros", mTimeMicros)
+        .toString();
+  }
+}
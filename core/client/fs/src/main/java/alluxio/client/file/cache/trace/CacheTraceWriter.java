@@ -0,0 +1,180 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.CodedOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Writes accesses to the client cache to a trace, read by {@link CacheTraceReader}.
+ *
+ * A trace starts with a header holding a magic number, the format version and the page size of
+ * the cache. Each record is a sequence of varints: the operation, the file, the page index, the
+ * offset and length of the access and the time since the previous record in microseconds. The
+ * first record of a file holds its id as a string, later records refer to the file by its number
+ * of appearance, so a typical record takes less than ten bytes. Once the trace has numbered a
+ * maximum number of files, it holds a reset marker and numbers files from zero again, so the
+ * files the writer and the reader keep track of are bounded.
+ *
+ * Recording an access only queues it without locking, so that cache accesses are not serialized
+ * by the trace. The queued accesses are encoded and written by {@link #flush()}, which should be
+ * called periodically. Accesses recorded while too many are queued are dropped.
+ */
+@ThreadSafe
+public final class CacheTraceWriter implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(CacheTraceWriter.class);
+  /** Magic number at the start of a trace, "ACTR". */
+  static final int MAGIC = 0x41435452;
+  static final int VERSION = 2;
+  /** Flag of the operation field of a record holding the id of a new file. */
+  static final int NEW_FILE_FLAG = 0x80;
+  /** Operation field of the marker after which files are numbered from zero again. */
+  static final int RESET_FILES = 0x40;
+  private static final int MAX_FILES = 1 << 16;
+  private static final int MAX_QUEUED_RECORDS = 1 << 20;
+
+  private final OutputStream mOutput;
+  @GuardedBy("this")
+  private final CodedOutputStream mStream;
+  private final int mMaxFiles;
+  @GuardedBy("this")
+  private final Map<String, Integer> mFileIndexes = new HashMap<>();
+  private final long mStartNanos;
+  @GuardedBy("this")
+  private long mLastMicros = 0;
+  private final Queue<CacheTraceRecord> mQueue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger mQueued = new AtomicInteger(0);
+  private final AtomicLong mDropped = new AtomicLong(0);
+
+  /**
+   * Creates a trace file, overwriting the file if it exists.
+   *
+   * @param path the path of the trace file
+   * @param pageSize the page size of the cache
+   * @return the writer
+   */
+  public static CacheTraceWriter create(String path, long pageSize) throws IOException {
+    return new CacheTraceWriter(new FileOutputStream(path), pageSize);
+  }
+
+  /**
+   * @param output the stream to write the trace to, closed by this writer
+   * @param pageSize the page size of the cache
+   */
+  public CacheTraceWriter(OutputStream output, long pageSize) throws IOException {
+    this(output, pageSize, MAX_FILES);
+  }
+
+  /**
+   * @param output the stream to write the trace to, closed by this writer
+   * @param pageSize the page size of the cache
+   * @param maxFiles the number of files numbered before the numbering starts again
+   */
+  @VisibleForTesting
+  CacheTraceWriter(OutputStream output, long pageSize, int maxFiles) throws IOException {
+    mOutput = new BufferedOutputStream(output);
+    mStream = CodedOutputStream.newInstance(mOutput);
+    mMaxFiles = maxFiles;
+    mStream.writeFixed32NoTag(MAGIC);
+    mStream.writeUInt32NoTag(VERSION);
+    mStream.writeUInt64NoTag(pageSize);
+    mStartNanos = System.nanoTime();
+  }
+
+  /**
+   * Queues an access to be appended to the trace.
+   *
+   * @param op the operation
+   * @param pageId the page accessed
+   * @param pageOffset the offset of the access in the page
+   * @param length the number of bytes read or written
+   */
+  public void record(CacheTraceRecord.Op op, PageId pageId, int pageOffset, int length) {
+    long micros = (System.nanoTime() - mStartNanos) / 1000;
+    if (mQueued.incrementAndGet() > MAX_QUEUED_RECORDS) {
+      mQueued.decrementAndGet();
+      mDropped.incrementAndGet();
+      return;
+    }
+    mQueue.add(new CacheTraceRecord(op, micros, pageId, pageOffset, length));
+  }
+
+  /**
+   * Writes the queued records to the underlying stream.
+   */
+  public synchronized void flush() throws IOException {
+    CacheTraceRecord record;
+    while ((record = mQueue.poll()) != null) {
+      mQueued.decrementAndGet();
+      write(record);
+    }
+    long dropped = mDropped.getAndSet(0);
+    if (dropped > 0) {
+      LOG.warn("Dropped {} cache trace records recorded faster than they were written", dropped);
+    }
+    mStream.flush();
+    mOutput.flush();
+  }
+
+  @GuardedBy("this")
+  private void write(CacheTraceRecord record) throws IOException {
+    PageId pageId = record.getPageId();
+    int op = record.getOp().ordinal();
+    Integer fileIndex = mFileIndexes.get(pageId.getFileId());
+    if (fileIndex == null) {
+      if (mFileIndexes.size() >= mMaxFiles) {
+        mStream.writeUInt32NoTag(RESET_FILES);
+        mFileIndexes.clear();
+      }
+      mFileIndexes.put(pageId.getFileId(), mFileIndexes.size());
+      mStream.writeUInt32NoTag(op | NEW_FILE_FLAG);
+      mStream.writeStringNoTag(pageId.getFileId());
+    } else {
+      mStream.writeUInt32NoTag(op);
+      mStream.writeUInt32NoTag(fileIndex);
+    }
+    mStream.writeUInt64NoTag(pageId.getPageIndex());
+    mStream.writeUInt32NoTag(record.getPageOffset());
+    mStream.writeUInt32NoTag(record.getLength());
+    // accesses may be queued slightly out of order by concurrent threads
+    long delta = Math.max(0, record.getTimeMicros() - mLastMicros);
+    mStream.writeUInt64NoTag(delta);
+    mLastMicros += delta;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      mOutput.close();
+    }
+  }
+}
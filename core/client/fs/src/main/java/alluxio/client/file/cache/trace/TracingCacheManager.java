@@ -0,0 +1,125 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.util.ThreadFactoryUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A wrapper of a {@link CacheManager} which records every access to a trace. Accesses are only
+ * queued by the cache operations, and a background thread writes them to the trace every 100ms,
+ * so that the trace can be read while the client is running and loses little when the client is
+ * killed. Tracing stops at the first failure to write the trace, without affecting the cache.
+ */
+@ThreadSafe
+public class TracingCacheManager implements CacheManager {
+  private static final Logger LOG = LoggerFactory.getLogger(TracingCacheManager.class);
+  private static final long FLUSH_INTERVAL_MS = 100;
+
+  private final CacheManager mCacheManager;
+  private final CacheTraceWriter mWriter;
+  private final ScheduledExecutorService mFlusher = Executors.newSingleThreadScheduledExecutor(
+      ThreadFactoryUtils.build("cache-trace-flush-%d", true));
+  private volatile boolean mTracing = true;
+
+  /**
+   * @param cacheManager the cache manager to trace
+   * @param writer the writer of the trace, closed with this cache manager
+   */
+  public TracingCacheManager(CacheManager cacheManager, CacheTraceWriter writer) {
+    mCacheManager = cacheManager;
+    mWriter = writer;
+    mFlusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public boolean put(PageId pageId, byte[] page, CacheContext cacheContext) {
+    record(CacheTraceRecord.Op.PUT, pageId, 0, page.length);
+    return mCacheManager.put(pageId, page, cacheContext);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
+      int offsetInBuffer, CacheContext cacheContext) {
+    record(CacheTraceRecord.Op.GET, pageId, pageOffset, bytesToRead);
+    return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer,
+        cacheContext);
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManager.hasPage(pageId);
+  }
+
+  @Override
+  public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
+    return mCacheManager.getCachedPageIdsByFileId(fileId, fileLength);
+  }
+
+  @Override
+  public boolean delete(PageId pageId) {
+    record(CacheTraceRecord.Op.DELETE, pageId, 0, 0);
+    return mCacheManager.delete(pageId);
+  }
+
+  @Override
+  public State state() {
+    return mCacheManager.state();
+  }
+
+  @Override
+  public void close() throws Exception {
+    mTracing = false;
+    mFlusher.shutdownNow();
+    try {
+      mWriter.close();
+    } finally {
+      mCacheManager.close();
+    }
+  }
+
+  private void record(CacheTraceRecord.Op op, PageId pageId, int pageOffset, int length) {
+    if (mTracing) {
+      mWriter.record(op, pageId, pageOffset, length);
+    }
+  }
+
+  private void flush() {
+    if (!mTracing) {
+      return;
+    }
+    try {
+      mWriter.flush();
+    } catch (IOException e) {
+      stopTracing(e);
+    }
+  }
+
+  private void stopTracing(IOException e) {
+    mTracing = false;
+    mFlusher.shutdown();
+    LOG.warn("Failed to write cache trace, tracing is disabled: {}", e.toString());
+  }
+}
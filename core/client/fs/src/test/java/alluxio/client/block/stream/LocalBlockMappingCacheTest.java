@@ -0,0 +1,93 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/**
+ * Tests for {@link LocalBlockMappingCache}.
+ */
+public final class LocalBlockMappingCacheTest {
+  private static final long BLOCK_ID = 1L;
+  private static final int LENGTH = 1024;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private final WorkerNetAddress mAddress = new WorkerNetAddress().setHost("host");
+  private final LocalBlockMappingCache mCache = new LocalBlockMappingCache();
+  private String mPath;
+
+  @Before
+  public void before() throws Exception {
+    File file = mFolder.newFile();
+    Files.write(file.toPath(), BufferUtils.getIncreasingByteArray(LENGTH));
+    mPath = file.getPath();
+  }
+
+  @Test
+  public void slice() throws Exception {
+    LocalBlockMappingCache.Mapping mapping = mCache.acquire(mAddress, BLOCK_ID, mPath);
+    assertEquals(LENGTH, mapping.getLength());
+    ByteBuffer buffer = mapping.slice(10, 100);
+    assertEquals(100, buffer.remaining());
+    assertEquals(BufferUtils.getIncreasingByteBuffer(10, 100), buffer);
+    assertEquals(0, mapping.slice(LENGTH, 0).remaining());
+  }
+
+  @Test
+  public void sharedUntilLastRelease() throws Exception {
+    LocalBlockMappingCache.Mapping first = mCache.acquire(mAddress, BLOCK_ID, mPath);
+    LocalBlockMappingCache.Mapping second = mCache.acquire(mAddress, BLOCK_ID, mPath);
+    assertSame(first, second);
+    assertEquals(1, mCache.size());
+    mCache.release(first);
+    assertEquals(1, mCache.size());
+    assertSame(first, mCache.acquire(mAddress, BLOCK_ID, mPath));
+    mCache.release(first);
+    mCache.release(second);
+    assertEquals(0, mCache.size());
+    // the block is mapped again once all streams released it
+    LocalBlockMappingCache.Mapping third = mCache.acquire(mAddress, BLOCK_ID, mPath);
+    assertNotSame(first, third);
+    mCache.release(third);
+  }
+
+  @Test
+  public void separateBlocksAndWorkers() throws Exception {
+    LocalBlockMappingCache.Mapping first = mCache.acquire(mAddress, BLOCK_ID, mPath);
+    LocalBlockMappingCache.Mapping otherBlock = mCache.acquire(mAddress, BLOCK_ID + 1, mPath);
+    LocalBlockMappingCache.Mapping otherWorker =
+        mCache.acquire(new WorkerNetAddress().setHost("other"), BLOCK_ID, mPath);
+    assertNotSame(first, otherBlock);
+    assertNotSame(first, otherWorker);
+    assertEquals(3, mCache.size());
+    mCache.release(first);
+    mCache.release(otherBlock);
+    mCache.release(otherWorker);
+    assertEquals(0, mCache.size());
+  }
+}
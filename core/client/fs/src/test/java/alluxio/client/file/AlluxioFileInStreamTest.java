@@ -64,12 +64,14 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Tests for the {@link AlluxioFileInStream} class.
@@ -767,6 +769,53 @@ public final class AlluxioFileInStreamTest {
         BLOCK_LENGTH * 2), b);
   }
 
+  @Test
+  public void readVectored() throws Exception {
+    List<ReadRange> ranges = Arrays.asList(
+        new ReadRange(mFileSize - 10, 10),
+        new ReadRange(BLOCK_LENGTH / 2, (int) BLOCK_LENGTH),
+        new ReadRange(0, 10),
+        new ReadRange(2 * BLOCK_LENGTH + 5, 20),
+        new ReadRange(mFileSize, 1));
+    mTestStream.readVectored(ranges, ByteBuffer::allocate);
+    for (ReadRange range : ranges.subList(0, 4)) {
+      ByteBuffer data = range.getData().get();
+      byte[] bytes = new byte[data.remaining()];
+      data.get(bytes);
+      assertArrayEquals(
+          BufferUtils.getIncreasingByteArray((int) range.getOffset(), range.getLength()), bytes);
+    }
+    try {
+      ranges.get(4).getData().get();
+      fail("Range past the end of file should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+    }
+    assertEquals(0, mTestStream.getPos());
+  }
+
+  @Test
+  public void readVectoredRetry() throws Exception {
+    TestBlockInStream workingStream = mInStreams.get(0);
+    TestBlockInStream brokenStream = mock(TestBlockInStream.class);
+    when(mBlockStore
+        .getInStream(eq(0L), any(InStreamOptions.class), any()))
+        .thenReturn(brokenStream).thenReturn(workingStream);
+    when(brokenStream.positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt()))
+        .thenThrow(new UnavailableException("test exception"));
+
+    List<ReadRange> ranges = Arrays.asList(
+        new ReadRange(10, 20), new ReadRange(BLOCK_LENGTH + 10, 20));
+    mTestStream.readVectored(ranges, ByteBuffer::allocate);
+    for (ReadRange range : ranges) {
+      ByteBuffer data = range.getData().get();
+      byte[] bytes = new byte[data.remaining()];
+      data.get(bytes);
+      assertArrayEquals(
+          BufferUtils.getIncreasingByteArray((int) range.getOffset(), range.getLength()), bytes);
+    }
+  }
+
   /**
    * Tests that when the underlying blocks are inconsistent with the metadata in terms of block
    * length, an exception is thrown rather than client hanging indefinitely. This case may happen if
@@ -12,6 +12,7 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.collections.Pair;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.CheckAccessPOptions;
@@ -32,6 +33,7 @@ import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.BatchResult;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -68,6 +70,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> createFileBatch(
+      List<Pair<AlluxioURI, CreateFilePOptions>> requests) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public void completeFile(AlluxioURI path, CompleteFilePOptions options)
       throws AlluxioStatusException {
@@ -77,6 +85,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
   public void delete(AlluxioURI path, DeletePOptions options) throws AlluxioStatusException {
   }
 
+  @Override
+  public List<BatchResult<Void>> deleteBatch(List<Pair<AlluxioURI, DeletePOptions>> requests)
+      throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public boolean exists(AlluxioURI path, ExistsPOptions options)
       throws AlluxioStatusException {
@@ -98,6 +112,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> getStatusBatch(
+      List<Pair<AlluxioURI, GetStatusPOptions>> requests) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public long getNewBlockIdForFile(AlluxioURI path) throws AlluxioStatusException {
     return 0;
@@ -158,6 +178,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
       throws AlluxioStatusException {
   }
 
+  @Override
+  public List<BatchResult<Void>> setAttributeBatch(
+      List<Pair<AlluxioURI, SetAttributePOptions>> requests) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public void startSync(AlluxioURI path) throws AlluxioStatusException {
   }
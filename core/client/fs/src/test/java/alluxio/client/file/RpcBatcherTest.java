@@ -0,0 +1,215 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.exception.status.NotFoundException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.wire.BatchResult;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link RpcBatcher}.
+ */
+public final class RpcBatcherTest {
+  private static final int CALLERS = 8;
+
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(CALLERS);
+  private final AtomicInteger mCalls = new AtomicInteger();
+  private final List<List<Integer>> mBatches = new ArrayList<>();
+  private final CountDownLatch mCallStarted = new CountDownLatch(1);
+  private final CountDownLatch mReleaseCall = new CountDownLatch(1);
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void loneCallSentAlone() throws Exception {
+    mReleaseCall.countDown();
+    RpcBatcher<Object, Integer, Integer> batcher = newBatcher(16);
+    assertEquals(2, (int) batcher.call(null, 1));
+    assertEquals(4, (int) batcher.call(null, 2));
+    assertEquals(2, mCalls.get());
+    assertTrue(mBatches.isEmpty());
+  }
+
+  @Test
+  public void concurrentCallsCoalesced() throws Exception {
+    RpcBatcher<Object, Integer, Integer> batcher = newBatcher(16);
+    Future<Integer> first = mExecutor.submit(() -> batcher.call(null, 0));
+    assertTrue(mCallStarted.await(10, TimeUnit.SECONDS));
+    // the next calls queue up while the first one is in flight
+    List<Future<Integer>> waiting = new ArrayList<>();
+    for (int i = 1; i < CALLERS; i++) {
+      int request = i;
+      waiting.add(mExecutor.submit(() -> batcher.call(null, request)));
+    }
+    Thread.sleep(100);
+    mReleaseCall.countDown();
+    assertEquals(0, (int) first.get());
+    for (int i = 1; i < CALLERS; i++) {
+      assertEquals(2 * i, (int) waiting.get(i - 1).get());
+    }
+    assertEquals(1, mCalls.get());
+    int batched = 0;
+    synchronized (mBatches) {
+      for (List<Integer> batch : mBatches) {
+        batched += batch.size();
+      }
+    }
+    assertEquals(CALLERS - 1, batched);
+  }
+
+  @Test
+  public void batchesLimitedInSize() throws Exception {
+    RpcBatcher<Object, Integer, Integer> batcher = newBatcher(3);
+    Future<Integer> first = mExecutor.submit(() -> batcher.call(null, 0));
+    assertTrue(mCallStarted.await(10, TimeUnit.SECONDS));
+    List<Future<Integer>> waiting = new ArrayList<>();
+    for (int i = 1; i < CALLERS; i++) {
+      int request = i;
+      waiting.add(mExecutor.submit(() -> batcher.call(null, request)));
+    }
+    Thread.sleep(100);
+    mReleaseCall.countDown();
+    first.get();
+    for (Future<Integer> call : waiting) {
+      call.get();
+    }
+    synchronized (mBatches) {
+      for (List<Integer> batch : mBatches) {
+        assertTrue(batch.size() <= 3);
+      }
+    }
+  }
+
+  @Test
+  public void failureOfOneCall() throws Exception {
+    mReleaseCall.countDown();
+    RpcBatcher<Object, Integer, Integer> batcher = newBatcher(16);
+    try {
+      batcher.call(null, -1);
+      fail("Expected the call to fail");
+    } catch (NotFoundException e) {
+      // expected
+    }
+    Future<Integer> failed = mExecutor.submit(() -> batcher.call(null, -1));
+    try {
+      failed.get();
+      fail("Expected the call to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof NotFoundException);
+    }
+  }
+
+  @Test
+  public void failureOfBatch() throws Exception {
+    RpcBatcher<Object, Integer, Integer> batcher = new RpcBatcher<>(16, (client, request) -> {
+      mCallStarted.countDown();
+      try {
+        mReleaseCall.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      return 2 * request;
+    }, (client, requests) -> {
+      throw new UnavailableException("master unavailable");
+    });
+    Future<Integer> first = mExecutor.submit(() -> batcher.call(null, 0));
+    assertTrue(mCallStarted.await(10, TimeUnit.SECONDS));
+    List<Future<Integer>> waiting = new ArrayList<>();
+    for (int i = 1; i < 3; i++) {
+      int request = i;
+      waiting.add(mExecutor.submit(() -> batcher.call(null, request)));
+    }
+    Thread.sleep(100);
+    mReleaseCall.countDown();
+    assertEquals(0, (int) first.get());
+    List<Throwable> errors = new ArrayList<>();
+    for (Future<Integer> call : waiting) {
+      try {
+        call.get();
+        fail("Expected the call to fail");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof UnavailableException);
+        errors.add(e.getCause());
+      }
+    }
+    // each caller throws its own exception
+    assertNotSame(errors.get(0), errors.get(1));
+  }
+
+  @Test
+  public void noBatching() throws Exception {
+    mReleaseCall.countDown();
+    RpcBatcher<Object, Integer, Integer> batcher = newBatcher(1);
+    List<Future<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      int request = i;
+      calls.add(mExecutor.submit(() -> batcher.call(null, request)));
+    }
+    for (int i = 0; i < CALLERS; i++) {
+      assertEquals(2 * i, (int) calls.get(i).get());
+    }
+    assertEquals(CALLERS, mCalls.get());
+    assertTrue(mBatches.isEmpty());
+  }
+
+  /**
+   * @param maxBatchSize the maximum batch size
+   * @return a batcher doubling the requests, failing the negative ones, whose single calls wait
+   *         for {@link #mReleaseCall}
+   */
+  private RpcBatcher<Object, Integer, Integer> newBatcher(int maxBatchSize) {
+    return new RpcBatcher<>(maxBatchSize, (client, request) -> {
+      mCalls.incrementAndGet();
+      mCallStarted.countDown();
+      try {
+        mReleaseCall.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      if (request < 0) {
+        throw new NotFoundException("negative request");
+      }
+      return 2 * request;
+    }, (client, requests) -> {
+      synchronized (mBatches) {
+        mBatches.add(new ArrayList<>(requests));
+      }
+      List<BatchResult<Integer>> results = new ArrayList<>();
+      for (int request : requests) {
+        results.add(request < 0 ? BatchResult.failure(new NotFoundException("negative request"))
+            : BatchResult.success(2 * request));
+      }
+      return results;
+    });
+  }
+}
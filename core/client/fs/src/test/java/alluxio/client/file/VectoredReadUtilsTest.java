@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Tests for the {@link VectoredReadUtils} class.
+ */
+public final class VectoredReadUtilsTest {
+
+  @Test
+  public void sortRanges() {
+    List<ReadRange> sorted = VectoredReadUtils.sortRanges(Arrays.asList(
+        new ReadRange(100, 10), new ReadRange(0, 10), new ReadRange(10, 10)));
+    assertEquals(0, sorted.get(0).getOffset());
+    assertEquals(10, sorted.get(1).getOffset());
+    assertEquals(100, sorted.get(2).getOffset());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void overlappingRanges() {
+    VectoredReadUtils.sortRanges(Arrays.asList(new ReadRange(0, 10), new ReadRange(5, 10)));
+  }
+
+  @Test
+  public void mergeRanges() {
+    List<ReadRange> ranges = Arrays.asList(
+        new ReadRange(0, 10), new ReadRange(15, 10), new ReadRange(100, 10),
+        new ReadRange(110, 100), new ReadRange(300, 10));
+    List<VectoredReadUtils.CombinedRange> merged =
+        VectoredReadUtils.mergeRanges(ranges, 10, 100, Long.MAX_VALUE);
+    assertEquals(4, merged.size());
+    assertEquals(0, merged.get(0).getOffset());
+    assertEquals(25, merged.get(0).getLength());
+    assertEquals(2, merged.get(0).getRanges().size());
+    // the merged read would exceed the maximum size
+    assertEquals(100, merged.get(1).getOffset());
+    assertEquals(110, merged.get(2).getOffset());
+    assertEquals(300, merged.get(3).getOffset());
+  }
+
+  @Test
+  public void mergeRangesWithinAlignment() {
+    List<ReadRange> ranges = Arrays.asList(
+        new ReadRange(0, 10), new ReadRange(90, 10), new ReadRange(100, 10),
+        new ReadRange(150, 50), new ReadRange(200, 10));
+    List<VectoredReadUtils.CombinedRange> merged =
+        VectoredReadUtils.mergeRanges(ranges, 100, 1000, 100);
+    assertEquals(3, merged.size());
+    assertEquals(100, merged.get(0).getLength());
+    assertEquals(100, merged.get(1).getOffset());
+    assertEquals(2, merged.get(1).getRanges().size());
+    assertEquals(200, merged.get(1).getEnd());
+    assertEquals(200, merged.get(2).getOffset());
+  }
+
+  @Test
+  public void readRange() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    List<ReadRange> ranges = Arrays.asList(new ReadRange(10, 5), new ReadRange(20, 0),
+        new ReadRange(30, 10));
+    VectoredReadUtils.CombinedRange range =
+        VectoredReadUtils.mergeRanges(ranges, 100, 100, Long.MAX_VALUE).get(0);
+    // reader returning a few bytes per call
+    VectoredReadUtils.readRange((pos, b, off, len) -> {
+      int n = Math.min(3, len);
+      System.arraycopy(data, (int) pos, b, off, n);
+      return n;
+    }, 0, range, ByteBuffer::allocateDirect);
+    assertTrue(range.isDone());
+    for (ReadRange r : ranges) {
+      ByteBuffer buffer = r.getData().get();
+      assertEquals(r.getLength(), buffer.remaining());
+      for (int i = 0; i < r.getLength(); i++) {
+        assertEquals(data[(int) r.getOffset() + i], buffer.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void readRangePastEnd() throws Exception {
+    ReadRange readRange = new ReadRange(90, 20);
+    VectoredReadUtils.CombinedRange range = VectoredReadUtils.mergeRanges(
+        Arrays.asList(readRange), 0, 100, Long.MAX_VALUE).get(0);
+    try {
+      VectoredReadUtils.readRange((pos, b, off, len) -> pos >= 100 ? -1 : 10, 0, range,
+          ByteBuffer::allocate);
+    } catch (EOFException e) {
+      VectoredReadUtils.failRange(range, e);
+    }
+    try {
+      readRange.getData().get();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+      return;
+    }
+    throw new AssertionError("Range past the end should fail");
+  }
+}
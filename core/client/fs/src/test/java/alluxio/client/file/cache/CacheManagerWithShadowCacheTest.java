@@ -238,6 +238,11 @@ public final class CacheManagerWithShadowCacheTest {
       return bytesToRead;
     }
 
+    @Override
+    public boolean hasPage(PageId pageId) {
+      return mCache.containsKey(pageId);
+    }
+
     @Override
     public boolean delete(PageId pageId) {
       if (mCache.containsKey(pageId)) {
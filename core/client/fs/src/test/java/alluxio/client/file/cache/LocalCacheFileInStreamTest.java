@@ -18,6 +18,7 @@ import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.MockFileInStream;
+import alluxio.client.file.ReadRange;
 import alluxio.client.file.URIStatus;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.InstancedConfiguration;
@@ -70,6 +71,7 @@ import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -79,6 +81,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -488,6 +491,102 @@ public class LocalCacheFileInStreamTest {
     }
   }
 
+  @Test
+  public void readAheadSequential() throws Exception {
+    int pages = 16;
+    byte[] testData = BufferUtils.getIncreasingByteArray(pages * mPageSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    Map<AlluxioURI, byte[]> files = ImmutableMap.of(new AlluxioURI("/test"), testData);
+    ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
+    InstancedConfiguration conf = new InstancedConfiguration(sConf.copyProperties());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_ENABLED, true);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_MAX_PAGES, 4);
+    byte[] result = new byte[testData.length];
+    try (LocalCacheFileInStream stream = new LocalCacheFileInStream(
+        fs.getStatus(new AlluxioURI("/test")),
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, conf)) {
+      for (int page = 0; page < pages; page++) {
+        Assert.assertEquals(mPageSize, stream.read(result, page * mPageSize, mPageSize));
+      }
+    }
+    Assert.assertArrayEquals(testData, result);
+    long readAhead =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_PAGES.getName()).getCount();
+    long hits = MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_HITS.getName()).getCount();
+    // all pages after the first two are loaded ahead and served from the cache
+    Assert.assertEquals(pages - 2, hits);
+    Assert.assertTrue(readAhead >= hits);
+    Assert.assertEquals(pages - 2, manager.getPagesServed());
+  }
+
+  @Test
+  public void readAheadSkipsCachedPages() throws Exception {
+    int pages = 16;
+    byte[] testData = BufferUtils.getIncreasingByteArray(pages * mPageSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    Map<AlluxioURI, byte[]> files = ImmutableMap.of(new AlluxioURI("/test"), testData);
+    ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
+    InstancedConfiguration conf = new InstancedConfiguration(sConf.copyProperties());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_ENABLED, true);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_READ_AHEAD_MAX_PAGES, 4);
+    byte[] result = new byte[testData.length];
+    try (LocalCacheFileInStream stream = new LocalCacheFileInStream(
+        fs.getStatus(new AlluxioURI("/test")),
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, conf)) {
+      Assert.assertEquals(testData.length, stream.read(result, 0, testData.length));
+    }
+    long served = manager.getPagesServed();
+    long cached = manager.mPagesCached;
+    try (LocalCacheFileInStream stream = new LocalCacheFileInStream(
+        fs.getStatus(new AlluxioURI("/test")),
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, conf)) {
+      for (int page = 0; page < pages; page++) {
+        Assert.assertEquals(mPageSize, stream.read(result, page * mPageSize, mPageSize));
+      }
+    }
+    Assert.assertArrayEquals(testData, result);
+    // checking whether pages are cached neither reads nor caches them again
+    Assert.assertEquals(pages, manager.getPagesServed() - served);
+    Assert.assertEquals(cached, manager.mPagesCached);
+  }
+
+  @Test
+  public void readVectored() throws Exception {
+    int pages = 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(pages * mPageSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    LocalCacheFileInStream stream = setupWithSingleFile(testData, manager);
+    // cache page 1 and 2
+    stream.positionedRead(mPageSize, new byte[2 * mPageSize], 0, 2 * mPageSize);
+    long pagesServed = manager.getPagesServed();
+
+    List<ReadRange> ranges = Arrays.asList(
+        new ReadRange(mPageSize + 1, mPageSize),
+        new ReadRange(5 * mPageSize - 3, 6),
+        new ReadRange(0, 1),
+        new ReadRange(pages * mPageSize - 1, 2));
+    stream.readVectored(ranges, ByteBuffer::allocate);
+    for (int i = 0; i < 3; i++) {
+      ReadRange range = ranges.get(i);
+      ByteBuffer data = range.getData().get();
+      Assert.assertEquals(range.getLength(), data.remaining());
+      for (int j = 0; j < range.getLength(); j++) {
+        Assert.assertEquals(testData[(int) range.getOffset() + j], data.get(j));
+      }
+    }
+    try {
+      ranges.get(3).getData().get();
+      Assert.fail("Range past the end of file should fail");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof EOFException);
+    }
+    // pages 1 and 2 are served from the cache, missing pages 0, 4 and 5 are added to the cache
+    Assert.assertEquals(pagesServed + 2, manager.getPagesServed());
+    Assert.assertEquals(5 * mPageSize,
+        MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName()).getCount());
+    Assert.assertEquals(0, stream.getPos());
+  }
+
   @Test
   public void cacheMetricCacheHitReadTime() throws Exception {
     byte[] testData = BufferUtils.getIncreasingByteArray(mPageSize);
@@ -618,14 +717,14 @@ public class LocalCacheFileInStreamTest {
     }
 
     @Override
-    public boolean put(PageId pageId, byte[] page, CacheContext cacheContext) {
+    public synchronized boolean put(PageId pageId, byte[] page, CacheContext cacheContext) {
       mPages.put(pageId, page);
       mPagesCached++;
       return true;
     }
 
     @Override
-    public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
+    public synchronized int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
         int offsetInBuffer, CacheContext cacheContext) {
       if (!mPages.containsKey(pageId)) {
         return 0;
@@ -635,11 +734,20 @@ public class LocalCacheFileInStreamTest {
       return bytesToRead;
     }
 
+    @Override
+    public synchronized boolean hasPage(PageId pageId) {
+      return mPages.containsKey(pageId);
+    }
+
     @Override
     public boolean delete(PageId pageId) {
       return mPages.remove(pageId) != null;
     }
 
+    synchronized long getPagesServed() {
+      return mPagesServed;
+    }
+
     @Override
     public State state() {
       return State.READ_WRITE;
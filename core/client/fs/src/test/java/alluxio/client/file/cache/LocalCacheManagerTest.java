@@ -24,6 +24,7 @@ import alluxio.Constants;
 import alluxio.client.file.CacheContext;
 import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
 import alluxio.client.file.cache.evictor.UnevictableCacheEvictor;
 import alluxio.client.file.cache.store.LocalPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
@@ -249,6 +250,70 @@ public final class LocalCacheManagerTest {
     }
   }
 
+  @Test
+  public void admissionRejectsInfrequentPage() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 4 * PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_ENABLED, true);
+    mCacheManager = createLocalCacheManager();
+    for (int i = 0; i < 4; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, PAGE_SIZE_BYTES)));
+      for (int j = 0; j < 3; j++) {
+        assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i, 0), PAGE_SIZE_BYTES, mBuf, 0));
+      }
+    }
+    PageId candidate = pageId(4, 0);
+    assertEquals(0, mCacheManager.get(candidate, PAGE_SIZE_BYTES, mBuf, 0));
+    assertFalse(mCacheManager.put(candidate, page(4, PAGE_SIZE_BYTES)));
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0, 0), PAGE_SIZE_BYTES, mBuf, 0));
+    // once accessed more often than the victim, the page is admitted
+    for (int j = 0; j < 5; j++) {
+      assertEquals(0, mCacheManager.get(candidate, PAGE_SIZE_BYTES, mBuf, 0));
+    }
+    assertTrue(mCacheManager.put(candidate, page(4, PAGE_SIZE_BYTES)));
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(candidate, PAGE_SIZE_BYTES, mBuf, 0));
+  }
+
+  @Test
+  public void admissionProtectsHotPagesFromScans() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 64 * PAGE_SIZE_BYTES);
+    int hitsWithoutAdmission = replayScanWorkload();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_ENABLED, true);
+    int hitsWithAdmission = replayScanWorkload();
+    assertTrue(String.format("hits with admission %d, without %d", hitsWithAdmission,
+        hitsWithoutAdmission), hitsWithAdmission > 2 * hitsWithoutAdmission);
+  }
+
+  /**
+   * Reads a hot set of 48 pages over and over, interleaved after a few rounds with a scan of
+   * pages read only once, through a cache evicting the least recently used page.
+   *
+   * @return the number of cache hits
+   */
+  private int replayScanWorkload() throws Exception {
+    mMetaStore = new DefaultMetaStore(new LRUCacheEvictor(mConf));
+    mCacheManager = createLocalCacheManager();
+    int hits = 0;
+    int scanned = 0;
+    for (int round = 0; round < 40; round++) {
+      for (int i = 0; i < 48; i++) {
+        hits += readThrough(pageId(0, i));
+        // two pages of the scan after each page of the hot set
+        for (int j = 0; j < 2 && round >= 5; j++) {
+          hits += readThrough(pageId(1, scanned++));
+        }
+      }
+    }
+    return hits;
+  }
+
+  private int readThrough(PageId pageId) {
+    if (mCacheManager.get(pageId, PAGE_SIZE_BYTES, mBuf, 0) > 0) {
+      return 1;
+    }
+    mCacheManager.put(pageId, page(0, PAGE_SIZE_BYTES));
+    return 0;
+  }
+
   @Test
   public void evictSmallPagesByPutPigPageWithoutRetry() throws Exception {
     mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, PAGE_SIZE_BYTES);
@@ -0,0 +1,162 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link PageReadAhead} class.
+ */
+public final class PageReadAheadTest {
+  private static final int MAX_WINDOW = 8;
+
+  private final List<Long> mLoadedPages = new CopyOnWriteArrayList<>();
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mExecutor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  private PageReadAhead create(long numPages) {
+    return new PageReadAhead(page -> {
+      mLoadedPages.add(page);
+      return true;
+    }, mExecutor, numPages, MAX_WINDOW);
+  }
+
+  @Test
+  public void noReadAheadOnRandomReads() throws Exception {
+    PageReadAhead readAhead = create(100);
+    readAhead.onRead(10);
+    readAhead.onRead(50);
+    readAhead.onRead(20);
+    readAhead.onRead(20);
+    assertEquals(0, readAhead.getNumPending());
+    drain();
+    assertTrue(mLoadedPages.isEmpty());
+  }
+
+  @Test
+  public void readAheadOnSequentialReads() throws Exception {
+    PageReadAhead readAhead = create(100);
+    readAhead.onRead(0);
+    assertEquals(0, readAhead.getNumPending());
+    readAhead.onRead(1);
+    assertEquals(2, readAhead.getNumPending());
+    drain();
+    assertEquals(2, mLoadedPages.size());
+    assertTrue(mLoadedPages.contains(2L) && mLoadedPages.contains(3L));
+  }
+
+  @Test
+  public void windowGrowsOnHits() throws Exception {
+    PageReadAhead readAhead = create(1000);
+    for (long page = 0; page < 20; page++) {
+      readAhead.onRead(page);
+    }
+    assertEquals(MAX_WINDOW, readAhead.getWindow());
+    assertEquals(MAX_WINDOW, readAhead.getNumPending());
+    readAhead.close();
+    drain();
+    // every page after the first two was loaded ahead and read
+    assertEquals(18,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_HITS.getName()).getCount());
+  }
+
+  @Test
+  public void windowShrinksOnSeek() throws Exception {
+    PageReadAhead readAhead = create(1000);
+    for (long page = 0; page < 20; page++) {
+      readAhead.onRead(page);
+    }
+    drain();
+    readAhead.onRead(500);
+    assertEquals(MAX_WINDOW / 2, readAhead.getWindow());
+    assertEquals(0, readAhead.getNumPending());
+    assertEquals(MAX_WINDOW,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_WASTED.getName()).getCount());
+  }
+
+  @Test
+  public void stopsAtEndOfFile() throws Exception {
+    PageReadAhead readAhead = create(4);
+    readAhead.onRead(0);
+    readAhead.onRead(1);
+    readAhead.onRead(2);
+    readAhead.onRead(3);
+    drain();
+    assertEquals(2, mLoadedPages.size());
+    assertTrue(mLoadedPages.stream().allMatch(page -> page < 4));
+  }
+
+  @Test
+  public void waitsForPendingLoad() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    PageReadAhead readAhead = new PageReadAhead(page -> {
+      latch.await();
+      mLoadedPages.add(page);
+      return true;
+    }, mExecutor, 100, MAX_WINDOW);
+    readAhead.onRead(0);
+    readAhead.onRead(1);
+    Thread reader = new Thread(() -> readAhead.onRead(2));
+    reader.start();
+    reader.join(100);
+    // blocked on the load of page 2
+    assertTrue(reader.isAlive());
+    latch.countDown();
+    reader.join();
+    assertTrue(mLoadedPages.contains(2L));
+    assertEquals(1,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_HITS.getName()).getCount());
+  }
+
+  @Test
+  public void loadFailure() throws Exception {
+    PageReadAhead readAhead = new PageReadAhead(page -> {
+      throw new java.io.IOException("failed");
+    }, mExecutor, 100, MAX_WINDOW);
+    readAhead.onRead(0);
+    readAhead.onRead(1);
+    readAhead.onRead(2);
+    assertEquals(0,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_READ_AHEAD_HITS.getName()).getCount());
+    assertEquals(2, readAhead.getWindow());
+  }
+
+  private void drain() throws Exception {
+    mExecutor.shutdown();
+    assertTrue(mExecutor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+}
@@ -65,11 +65,11 @@ public class QuotaMetaStoreTest extends DefaultMetaStoreTest {
     assertEquals(pageInfo1, mQuotaMetaStore.evict(partitionScope1));
     assertEquals(pageInfo2, mQuotaMetaStore.evict(partitionScope2));
     PageInfo evicted = mQuotaMetaStore.evict(mTableScope);
-    assertTrue(evicted == pageInfo1 || evicted == pageInfo2);
+    assertTrue(pageInfo1.equals(evicted) || pageInfo2.equals(evicted));
     evicted = mQuotaMetaStore.evict(mSchemaScope);
-    assertTrue(evicted == pageInfo1 || evicted == pageInfo2);
+    assertTrue(pageInfo1.equals(evicted) || pageInfo2.equals(evicted));
     evicted = mQuotaMetaStore.evict(CacheScope.GLOBAL);
-    assertTrue(evicted == pageInfo1 || evicted == pageInfo2);
+    assertTrue(pageInfo1.equals(evicted) || pageInfo2.equals(evicted));
     mQuotaMetaStore.removePage(pageId1);
     assertNull(mQuotaMetaStore.evict(partitionScope1));
     assertEquals(pageInfo2, mQuotaMetaStore.evict(partitionScope2));
@@ -0,0 +1,188 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link TieredCacheManager} class.
+ */
+public final class TieredCacheManagerTest {
+  private static final int PAGE_SIZE_BYTES = Constants.KB;
+  private static final int MEMORY_PAGES = 4;
+
+  private final InstancedConfiguration mConf = ConfigurationTestUtils.copyDefaults();
+  private TieredCacheManager mCacheManager;
+  private final byte[] mBuf = new byte[PAGE_SIZE_BYTES];
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 64 * PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, mTemp.getRoot().getAbsolutePath());
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.LOCAL);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD, 0);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS, LRUCacheEvictor.class.getName());
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_TIERED_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_TIERED_MEMORY_SIZE, MEMORY_PAGES * PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_TIERED_PROMOTION_HITS, 2);
+    // gauges are registered only once, so drop the gauges of the caches of previous tests
+    for (MetricKey key : new MetricKey[] {MetricKey.CLIENT_CACHE_SPACE_USED,
+        MetricKey.CLIENT_CACHE_MEMORY_TIER_PAGES, MetricKey.CLIENT_CACHE_MEMORY_TIER_SPACE_USED,
+        MetricKey.CLIENT_CACHE_MEMORY_TIER_SPACE_AVAILABLE}) {
+      MetricsSystem.METRIC_REGISTRY.remove(MetricsSystem.getMetricName(key.getName()));
+    }
+    mCacheManager = TieredCacheManager.create(mConf, MetaStore.create(mConf));
+  }
+
+  @After
+  public void after() throws Exception {
+    mCacheManager.close();
+  }
+
+  private static PageId pageId(int i) {
+    return new PageId("file", i);
+  }
+
+  private static byte[] page(int i) {
+    return BufferUtils.getIncreasingByteArray(i, PAGE_SIZE_BYTES);
+  }
+
+  private static long count(MetricKey key) {
+    return MetricsSystem.counter(key.getName()).getCount();
+  }
+
+  private static void waitForDemotions(long demotedBefore, int pages) throws Exception {
+    CommonUtils.waitFor("pages to be demoted",
+        () -> count(MetricKey.CLIENT_CACHE_PAGES_DEMOTED) - demotedBefore == pages,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  private static long gauge(MetricKey key) {
+    return (long) MetricsSystem.METRIC_REGISTRY.getGauges()
+        .get(MetricsSystem.getMetricName(key.getName())).getValue();
+  }
+
+  @Test
+  public void demoteEvictedPages() throws Exception {
+    long demoted = count(MetricKey.CLIENT_CACHE_PAGES_DEMOTED);
+    long memoryHits = count(MetricKey.CLIENT_CACHE_MEMORY_TIER_HITS);
+    long lowerHits = count(MetricKey.CLIENT_CACHE_LOWER_TIER_HITS);
+    for (int i = 0; i < MEMORY_PAGES + 2; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    waitForDemotions(demoted, 2);
+    for (int i = 0; i < MEMORY_PAGES + 2; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i), PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i), mBuf);
+    }
+    assertEquals(MEMORY_PAGES, count(MetricKey.CLIENT_CACHE_MEMORY_TIER_HITS) - memoryHits);
+    assertEquals(2, count(MetricKey.CLIENT_CACHE_LOWER_TIER_HITS) - lowerHits);
+    assertEquals(MEMORY_PAGES + 2,
+        mCacheManager.getCachedPageIdsByFileId("file", 16 * PAGE_SIZE_BYTES).size());
+  }
+
+  @Test
+  public void promoteOnRepeatedHits() throws Exception {
+    long demoted = count(MetricKey.CLIENT_CACHE_PAGES_DEMOTED);
+    for (int i = 0; i < MEMORY_PAGES + 1; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    waitForDemotions(demoted, 1);
+    // page 0 was demoted to make room for the last page
+    long promoted = count(MetricKey.CLIENT_CACHE_PAGES_PROMOTED);
+    long memoryHits = count(MetricKey.CLIENT_CACHE_MEMORY_TIER_HITS);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertEquals(0, count(MetricKey.CLIENT_CACHE_PAGES_PROMOTED) - promoted);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertEquals(1, count(MetricKey.CLIENT_CACHE_PAGES_PROMOTED) - promoted);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertArrayEquals(page(0), mBuf);
+    assertEquals(1, count(MetricKey.CLIENT_CACHE_MEMORY_TIER_HITS) - memoryHits);
+    // the promoted page took the place of another page, which is still cached below
+    for (int i = 0; i < MEMORY_PAGES + 1; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(i), PAGE_SIZE_BYTES, mBuf, 0));
+    }
+  }
+
+  @Test
+  public void deleteFromBothTiers() throws Exception {
+    for (int i = 0; i < MEMORY_PAGES + 1; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    assertTrue(mCacheManager.delete(pageId(0)));
+    assertTrue(mCacheManager.delete(pageId(MEMORY_PAGES)));
+    assertFalse(mCacheManager.delete(pageId(0)));
+    assertEquals(0, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertEquals(0, mCacheManager.get(pageId(MEMORY_PAGES), PAGE_SIZE_BYTES, mBuf, 0));
+    assertEquals(MEMORY_PAGES - 1,
+        mCacheManager.getCachedPageIdsByFileId("file", 16 * PAGE_SIZE_BYTES).size());
+  }
+
+  @Test
+  public void readPagesBeingDemoted() throws Exception {
+    for (int i = 0; i < 3 * MEMORY_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+      // every page is cached in one of the tiers or on its way down, whatever the demotions did
+      for (int j = 0; j <= i; j++) {
+        assertTrue(mCacheManager.hasPage(pageId(j)));
+        assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(j), PAGE_SIZE_BYTES, mBuf, 0));
+        assertArrayEquals(page(j), mBuf);
+      }
+    }
+    assertEquals(3 * MEMORY_PAGES,
+        mCacheManager.getCachedPageIdsByFileId("file", 16 * PAGE_SIZE_BYTES).size());
+  }
+
+  @Test
+  public void gaugesPerTier() throws Exception {
+    long demoted = count(MetricKey.CLIENT_CACHE_PAGES_DEMOTED);
+    long spaceUsed = count(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT);
+    for (int i = 0; i < MEMORY_PAGES + 2; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    waitForDemotions(demoted, 2);
+    assertEquals(MEMORY_PAGES, gauge(MetricKey.CLIENT_CACHE_MEMORY_TIER_PAGES));
+    assertEquals(MEMORY_PAGES * PAGE_SIZE_BYTES,
+        gauge(MetricKey.CLIENT_CACHE_MEMORY_TIER_SPACE_USED));
+    assertEquals(0, gauge(MetricKey.CLIENT_CACHE_MEMORY_TIER_SPACE_AVAILABLE));
+    assertEquals(2 * PAGE_SIZE_BYTES, gauge(MetricKey.CLIENT_CACHE_SPACE_USED));
+    // the pages of the memory tier are not counted again in the space used by the cache
+    assertEquals(2 * PAGE_SIZE_BYTES, count(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT) - spaceUsed);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link FrequencySketch} class.
+ */
+public final class FrequencySketchTest {
+
+  @Test
+  public void increment() {
+    FrequencySketch sketch = new FrequencySketch(1024, 10);
+    assertEquals(0, sketch.frequency(1));
+    for (int i = 1; i <= 5; i++) {
+      sketch.increment(1);
+      assertEquals(i, sketch.frequency(1));
+    }
+    assertEquals(0, sketch.frequency(2));
+  }
+
+  @Test
+  public void saturate() {
+    FrequencySketch sketch = new FrequencySketch(1024, 10);
+    for (int i = 0; i < 100; i++) {
+      sketch.increment(1);
+    }
+    assertEquals(15, sketch.frequency(1));
+  }
+
+  @Test
+  public void age() {
+    FrequencySketch sketch = new FrequencySketch(64, 10);
+    for (int i = 0; i < 8; i++) {
+      sketch.increment(1);
+    }
+    for (long item = 100; item < 100 + 640 - 9; item++) {
+      sketch.increment(item);
+    }
+    int frequency = sketch.frequency(1);
+    assertTrue(frequency >= 8);
+    assertEquals(639, sketch.getSize());
+    // the counters are halved once 640 increments have been recorded
+    sketch.increment(99);
+    assertTrue(sketch.getSize() < 320);
+    assertTrue(sketch.frequency(1) <= (frequency + 1) / 2);
+  }
+
+  @Test
+  public void distinguishesFrequencies() {
+    FrequencySketch sketch = new FrequencySketch(4096, 10);
+    for (long item = 0; item < 4096; item++) {
+      sketch.increment(item);
+    }
+    for (int i = 0; i < 10; i++) {
+      sketch.increment(-1);
+    }
+    int errors = 0;
+    for (long item = 0; item < 4096; item++) {
+      if (sketch.frequency(item) >= sketch.frequency(-1)) {
+        errors++;
+      }
+    }
+    assertEquals(0, errors);
+  }
+}
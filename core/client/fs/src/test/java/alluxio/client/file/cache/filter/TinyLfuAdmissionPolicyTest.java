@@ -0,0 +1,46 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TinyLfuAdmissionPolicy} class.
+ */
+public final class TinyLfuAdmissionPolicyTest {
+  private static final PageId HOT = new PageId("hot", 0);
+  private static final PageId COLD = new PageId("cold", 0);
+
+  @Test
+  public void admitMoreFrequent() {
+    TinyLfuAdmissionPolicy policy = new TinyLfuAdmissionPolicy(100);
+    policy.recordAccess(HOT);
+    policy.recordAccess(HOT);
+    policy.recordAccess(COLD);
+    assertTrue(policy.admit(HOT, COLD));
+    assertFalse(policy.admit(COLD, HOT));
+  }
+
+  @Test
+  public void rejectEquallyFrequent() {
+    TinyLfuAdmissionPolicy policy = new TinyLfuAdmissionPolicy(100);
+    assertFalse(policy.admit(COLD, HOT));
+    policy.recordAccess(HOT);
+    policy.recordAccess(COLD);
+    assertFalse(policy.admit(COLD, HOT));
+  }
+}
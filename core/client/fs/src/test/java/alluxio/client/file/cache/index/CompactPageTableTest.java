@@ -0,0 +1,133 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.quota.CacheScope;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CompactPageTable} class.
+ */
+public final class CompactPageTableTest {
+  private final CompactPageTable mTable = new CompactPageTable();
+
+  @Test
+  public void putGetRemove() {
+    PageId pageId = new PageId("file", 3);
+    PageInfo pageInfo = new PageInfo(pageId, Constants.MB);
+    assertNull(mTable.put(pageInfo));
+    assertTrue(mTable.contains(pageId));
+    assertEquals(pageInfo, mTable.get(new PageId("file", 3)));
+    assertFalse(mTable.contains(new PageId("file", 4)));
+    assertFalse(mTable.contains(new PageId("other", 3)));
+    assertEquals(1, mTable.size());
+    assertEquals(pageInfo, mTable.remove(pageId));
+    assertFalse(mTable.contains(pageId));
+    assertNull(mTable.get(pageId));
+    assertNull(mTable.remove(pageId));
+    assertEquals(0, mTable.size());
+  }
+
+  @Test
+  public void replace() {
+    PageId pageId = new PageId("file", 0);
+    CacheScope scope = CacheScope.create("schema.table");
+    mTable.put(new PageInfo(pageId, 10));
+    assertEquals(new PageInfo(pageId, 10), mTable.put(new PageInfo(pageId, 20, scope)));
+    assertEquals(new PageInfo(pageId, 20, scope), mTable.get(pageId));
+    assertEquals(1, mTable.size());
+    assertEquals(1, mTable.numFiles());
+    mTable.remove(pageId);
+    assertEquals(0, mTable.numFiles());
+  }
+
+  @Test
+  public void fileIdsReleased() {
+    for (int file = 0; file < 10; file++) {
+      for (int page = 0; page < 10; page++) {
+        mTable.put(new PageInfo(new PageId("file" + file, page), 1));
+      }
+    }
+    assertEquals(100, mTable.size());
+    assertEquals(10, mTable.numFiles());
+    for (int page = 0; page < 10; page++) {
+      mTable.remove(new PageId("file0", page));
+    }
+    assertEquals(9, mTable.numFiles());
+    // a new file reusing ids must not see pages of the removed file
+    mTable.put(new PageInfo(new PageId("file10", 0), 1));
+    assertFalse(mTable.contains(new PageId("file0", 0)));
+    assertFalse(mTable.contains(new PageId("file10", 1)));
+    assertEquals(91, mTable.size());
+  }
+
+  @Test
+  public void scopes() {
+    CacheScope scope = CacheScope.create("schema.table.partition");
+    PageId pageId = new PageId("file", 1);
+    mTable.put(new PageInfo(pageId, 1, scope));
+    assertEquals(scope, mTable.get(pageId).getScope());
+    PageId globalPageId = new PageId("file", 2);
+    mTable.put(new PageInfo(globalPageId, 1));
+    assertSame(CacheScope.GLOBAL, mTable.get(globalPageId).getScope());
+  }
+
+  @Test
+  public void overflow() {
+    PageId largeIndex = new PageId("file", 1L << 40);
+    PageId negativeIndex = new PageId("file", -1);
+    PageInfo largePage = new PageInfo(new PageId("file", 0), 1L << 41);
+    mTable.put(new PageInfo(largeIndex, 1));
+    mTable.put(new PageInfo(negativeIndex, 1));
+    mTable.put(largePage);
+    assertEquals(3, mTable.size());
+    assertEquals(new PageInfo(largeIndex, 1), mTable.get(largeIndex));
+    assertTrue(mTable.contains(negativeIndex));
+    assertEquals(largePage, mTable.get(new PageId("file", 0)));
+    assertEquals(largePage, mTable.remove(new PageId("file", 0)));
+    assertEquals(2, mTable.size());
+  }
+
+  @Test
+  public void canonicalize() {
+    String fileId = "file";
+    mTable.put(new PageInfo(new PageId(fileId, 0), 1));
+    PageId other = new PageId(new String(fileId), 1);
+    PageId canonical = mTable.canonicalize(other);
+    assertEquals(other, canonical);
+    assertNotSame(other, canonical);
+    assertSame(fileId, canonical.getFileId());
+    PageId unknown = new PageId("unknown", 0);
+    assertSame(unknown, mTable.canonicalize(unknown));
+  }
+
+  @Test
+  public void clear() {
+    mTable.put(new PageInfo(new PageId("file", 0), 1));
+    mTable.put(new PageInfo(new PageId("file", 1L << 40), 1));
+    mTable.clear();
+    assertEquals(0, mTable.size());
+    assertEquals(0, mTable.numFiles());
+    assertFalse(mTable.contains(new PageId("file", 0)));
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link InternTable} class.
+ */
+public final class InternTableTest {
+  private final InternTable<String> mTable = new InternTable<>();
+
+  @Test
+  public void acquireRelease() {
+    int id = mTable.acquire("a");
+    assertEquals(id, mTable.acquire("a"));
+    assertEquals(id, mTable.lookup("a"));
+    assertEquals("a", mTable.get(id));
+    mTable.release(id);
+    assertEquals(id, mTable.lookup("a"));
+    mTable.release(id);
+    assertEquals(-1, mTable.lookup("a"));
+    assertNull(mTable.get(id));
+    assertEquals(0, mTable.size());
+    assertThrows(IllegalArgumentException.class, () -> mTable.release(id));
+  }
+
+  @Test
+  public void denseIds() {
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, mTable.acquire("value" + i));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals("value" + i, mTable.get(i));
+    }
+    assertEquals(100, mTable.size());
+  }
+
+  @Test
+  public void freedIdsReusedInOrder() {
+    for (int i = 0; i < 4; i++) {
+      mTable.acquire("value" + i);
+    }
+    mTable.release(2);
+    mTable.release(0);
+    assertEquals(2, mTable.acquire("new0"));
+    assertEquals(0, mTable.acquire("new1"));
+    assertEquals(4, mTable.acquire("new2"));
+    assertNotEquals(mTable.lookup("new0"), mTable.lookup("value2"));
+  }
+
+  @Test
+  public void clear() {
+    mTable.acquire("a");
+    mTable.clear();
+    assertEquals(-1, mTable.lookup("a"));
+    assertEquals(0, mTable.acquire("b"));
+  }
+}
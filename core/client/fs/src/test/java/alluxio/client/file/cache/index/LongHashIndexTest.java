@@ -0,0 +1,128 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for the {@link LongHashIndex} class.
+ */
+public final class LongHashIndexTest {
+  private final LongHashIndex mIndex = new LongHashIndex();
+
+  @Test
+  public void putGetRemove() {
+    assertEquals(-1, mIndex.put(1L, 10L, -1));
+    assertTrue(mIndex.containsKey(1L));
+    assertEquals(10L, mIndex.get(1L, -1));
+    assertEquals(10L, mIndex.put(1L, 20L, -1));
+    assertEquals(20L, mIndex.get(1L, -1));
+    assertEquals(1, mIndex.size());
+    assertEquals(20L, mIndex.remove(1L, -1));
+    assertFalse(mIndex.containsKey(1L));
+    assertEquals(-1, mIndex.remove(1L, -1));
+    assertEquals(0, mIndex.size());
+  }
+
+  @Test
+  public void zeroKey() {
+    mIndex.put(0L, 0L, -1);
+    assertTrue(mIndex.containsKey(0L));
+    assertEquals(0L, mIndex.get(0L, -1));
+  }
+
+  @Test
+  public void negativeKey() {
+    assertThrows(IllegalArgumentException.class, () -> mIndex.put(-1L, 0L, -1));
+  }
+
+  @Test
+  public void clear() {
+    for (long i = 0; i < 1000; i++) {
+      mIndex.put(i, i, -1);
+    }
+    mIndex.clear();
+    assertEquals(0, mIndex.size());
+    assertFalse(mIndex.containsKey(1L));
+  }
+
+  @Test
+  public void randomOperations() {
+    Random random = new Random(42);
+    Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < 200000; i++) {
+      // a small key range exercises collisions, growth and removal of probe chains
+      long key = random.nextInt(20000);
+      if (random.nextInt(3) == 0) {
+        Long prev = expected.remove(key);
+        assertEquals(prev == null ? -1 : prev, mIndex.remove(key, -1));
+      } else {
+        long value = random.nextLong() & Long.MAX_VALUE;
+        Long prev = expected.put(key, value);
+        assertEquals(prev == null ? -1 : prev, mIndex.put(key, value, -1));
+      }
+    }
+    assertEquals(expected.size(), mIndex.size());
+    for (long key = 0; key < 20000; key++) {
+      Long value = expected.get(key);
+      assertEquals(value == null ? -1 : value, mIndex.get(key, -1));
+    }
+  }
+
+  @Test
+  public void concurrentReadsDuringUpdates() throws Exception {
+    long numStableKeys = 1000;
+    for (long i = 0; i < numStableKeys; i++) {
+      mIndex.put(i, i * 2, -1);
+    }
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      try {
+        while (!done.get()) {
+          for (long i = 0; i < numStableKeys; i++) {
+            assertEquals(i * 2, mIndex.get(i, -1));
+          }
+        }
+      } catch (Throwable t) {
+        error.set(t);
+      }
+    });
+    reader.start();
+    // grow and shrink the index with keys other than the ones being read
+    for (int round = 0; round < 20; round++) {
+      for (long i = numStableKeys; i < numStableKeys + 20000; i++) {
+        mIndex.put(i, i, -1);
+      }
+      for (long i = numStableKeys; i < numStableKeys + 20000; i++) {
+        mIndex.remove(i, -1);
+      }
+    }
+    done.set(true);
+    reader.join();
+    if (error.get() != null) {
+      throw new AssertionError(error.get());
+    }
+    assertEquals(numStableKeys, mIndex.size());
+  }
+}
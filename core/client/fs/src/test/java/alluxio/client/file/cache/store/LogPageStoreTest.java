@@ -0,0 +1,175 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ProjectConstants;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class LogPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+  private static final int SEGMENT_SIZE = 4 * PAGE_SIZE;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private LogPageStoreOptions mOptions;
+  private LogPageStore mPageStore;
+
+  @Before
+  public void before() throws Exception {
+    mOptions = new LogPageStoreOptions().setSegmentSize(SEGMENT_SIZE);
+    mOptions.setPageSize(PAGE_SIZE)
+        .setCacheSize(8 * PAGE_SIZE)
+        .setAlluxioVersion(ProjectConstants.VERSION)
+        .setRootDirs(ImmutableList.of(mTemp.getRoot().toPath()));
+    mPageStore = new LogPageStore(mOptions);
+  }
+
+  @After
+  public void after() throws Exception {
+    mPageStore.close();
+  }
+
+  @Test
+  public void pagesShareSegments() throws Exception {
+    for (int i = 0; i < 8; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertEquals(2, mPageStore.getSegmentCount());
+    for (int i = 0; i < 8; i++) {
+      byte[] buf = new byte[PAGE_SIZE];
+      assertEquals(PAGE_SIZE, mPageStore.get(new PageId("0", i), buf));
+      assertTrue(BufferUtils.equalIncreasingByteArray(i, PAGE_SIZE, buf));
+    }
+  }
+
+  @Test
+  public void fullStore() throws Exception {
+    // two segments for the capacity plus one partially filled segment
+    for (int i = 0; i < 12; i++) {
+      mPageStore.put(new PageId("0", i), new byte[PAGE_SIZE]);
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> mPageStore.put(new PageId("0", 12), new byte[PAGE_SIZE]));
+  }
+
+  @Test
+  public void compaction() throws Exception {
+    for (int i = 0; i < 12; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertEquals(3, mPageStore.getSegmentCount());
+    // leave one live page in each of the first two segments
+    for (int i = 0; i < 8; i++) {
+      if (i % 4 != 0) {
+        mPageStore.delete(new PageId("0", i));
+      }
+    }
+    mPageStore.compact();
+    assertEquals(2, mPageStore.getSegmentCount());
+    mPageStore.put(new PageId("1", 0), new byte[PAGE_SIZE]);
+    assertEquals(3, mPageStore.getSegmentCount());
+    for (int i : new int[] {0, 4, 8, 9, 10, 11}) {
+      byte[] buf = new byte[PAGE_SIZE];
+      assertEquals(PAGE_SIZE, mPageStore.get(new PageId("0", i), buf));
+      assertTrue(BufferUtils.equalIncreasingByteArray(i, PAGE_SIZE, buf));
+    }
+    assertThrows(PageNotFoundException.class,
+        () -> mPageStore.get(new PageId("0", 1), new byte[PAGE_SIZE]));
+  }
+
+  @Test
+  public void restoreFromCheckpoint() throws Exception {
+    for (int i = 0; i < 6; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    mPageStore.delete(new PageId("0", 2));
+    mPageStore.close();
+    mPageStore = new LogPageStore(mOptions);
+    Set<PageId> pages = mPageStore.getPages().map(PageInfo::getPageId)
+        .collect(Collectors.toSet());
+    assertEquals(5, pages.size());
+    for (int i : new int[] {0, 1, 3, 4, 5}) {
+      byte[] buf = new byte[PAGE_SIZE];
+      assertEquals(PAGE_SIZE, mPageStore.get(new PageId("0", i), buf));
+      assertTrue(BufferUtils.equalIncreasingByteArray(i, PAGE_SIZE, buf));
+    }
+  }
+
+  @Test
+  public void checkpointInBackground() throws Exception {
+    mPageStore.close();
+    mPageStore = new LogPageStore(mOptions.setCheckpointInterval(4 * PAGE_SIZE));
+    for (int i = 0; i < 4; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    Path root = mTemp.getRoot().toPath();
+    CommonUtils.waitFor("background checkpoint", () -> Files.exists(root.resolve("index.ckpt")),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    // restore a copy of the log as if the client exited without closing it
+    Path copy = mTemp.newFolder("copy").toPath();
+    try (Stream<Path> files = Files.list(root)) {
+      for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+        Files.copy(file, copy.resolve(file.getFileName()));
+      }
+    }
+    mOptions.setRootDirs(ImmutableList.of(copy));
+    try (LogPageStore restored = new LogPageStore(mOptions)) {
+      assertEquals(4, restored.getPages().count());
+      for (int i = 0; i < 4; i++) {
+        byte[] buf = new byte[PAGE_SIZE];
+        assertEquals(PAGE_SIZE, restored.get(new PageId("0", i), buf));
+        assertTrue(BufferUtils.equalIncreasingByteArray(i, PAGE_SIZE, buf));
+      }
+    }
+  }
+
+  @Test
+  public void restoreWithCorruptCheckpoint() throws Exception {
+    mPageStore.put(new PageId("0", 0), new byte[PAGE_SIZE]);
+    mPageStore.close();
+    Path checkpoint = mTemp.getRoot().toPath().resolve("index.ckpt");
+    assertTrue(Files.exists(checkpoint));
+    try (RandomAccessFile file = new RandomAccessFile(checkpoint.toFile(), "rw")) {
+      file.seek(file.length() - 1);
+      int b = file.read();
+      file.seek(file.length() - 1);
+      file.write(b ^ 0xFF);
+    }
+    mPageStore = new LogPageStore(mOptions);
+    assertThrows(java.io.IOException.class, () -> mPageStore.getPages());
+  }
+}
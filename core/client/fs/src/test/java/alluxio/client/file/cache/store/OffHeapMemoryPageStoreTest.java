@@ -0,0 +1,185 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OffHeapMemoryPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+
+  private OffHeapMemoryPageStore mPageStore;
+
+  @Before
+  public void before() {
+    MemoryPageStoreOptions options = new MemoryPageStoreOptions()
+        .setOffHeap(true)
+        .setSlabSize(4 * PAGE_SIZE);
+    options.setPageSize(PAGE_SIZE).setCacheSize(10 * PAGE_SIZE);
+    mPageStore = new OffHeapMemoryPageStore(options);
+  }
+
+  @After
+  public void after() {
+    mPageStore.close();
+  }
+
+  @Test
+  public void helloWorld() throws Exception {
+    String msg = "Hello, World!";
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, msg.getBytes());
+    byte[] buf = new byte[1024];
+    assertEquals(msg.getBytes().length, mPageStore.get(id, buf));
+    assertArrayEquals(msg.getBytes(), Arrays.copyOfRange(buf, 0, msg.getBytes().length));
+  }
+
+  @Test
+  public void getOffset() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    byte[] buf = new byte[100];
+    assertEquals(100, mPageStore.get(id, 10, 100, buf, 0));
+    assertTrue(BufferUtils.equalIncreasingByteArray(10, 100, buf));
+    assertEquals(10, mPageStore.get(id, PAGE_SIZE - 10, 100, buf, 0));
+  }
+
+  @Test
+  public void slabsAllocatedLazily() throws Exception {
+    assertEquals(0, mPageStore.getAllocatedBytes());
+    mPageStore.put(new PageId("0", 0), new byte[PAGE_SIZE]);
+    assertEquals(4 * PAGE_SIZE, mPageStore.getAllocatedBytes());
+    for (int i = 1; i < 5; i++) {
+      mPageStore.put(new PageId("0", i), new byte[PAGE_SIZE]);
+    }
+    assertEquals(8 * PAGE_SIZE, mPageStore.getAllocatedBytes());
+  }
+
+  @Test
+  public void slotsReusedAfterDelete() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> mPageStore.put(new PageId("1", 0), new byte[PAGE_SIZE]));
+    mPageStore.delete(new PageId("0", 3));
+    mPageStore.put(new PageId("1", 0), BufferUtils.getIncreasingByteArray(100, PAGE_SIZE));
+    byte[] buf = new byte[PAGE_SIZE];
+    mPageStore.get(new PageId("1", 0), buf);
+    assertTrue(BufferUtils.equalIncreasingByteArray(100, PAGE_SIZE, buf));
+    mPageStore.get(new PageId("0", 4), buf);
+    assertTrue(BufferUtils.equalIncreasingByteArray(4, PAGE_SIZE, buf));
+    assertEquals(10 * PAGE_SIZE, mPageStore.getAllocatedBytes());
+  }
+
+  @Test
+  public void getNotFound() {
+    assertThrows(PageNotFoundException.class,
+        () -> mPageStore.get(new PageId("0", 0), new byte[PAGE_SIZE]));
+    assertThrows(PageNotFoundException.class, () -> mPageStore.delete(new PageId("0", 0)));
+  }
+
+  @Test
+  public void closeWhileReading() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    List<Future<Throwable>> readers = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int i = 0; i < 4; i++) {
+        readers.add(executor.submit(() -> {
+          byte[] buf = new byte[PAGE_SIZE];
+          try {
+            while (true) {
+              // a page is never read from a freed slab
+              mPageStore.get(id, buf);
+              assertTrue(BufferUtils.equalIncreasingByteArray(PAGE_SIZE, buf));
+            }
+          } catch (Throwable t) {
+            return t;
+          }
+        }));
+      }
+      Thread.sleep(10);
+      mPageStore.close();
+      for (Future<Throwable> reader : readers) {
+        assertTrue(reader.get() instanceof IOException);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThrows(IOException.class, () -> mPageStore.put(id, new byte[PAGE_SIZE]));
+  }
+
+  @Test
+  public void concurrentPutsAndDeletes() throws Exception {
+    int threads = 4;
+    List<Future<?>> writers = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int t = 0; t < threads; t++) {
+        String fileId = Integer.toString(t);
+        writers.add(executor.submit(() -> {
+          byte[] buf = new byte[PAGE_SIZE];
+          for (int i = 0; i < 2000; i++) {
+            // each thread holds at most two pages, so the ten slots never run out unless a slot
+            // is lost, and the data is intact unless a slot is handed out twice
+            PageId id = new PageId(fileId, i % 2);
+            int start = i * 31 + fileId.hashCode();
+            mPageStore.put(id, BufferUtils.getIncreasingByteArray(start, PAGE_SIZE));
+            mPageStore.get(id, buf);
+            assertTrue(BufferUtils.equalIncreasingByteArray(start, PAGE_SIZE, buf));
+            if (i % 2 == 1) {
+              mPageStore.delete(new PageId(fileId, 0));
+              mPageStore.delete(id);
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> writer : writers) {
+        writer.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // all the slots were released
+    for (int i = 0; i < 10; i++) {
+      mPageStore.put(new PageId("all", i), new byte[PAGE_SIZE]);
+    }
+  }
+
+  @Test
+  public void pageLargerThanSlot() {
+    assertThrows(IOException.class,
+        () -> mPageStore.put(new PageId("0", 0), new byte[PAGE_SIZE + 1]));
+  }
+}
@@ -54,7 +54,8 @@ public class PageStoreTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
         {new RocksPageStoreOptions()},
-        {new LocalPageStoreOptions()}
+        {new LocalPageStoreOptions()},
+        {new LogPageStoreOptions().setSegmentSize(16 * Constants.KB)}
     });
   }
 
@@ -0,0 +1,138 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link CacheTraceWriter}, {@link CacheTraceReader} and {@link TracingCacheManager}.
+ */
+public final class CacheTraceTest {
+  private static final long PAGE_SIZE = 1024;
+
+  @Test
+  public void roundTrip() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (CacheTraceWriter writer = new CacheTraceWriter(output, PAGE_SIZE)) {
+      writer.record(CacheTraceRecord.Op.GET, new PageId("file0", 0), 10, 100);
+      writer.record(CacheTraceRecord.Op.PUT, new PageId("file0", 0), 0, 1024);
+      writer.record(CacheTraceRecord.Op.GET, new PageId("file1", 5), 0, 1024);
+      writer.record(CacheTraceRecord.Op.DELETE, new PageId("file0", 0), 0, 0);
+    }
+    List<CacheTraceRecord> records = read(output.toByteArray());
+    assertEquals(4, records.size());
+    assertEquals(CacheTraceRecord.Op.GET, records.get(0).getOp());
+    assertEquals(new PageId("file0", 0), records.get(0).getPageId());
+    assertEquals(10, records.get(0).getPageOffset());
+    assertEquals(100, records.get(0).getLength());
+    assertEquals(CacheTraceRecord.Op.PUT, records.get(1).getOp());
+    assertEquals(new PageId("file0", 0), records.get(1).getPageId());
+    assertEquals(new PageId("file1", 5), records.get(2).getPageId());
+    assertEquals(CacheTraceRecord.Op.DELETE, records.get(3).getOp());
+    for (int i = 1; i < records.size(); i++) {
+      assertTrue(records.get(i).getTimeMicros() >= records.get(i - 1).getTimeMicros());
+    }
+  }
+
+  @Test
+  public void resetFileNumbering() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (CacheTraceWriter writer = new CacheTraceWriter(output, PAGE_SIZE, 2)) {
+      for (int i = 0; i < 5; i++) {
+        writer.record(CacheTraceRecord.Op.GET, new PageId("file" + i % 3, i), 0, 1);
+      }
+    }
+    List<CacheTraceRecord> records = read(output.toByteArray());
+    assertEquals(5, records.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(new PageId("file" + i % 3, i), records.get(i).getPageId());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void notATrace() throws Exception {
+    new CacheTraceReader(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6}));
+  }
+
+  @Test
+  public void tracingCacheManager() throws Exception {
+    CacheManager delegate = mock(CacheManager.class);
+    when(delegate.get(any(PageId.class), anyInt(), anyInt(), any(byte[].class), anyInt(),
+        any(CacheContext.class))).thenReturn(0);
+    when(delegate.put(any(PageId.class), any(byte[].class), any(CacheContext.class)))
+        .thenReturn(true);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PageId pageId = new PageId("file", 3);
+    byte[] page = new byte[(int) PAGE_SIZE];
+    try (CacheManager cacheManager =
+        new TracingCacheManager(delegate, new CacheTraceWriter(output, PAGE_SIZE))) {
+      assertEquals(0, cacheManager.get(pageId, 4, 8, new byte[8], 0));
+      assertTrue(cacheManager.put(pageId, page));
+      cacheManager.delete(pageId);
+    }
+    verify(delegate).close();
+    List<CacheTraceRecord> records = read(output.toByteArray());
+    assertEquals(3, records.size());
+    assertEquals(CacheTraceRecord.Op.GET, records.get(0).getOp());
+    assertEquals(4, records.get(0).getPageOffset());
+    assertEquals(8, records.get(0).getLength());
+    assertEquals(CacheTraceRecord.Op.PUT, records.get(1).getOp());
+    assertEquals(PAGE_SIZE, records.get(1).getLength());
+    assertEquals(CacheTraceRecord.Op.DELETE, records.get(2).getOp());
+  }
+
+  @Test
+  public void flushedWhileTracing() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (CacheManager cacheManager = new TracingCacheManager(mock(CacheManager.class),
+        new CacheTraceWriter(output, PAGE_SIZE))) {
+      cacheManager.delete(new PageId("file", 0));
+      CommonUtils.waitFor("trace to be flushed", () -> output.size() > 0,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      assertEquals(1, read(output.toByteArray()).size());
+    }
+  }
+
+  private static List<CacheTraceRecord> read(byte[] trace) throws IOException {
+    List<CacheTraceRecord> records = new ArrayList<>();
+    try (CacheTraceReader reader = new CacheTraceReader(new ByteArrayInputStream(trace))) {
+      assertEquals(PAGE_SIZE, reader.getPageSize());
+      CacheTraceRecord record;
+      while ((record = reader.next()) != null) {
+        records.add(record);
+      }
+      assertNull(reader.next());
+    }
+    return records;
+  }
+}
@@ -18,6 +18,7 @@ import alluxio.ClientContext;
 import alluxio.Constants;
 import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystem;
+import alluxio.client.file.ListStatusBatch;
 import alluxio.client.file.URIStatus;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.AlluxioProperties;
@@ -32,6 +33,7 @@ import alluxio.grpc.CheckAccessPOptions;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.master.MasterInquireClient.Factory;
 import alluxio.security.CurrentUser;
@@ -49,6 +51,7 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -67,6 +70,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.security.auth.Subject;
@@ -597,16 +601,73 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
 
     FileStatus[] ret = new FileStatus[statuses.size()];
     for (int k = 0; k < statuses.size(); k++) {
-      URIStatus status = statuses.get(k);
-
-      ret[k] = new FileStatus(status.getLength(), status.isFolder(), getReplica(status),
-          status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
-          status.getLastAccessTimeMs(), new FsPermission((short) status.getMode()),
-          status.getOwner(), status.getGroup(), getFsPath(mAlluxioHeader, status));
+      ret[k] = toFileStatus(statuses.get(k));
     }
     return ret;
   }
 
+  /**
+   * Lists the entries of a path in batches of {@link PropertyKey#USER_FILE_LIST_STATUS_BATCH_SIZE},
+   * each listed by a separate call to the master, so that listing a large directory neither holds
+   * the locks of the master nor the whole listing in memory.
+   *
+   * @param path the path to list
+   * @return an iterator over the statuses of the entries of the path, in the order of their names
+   */
+  @Override
+  public RemoteIterator<FileStatus> listStatusIterator(Path path) throws IOException {
+    LOG.debug("listStatusIterator({})", path);
+    AlluxioURI uri = getAlluxioPath(path);
+    ListStatusPOptions options = ListStatusPOptions.newBuilder()
+        .setBatchSize(mAlluxioConf.getInt(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE)).build();
+    return new RemoteIterator<FileStatus>() {
+      private ListStatusBatch mBatch = listStatusBatch(uri, options);
+      private int mIndex = 0;
+
+      @Override
+      public boolean hasNext() throws IOException {
+        while (mIndex == mBatch.getStatuses().size()) {
+          if (!mBatch.getContinuationToken().isPresent()) {
+            return false;
+          }
+          mBatch = listStatusBatch(uri, options.toBuilder()
+              .setContinuationToken(mBatch.getContinuationToken().get()).build());
+          mIndex = 0;
+        }
+        return true;
+      }
+
+      @Override
+      public FileStatus next() throws IOException {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return toFileStatus(mBatch.getStatuses().get(mIndex++));
+      }
+    };
+  }
+
+  private ListStatusBatch listStatusBatch(AlluxioURI uri, ListStatusPOptions options)
+      throws IOException {
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
+    }
+    try {
+      return mFileSystem.listStatusBatch(uri, options);
+    } catch (FileDoesNotExistException e) {
+      throw new FileNotFoundException(uri.toString());
+    } catch (AlluxioException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private FileStatus toFileStatus(URIStatus status) {
+    return new FileStatus(status.getLength(), status.isFolder(), getReplica(status),
+        status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
+        status.getLastAccessTimeMs(), new FsPermission((short) status.getMode()),
+        status.getOwner(), status.getGroup(), getFsPath(mAlluxioHeader, status));
+  }
+
   /**
    * Attempts to create a folder with the specified path. Parent directories will be created.
    *
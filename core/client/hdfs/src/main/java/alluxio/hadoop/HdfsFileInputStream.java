@@ -14,6 +14,7 @@ package alluxio.hadoop;
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
+import alluxio.client.file.ReadRange;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileDoesNotExistException;
@@ -30,6 +31,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -157,6 +160,30 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
     return bytesRead;
   }
 
+  /**
+   * Reads a list of ranges of the file, see {@link FileInStream#readVectored}. The data or the
+   * failure of each range is available through {@link ReadRange#getData()} once this method
+   * returns.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function allocating the buffers for the data of the ranges
+   */
+  public void readVectored(List<ReadRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+
+    mInputStream.readVectored(ranges, allocate);
+    if (mStatistics != null) {
+      for (ReadRange range : ranges) {
+        if (range.getData().isDone() && !range.getData().isCompletedExceptionally()) {
+          mStatistics.incrementBytesRead(range.getLength());
+        }
+      }
+    }
+  }
+
   @Override
   public void readFully(long position, byte[] buffer) throws IOException {
     readFully(position, buffer, 0, buffer.length);
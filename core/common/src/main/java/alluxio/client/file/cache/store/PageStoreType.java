@@ -27,4 +27,8 @@ public enum PageStoreType {
      * A simple store with pages on the memory (HeapByteBuffer).
      */
     MEM,
+    /**
+     * A store that appends pages into large preallocated segment files on the local filesystem.
+     */
+    LOG,
 }
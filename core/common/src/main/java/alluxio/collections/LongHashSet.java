@@ -0,0 +1,380 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A hash set of primitive longs. Values are stored in a single array with open addressing and
+ * linear probing, which takes 8 to 16 bytes per value instead of the boxed {@link Long}, entry and
+ * table slot of a {@link java.util.HashSet}.
+ *
+ * The {@link java.util.Set} methods taking or returning {@link Long}s are supported, but box the
+ * values. Use the methods taking primitive longs, {@link #forEachLong(LongConsumer)} and
+ * {@link PrimitiveIterator.OfLong#nextLong()} of the iterator to avoid boxing. The iterator does
+ * not support removal, and the set must not be modified while it is iterated.
+ */
+@NotThreadSafe
+public final class LongHashSet extends AbstractSet<Long> {
+  /** Marks free slots. The value itself is tracked by {@link #mHasFreeValue}. */
+  private static final long FREE = 0L;
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final double MAX_LOAD = 0.6;
+  /** 2^64 divided by the golden ratio, to spread consecutive values across the table. */
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  private long[] mTable;
+  /** Number of bits of the table index. */
+  private int mBits;
+  /** Number of values stored in the table, excluding {@link #FREE}. */
+  private int mTableSize;
+  private int mResizeThreshold;
+  private boolean mHasFreeValue;
+  /** The slot at which {@link #poll(long[], int, int)} resumes its scan of the table. */
+  private int mPollCursor;
+
+  /**
+   * Creates an empty set.
+   */
+  public LongHashSet() {
+    this(0);
+  }
+
+  /**
+   * Creates an empty set sized to hold the given number of values without resizing.
+   *
+   * @param expectedSize the expected number of values
+   */
+  public LongHashSet(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * Creates a copy of a set.
+   *
+   * @param other the set to copy
+   */
+  public LongHashSet(LongHashSet other) {
+    mTable = other.mTable.clone();
+    mBits = other.mBits;
+    mTableSize = other.mTableSize;
+    mResizeThreshold = other.mResizeThreshold;
+    mHasFreeValue = other.mHasFreeValue;
+  }
+
+  /**
+   * Creates a set holding the values of a collection.
+   *
+   * @param values the values
+   */
+  public LongHashSet(Collection<Long> values) {
+    this(values.size());
+    for (long value : values) {
+      add(value);
+    }
+  }
+
+  /**
+   * @param value the value to add
+   * @return true if the value was not in the set
+   */
+  public boolean add(long value) {
+    if (value == FREE) {
+      boolean added = !mHasFreeValue;
+      mHasFreeValue = true;
+      return added;
+    }
+    int mask = mTable.length - 1;
+    for (int i = index(value); ; i = (i + 1) & mask) {
+      long current = mTable[i];
+      if (current == value) {
+        return false;
+      }
+      if (current == FREE) {
+        mTable[i] = value;
+        if (++mTableSize > mResizeThreshold) {
+          resize(mTable.length << 1);
+        }
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public boolean add(Long value) {
+    return add(value.longValue());
+  }
+
+  /**
+   * Adds all values of another set.
+   *
+   * @param other the set to add
+   * @return true if any value was not in the set
+   */
+  public boolean addAll(LongHashSet other) {
+    boolean changed = other.mHasFreeValue && add(FREE);
+    for (long value : other.mTable) {
+      if (value != FREE) {
+        changed |= add(value);
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * @param value the value
+   * @return whether the set contains the value
+   */
+  public boolean contains(long value) {
+    if (value == FREE) {
+      return mHasFreeValue;
+    }
+    int mask = mTable.length - 1;
+    for (int i = index(value); ; i = (i + 1) & mask) {
+      long current = mTable[i];
+      if (current == value) {
+        return true;
+      }
+      if (current == FREE) {
+        return false;
+      }
+    }
+  }
+
+  @Override
+  public boolean contains(Object value) {
+    return value instanceof Long && contains(((Long) value).longValue());
+  }
+
+  /**
+   * @param value the value to remove
+   * @return true if the value was in the set
+   */
+  public boolean remove(long value) {
+    if (value == FREE) {
+      boolean removed = mHasFreeValue;
+      mHasFreeValue = false;
+      return removed;
+    }
+    int mask = mTable.length - 1;
+    for (int i = index(value); ; i = (i + 1) & mask) {
+      long current = mTable[i];
+      if (current == value) {
+        removeAt(i);
+        mTableSize--;
+        return true;
+      }
+      if (current == FREE) {
+        return false;
+      }
+    }
+  }
+
+  @Override
+  public boolean remove(Object value) {
+    return value instanceof Long && remove(((Long) value).longValue());
+  }
+
+  /**
+   * Calls the action with each value of the set.
+   *
+   * @param action the action
+   */
+  public void forEachLong(LongConsumer action) {
+    if (mHasFreeValue) {
+      action.accept(FREE);
+    }
+    for (long value : mTable) {
+      if (value != FREE) {
+        action.accept(value);
+      }
+    }
+  }
+
+  /**
+   * @return the values of the set in an array
+   */
+  public long[] toLongArray() {
+    long[] values = new long[size()];
+    int i = 0;
+    if (mHasFreeValue) {
+      values[i++] = FREE;
+    }
+    for (long value : mTable) {
+      if (value != FREE) {
+        values[i++] = value;
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Removes up to the given number of values from the set into an array. Each call resumes the
+   * scan of the table where the previous one stopped, so that draining a large set in small
+   * batches takes time linear in its capacity.
+   *
+   * @param dest the array to store the removed values in
+   * @param offset the index in the array of the first removed value
+   * @param maxValues the maximum number of values to remove
+   * @return the number of values removed
+   */
+  public int poll(long[] dest, int offset, int maxValues) {
+    int count = 0;
+    if (mHasFreeValue && count < maxValues) {
+      dest[offset + count++] = FREE;
+      mHasFreeValue = false;
+    }
+    int mask = mTable.length - 1;
+    while (count < maxValues && mTableSize > 0) {
+      long value = mTable[mPollCursor];
+      if (value == FREE) {
+        mPollCursor = (mPollCursor + 1) & mask;
+        continue;
+      }
+      dest[offset + count++] = value;
+      // values shifted back into the slot are taken by the next iterations
+      removeAt(mPollCursor);
+      mTableSize--;
+    }
+    return count;
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> values) {
+    boolean changed = false;
+    for (Object value : values) {
+      changed |= remove(value);
+    }
+    return changed;
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> values) {
+    boolean changed = false;
+    for (long value : toLongArray()) {
+      if (!values.contains(value)) {
+        changed |= remove(value);
+      }
+    }
+    return changed;
+  }
+
+  @Override
+  public void clear() {
+    allocate(MIN_CAPACITY);
+    mTableSize = 0;
+    mHasFreeValue = false;
+  }
+
+  @Override
+  public int size() {
+    return mTableSize + (mHasFreeValue ? 1 : 0);
+  }
+
+  @Override
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+      /** The next table index to check, -1 for the free value. */
+      private int mNext = -1;
+
+      @Override
+      public boolean hasNext() {
+        if (mNext == -1) {
+          if (mHasFreeValue) {
+            return true;
+          }
+          mNext = 0;
+        }
+        while (mNext < mTable.length && mTable[mNext] == FREE) {
+          mNext++;
+        }
+        return mNext < mTable.length;
+      }
+
+      @Override
+      public long nextLong() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (mNext == -1) {
+          mNext = 0;
+          return FREE;
+        }
+        return mTable[mNext++];
+      }
+    };
+  }
+
+  private int index(long value) {
+    return (int) ((value * GOLDEN_RATIO) >>> (64 - mBits));
+  }
+
+  /**
+   * Fills the slot of a removed value by shifting back the following values of its probe run
+   * which may be stored there, so that no value is separated from its probe start by a free slot.
+   *
+   * @param index the slot of the removed value
+   */
+  private void removeAt(int index) {
+    int mask = mTable.length - 1;
+    int hole = index;
+    for (int i = (index + 1) & mask; mTable[i] != FREE; i = (i + 1) & mask) {
+      int start = index(mTable[i]);
+      if (((i - start) & mask) >= ((i - hole) & mask)) {
+        mTable[hole] = mTable[i];
+        hole = i;
+      }
+    }
+    mTable[hole] = FREE;
+  }
+
+  private void resize(int capacity) {
+    long[] table = mTable;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (long value : table) {
+      if (value != FREE) {
+        int i = index(value);
+        while (mTable[i] != FREE) {
+          i = (i + 1) & mask;
+        }
+        mTable[i] = value;
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    Preconditions.checkState(capacity > 0 && capacity <= MAX_CAPACITY,
+        "LongHashSet exceeds its capacity");
+    mTable = new long[capacity];
+    mBits = Integer.numberOfTrailingZeros(capacity);
+    mPollCursor = 0;
+    mResizeThreshold = capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * MAX_LOAD);
+  }
+
+  private static int capacityFor(int size) {
+    long capacity = MIN_CAPACITY;
+    while (capacity * MAX_LOAD < size) {
+      capacity <<= 1;
+    }
+    return (int) Math.min(capacity, MAX_CAPACITY);
+  }
+}
@@ -35,6 +35,7 @@ import alluxio.underfs.options.OpenOptions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -393,6 +394,16 @@ public class ManagedBlockingUfsForwarder implements UnderFileSystem {
     }.get();
   }
 
+  @Override
+  public Iterator<UfsStatus> listStatusIterator(String path) throws IOException {
+    return new ManagedBlockingUfsMethod<Iterator<UfsStatus>>() {
+      @Override
+      public Iterator<UfsStatus> execute() throws IOException {
+        return mUfs.listStatusIterator(path);
+      }
+    }.get();
+  }
+
   @Override
   public boolean mkdirs(String path) throws IOException {
     return new ManagedBlockingUfsMethod<Boolean>() {
@@ -49,6 +49,7 @@ import alluxio.security.authentication.AuthType;
 import alluxio.util.FormatUtils;
 import alluxio.util.OSUtils;
 import alluxio.util.io.PathUtils;
+import alluxio.worker.block.BlockCommitSyncMode;
 import alluxio.worker.block.BlockStoreType;
 import alluxio.worker.block.management.BackoffStrategy;
 
@@ -2214,6 +2215,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_BLOCK_COMPACT_ENABLED =
+      booleanBuilder(Name.MASTER_METASTORE_BLOCK_COMPACT_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether the heap metastore keeps block metadata in a compact "
+              + "table of primitive arrays instead of maps of objects. This takes a fraction of "
+              + "the heap per block. Only applies when %s is HEAP.", Name.MASTER_METASTORE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_BLOCK_COMPACT_INLINE_LOCATIONS =
+      intBuilder(Name.MASTER_METASTORE_BLOCK_COMPACT_INLINE_LOCATIONS)
+          .setDefaultValue(3)
+          .setDescription(format("The number of locations of each block stored inline in the "
+              + "compact block table when %s is enabled. Every block takes the space of this many "
+              + "locations, and the locations of blocks with more replicas are kept in a regular "
+              + "map. Must be between 1 and 16.", Name.MASTER_METASTORE_BLOCK_COMPACT_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_DIR =
       stringBuilder(Name.MASTER_METASTORE_DIR)
           .setDefaultValue(format("${%s}/metastore", Name.WORK_DIR))
@@ -2792,6 +2812,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_TTL_CHECKER_BATCH_SIZE =
+      intBuilder(Name.MASTER_TTL_CHECKER_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The number of expired files the ttl checker handles together. "
+              + "The files of a batch which are deleted have their journal entries flushed "
+              + "at once.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_TTL_CHECKER_INTERVAL_MS =
       durationBuilder(Name.MASTER_TTL_CHECKER_INTERVAL_MS)
           .setAlias("alluxio.master.ttl.checker.interval.ms")
@@ -2801,6 +2830,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_TTL_CHECKER_RATE =
+      intBuilder(Name.MASTER_TTL_CHECKER_RATE)
+          .setDefaultValue(10000)
+          .setDescription("The maximum number of expired files per second the ttl checker "
+              + "deletes or frees, so that many files expiring together do not stall other "
+              + "operations of the master. A non-positive value disables the limit.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_UFS_ACTIVE_SYNC_INTERVAL =
       durationBuilder(Name.MASTER_UFS_ACTIVE_SYNC_INTERVAL)
           .setDefaultValue("30sec")
@@ -2909,6 +2947,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_UFS_PATH_CACHE_JOURNAL_GRANULARITY =
+      durationBuilder(Name.MASTER_UFS_PATH_CACHE_JOURNAL_GRANULARITY)
+          .setDefaultValue("1min")
+          .setDescription("The sync times of a path are journaled at most once per this "
+              + "duration. The syncs of a path within this duration of its journaled sync time "
+              + "only update the memory of the master, so after a failover such a path may be "
+              + "synced again before its sync interval has passed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_UFS_PATH_CACHE_THREADS =
       intBuilder(Name.MASTER_UFS_PATH_CACHE_THREADS)
           .setDefaultValue(64)
@@ -3046,6 +3094,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDefaultValue(false)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_PENDING_PATHS_MAX =
+      intBuilder(Name.MASTER_METADATA_SYNC_PENDING_PATHS_MAX)
+          .setDefaultValue(10000)
+          .setDescription(format("The number of paths queued by a sync operation above which it "
+              + "stops listing more children from the UFS until the queued paths are synced. "
+              + "Together with %s, this bounds the memory a sync operation uses regardless of "
+              + "the size of the directories it syncs.",
+              Name.MASTER_METADATA_SYNC_UFS_LISTING_PAGE_SIZE))
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
   public static final PropertyKey MASTER_METADATA_SYNC_REPORT_FAILURE =
       booleanBuilder(Name.MASTER_METADATA_SYNC_REPORT_FAILURE)
           .setDescription("Report failure if any metadata sync fails")
@@ -3054,6 +3113,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setIsHidden(true)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_UFS_LISTING_PAGE_SIZE =
+      intBuilder(Name.MASTER_METADATA_SYNC_UFS_LISTING_PAGE_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The number of children of a directory a sync operation merges with "
+              + "the UFS listing of the directory at a time. The next page of the listing is "
+              + "fetched from the UFS while a page is merged, and each page is journaled in its "
+              + "own journal context.")
+          .setScope(Scope.MASTER)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .build();
   // In Java8 in container environment Runtime.availableProcessors() always returns 1,
   // which is not the actual number of cpus, so we set a safe default value 32.
   public static final PropertyKey MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE =
@@ -3291,6 +3360,53 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_BLOCK_COMMIT_SYNC_MODE =
+      enumBuilder(Name.WORKER_BLOCK_COMMIT_SYNC_MODE, BlockCommitSyncMode.class)
+          .setDefaultValue(BlockCommitSyncMode.NONE)
+          .setDescription("How the worker makes committed blocks durable. With NONE, blocks are "
+              + "not synced. With EACH, each commit syncs its block file and directory. With "
+              + "GROUP, the commits on the same device are synced together by a flusher of the "
+              + "device, which saves syncs when many small blocks are committed at once.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_BATCH =
+      intBuilder(Name.WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_BATCH)
+          .setDefaultValue(256)
+          .setDescription(format("The maximum number of commits synced together when %s is "
+              + "GROUP.", Name.WORKER_BLOCK_COMMIT_SYNC_MODE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_DELAY =
+      durationBuilder(Name.WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_DELAY)
+          .setDefaultValue("1ms")
+          .setDescription(format("When %s is GROUP, the maximum time the flusher of a device "
+              + "waits for more commits before syncing the commits it has. Commits arriving "
+              + "while a sync is running are always synced together afterwards.",
+              Name.WORKER_BLOCK_COMMIT_SYNC_MODE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_META_SNAPSHOT_ENABLED =
+      booleanBuilder(Name.WORKER_BLOCK_META_SNAPSHOT_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker keeps a snapshot of the blocks of each storage "
+              + "directory, written periodically and when the worker shuts down. On restart, "
+              + "the blocks of a directory are loaded from its snapshot, instead of listing the "
+              + "directory, unless the directory was modified after the snapshot was written.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_BLOCK_META_SNAPSHOT_INTERVAL =
+      durationBuilder(Name.WORKER_BLOCK_META_SNAPSHOT_INTERVAL)
+          .setDefaultValue("10min")
+          .setDescription(format("The interval between snapshots of the blocks of the storage "
+              + "directories when %s is enabled. Only directories modified since their last "
+              + "snapshot are written again.", Name.WORKER_BLOCK_META_SNAPSHOT_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_CONTAINER_HOSTNAME =
       stringBuilder(Name.WORKER_CONTAINER_HOSTNAME)
           .setDescription("The container hostname if worker is running in a container.")
@@ -3511,6 +3627,50 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_MANAGEMENT_TIER_HEAT_ENABLED =
+      booleanBuilder(Name.WORKER_MANAGEMENT_TIER_HEAT_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether to move blocks between tiers by their recent read "
+              + "rates. When enabled, blocks read faster than %s are promoted, or swapped with "
+              + "colder blocks of the tier above, in place of the align and promote tasks.",
+              Name.WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_MANAGEMENT_TIER_HEAT_HALF_LIFE =
+      durationBuilder(Name.WORKER_MANAGEMENT_TIER_HEAT_HALF_LIFE)
+          .setDefaultValue("10min")
+          .setDescription("The time after which the bytes read from a block count half as "
+              + "much in its read rate.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE =
+      dataSizeBuilder(Name.WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE)
+          .setDefaultValue("1KB")
+          .setDescription("The read rate in bytes per second above which a block is moved to "
+              + "a higher tier.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_MANAGEMENT_TIER_HEAT_SWAP_FACTOR =
+      doubleBuilder(Name.WORKER_MANAGEMENT_TIER_HEAT_SWAP_FACTOR)
+          .setDefaultValue(2.0)
+          .setDescription("A block is swapped with a block of the tier above only when its "
+              + "read rate is this many times the read rate of the other block, so that blocks "
+              + "of similar rates are not swapped back and forth.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_MANAGEMENT_TIER_HEAT_BANDWIDTH =
+      dataSizeBuilder(Name.WORKER_MANAGEMENT_TIER_HEAT_BANDWIDTH)
+          .setDefaultValue("64MB")
+          .setDescription(format("The bytes per second that blocks may be moved between tiers "
+              + "by their read rates. Moves are also skipped between tiers which served clients "
+              + "within %s.", Name.WORKER_MANAGEMENT_LOAD_DETECTION_COOL_DOWN_TIME))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_FREE_SPACE_TIMEOUT =
       durationBuilder(Name.WORKER_FREE_SPACE_TIMEOUT)
           .setDefaultValue("10sec")
@@ -3599,6 +3759,43 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_FAIR_SHARE_ENABLED =
+      booleanBuilder(Name.WORKER_NETWORK_FAIR_SHARE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to share the threads reading and writing blocks in the data "
+              + "server fairly between users. When enabled, the tasks waiting for a thread are "
+              + "queued by user and the queues are served in turn, each user starting as many "
+              + "tasks as its weight in its turn.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_FAIR_SHARE_MAX_RUNNING =
+      intBuilder(Name.WORKER_NETWORK_FAIR_SHARE_MAX_RUNNING)
+          .setDefaultValue(64)
+          .setDescription(format("When %s is enabled, the maximum number of block read tasks, "
+              + "and of block write tasks, that run at a time in the data server. Other tasks "
+              + "wait in the queue of their user.", Name.WORKER_NETWORK_FAIR_SHARE_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_FAIR_SHARE_WEIGHTS =
+      listBuilder(Name.WORKER_NETWORK_FAIR_SHARE_WEIGHTS)
+          .setDescription(format("A comma-separated list of user:weight pairs giving the share "
+              + "of the threads of each user when %s is enabled, e.g. \"etl:1,bi:4\". "
+              + "Users not listed have the weight 1. Requests without a user belong to the "
+              + "user \"default\".", Name.WORKER_NETWORK_FAIR_SHARE_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_FAIR_SHARE_BANDWIDTH =
+      listBuilder(Name.WORKER_NETWORK_FAIR_SHARE_BANDWIDTH)
+          .setDescription(format("A comma-separated list of user:size pairs limiting the bytes "
+              + "per second read, and written, by each user when %s is enabled, "
+              + "e.g. \"etl:200MB\". Users not listed are not limited.",
+              Name.WORKER_NETWORK_FAIR_SHARE_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_WRITER_BUFFER_SIZE_MESSAGES =
       intBuilder(Name.WORKER_NETWORK_WRITER_BUFFER_SIZE_MESSAGES)
           .setDefaultValue(8)
@@ -3719,6 +3916,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_MMAP_ENABLED =
+      booleanBuilder(Name.WORKER_NETWORK_READER_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether chunks of blocks stored in worker storage are sent to remote"
+              + " readers as slices of a read-only memory mapping of the block file, instead of"
+              + " being copied into a buffer first. Together with "
+              + Name.WORKER_NETWORK_ZEROCOPY_ENABLED + ", data is then only copied by the kernel"
+              + " into the socket. Takes precedence over "
+              + Name.WORKER_NETWORK_READER_BUFFER_POOLED + " for blocks in worker storage.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES)
           .setDefaultValue("2MB")
@@ -4165,6 +4374,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_READ_DEDUP_ENABLED =
+      booleanBuilder(Name.WORKER_UFS_READ_DEDUP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether concurrent sequential reads of the same block from the UFS "
+              + "share a single fetch of the block. The bytes fetched from the UFS are kept "
+              + "in memory while the block is being read, so that readers behind the fetch are "
+              + "served from memory instead of opening their own UFS stream.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_READ_DEDUP_BUFFER_SIZE =
+      dataSizeBuilder(Name.WORKER_UFS_READ_DEDUP_BUFFER_SIZE)
+          .setDefaultValue("1GB")
+          .setDescription("The maximum amount of memory for the blocks fetched from UFS that are "
+              + "shared between concurrent readers, when "
+              + Name.WORKER_UFS_READ_DEDUP_ENABLED + " is enabled. Blocks read when the memory "
+              + "is exhausted are read from the UFS separately by each reader.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_WHITELIST =
       listBuilder(Name.WORKER_WHITELIST)
           .setDefaultValue("/")
@@ -4573,6 +4802,30 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_MAX_MERGED_SIZE =
+      dataSizeBuilder(Name.USER_FILE_VECTORED_READ_MAX_MERGED_SIZE)
+          .setDefaultValue("1MB")
+          .setDescription("The maximum size of a single read issued for a vectored read, which "
+              + "merges nearby ranges into one read.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_MIN_SEEK =
+      dataSizeBuilder(Name.USER_FILE_VECTORED_READ_MIN_SEEK)
+          .setDefaultValue("4KB")
+          .setDescription("Ranges of a vectored read separated by less than this gap are read "
+              + "together in a single read, discarding the bytes in between.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_THREADS =
+      intBuilder(Name.USER_FILE_VECTORED_READ_THREADS)
+          .setDefaultValue(16)
+          .setDescription("Number of threads shared by all streams to read the ranges of a "
+              + "vectored read that fall into different blocks concurrently.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_TARGET_MEDIA =
       stringBuilder(Name.USER_FILE_TARGET_MEDIA)
           .setDescription("Preferred media type while storing file's blocks.")
@@ -4653,6 +4906,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "before attempting to delete persisted directories recursively.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_MASTER_CLIENT_BATCH_ENABLED =
+      booleanBuilder(Name.USER_FILE_MASTER_CLIENT_BATCH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether to coalesce the concurrent getStatus, createFile, "
+              + "delete and setAttribute calls of a client into batch RPCs of up to %s paths. "
+              + "A call waits only while a batch is in flight, and is then sent with the calls "
+              + "which arrived meanwhile, so the master takes one journal flush for all of "
+              + "them. The master must support the batch RPCs.",
+              Name.USER_FILE_MASTER_CLIENT_BATCH_SIZE_MAX))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_MASTER_CLIENT_BATCH_SIZE_MAX =
+      intBuilder(Name.USER_FILE_MASTER_CLIENT_BATCH_SIZE_MAX)
+          .setDefaultValue(256)
+          .setDescription(format("The maximum number of paths in a batch RPC, when %s is "
+              + "enabled.", Name.USER_FILE_MASTER_CLIENT_BATCH_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN =
       intBuilder(Name.USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN)
           .setDefaultValue(0)
@@ -4685,6 +4958,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_LIST_STATUS_BATCH_SIZE =
+      intBuilder(Name.USER_FILE_LIST_STATUS_BATCH_SIZE)
+          .setDefaultValue(10000)
+          .setDescription("The number of entries listed per call to the master by iterators "
+              + "over the entries of a directory, such as the listStatusIterator of the Hadoop "
+              + "client. The master releases the locks of the directory between calls, so "
+              + "smaller batches let writers to a large directory wait less.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_METADATA_LOAD_TYPE =
       enumBuilder(Name.USER_FILE_METADATA_LOAD_TYPE, LoadMetadataPType.class)
           .setDefaultValue(LoadMetadataPType.ONCE)
@@ -4804,6 +5087,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_ADMISSION_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_ADMISSION_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, a page is only added to a full cache if it has "
+              + "been accessed more often than the page it would evict. Access frequencies are "
+              + "estimated by a TinyLFU sketch which is aged periodically, so that one-off scans "
+              + "do not flush frequently accessed pages out of the cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED)
           .setDefaultValue(true)
@@ -4946,6 +5239,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_TRACE_FILE =
+      stringBuilder(Name.USER_CLIENT_CACHE_TRACE_FILE)
+          .setDescription("If set, every access to the client cache is appended to this file in "
+              + "a compact binary format, to be replayed offline against other cache "
+              + "configurations. Tracing queues a record on every cache access and writes the "
+              + "records in the background, so it should only be enabled while collecting a "
+              + "trace.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_TIMEOUT_DURATION =
       durationBuilder(Name.USER_CLIENT_CACHE_TIMEOUT_DURATION)
           .setDefaultValue("-1")
@@ -4973,12 +5276,32 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_STORE_MEMORY_OFFHEAP_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_STORE_MEMORY_OFFHEAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the `MEM` page store keeps pages in off-heap slabs of "
+              + "fixed-size slots instead of on-heap byte arrays. This moves cached data out of "
+              + "the client heap and avoids GC pauses caused by a large memory cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_STORE_MEMORY_SLAB_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_STORE_MEMORY_SLAB_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The size of each off-heap slab allocated by the `MEM` page store when "
+              + Name.USER_CLIENT_CACHE_STORE_MEMORY_OFFHEAP_ENABLED + " is true. Each slab is "
+              + "divided into slots of the page size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_STORE_TYPE =
       enumBuilder(Name.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
           .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+              + "`LOCAL`, `ROCKS`, `MEM` or `LOG`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `ROCKS` page store utilizes rocksDB to persist the data, the "
+              + "`MEM` page store keeps pages in memory, and the `LOG` page store appends pages "
+              + "to large segment files.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -4991,6 +5314,34 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOG_STORE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_LOG_STORE_SEGMENT_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The size of each segment file of the `LOG` page store of the "
+              + "client-side cache. Pages are appended to segment files of this size, which "
+              + "must be at least the page size and less than 2GB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOG_STORE_CHECKPOINT_INTERVAL =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_LOG_STORE_CHECKPOINT_INTERVAL)
+          .setDefaultValue("1GB")
+          .setDescription("The number of bytes appended to a directory of the `LOG` page store "
+              + "of the client-side cache, including the pages copied by compaction, after which "
+              + "its index is checkpointed in the background. A client which exits without "
+              + "closing the cache loses the pages appended since the last checkpoint.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOG_STORE_COMPACTION_GARBAGE_RATIO =
+      doubleBuilder(Name.USER_CLIENT_CACHE_LOG_STORE_COMPACTION_GARBAGE_RATIO)
+          .setDefaultValue(0.5)
+          .setDescription("The fraction of deleted bytes in a segment of the `LOG` page store "
+              + "above which the segment is compacted in the background by copying its remaining "
+              + "pages into a new segment.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -5005,6 +5356,35 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_TIERED_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_TIERED_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the client-side cache keeps hot pages in a memory tier of "
+              + "size " + Name.USER_CLIENT_CACHE_TIERED_MEMORY_SIZE + " on top of the page store "
+              + "configured by " + Name.USER_CLIENT_CACHE_STORE_TYPE + " and "
+              + Name.USER_CLIENT_CACHE_SIZE + ". New pages are added to the memory tier, pages "
+              + "evicted from the memory tier are moved to the other tier instead of being "
+              + "dropped, and pages hit often enough in the other tier are moved back to memory.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_TIERED_MEMORY_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_TIERED_MEMORY_SIZE)
+          .setDefaultValue("128MB")
+          .setDescription("The maximum size of the memory tier of the client-side cache, when "
+              + Name.USER_CLIENT_CACHE_TIERED_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_TIERED_PROMOTION_HITS =
+      intBuilder(Name.USER_CLIENT_CACHE_TIERED_PROMOTION_HITS)
+          .setDefaultValue(2)
+          .setDescription("The number of recent hits of a page in the lower tier of the "
+              + "client-side cache after which the page is moved to the memory tier, when "
+              + Name.USER_CLIENT_CACHE_TIERED_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_PAGE_SIZE =
       dataSizeBuilder(Name.USER_CLIENT_CACHE_PAGE_SIZE)
           .setDefaultValue("1MB")
@@ -5019,6 +5399,30 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_READ_AHEAD_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_READ_AHEAD_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, streams reading through the client cache detect "
+              + "sequential access and asynchronously load the following pages into the cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_READ_AHEAD_MAX_PAGES =
+      intBuilder(Name.USER_CLIENT_CACHE_READ_AHEAD_MAX_PAGES)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of pages a stream loads ahead of its position. "
+              + "The window starts small, grows when loaded pages are read and shrinks when "
+              + "they are skipped.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_READ_AHEAD_THREADS =
+      intBuilder(Name.USER_CLIENT_CACHE_READ_AHEAD_THREADS)
+          .setDefaultValue(16)
+          .setDescription("Number of threads shared by all streams to load pages ahead.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_WRITE_TYPE_DEFAULT =
       enumBuilder(Name.USER_FILE_WRITE_TYPE_DEFAULT, WriteType.class)
           .setDefaultValue(WriteType.ASYNC_THROUGH)
@@ -5641,6 +6045,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_SHORT_CIRCUIT_MMAP_ENABLED =
+      booleanBuilder(Name.USER_SHORT_CIRCUIT_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether short circuit reads map each local block file into memory once "
+              + "and share the mapping between all streams of the client reading the block, so "
+              + "that reads are memory copies without system calls. A mapping is dropped when "
+              + "the last stream reading the block is closed and releases the lock on the block "
+              + "held by the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_SHORT_CIRCUIT_PREFERRED =
       booleanBuilder(Name.USER_SHORT_CIRCUIT_PREFERRED)
           .setDefaultValue(false)
@@ -6781,13 +7196,21 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metadata.sync.executor.pool.size";
     public static final String MASTER_METADATA_SYNC_INSTRUMENT_EXECUTOR =
         "alluxio.master.metadata.sync.instrument.executor";
+    public static final String MASTER_METADATA_SYNC_PENDING_PATHS_MAX =
+        "alluxio.master.metadata.sync.pending.paths.max";
     public static final String MASTER_METADATA_SYNC_REPORT_FAILURE =
         "alluxio.master.metadata.sync.report.failure";
+    public static final String MASTER_METADATA_SYNC_UFS_LISTING_PAGE_SIZE =
+        "alluxio.master.metadata.sync.ufs.listing.page.size";
     public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE =
         "alluxio.master.metadata.sync.ufs.prefetch.pool.size";
     public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_TIMEOUT =
         "alluxio.master.metadata.sync.ufs.prefetch.timeout";
     public static final String MASTER_METASTORE = "alluxio.master.metastore";
+    public static final String MASTER_METASTORE_BLOCK_COMPACT_ENABLED =
+        "alluxio.master.metastore.block.compact.enabled";
+    public static final String MASTER_METASTORE_BLOCK_COMPACT_INLINE_LOCATIONS =
+        "alluxio.master.metastore.block.compact.inline.locations";
     public static final String MASTER_METASTORE_DIR = "alluxio.master.metastore.dir";
     public static final String MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE =
         "alluxio.master.metastore.inode.cache.evict.batch.size";
@@ -6880,8 +7303,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.tieredstore.global.levels";
     public static final String MASTER_TIERED_STORE_GLOBAL_MEDIUMTYPE =
         "alluxio.master.tieredstore.global.mediumtype";
+    public static final String MASTER_TTL_CHECKER_BATCH_SIZE =
+        "alluxio.master.ttl.checker.batch.size";
     public static final String MASTER_TTL_CHECKER_INTERVAL_MS =
         "alluxio.master.ttl.checker.interval";
+    public static final String MASTER_TTL_CHECKER_RATE =
+        "alluxio.master.ttl.checker.rate";
     public static final String MASTER_UFS_ACTIVE_SYNC_INTERVAL =
         "alluxio.master.ufs.active.sync.interval";
     public static final String MASTER_UFS_ACTIVE_SYNC_MAX_ACTIVITIES =
@@ -6908,6 +7335,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.ufs.managed.blocking.enabled";
     public static final String MASTER_UFS_PATH_CACHE_CAPACITY =
         "alluxio.master.ufs.path.cache.capacity";
+    public static final String MASTER_UFS_PATH_CACHE_JOURNAL_GRANULARITY =
+        "alluxio.master.ufs.path.cache.journal.granularity";
     public static final String MASTER_UFS_PATH_CACHE_THREADS =
         "alluxio.master.ufs.path.cache.threads";
     public static final String MASTER_UNSAFE_DIRECT_PERSIST_OBJECT_ENABLED =
@@ -6976,6 +7405,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.block.heartbeat.interval";
     public static final String WORKER_BLOCK_HEARTBEAT_TIMEOUT_MS =
         "alluxio.worker.block.heartbeat.timeout";
+    public static final String WORKER_BLOCK_COMMIT_SYNC_MODE =
+        "alluxio.worker.block.commit.sync.mode";
+    public static final String WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_BATCH =
+        "alluxio.worker.block.commit.sync.group.max.batch";
+    public static final String WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_DELAY =
+        "alluxio.worker.block.commit.sync.group.max.delay";
+    public static final String WORKER_BLOCK_META_SNAPSHOT_ENABLED =
+        "alluxio.worker.block.meta.snapshot.enabled";
+    public static final String WORKER_BLOCK_META_SNAPSHOT_INTERVAL =
+        "alluxio.worker.block.meta.snapshot.interval";
     public static final String WORKER_CONTAINER_HOSTNAME =
         "alluxio.worker.container.hostname";
     public static final String WORKER_DATA_FOLDER = "alluxio.worker.data.folder";
@@ -7024,6 +7463,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.management.tier.promote.range";
     public static final String WORKER_MANAGEMENT_TIER_PROMOTE_QUOTA_PERCENT =
         "alluxio.worker.management.tier.promote.quota.percent";
+    public static final String WORKER_MANAGEMENT_TIER_HEAT_ENABLED =
+        "alluxio.worker.management.tier.heat.enabled";
+    public static final String WORKER_MANAGEMENT_TIER_HEAT_HALF_LIFE =
+        "alluxio.worker.management.tier.heat.half.life";
+    public static final String WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE =
+        "alluxio.worker.management.tier.heat.min.rate";
+    public static final String WORKER_MANAGEMENT_TIER_HEAT_SWAP_FACTOR =
+        "alluxio.worker.management.tier.heat.swap.factor";
+    public static final String WORKER_MANAGEMENT_TIER_HEAT_BANDWIDTH =
+        "alluxio.worker.management.tier.heat.bandwidth";
     public static final String WORKER_FREE_SPACE_TIMEOUT = "alluxio.worker.free.space.timeout";
     public static final String WORKER_HOSTNAME = "alluxio.worker.hostname";
     public static final String WORKER_KEYTAB_FILE = "alluxio.worker.keytab.file";
@@ -7040,6 +7489,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.block.reader.threads.max";
     public static final String WORKER_NETWORK_BLOCK_WRITER_THREADS_MAX =
         "alluxio.worker.network.block.writer.threads.max";
+    public static final String WORKER_NETWORK_FAIR_SHARE_ENABLED =
+        "alluxio.worker.network.fair.share.enabled";
+    public static final String WORKER_NETWORK_FAIR_SHARE_MAX_RUNNING =
+        "alluxio.worker.network.fair.share.max.running";
+    public static final String WORKER_NETWORK_FAIR_SHARE_WEIGHTS =
+        "alluxio.worker.network.fair.share.weights";
+    public static final String WORKER_NETWORK_FAIR_SHARE_BANDWIDTH =
+        "alluxio.worker.network.fair.share.bandwidth";
     public static final String WORKER_NETWORK_WRITER_BUFFER_SIZE_MESSAGES =
         "alluxio.worker.network.writer.buffer.size.messages";
     public static final String WORKER_NETWORK_FLOWCONTROL_WINDOW =
@@ -7066,6 +7523,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.netty.worker.threads";
     public static final String WORKER_NETWORK_READER_BUFFER_SIZE_BYTES =
         "alluxio.worker.network.reader.buffer.size";
+    public static final String WORKER_NETWORK_READER_MMAP_ENABLED =
+        "alluxio.worker.network.reader.mmap.enabled";
     public static final String WORKER_NETWORK_READER_BUFFER_POOLED =
         "alluxio.worker.network.reader.buffer.pooled";
     public static final String WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
@@ -7143,6 +7602,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.ufs.instream.cache.enabled";
     public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SIZE =
         "alluxio.worker.ufs.instream.cache.max.size";
+    public static final String WORKER_UFS_READ_DEDUP_BUFFER_SIZE =
+        "alluxio.worker.ufs.read.dedup.buffer.size";
+    public static final String WORKER_UFS_READ_DEDUP_ENABLED =
+        "alluxio.worker.ufs.read.dedup.enabled";
     public static final String WORKER_WHITELIST = "alluxio.worker.whitelist";
 
     //
@@ -7222,6 +7685,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.block.worker.client.pool.max";
     public static final String USER_BLOCK_WRITE_LOCATION_POLICY =
         "alluxio.user.block.write.location.policy.class";
+    public static final String USER_CLIENT_CACHE_ADMISSION_ENABLED =
+        "alluxio.user.client.cache.admission.enabled";
     public static final String USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED =
         "alluxio.user.client.cache.async.restore.enabled";
     public static final String USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED =
@@ -7262,8 +7727,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.dir";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
+    public static final String USER_CLIENT_CACHE_LOG_STORE_SEGMENT_SIZE =
+        "alluxio.user.client.cache.log.store.segment.size";
+    public static final String USER_CLIENT_CACHE_LOG_STORE_CHECKPOINT_INTERVAL =
+        "alluxio.user.client.cache.log.store.checkpoint.interval";
+    public static final String USER_CLIENT_CACHE_LOG_STORE_COMPACTION_GARBAGE_RATIO =
+        "alluxio.user.client.cache.log.store.compaction.garbage.ratio";
     public static final String USER_CLIENT_CACHE_IN_STREAM_BUFFER_SIZE =
         "alluxio.user.client.cache.instream_buffer_size";
+    public static final String USER_CLIENT_CACHE_READ_AHEAD_ENABLED =
+        "alluxio.user.client.cache.read.ahead.enabled";
+    public static final String USER_CLIENT_CACHE_READ_AHEAD_MAX_PAGES =
+        "alluxio.user.client.cache.read.ahead.max.pages";
+    public static final String USER_CLIENT_CACHE_READ_AHEAD_THREADS =
+        "alluxio.user.client.cache.read.ahead.threads";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
@@ -7272,8 +7749,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.size";
     public static final String USER_CLIENT_CACHE_STORE_OVERHEAD =
         "alluxio.user.client.cache.store.overhead";
+    public static final String USER_CLIENT_CACHE_STORE_MEMORY_OFFHEAP_ENABLED =
+        "alluxio.user.client.cache.store.memory.offheap.enabled";
+    public static final String USER_CLIENT_CACHE_STORE_MEMORY_SLAB_SIZE =
+        "alluxio.user.client.cache.store.memory.slab.size";
     public static final String USER_CLIENT_CACHE_STORE_TYPE =
         "alluxio.user.client.cache.store.type";
+    public static final String USER_CLIENT_CACHE_TIERED_ENABLED =
+        "alluxio.user.client.cache.tiered.enabled";
+    public static final String USER_CLIENT_CACHE_TIERED_MEMORY_SIZE =
+        "alluxio.user.client.cache.tiered.memory.size";
+    public static final String USER_CLIENT_CACHE_TIERED_PROMOTION_HITS =
+        "alluxio.user.client.cache.tiered.promotion.hits";
+    public static final String USER_CLIENT_CACHE_TRACE_FILE =
+        "alluxio.user.client.cache.trace.file";
     public static final String USER_CLIENT_CACHE_TIMEOUT_DURATION =
         "alluxio.user.client.cache.timeout.duration";
     public static final String USER_CLIENT_CACHE_TIMEOUT_THREADS =
@@ -7288,6 +7777,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.file.copyfromlocal.block.location.policy.class";
     public static final String USER_FILE_DELETE_UNCHECKED =
         "alluxio.user.file.delete.unchecked";
+    public static final String USER_FILE_MASTER_CLIENT_BATCH_ENABLED =
+        "alluxio.user.file.master.client.batch.enabled";
+    public static final String USER_FILE_MASTER_CLIENT_BATCH_SIZE_MAX =
+        "alluxio.user.file.master.client.batch.size.max";
     public static final String USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN =
         "alluxio.user.file.master.client.pool.size.min";
     public static final String USER_FILE_MASTER_CLIENT_POOL_SIZE_MAX =
@@ -7296,6 +7789,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.file.master.client.pool.gc.interval";
     public static final String USER_FILE_MASTER_CLIENT_POOL_GC_THRESHOLD_MS =
         "alluxio.user.file.master.client.pool.gc.threshold";
+    public static final String USER_FILE_LIST_STATUS_BATCH_SIZE =
+        "alluxio.user.file.list.status.batch.size";
     public static final String USER_FILE_METADATA_LOAD_TYPE =
         "alluxio.user.file.metadata.load.type";
     public static final String USER_FILE_METADATA_SYNC_INTERVAL =
@@ -7314,6 +7809,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILE_SEQUENTIAL_PREAD_THRESHOLD =
         "alluxio.user.file.sequential.pread.threshold";
     public static final String USER_FILE_UFS_TIER_ENABLED = "alluxio.user.file.ufs.tier.enabled";
+    public static final String USER_FILE_VECTORED_READ_MAX_MERGED_SIZE =
+        "alluxio.user.file.vectored.read.max.merged.size";
+    public static final String USER_FILE_VECTORED_READ_MIN_SEEK =
+        "alluxio.user.file.vectored.read.min.seek";
+    public static final String USER_FILE_VECTORED_READ_THREADS =
+        "alluxio.user.file.vectored.read.threads";
     public static final String USER_FILE_WAITCOMPLETED_POLL_MS =
         "alluxio.user.file.waitcompleted.poll";
     public static final String USER_FILE_CREATE_TTL =
@@ -7449,6 +7950,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_UPDATE_FILE_ACCESSTIME_DISABLED =
         "alluxio.user.update.file.accesstime.disabled";
     public static final String USER_SHORT_CIRCUIT_ENABLED = "alluxio.user.short.circuit.enabled";
+    public static final String USER_SHORT_CIRCUIT_MMAP_ENABLED =
+        "alluxio.user.short.circuit.mmap.enabled";
     public static final String USER_SHORT_CIRCUIT_PREFERRED =
         "alluxio.user.short.circuit.preferred";
     public static final String USER_WORKER_LIST_REFRESH_INTERVAL =
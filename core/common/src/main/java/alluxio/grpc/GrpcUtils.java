@@ -14,6 +14,7 @@ package alluxio.grpc;
 import static alluxio.util.StreamUtils.map;
 
 import alluxio.Constants;
+import alluxio.exception.status.AlluxioStatusException;
 import alluxio.file.options.DescendantType;
 import alluxio.proto.journal.File;
 import alluxio.security.authorization.AccessControlList;
@@ -21,6 +22,7 @@ import alluxio.security.authorization.AclAction;
 import alluxio.security.authorization.AclEntry;
 import alluxio.security.authorization.AclEntryType;
 import alluxio.security.authorization.DefaultAccessControlList;
+import alluxio.wire.BatchResult;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.CommandType;
@@ -39,12 +41,14 @@ import alluxio.wire.WorkerNetAddress;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
 import com.google.protobuf.ByteString;
+import io.grpc.Status;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -224,6 +228,22 @@ public final class GrpcUtils {
     }
   }
 
+  /**
+   * Converts the proto status of an operation of a batch to a wire type.
+   *
+   * @param status the proto status of the operation
+   * @param value the value of the operation, if it succeeded
+   * @param <T> the type of the value
+   * @return the wire representation of the result of the operation
+   */
+  public static <T> BatchResult<T> fromProto(BatchPStatus status, @Nullable T value) {
+    if (status.getCode() == Status.Code.OK.value()) {
+      return BatchResult.success(value);
+    }
+    return BatchResult.failure(AlluxioStatusException.from(
+        Status.fromCodeValue(status.getCode()).withDescription(status.getMessage())));
+  }
+
   /**
    * Converts a proto type to a wire type.
    *
@@ -642,6 +662,22 @@ public final class GrpcUtils {
         .addAllBlockIds(persistFile.getBlockIds()).build();
   }
 
+  /**
+   * @param result the result of an operation of a batch
+   * @return the proto status of the operation
+   */
+  public static BatchPStatus toProto(BatchResult<?> result) {
+    BatchPStatus.Builder status = BatchPStatus.newBuilder();
+    AlluxioStatusException error = result.getError();
+    if (error != null) {
+      status.setCode(error.getStatusCode().value());
+      if (error.getMessage() != null) {
+        status.setMessage(error.getMessage());
+      }
+    }
+    return status.build();
+  }
+
   /**
    * @param fsCommand wire type
    * @return proto representation of given wire type
@@ -1657,6 +1657,57 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_BYTES_READ_UFS_DEDUPLICATED =
+      new Builder("Worker.BytesReadUfsDeduplicated")
+          .setDescription("Total number of bytes of UFS blocks served to readers by this worker "
+              + "from a fetch of the block shared with other readers, instead of being read "
+              + "from the UFS again")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_READS_DEDUPLICATED =
+      new Builder("Worker.UfsReadsDeduplicated")
+          .setDescription("Total number of UFS block reads by this worker that attached to a "
+              + "fetch of the block by another reader, and of requests to cache a block from "
+              + "UFS skipped as the block was already being cached by a reader")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_STARTUP_META_LOAD_TIME_MS =
+      new Builder("Worker.StartupMetaLoadTimeMs")
+          .setDescription("The time it took to load the metadata of the blocks in the storage "
+              + "directories when this worker started")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_STARTUP_BLOCK_ANNOTATION_TIME_MS =
+      new Builder("Worker.StartupBlockAnnotationTimeMs")
+          .setDescription("The time it took to order the blocks in the storage directories for "
+              + "eviction and tier management when this worker started")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_STARTUP_REGISTER_TIME_MS =
+      new Builder("Worker.StartupRegisterTimeMs")
+          .setDescription("The time it took this worker to register with the master when it "
+              + "started")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_STORAGE_DIRS_LOADED_FROM_SNAPSHOT =
+      new Builder("Worker.StorageDirsLoadedFromSnapshot")
+          .setDescription("Total number of storage directories whose blocks were loaded from a "
+              + "snapshot when this worker started, rather than by listing the directory")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_STORAGE_DIRS_SCANNED =
+      new Builder("Worker.StorageDirsScanned")
+          .setDescription("Total number of storage directories whose blocks were loaded by "
+              + "listing the directory when this worker started")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BYTES_WRITTEN_DIRECT =
       new Builder("Worker.BytesWrittenDirect")
           .setDescription("Total number of bytes written to Alluxio storage managed by this worker "
@@ -1898,6 +1949,59 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_BLOCK_COMMIT_SYNC_TIME =
+      new Builder("Worker.BlockCommitSyncTime")
+          .setDescription("The time block commits wait for their blocks to be synced")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_COMMIT_SYNC_BATCHES =
+      new Builder("Worker.BlockCommitSyncBatches")
+          .setDescription("The number of batches of block commits synced together")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_READ_TOP_TIER_RATIO =
+      new Builder("Worker.BlockReadTopTierRatio")
+          .setDescription("The fraction of the bytes read from the blocks of this worker which "
+              + "were read from the top tier")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCKS_HEAT_MOVED =
+      new Builder("Worker.BlocksHeatMoved")
+          .setDescription("The number of blocks moved between tiers by their read rates")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_DEPTH =
+      new Builder("Worker.BlockReaderFairShareQueueDepth")
+          .setDescription("The number of block read tasks of a user waiting for a thread "
+              + "when the threads are shared fairly between users")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_TIME =
+      new Builder("Worker.BlockReaderFairShareQueueTime")
+          .setDescription("The time block read tasks of a user wait for a thread "
+              + "when the threads are shared fairly between users")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_WRITER_FAIR_SHARE_QUEUE_DEPTH =
+      new Builder("Worker.BlockWriterFairShareQueueDepth")
+          .setDescription("The number of block write tasks of a user waiting for a thread "
+              + "when the threads are shared fairly between users")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_WRITER_FAIR_SHARE_QUEUE_TIME =
+      new Builder("Worker.BlockWriterFairShareQueueTime")
+          .setDescription("The time block write tasks of a user wait for a thread "
+              + "when the threads are shared fairly between users")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_RPC_QUEUE_LENGTH =
       new Builder("Worker.RpcQueueLength")
           .setDescription("Length of the worker rpc queue. "
@@ -1989,6 +2093,40 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_READ_AHEAD_PAGES =
+      new Builder("Client.CacheReadAheadPages")
+          .setDescription("Total number of pages loaded into the client cache ahead of the "
+              + "position of a sequential stream.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_READ_AHEAD_HITS =
+      new Builder("Client.CacheReadAheadHits")
+          .setDescription("Total number of pages loaded ahead which were later read by the "
+              + "stream.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_READ_AHEAD_WASTED =
+      new Builder("Client.CacheReadAheadWasted")
+          .setDescription("Total number of pages loaded ahead which were never read by the "
+              + "stream, because it sought elsewhere or was closed.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_READ_AHEAD_REJECTED =
+      new Builder("Client.CacheReadAheadRejected")
+          .setDescription("Total number of pages not loaded ahead because the read-ahead "
+              + "executor was saturated.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_READ_AHEAD_STALL_TIMER =
+      new Builder("Client.CacheReadAheadStallTimer")
+          .setDescription("Time streams waited for pages still being loaded ahead.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_BYTES_EVICTED =
       new Builder("Client.CacheBytesEvicted")
           .setDescription("Total number of bytes evicted from the client cache.")
@@ -2007,6 +2145,55 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_DEMOTED =
+      new Builder("Client.CachePagesDemoted")
+          .setDescription("Total number of pages moved from the memory tier to the lower tier "
+              + "of the client cache on eviction.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_PROMOTED =
+      new Builder("Client.CachePagesPromoted")
+          .setDescription("Total number of pages moved from the lower tier to the memory tier "
+              + "of the client cache after repeated hits.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_HITS =
+      new Builder("Client.CacheMemoryTierHits")
+          .setDescription("Total number of page reads served by the memory tier of the client "
+              + "cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_LOWER_TIER_HITS =
+      new Builder("Client.CacheLowerTierHits")
+          .setDescription("Total number of page reads served by the lower tier of the client "
+              + "cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_PAGES =
+      new Builder("Client.CacheMemoryTierPages")
+          .setDescription("Number of pages in the memory tier of the client cache. Pages of the "
+              + "memory tier are not included in Client.CachePages.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_SPACE_AVAILABLE =
+      new Builder("Client.CacheMemoryTierSpaceAvailable")
+          .setDescription("Amount of bytes available in the memory tier of the client cache. "
+              + "The memory tier is not included in Client.CacheSpaceAvailable.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_SPACE_USED =
+      new Builder("Client.CacheMemoryTierSpaceUsed")
+          .setDescription("Amount of bytes used by the memory tier of the client cache. "
+              + "The memory tier is not included in Client.CacheSpaceUsed.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_BYTES_WRITTEN_CACHE =
       new Builder("Client.CacheBytesWrittenCache")
           .setDescription("Total number of bytes written to the client cache.")
@@ -2151,6 +2338,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PUT_NOT_ADMITTED =
+      new Builder("Client.CachePutNotAdmitted")
+          .setDescription("Number of pages not added to the full client cache because they were "
+              + "accessed less often than the page they would evict.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PUT_EVICTION_ERRORS =
       new Builder("Client.CachePutEvictionErrors")
           .setDescription("Number of failures when putting cached data in the client cache due to"
@@ -37,14 +37,18 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -978,100 +982,163 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   protected UfsStatus[] listInternal(String path, ListOptions options) throws IOException {
     ObjectListingChunk chunk = getObjectListingChunkForPath(path, options.isRecursive());
     if (chunk == null) {
-      String keyAsFolder = convertToFolderName(stripPrefixIfPresent(path));
-      if (getObjectStatus(keyAsFolder) != null) {
-        // Path is an empty directory
-        return new UfsStatus[0];
-      }
-      return null;
+      return isEmptyDirectory(path) ? new UfsStatus[0] : null;
     }
-    String keyPrefix = PathUtils.normalizePath(stripPrefixIfPresent(path), PATH_SEPARATOR);
-    keyPrefix = keyPrefix.equals(PATH_SEPARATOR) ? "" : keyPrefix;
+    String keyPrefix = getListingKeyPrefix(path);
     Map<String, UfsStatus> children = new HashMap<>();
     while (chunk != null) {
-      // Directories in UFS can be possibly encoded in two different ways:
-      // (1) as file objects with FOLDER_SUFFIX for directories created through Alluxio or
-      // (2) as "common prefixes" of other files objects for directories not created through
-      // Alluxio
-      //
-      // Case (1) (and file objects) is accounted for by iterating over chunk.getObjects() while
-      // case (2) is accounted for by iterating over chunk.getCommonPrefixes().
-      //
-      // An example, with prefix="ufs" and delimiter="/" and LISTING_LENGTH=5
-      // - objects.key = ufs/, child =
-      // - objects.key = ufs/dir1<FOLDER_SUFFIX>, child = dir1
-      // - objects.key = ufs/file, child = file
-      // - commonPrefix = ufs/dir1/, child = dir1
-      // - commonPrefix = ufs/dir2/, child = dir2
-
-      // Handle case (1)
-      for (ObjectStatus status : chunk.getObjectStatuses()) {
-        // Remove parent portion of the key
-        String child = getChildName(status.getName(), keyPrefix);
-        if (child.isEmpty() || child.equals(getFolderSuffix())) {
-          // Removes results equal to the path
-          continue;
-        }
-        ObjectPermissions permissions = getPermissions();
-        if (child.endsWith(getFolderSuffix())) {
-          // Child is a directory
-          child = CommonUtils.stripSuffixIfPresent(child, getFolderSuffix());
-          children.put(child, new UfsDirectoryStatus(child, permissions.getOwner(),
-              permissions.getGroup(), permissions.getMode()));
-        } else {
-          // Child is a file
-          children.put(child,
-              new UfsFileStatus(child, status.getContentHash(), status.getContentLength(),
-                  status.getLastModifiedTimeMs(), permissions.getOwner(), permissions.getGroup(),
-                  permissions.getMode(),
-                  mUfsConf.getBytes(PropertyKey.USER_BLOCK_SIZE_BYTES_DEFAULT)));
+      addChildren(chunk, keyPrefix, options.isRecursive(), children);
+      chunk = chunk.getNextChunk();
+    }
+    UfsStatus[] ret = new UfsStatus[children.size()];
+    int pos = 0;
+    for (UfsStatus status : children.values()) {
+      ret[pos++] = status;
+    }
+    return ret;
+  }
+
+  @Override
+  @Nullable
+  public Iterator<UfsStatus> listStatusIterator(String path) throws IOException {
+    ObjectListingChunk firstChunk = getObjectListingChunkForPath(path, false);
+    if (firstChunk == null) {
+      return isEmptyDirectory(path) ? Collections.emptyIterator() : null;
+    }
+    String keyPrefix = getListingKeyPrefix(path);
+    return new Iterator<UfsStatus>() {
+      private ObjectListingChunk mChunk = firstChunk;
+      private Iterator<UfsStatus> mChunkStatuses = Collections.emptyIterator();
+
+      @Override
+      public boolean hasNext() {
+        // a chunk may have no children left once the path itself was removed from it
+        while (!mChunkStatuses.hasNext() && mChunk != null) {
+          Map<String, UfsStatus> children = new LinkedHashMap<>();
+          try {
+            addChildren(mChunk, keyPrefix, false, children);
+            mChunkStatuses = children.values().iterator();
+            mChunk = mChunk.getNextChunk();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
         }
+        return mChunkStatuses.hasNext();
       }
-      // Handle case (2)
-      String[] commonPrefixes;
-      if (options.isRecursive()) {
-        // In case of a recursive listing infer pseudo-directories as the commonPrefixes returned
-        // from the object store is empty for an empty delimiter.
-        HashSet<String> prefixes = new HashSet<>();
-        for (ObjectStatus objectStatus : chunk.getObjectStatuses()) {
-          String objectName = objectStatus.getName();
-          while (objectName.startsWith(keyPrefix) && objectName.contains(PATH_SEPARATOR)) {
-            objectName = objectName.substring(0, objectName.lastIndexOf(PATH_SEPARATOR));
-            if (!objectName.isEmpty()) {
-              // include the separator with the prefix, to conform to what object stores return
-              // as common prefixes.
-              prefixes.add(PathUtils.normalizePath(objectName, PATH_SEPARATOR));
-            }
-          }
+
+      @Override
+      public UfsStatus next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
         }
-        commonPrefixes = prefixes.toArray(new String[prefixes.size()]);
+        return mChunkStatuses.next();
+      }
+    };
+  }
+
+  /**
+   * @param path the path of a directory which has no object under it
+   * @return whether the directory exists as an empty directory
+   */
+  private boolean isEmptyDirectory(String path) throws IOException {
+    String keyAsFolder = convertToFolderName(stripPrefixIfPresent(path));
+    return getObjectStatus(keyAsFolder) != null;
+  }
+
+  /**
+   * @param path the path to list
+   * @return the prefix of the keys of the children of the path
+   */
+  private String getListingKeyPrefix(String path) {
+    String keyPrefix = PathUtils.normalizePath(stripPrefixIfPresent(path), PATH_SEPARATOR);
+    return keyPrefix.equals(PATH_SEPARATOR) ? "" : keyPrefix;
+  }
+
+  /**
+   * Adds the children of a listed path found in a chunk of its listing.
+   *
+   * @param chunk the chunk of the listing
+   * @param keyPrefix the prefix of the keys of the children
+   * @param recursive whether the listing is recursive
+   * @param children the children found so far, keyed by name
+   */
+  private void addChildren(ObjectListingChunk chunk, String keyPrefix, boolean recursive,
+      Map<String, UfsStatus> children) throws IOException {
+    // Directories in UFS can be possibly encoded in two different ways:
+    // (1) as file objects with FOLDER_SUFFIX for directories created through Alluxio or
+    // (2) as "common prefixes" of other files objects for directories not created through
+    // Alluxio
+    //
+    // Case (1) (and file objects) is accounted for by iterating over chunk.getObjects() while
+    // case (2) is accounted for by iterating over chunk.getCommonPrefixes().
+    //
+    // An example, with prefix="ufs" and delimiter="/" and LISTING_LENGTH=5
+    // - objects.key = ufs/, child =
+    // - objects.key = ufs/dir1<FOLDER_SUFFIX>, child = dir1
+    // - objects.key = ufs/file, child = file
+    // - commonPrefix = ufs/dir1/, child = dir1
+    // - commonPrefix = ufs/dir2/, child = dir2
+
+    // Handle case (1)
+    for (ObjectStatus status : chunk.getObjectStatuses()) {
+      // Remove parent portion of the key
+      String child = getChildName(status.getName(), keyPrefix);
+      if (child.isEmpty() || child.equals(getFolderSuffix())) {
+        // Removes results equal to the path
+        continue;
+      }
+      ObjectPermissions permissions = getPermissions();
+      if (child.endsWith(getFolderSuffix())) {
+        // Child is a directory
+        child = CommonUtils.stripSuffixIfPresent(child, getFolderSuffix());
+        children.put(child, new UfsDirectoryStatus(child, permissions.getOwner(),
+            permissions.getGroup(), permissions.getMode()));
       } else {
-        commonPrefixes = chunk.getCommonPrefixes();
+        // Child is a file
+        children.put(child,
+            new UfsFileStatus(child, status.getContentHash(), status.getContentLength(),
+                status.getLastModifiedTimeMs(), permissions.getOwner(), permissions.getGroup(),
+                permissions.getMode(),
+                mUfsConf.getBytes(PropertyKey.USER_BLOCK_SIZE_BYTES_DEFAULT)));
       }
-      for (String commonPrefix : commonPrefixes) {
-        if (commonPrefix.startsWith(keyPrefix)) {
-          // Remove parent portion of the key
-          String child = getChildName(commonPrefix, keyPrefix);
-          // Remove any portion after the last path delimiter
-          int childNameIndex = child.lastIndexOf(PATH_SEPARATOR);
-          child = childNameIndex != -1 ? child.substring(0, childNameIndex) : child;
-          if (!child.isEmpty() && !children.containsKey(child)) {
-            // If both a file and a directory existed with the same name, the path will be
-            // treated as a directory
-            ObjectPermissions permissions = getPermissions();
-            children.put(child, new UfsDirectoryStatus(child, permissions.getOwner(),
-                permissions.getGroup(), permissions.getMode()));
+    }
+    // Handle case (2)
+    String[] commonPrefixes;
+    if (recursive) {
+      // In case of a recursive listing infer pseudo-directories as the commonPrefixes returned
+      // from the object store is empty for an empty delimiter.
+      HashSet<String> prefixes = new HashSet<>();
+      for (ObjectStatus objectStatus : chunk.getObjectStatuses()) {
+        String objectName = objectStatus.getName();
+        while (objectName.startsWith(keyPrefix) && objectName.contains(PATH_SEPARATOR)) {
+          objectName = objectName.substring(0, objectName.lastIndexOf(PATH_SEPARATOR));
+          if (!objectName.isEmpty()) {
+            // include the separator with the prefix, to conform to what object stores return
+            // as common prefixes.
+            prefixes.add(PathUtils.normalizePath(objectName, PATH_SEPARATOR));
           }
         }
       }
-      chunk = chunk.getNextChunk();
+      commonPrefixes = prefixes.toArray(new String[prefixes.size()]);
+    } else {
+      commonPrefixes = chunk.getCommonPrefixes();
     }
-    UfsStatus[] ret = new UfsStatus[children.size()];
-    int pos = 0;
-    for (UfsStatus status : children.values()) {
-      ret[pos++] = status;
+    for (String commonPrefix : commonPrefixes) {
+      if (commonPrefix.startsWith(keyPrefix)) {
+        // Remove parent portion of the key
+        String child = getChildName(commonPrefix, keyPrefix);
+        // Remove any portion after the last path delimiter
+        int childNameIndex = child.lastIndexOf(PATH_SEPARATOR);
+        child = childNameIndex != -1 ? child.substring(0, childNameIndex) : child;
+        if (!child.isEmpty() && !children.containsKey(child)) {
+          // If both a file and a directory existed with the same name, the path will be
+          // treated as a directory
+          ObjectPermissions permissions = getPermissions();
+          children.put(child, new UfsDirectoryStatus(child, permissions.getOwner(),
+              permissions.getGroup(), permissions.getMode()));
+        }
+      }
     }
-    return ret;
   }
 
   /**
@@ -36,7 +36,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -583,6 +586,28 @@ public interface UnderFileSystem extends Closeable {
   @Nullable
   UfsStatus[] listStatus(String path, ListOptions options) throws IOException;
 
+  /**
+   * Returns an iterator over the statuses of the files and directories in the directory denoted by
+   * this abstract pathname. Under storages which list a directory in chunks list the next chunk
+   * only once the previous one was consumed, so that a caller consuming the iterator incrementally
+   * does not hold the whole listing in memory. The iterator throws an
+   * {@link UncheckedIOException} if listing a chunk fails.
+   *
+   * <p>
+   * There is no guarantee that the statuses will appear in any specific order, and a status may be
+   * returned more than once, e.g. for a directory of an object store which is both an object and a
+   * common prefix.
+   *
+   * @param path the abstract pathname to list
+   * @return an iterator over the statuses of the files and directories in the directory denoted by
+   *         this abstract pathname, or {@code null} if it does not denote a directory
+   */
+  @Nullable
+  default Iterator<UfsStatus> listStatusIterator(String path) throws IOException {
+    UfsStatus[] statuses = listStatus(path);
+    return statuses == null ? null : Arrays.asList(statuses).iterator();
+  }
+
   /**
    * Creates the directory named by this abstract pathname. If the folder already exists, the method
    * returns false. The method creates any necessary but nonexistent parent directories.
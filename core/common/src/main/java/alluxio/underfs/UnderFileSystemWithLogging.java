@@ -35,12 +35,14 @@ import alluxio.util.SecurityUtils;
 
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -790,6 +792,37 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     });
   }
 
+  @Override
+  @Nullable
+  public Iterator<UfsStatus> listStatusIterator(final String path) throws IOException {
+    Iterator<UfsStatus> statuses = call(new UfsCallable<Iterator<UfsStatus>>() {
+      @Override
+      public Iterator<UfsStatus> call() throws IOException {
+        return mUnderFileSystem.listStatusIterator(path);
+      }
+
+      @Override
+      public String methodName() {
+        return "ListStatusIterator";
+      }
+
+      @Override
+      public String toString() {
+        return String.format("path=%s", path);
+      }
+    });
+    if (statuses == null) {
+      return null;
+    }
+    return Iterators.filter(statuses, status -> {
+      if (status.getName().contains("?")) {
+        LOG.warn("Ignoring {} while listing {} since it contains '?'", status.getName(), path);
+        return false;
+      }
+      return true;
+    });
+  }
+
   @Nullable
   private UfsStatus[] filterInvalidPaths(UfsStatus[] statuses, String listedPath) {
     // This is a temporary fix to prevent us from choking on paths containing '?'.
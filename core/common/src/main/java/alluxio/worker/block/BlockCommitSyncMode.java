@@ -0,0 +1,24 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+/**
+ * How the worker makes committed blocks durable.
+ */
+public enum BlockCommitSyncMode {
+  /** Blocks are not synced, they are durable once the operating system writes them back. */
+  NONE,
+  /** Each commit syncs its block file and the directory of the block. */
+  EACH,
+  /** Commits on the same device are queued and synced together by a flusher of the device. */
+  GROUP
+}
@@ -33,4 +33,15 @@ public interface BlockClientListener {
    * @param location the block location
    */
   void clientClosed(BlockClient blockClient, BlockStoreLocation location);
+
+  /**
+   * Called when a block reader has read bytes of a block.
+   *
+   * @param blockClient the block reader
+   * @param location the block location
+   * @param blockId the id of the block
+   * @param bytes the number of bytes read
+   */
+  default void clientRead(BlockClient blockClient, BlockStoreLocation location, long blockId,
+      long bytes) {}
 }
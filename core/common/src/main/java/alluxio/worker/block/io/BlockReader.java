@@ -16,6 +16,7 @@ import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import javax.annotation.Nullable;
 
 /**
  * An abstract reader class to access the data of a block stored in managed storage.
@@ -40,6 +41,21 @@ public abstract class BlockReader extends BlockClient {
    */
   public abstract ByteBuffer read(long offset, long length) throws IOException;
 
+  /**
+   * Reads data from the block without copying it, if the block is stored in a file which can be
+   * memory mapped. The returned buffer shares the memory of the file, so it must only be used for
+   * blocks which are no longer written. The buffer stays valid after the reader is closed. A read
+   * past the end of the block is truncated.
+   *
+   * @param offset the offset from starting of the block file in bytes
+   * @param length the length of data to read in bytes
+   * @return a read-only buffer of the data, or null if this reader does not support it
+   */
+  @Nullable
+  public ByteBuffer readMapped(long offset, long length) throws IOException {
+    return null;
+  }
+
   /**
    * Gets the length of the block in bytes.
    *
@@ -18,6 +18,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import javax.annotation.Nullable;
 
 /**
  * An delegating reader class.
@@ -49,6 +50,12 @@ public class DelegatingBlockReader extends BlockReader {
     return mBlockReader.read(offset, length);
   }
 
+  @Override
+  @Nullable
+  public ByteBuffer readMapped(long offset, long length) throws IOException {
+    return mBlockReader.readMapped(offset, length);
+  }
+
   @Override
   public long getLength() {
     return mBlockReader.getLength();
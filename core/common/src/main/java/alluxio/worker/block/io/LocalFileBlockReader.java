@@ -22,8 +22,12 @@ import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -39,8 +43,12 @@ public class LocalFileBlockReader extends BlockReader {
   private final FileChannel mLocalFileChannel;
   private final Closer mCloser = Closer.create();
   private final long mFileSize;
-  private boolean mClosed;
+  private volatile boolean mClosed;
   private int mUsageCount = 0;
+  /** Mapping of the whole file, created on the first mapped read of a file below 2GB. */
+  @GuardedBy("this")
+  @Nullable
+  private MappedByteBuffer mMappedFile;
 
   /**
    * Constructs a Block reader given the file path of the block.
@@ -100,6 +108,39 @@ public class LocalFileBlockReader extends BlockReader {
     return mLocalFileChannel.map(FileChannel.MapMode.READ_ONLY, offset, length);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The file is mapped once and each read returns a slice of the mapping, so that reads neither
+   * copy data nor make a system call. Files too large for a single mapping are mapped per read.
+   * The mapping is not unmapped on {@link #close()}, since the returned buffers may still be
+   * queued for sending after the reader is closed. It is released once they are all collected.
+   */
+  @Override
+  public ByteBuffer readMapped(long offset, long length) throws IOException {
+    Preconditions.checkArgument(offset >= 0 && length >= 0,
+        "offset=%s, length=%s must be non-negative", offset, length);
+    long end = Math.min(offset + length, mFileSize);
+    long readLength = Math.max(0, end - offset);
+    if (mFileSize > Integer.MAX_VALUE) {
+      return mLocalFileChannel.map(FileChannel.MapMode.READ_ONLY, offset, readLength);
+    }
+    ByteBuffer buffer = getMappedFile().duplicate();
+    buffer.position((int) Math.min(offset, mFileSize));
+    buffer.limit((int) (buffer.position() + readLength));
+    return buffer.slice();
+  }
+
+  private synchronized MappedByteBuffer getMappedFile() throws IOException {
+    if (mClosed) {
+      throw new ClosedChannelException();
+    }
+    if (mMappedFile == null) {
+      mMappedFile = mLocalFileChannel.map(FileChannel.MapMode.READ_ONLY, 0, mFileSize);
+    }
+    return mMappedFile;
+  }
+
   @Override
   public int transferTo(ByteBuf buf) throws IOException {
     return buf.writeBytes(mLocalFileChannel, buf.writableBytes());
@@ -115,7 +156,10 @@ public class LocalFileBlockReader extends BlockReader {
     try {
       mCloser.close();
     } finally {
-      mClosed = true;
+      synchronized (this) {
+        mClosed = true;
+        mMappedFile = null;
+      }
       BLOCKS_READ_LOCAL.inc();
     }
   }
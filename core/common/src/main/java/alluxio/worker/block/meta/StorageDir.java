@@ -17,6 +17,7 @@ import alluxio.worker.block.BlockStoreLocation;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
@@ -183,4 +184,13 @@ public interface StorageDir {
    * @return amount of reserved bytes for this dir
    */
   long getReservedBytes();
+
+  /**
+   * Gets the lock guarding the metadata of this dir. Every method of the dir locks it as needed,
+   * callers only lock it to update the metadata of the dir with several calls atomically. To avoid
+   * deadlocks, the locks of several dirs are locked in the order of their tiers and dir indexes.
+   *
+   * @return the lock of the metadata of this dir
+   */
+  ReadWriteLock getLock();
 }
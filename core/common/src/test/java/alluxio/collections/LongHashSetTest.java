@@ -0,0 +1,143 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link LongHashSet}.
+ */
+public final class LongHashSetTest {
+  @Test
+  public void addContainsRemove() {
+    LongHashSet set = new LongHashSet();
+    for (long value : new long[] {0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+      assertFalse(set.contains(value));
+      assertTrue(set.add(value));
+      assertFalse(set.add(value));
+      assertTrue(set.contains(value));
+    }
+    assertEquals(5, set.size());
+    assertTrue(set.remove(0L));
+    assertFalse(set.remove(0L));
+    assertTrue(set.remove(Long.MIN_VALUE));
+    assertFalse(set.contains(Long.MIN_VALUE));
+    assertEquals(ImmutableSet.of(1L, -1L, Long.MAX_VALUE), set);
+  }
+
+  /**
+   * Tests random operations against a {@link HashSet}, with values colliding in a small table.
+   */
+  @Test
+  public void randomOperations() {
+    Random random = new Random(42);
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<>();
+    for (int i = 0; i < 100_000; i++) {
+      long value = random.nextInt(2_000);
+      switch (random.nextInt(3)) {
+        case 0:
+          assertEquals(expected.add(value), set.add(value));
+          break;
+        case 1:
+          assertEquals(expected.remove(value), set.remove(value));
+          break;
+        default:
+          assertEquals(expected.contains(value), set.contains(value));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    assertEquals(expected, set);
+    assertEquals(expected, new HashSet<>(set));
+  }
+
+  /**
+   * Tests that polling in small batches removes every value exactly once, including the values
+   * added while the set is drained.
+   */
+  @Test
+  public void poll() {
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<>();
+    for (long value = 0; value < 10_000; value++) {
+      set.add(value);
+      expected.add(value);
+    }
+    Set<Long> polled = new HashSet<>();
+    long[] batch = new long[7];
+    long next = 10_000;
+    int count;
+    while ((count = set.poll(batch, 0, batch.length)) > 0) {
+      for (int i = 0; i < count; i++) {
+        assertTrue(polled.add(batch[i]));
+      }
+      if (next < 10_100) {
+        set.add(next);
+        expected.add(next++);
+      }
+      assertEquals(expected.size() - polled.size(), set.size());
+    }
+    assertEquals(expected, polled);
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  public void iterate() {
+    LongHashSet set = new LongHashSet(Arrays.asList(0L, 5L, 100L, 1L << 40));
+    Set<Long> iterated = new HashSet<>();
+    for (PrimitiveIterator.OfLong it = set.iterator(); it.hasNext(); ) {
+      iterated.add(it.nextLong());
+    }
+    assertEquals(ImmutableSet.of(0L, 5L, 100L, 1L << 40), iterated);
+    Set<Long> visited = new HashSet<>();
+    set.forEachLong(visited::add);
+    assertEquals(iterated, visited);
+    long[] values = set.toLongArray();
+    Arrays.sort(values);
+    assertEquals(Arrays.toString(new long[] {0L, 5L, 100L, 1L << 40}), Arrays.toString(values));
+  }
+
+  @Test
+  public void copyAndAddAll() {
+    LongHashSet set = new LongHashSet(Arrays.asList(0L, 1L, 2L));
+    LongHashSet copy = new LongHashSet(set);
+    copy.add(3L);
+    assertEquals(3, set.size());
+    assertFalse(set.contains(3L));
+    assertTrue(set.addAll(copy));
+    assertFalse(set.addAll(copy));
+    assertEquals(copy, set);
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(0L));
+  }
+
+  @Test
+  public void removeAndRetainAll() {
+    LongHashSet set = new LongHashSet(Arrays.asList(0L, 1L, 2L, 3L));
+    assertTrue(set.removeAll(Arrays.asList(1L, 4L)));
+    assertEquals(ImmutableSet.of(0L, 2L, 3L), set);
+    assertTrue(set.retainAll(ImmutableSet.of(0L, 3L)));
+    assertEquals(ImmutableSet.of(0L, 3L), set);
+  }
+}
@@ -102,6 +102,26 @@ public class LocalFileBlockReaderTest {
     assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
   }
 
+  /**
+   * Test for the {@link LocalFileBlockReader#readMapped(long, long)} method.
+   */
+  @Test
+  public void readMapped() throws Exception {
+    ByteBuffer buffer = mReader.readMapped(TEST_BLOCK_SIZE / 4, TEST_BLOCK_SIZE / 4);
+    Assert.assertEquals(TEST_BLOCK_SIZE / 4, buffer.remaining());
+    assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 4,
+        (int) TEST_BLOCK_SIZE / 4, buffer));
+    assertTrue(buffer.isReadOnly());
+
+    // Reads past the end of the block are truncated.
+    buffer = mReader.readMapped(TEST_BLOCK_SIZE - 10, 100);
+    Assert.assertEquals(10, buffer.remaining());
+    Assert.assertEquals(0, mReader.readMapped(TEST_BLOCK_SIZE, 100).remaining());
+
+    mReader.close();
+    assertThrows(IOException.class, () -> mReader.readMapped(0, TEST_BLOCK_SIZE));
+  }
+
   /**
    * Tests that a {@link FailedPreconditionException} is thrown when trying to read from a reader
    * after closing it.
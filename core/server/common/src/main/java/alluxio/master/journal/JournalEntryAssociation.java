@@ -44,7 +44,8 @@ public final class JournalEntryAssociation {
         || entry.hasUpdateUfsMode()
         || entry.hasUpdateInode()
         || entry.hasUpdateInodeDirectory()
-        || entry.hasUpdateInodeFile()) {
+        || entry.hasUpdateInodeFile()
+        || entry.hasUpdateUfsSyncPath()) {
       return Constants.FILE_SYSTEM_MASTER_NAME;
     }
     if (entry.hasBlockContainerIdGenerator()
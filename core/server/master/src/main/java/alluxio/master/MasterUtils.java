@@ -19,6 +19,7 @@ import alluxio.master.metastore.BlockStore;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.MetastoreType;
 import alluxio.master.metastore.caching.CachingInodeStore;
+import alluxio.master.metastore.heap.CompactBlockStore;
 import alluxio.master.metastore.heap.HeapBlockStore;
 import alluxio.master.metastore.heap.HeapInodeStore;
 import alluxio.master.metastore.rocks.RocksBlockStore;
@@ -67,6 +68,9 @@ public final class MasterUtils {
         ServerConfiguration.getEnum(PropertyKey.MASTER_METASTORE, MetastoreType.class);
     switch (type) {
       case HEAP:
+        if (ServerConfiguration.getBoolean(PropertyKey.MASTER_METASTORE_BLOCK_COMPACT_ENABLED)) {
+          return CompactBlockStore::new;
+        }
         return HeapBlockStore::new;
       case ROCKS:
         return () -> new RocksBlockStore(baseDir);
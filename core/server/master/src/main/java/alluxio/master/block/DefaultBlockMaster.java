@@ -22,6 +22,7 @@ import alluxio.clock.SystemClock;
 import alluxio.collections.ConcurrentHashSet;
 import alluxio.collections.IndexDefinition;
 import alluxio.collections.IndexedSet;
+import alluxio.collections.LongHashSet;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockInfoException;
@@ -102,6 +103,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -1042,9 +1044,11 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
 
     // Gather all blocks on this worker.
     int totalSize = currentBlocksOnLocation.values().stream().mapToInt(List::size).sum();
-    HashSet<Long> blocks = new HashSet<>(totalSize);
+    LongHashSet blocks = new LongHashSet(totalSize);
     for (List<Long> blockIds : currentBlocksOnLocation.values()) {
-      blocks.addAll(blockIds);
+      for (long blockId : blockIds) {
+        blocks.add(blockId);
+      }
     }
 
     // Lock all the locks
@@ -1053,7 +1057,7 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
         WorkerMetaLockSection.USAGE,
         WorkerMetaLockSection.BLOCKS), false)) {
       // Detect any lost blocks on this worker.
-      Set<Long> removedBlocks = worker.register(MASTER_STORAGE_TIER_ASSOC, storageTiers,
+      LongHashSet removedBlocks = worker.register(MASTER_STORAGE_TIER_ASSOC, storageTiers,
           totalBytesOnTiers, usedBytesOnTiers, blocks);
       processWorkerRemovedBlocks(worker, removedBlocks, false);
       processWorkerAddedBlocks(worker, currentBlocksOnLocation);
@@ -1169,7 +1173,7 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
         "No workerInfo metadata found in the WorkerRegisterContext!");
 
     // Detect any lost blocks on this workerInfo.
-    Set<Long> removedBlocks;
+    LongHashSet removedBlocks;
     if (workerInfo.mIsRegistered) {
       // This is a re-register of an existing workerInfo. Assume the new block ownership data is
       // more up-to-date and update the existing block information.
@@ -1179,7 +1183,7 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
       // after all the blocks have been processed.
       removedBlocks = workerInfo.getToRemoveBlocks();
     } else {
-      removedBlocks = Collections.emptySet();
+      removedBlocks = new LongHashSet();
     }
     LOG.info("Found {} blocks to remove from the workerInfo", removedBlocks.size());
     processWorkerRemovedBlocks(workerInfo, removedBlocks, true);
@@ -1233,12 +1237,17 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
 
       processWorkerRemovedBlocks(worker, removedBlockIds, false);
       processWorkerAddedBlocks(worker, addedBlocks);
-      Set<Long> toRemoveBlocks = worker.getToRemoveBlocks();
+      LongHashSet toRemoveBlocks = worker.getToRemoveBlocks();
       if (toRemoveBlocks.isEmpty()) {
         workerCommand = Command.newBuilder().setCommandType(CommandType.Nothing).build();
       } else {
-        workerCommand = Command.newBuilder().setCommandType(CommandType.Free)
-            .addAllData(toRemoveBlocks).build();
+        long[] blockIds = toRemoveBlocks.toLongArray();
+        Arrays.sort(blockIds);
+        Command.Builder command = Command.newBuilder().setCommandType(CommandType.Free);
+        for (long blockId : blockIds) {
+          command.addData(blockId);
+        }
+        workerCommand = command.build();
       }
     }
 
@@ -1276,22 +1285,44 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
   private void processWorkerRemovedBlocks(MasterWorkerInfo workerInfo,
       Collection<Long> removedBlockIds, boolean sendCommand) {
     for (long removedBlockId : removedBlockIds) {
-      try (LockResource r = lockBlock(removedBlockId)) {
-        Optional<BlockMeta> block = mBlockStore.getBlock(removedBlockId);
-        if (block.isPresent()) {
-          LOG.debug("Block {} is removed on worker {}.", removedBlockId, workerInfo.getId());
-          mBlockStore.removeLocation(removedBlockId, workerInfo.getId());
-          if (mBlockStore.getLocations(removedBlockId).size() == 0) {
-            mLostBlocks.add(removedBlockId);
-          }
-        }
-        // Remove the block even if its metadata has been deleted already.
-        if (sendCommand) {
-          workerInfo.scheduleRemoveFromWorker(removedBlockId);
-        } else {
-          workerInfo.removeBlockFromWorkerMeta(removedBlockId);
+      processWorkerRemovedBlock(workerInfo, removedBlockId, sendCommand);
+    }
+  }
+
+  /**
+   * Updates the worker and block metadata for blocks removed from a worker.
+   *
+   * You should lock externally with {@link MasterWorkerInfo#lockWorkerMeta(EnumSet, boolean)}
+   * with {@link WorkerMetaLockSection#BLOCKS} specified.
+   * An exclusive lock is required.
+   *
+   * @param workerInfo The worker metadata object
+   * @param removedBlockIds A set of block ids removed from the worker
+   */
+  private void processWorkerRemovedBlocks(MasterWorkerInfo workerInfo,
+      LongHashSet removedBlockIds, boolean sendCommand) {
+    for (PrimitiveIterator.OfLong it = removedBlockIds.iterator(); it.hasNext(); ) {
+      processWorkerRemovedBlock(workerInfo, it.nextLong(), sendCommand);
+    }
+  }
+
+  private void processWorkerRemovedBlock(MasterWorkerInfo workerInfo, long removedBlockId,
+      boolean sendCommand) {
+    try (LockResource r = lockBlock(removedBlockId)) {
+      Optional<BlockMeta> block = mBlockStore.getBlock(removedBlockId);
+      if (block.isPresent()) {
+        LOG.debug("Block {} is removed on worker {}.", removedBlockId, workerInfo.getId());
+        mBlockStore.removeLocation(removedBlockId, workerInfo.getId());
+        if (mBlockStore.getLocations(removedBlockId).size() == 0) {
+          mLostBlocks.add(removedBlockId);
         }
       }
+      // Remove the block even if its metadata has been deleted already.
+      if (sendCommand) {
+        workerInfo.scheduleRemoveFromWorker(removedBlockId);
+      } else {
+        workerInfo.removeBlockFromWorkerMeta(removedBlockId);
+      }
     }
   }
 
@@ -1349,7 +1380,8 @@ public class DefaultBlockMaster extends CoreMaster implements BlockMaster {
    */
   private void processWorkerOrphanedBlocks(MasterWorkerInfo workerInfo) {
     long orphanedBlockCount = 0;
-    for (long block : workerInfo.getBlocks()) {
+    for (PrimitiveIterator.OfLong it = workerInfo.getBlocks().iterator(); it.hasNext(); ) {
+      long block = it.nextLong();
       if (!mBlockStore.getBlock(block).isPresent()) {
         orphanedBlockCount++;
         LOG.debug("Requesting delete for orphaned block: {} from worker {}.", block,
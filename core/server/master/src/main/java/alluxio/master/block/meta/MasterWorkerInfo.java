@@ -14,6 +14,7 @@ package alluxio.master.block.meta;
 import alluxio.Constants;
 import alluxio.StorageTierAssoc;
 import alluxio.client.block.options.GetWorkerReportOptions.WorkerInfoField;
+import alluxio.collections.LongHashSet;
 import alluxio.grpc.StorageList;
 import alluxio.master.block.DefaultBlockMaster;
 import alluxio.resource.LockResource;
@@ -24,13 +25,11 @@ import alluxio.wire.WorkerNetAddress;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -136,10 +135,10 @@ public final class MasterWorkerInfo {
 
   /** Ids of blocks the worker contains. */
   @GuardedBy("mBlockListLock")
-  private Set<Long> mBlocks;
+  private LongHashSet mBlocks;
   /** Ids of blocks the worker should remove. */
   @GuardedBy("mBlockListLock")
-  private final Set<Long> mToRemoveBlocks;
+  private final LongHashSet mToRemoveBlocks;
   /** Locks the 2 block sets above. */
   private final ReadWriteLock mBlockListLock;
 
@@ -155,8 +154,8 @@ public final class MasterWorkerInfo {
   public MasterWorkerInfo(long id, WorkerNetAddress address) {
     mMeta = new StaticWorkerMeta(id, address);
     mUsage = new WorkerUsageMeta();
-    mBlocks = new HashSet<>();
-    mToRemoveBlocks = new HashSet<>();
+    mBlocks = new LongHashSet();
+    mToRemoveBlocks = new LongHashSet();
     mLastUpdatedTimeMs = new AtomicLong(CommonUtils.getCurrentMs());
 
     // Init all locks
@@ -194,22 +193,24 @@ public final class MasterWorkerInfo {
    * @param blocks set of block ids on this worker
    * @return A Set of blocks removed (or lost) from this worker
    */
-  public Set<Long> register(final StorageTierAssoc globalStorageTierAssoc,
+  public LongHashSet register(final StorageTierAssoc globalStorageTierAssoc,
       final List<String> storageTierAliases, final Map<String, Long> totalBytesOnTiers,
-      final Map<String, Long> usedBytesOnTiers, final Set<Long> blocks) {
+      final Map<String, Long> usedBytesOnTiers, final LongHashSet blocks) {
     mUsage.updateUsage(globalStorageTierAssoc, storageTierAliases,
             totalBytesOnTiers, usedBytesOnTiers);
 
-    Set<Long> removedBlocks;
+    LongHashSet removedBlocks = new LongHashSet();
     if (mIsRegistered) {
       // This is a re-register of an existing worker. Assume the new block ownership data is more
       // up-to-date and update the existing block information.
       LOG.info("re-registering an existing workerId: {}", mMeta.mId);
 
       // Compute the difference between the existing block data, and the new data.
-      removedBlocks = Sets.difference(mBlocks, blocks);
-    } else {
-      removedBlocks = Collections.emptySet();
+      mBlocks.forEachLong(blockId -> {
+        if (!blocks.contains(blockId)) {
+          removedBlocks.add(blockId);
+        }
+      });
     }
 
     // Set the new block information.
@@ -387,8 +388,8 @@ public final class MasterWorkerInfo {
    *
    * @return ids of all blocks the worker contains
    */
-  public Set<Long> getBlocks() {
-    return new HashSet<>(mBlocks);
+  public LongHashSet getBlocks() {
+    return new LongHashSet(mBlocks);
   }
 
   /**
@@ -438,8 +439,8 @@ public final class MasterWorkerInfo {
    *
    * @return ids of blocks the worker should remove
    */
-  public Set<Long> getToRemoveBlocks() {
-    return new HashSet<>(mToRemoveBlocks);
+  public LongHashSet getToRemoveBlocks() {
+    return new LongHashSet(mToRemoveBlocks);
   }
 
   /**
@@ -121,6 +121,7 @@ import alluxio.master.journal.checkpoint.CheckpointName;
 import alluxio.master.metastore.DelegatingReadOnlyInodeStore;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOnlyInodeStore;
+import alluxio.master.metastore.ReadOption;
 import alluxio.master.metrics.TimeSeriesStore;
 import alluxio.metrics.Metric;
 import alluxio.metrics.MetricInfo;
@@ -165,6 +166,7 @@ import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.executor.ExecutorServiceFactory;
 import alluxio.util.io.PathUtils;
 import alluxio.util.proto.ProtoUtils;
+import alluxio.wire.BatchResult;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.CommandType;
@@ -504,6 +506,7 @@ public class DefaultFileSystemMaster extends CoreMaster
         add(mMountTable);
         add(mUfsManager);
         add(mSyncManager);
+        add(mUfsSyncPathCache);
       }
     };
     mJournaledGroup = new JournaledGroup(journaledComponents, CheckpointName.FILE_SYSTEM_MASTER);
@@ -858,12 +861,18 @@ public class DefaultFileSystemMaster extends CoreMaster
   @Override
   public FileInfo getFileInfo(AlluxioURI path, GetStatusContext context)
       throws FileDoesNotExistException, InvalidPathException, AccessControlException, IOException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      return getFileInfo(rpcContext, path, context);
+    }
+  }
+
+  private FileInfo getFileInfo(RpcContext rpcContext, AlluxioURI path, GetStatusContext context)
+      throws FileDoesNotExistException, InvalidPathException, AccessControlException, IOException {
     Metrics.GET_FILE_INFO_OPS.inc();
     boolean ufsAccessed = false;
     long opTimeMs = System.currentTimeMillis();
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext("getFileInfo", path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext("getFileInfo", path, null, null)) {
 
       if (!syncMetadata(rpcContext, path, context.getOptions().getCommonOptions(),
           DescendantType.ONE, auditContext, LockedInodePath::getInodeOrNull,
@@ -935,6 +944,12 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  @Override
+  public List<BatchResult<FileInfo>> getFileInfoBatch(
+      List<Pair<AlluxioURI, GetStatusContext>> requests) throws UnavailableException {
+    return runBatch(requests, this::getFileInfo);
+  }
+
   @Override
   public long getMountIdFromUfsPath(AlluxioURI ufsPath) {
     return getMountTable().reverseResolve(ufsPath).getMountInfo().getMountId();
@@ -1036,8 +1051,15 @@ public class DefaultFileSystemMaster extends CoreMaster
 
       DescendantType descendantType =
           context.getOptions().getRecursive() ? DescendantType.ALL : DescendantType.ONE;
-      if (!syncMetadata(rpcContext, path, context.getOptions().getCommonOptions(), descendantType,
-          auditContext, LockedInodePath::getInodeOrNull,
+      ListStatusBatch batch = context.getOptions().getBatchSize() > 0
+          ? new ListStatusBatch(path, context.getOptions().getBatchSize(),
+              context.getOptions().getContinuationToken())
+          : null;
+      if (batch != null && batch.isContinuation()) {
+        // The first batch synced or loaded the listing, the next ones only read it.
+        context.getOptions().setLoadMetadataType(LoadMetadataPType.NEVER);
+      } else if (!syncMetadata(rpcContext, path, context.getOptions().getCommonOptions(),
+          descendantType, auditContext, LockedInodePath::getInodeOrNull,
           (inodePath, permChecker) -> permChecker.checkPermission(Mode.Bits.READ, inodePath),
           false).equals(NOT_NEEDED)) {
         // If synced, do not load metadata.
@@ -1124,7 +1146,10 @@ public class DefaultFileSystemMaster extends CoreMaster
             listStatusInternal(context, rpcContext, inodePath, auditContext,
                 descendantTypeForListStatus, resultStream, 0,
                 Metrics.getUfsOpsSavedCounter(resolution.getUfsMountPointUri(),
-                    Metrics.UFSOps.GET_FILE_INFO));
+                    Metrics.UFSOps.GET_FILE_INFO), batch);
+            if (batch != null) {
+              context.setContinuationToken(batch.getContinuationToken());
+            }
             if (!ufsAccessed) {
               Metrics.getUfsOpsSavedCounter(resolution.getUfsMountPointUri(),
                   Metrics.UFSOps.LIST_STATUS).inc();
@@ -1158,10 +1183,12 @@ public class DefaultFileSystemMaster extends CoreMaster
    *        should be returned
    * @param resultStream the stream to receive individual results
    * @param depth internal use field for tracking depth relative to root item
+   * @param batch the batch to list, or null to list all the results
    */
   private void listStatusInternal(ListStatusContext context, RpcContext rpcContext,
       LockedInodePath currInodePath, AuditContext auditContext, DescendantType descendantType,
-      ResultStream<FileInfo> resultStream, int depth, Counter counter)
+      ResultStream<FileInfo> resultStream, int depth, Counter counter,
+      @Nullable ListStatusBatch batch)
       throws FileDoesNotExistException, UnavailableException,
       AccessControlException, InvalidPathException {
     rpcContext.throwIfCancelled();
@@ -1184,7 +1211,29 @@ public class DefaultFileSystemMaster extends CoreMaster
           ? DescendantType.ALL : DescendantType.NONE;
       // This is to generate a parsed child path components to be passed to lockChildPath
       String [] childComponentsHint = null;
-      for (Inode child : mInodeStore.getChildren(inode.asDirectory())) {
+      Iterable<? extends Inode> children;
+      if (batch == null) {
+        children = mInodeStore.getChildren(inode.asDirectory());
+      } else {
+        // Batches list the children in the order of their names, resuming after the last
+        // result of the previous batch. A directory is listed after its descendants, so the
+        // directory of that result is resumed first.
+        String startAfter = batch.getStartAfter(depth);
+        List<Inode> resumed = Collections.emptyList();
+        if (batch.isResumingDescendant(depth)) {
+          resumed = mInodeStore.getChild(inode.asDirectory(), startAfter)
+              .map(Collections::singletonList).orElse(Collections.emptyList());
+        }
+        if (resumed.isEmpty()) {
+          batch.resumed();
+        }
+        children = Iterables.concat(resumed, mInodeStore.getChildren(inode.asDirectory(),
+            ReadOption.newBuilder().setStartAfter(startAfter).build()));
+      }
+      for (Inode child : children) {
+        if (batch != null && batch.isFull()) {
+          break;
+        }
         if (childComponentsHint == null) {
           String[] parentComponents = PathUtils.getPathComponents(currInodePath.getUri().getPath());
           childComponentsHint = new String[parentComponents.length + 1];
@@ -1196,15 +1245,26 @@ public class DefaultFileSystemMaster extends CoreMaster
         try (LockedInodePath childInodePath =
             currInodePath.lockChild(child, LockPattern.READ, childComponentsHint)) {
           listStatusInternal(context, rpcContext, childInodePath, auditContext, nextDescendantType,
-              resultStream, depth + 1, counter);
+              resultStream, depth + 1, counter, batch);
         } catch (InvalidPathException | FileDoesNotExistException e) {
           LOG.debug("Path \"{}\" is invalid, has been ignored.",
               PathUtils.concatPath("/", childComponentsHint));
+        } finally {
+          if (batch != null) {
+            // the resumed directory, if any, was the first child
+            batch.resumed();
+          }
         }
       }
     }
     // Listing a directory should not emit item for the directory itself.
     if (depth != 0 || inode.isFile()) {
+      if (batch != null) {
+        if (batch.isFull()) {
+          return;
+        }
+        batch.add(currInodePath.getUri(), depth);
+      }
       resultStream.submit(getFileInfoInternal(currInodePath, counter));
     }
   }
@@ -1671,18 +1731,25 @@ public class DefaultFileSystemMaster extends CoreMaster
   public FileInfo createFile(AlluxioURI path, CreateFileContext context)
       throws AccessControlException, InvalidPathException, FileAlreadyExistsException,
       BlockInfoException, IOException, FileDoesNotExistException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      return createFile(rpcContext, path, context);
+    }
+  }
+
+  private FileInfo createFile(RpcContext rpcContext, AlluxioURI path, CreateFileContext context)
+      throws AccessControlException, InvalidPathException, FileAlreadyExistsException,
+      BlockInfoException, IOException, FileDoesNotExistException {
     if (isOperationComplete(context)) {
       Metrics.COMPLETED_OPERATION_RETRIED_COUNT.inc();
       LOG.warn("A completed \"createFile\" operation has been retried. {}", context);
-      return getFileInfo(path,
+      return getFileInfo(rpcContext, path,
           GetStatusContext.create(GetStatusPOptions.newBuilder()
               .setCommonOptions(FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(-1))
               .setLoadMetadataType(LoadMetadataPType.NEVER).setUpdateTimestamps(false)));
     }
     Metrics.CREATE_FILES_OPS.inc();
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext("createFile", path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext("createFile", path, null, null)) {
 
       syncMetadata(rpcContext,
           path,
@@ -1723,6 +1790,12 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  @Override
+  public List<BatchResult<FileInfo>> createFileBatch(
+      List<Pair<AlluxioURI, CreateFileContext>> requests) throws UnavailableException {
+    return runBatch(requests, this::createFile);
+  }
+
   /**
    * @param rpcContext the rpc context
    * @param inodePath the path to be created
@@ -1839,15 +1912,22 @@ public class DefaultFileSystemMaster extends CoreMaster
   public void delete(AlluxioURI path, DeleteContext context)
       throws IOException, FileDoesNotExistException, DirectoryNotEmptyException,
       InvalidPathException, AccessControlException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      delete(rpcContext, path, context);
+    }
+  }
+
+  private void delete(RpcContext rpcContext, AlluxioURI path, DeleteContext context)
+      throws IOException, FileDoesNotExistException, DirectoryNotEmptyException,
+      InvalidPathException, AccessControlException {
     if (isOperationComplete(context)) {
       Metrics.COMPLETED_OPERATION_RETRIED_COUNT.inc();
       LOG.warn("A completed \"delete\" operation has been retried. {}", context);
       return;
     }
     Metrics.DELETE_PATHS_OPS.inc();
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext("delete", path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext("delete", path, null, null)) {
 
       if (context.getOptions().getAlluxioOnly()) {
         LOG.debug("alluxio-only deletion on path {} skips metadata sync", path);
@@ -1908,6 +1988,15 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  @Override
+  public List<BatchResult<Void>> deleteBatch(List<Pair<AlluxioURI, DeleteContext>> requests)
+      throws UnavailableException {
+    return runBatch(requests, (rpcContext, path, context) -> {
+      delete(rpcContext, path, context);
+      return null;
+    });
+  }
+
   /**
    * Implements file deletion.
    * <p>
@@ -3426,6 +3515,13 @@ public class DefaultFileSystemMaster extends CoreMaster
   @Override
   public void setAttribute(AlluxioURI path, SetAttributeContext context)
       throws FileDoesNotExistException, AccessControlException, InvalidPathException, IOException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      setAttribute(rpcContext, path, context);
+    }
+  }
+
+  private void setAttribute(RpcContext rpcContext, AlluxioURI path, SetAttributeContext context)
+      throws FileDoesNotExistException, AccessControlException, InvalidPathException, IOException {
     SetAttributePOptions.Builder options = context.getOptions();
     Metrics.SET_ATTRIBUTE_OPS.inc();
     // for chown
@@ -3456,9 +3552,8 @@ public class DefaultFileSystemMaster extends CoreMaster
     } else {
       commandName = "setAttribute";
     }
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext(commandName, path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext(commandName, path, null, null)) {
 
       // Force recursive sync metadata if it is a pinning and unpinning operation
       boolean recursiveSync = options.hasPinned() || options.getRecursive();
@@ -3507,6 +3602,15 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  @Override
+  public List<BatchResult<Void>> setAttributeBatch(
+      List<Pair<AlluxioURI, SetAttributeContext>> requests) throws UnavailableException {
+    return runBatch(requests, (rpcContext, path, context) -> {
+      setAttribute(rpcContext, path, context);
+      return null;
+    });
+  }
+
   /**
    * Checks whether the owner belongs to the group.
    *
@@ -4672,6 +4776,75 @@ public class DefaultFileSystemMaster extends CoreMaster
     WRITE,
   }
 
+  /**
+   * A batch of a listing, which lists the results in the order of their names and stops at a
+   * maximum number of results. The continuation token of a batch is the path of its last result
+   * relative to the listed path, so the next batch resumes after that result.
+   */
+  private static final class ListStatusBatch {
+    private final int mBaseDepth;
+    private final int mBatchSize;
+    /** The path components of the last result of the previous batch, until resumed. */
+    @Nullable
+    private String[] mResume;
+    private int mCount;
+    @Nullable
+    private String mContinuationToken;
+
+    ListStatusBatch(AlluxioURI path, int batchSize, String continuationToken)
+        throws InvalidPathException {
+      mBaseDepth = path.getDepth();
+      mBatchSize = batchSize;
+      mResume = continuationToken.isEmpty() ? null : continuationToken.split(AlluxioURI.SEPARATOR);
+    }
+
+    boolean isContinuation() {
+      return mResume != null;
+    }
+
+    /**
+     * @param depth the depth of a listed directory relative to the listed path
+     * @return the name after which to list the children of the directory
+     */
+    String getStartAfter(int depth) {
+      return mResume != null && depth < mResume.length ? mResume[depth] : "";
+    }
+
+    /**
+     * @param depth the depth of a listed directory relative to the listed path
+     * @return whether the last result of the previous batch is a descendant of a child of the
+     *         directory, in which case the child is listed first
+     */
+    boolean isResumingDescendant(int depth) {
+      return mResume != null && depth < mResume.length - 1;
+    }
+
+    /**
+     * Marks that the listing passed the last result of the previous batch.
+     */
+    void resumed() {
+      mResume = null;
+    }
+
+    boolean isFull() {
+      return mCount >= mBatchSize;
+    }
+
+    void add(AlluxioURI uri, int depth) throws InvalidPathException {
+      mCount++;
+      if (isFull() && depth > 0) {
+        String[] components = PathUtils.getPathComponents(uri.getPath());
+        mContinuationToken = String.join(AlluxioURI.SEPARATOR,
+            Arrays.copyOfRange(components, mBaseDepth + 1, components.length));
+      }
+    }
+
+    @Nullable
+    String getContinuationToken() {
+      return mContinuationToken;
+    }
+  }
+
   /**
    * Class that contains metrics for FileSystemMaster.
    * This class is public because the counter names are referenced in
@@ -4964,6 +5137,48 @@ public class DefaultFileSystemMaster extends CoreMaster
         operationContext.withTracker(mStateLockCallTracker));
   }
 
+  /**
+   * Runs the operations of a batch one after the other, each taking and releasing its own inode
+   * locks as it would alone. The operations share the journal context of the batch, which
+   * flushes their journal entries at once when the batch is done.
+   *
+   * @param requests the paths with the contexts of the operations
+   * @param operation the operation to run on each path
+   * @return the results of the operations, in the order of the requests
+   */
+  private <C extends OperationContext, T> List<BatchResult<T>> runBatch(
+      List<Pair<AlluxioURI, C>> requests, BatchOperation<C, T> operation)
+      throws UnavailableException {
+    List<BatchResult<T>> results = new ArrayList<>(requests.size());
+    try (RpcContext batchContext = createRpcContext()) {
+      for (Pair<AlluxioURI, C> request : requests) {
+        AlluxioURI path = request.getFirst();
+        C context = request.getSecond();
+        // the operation context of each request keeps its own operation id and call trackers
+        RpcContext rpcContext = new RpcContext(batchContext.getBlockDeletionContext(),
+            batchContext.getJournalContext(), context.withTracker(mStateLockCallTracker));
+        try {
+          results.add(BatchResult.success(operation.run(rpcContext, path, context)));
+        } catch (Exception e) {
+          LOG.debug("Operation on {} of a batch failed", path, e);
+          results.add(BatchResult.failure(e));
+        }
+      }
+    }
+    return results;
+  }
+
+  /**
+   * An operation of a batch.
+   *
+   * @param <C> the type of the operation context
+   * @param <T> the type of the result
+   */
+  @FunctionalInterface
+  private interface BatchOperation<C extends OperationContext, T> {
+    T run(RpcContext rpcContext, AlluxioURI path, C context) throws Exception;
+  }
+
   private LockingScheme createLockingScheme(AlluxioURI path, FileSystemMasterCommonPOptions options,
       LockPattern desiredLockMode) {
     return new LockingScheme(path, desiredLockMode, options, mUfsSyncPathCache, false);
@@ -12,6 +12,7 @@
 package alluxio.master.file;
 
 import alluxio.AlluxioURI;
+import alluxio.collections.Pair;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.BlockInfoException;
@@ -48,6 +49,7 @@ import alluxio.master.file.meta.PersistenceState;
 import alluxio.metrics.TimeSeries;
 import alluxio.security.authorization.AclEntry;
 import alluxio.underfs.UfsMode;
+import alluxio.wire.BatchResult;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.FileSystemCommand;
@@ -113,6 +115,17 @@ public interface FileSystemMaster extends Master {
       throws FileDoesNotExistException, InvalidPathException, AccessControlException,
       UnavailableException, IOException;
 
+  /**
+   * Returns the {@link FileInfo} for a batch of paths, as {@link #getFileInfo(AlluxioURI,
+   * GetStatusContext)} does for each of them.
+   *
+   * @param requests the paths with their method contexts
+   * @return the results of the requests, in the order of the requests
+   * @throws UnavailableException if the batch could not be run
+   */
+  List<BatchResult<FileInfo>> getFileInfoBatch(List<Pair<AlluxioURI, GetStatusContext>> requests)
+      throws UnavailableException;
+
   /**
    * Returns the mount id according to the ufs path.
    *
@@ -249,6 +262,18 @@ public interface FileSystemMaster extends Master {
       throws AccessControlException, InvalidPathException, FileAlreadyExistsException,
       BlockInfoException, IOException, FileDoesNotExistException;
 
+  /**
+   * Creates a batch of files, as {@link #createFile(AlluxioURI, CreateFileContext)} does for each
+   * of them. The files are created in the order of the requests, and their journal entries are
+   * flushed together.
+   *
+   * @param requests the paths with their method contexts
+   * @return the results of the requests, in the order of the requests
+   * @throws UnavailableException if the batch could not be run, or its journal flushed
+   */
+  List<BatchResult<FileInfo>> createFileBatch(List<Pair<AlluxioURI, CreateFileContext>> requests)
+      throws UnavailableException;
+
   /**
    * Gets a new block id for the next block of a given file to write to.
    * <p>
@@ -299,6 +324,18 @@ public interface FileSystemMaster extends Master {
       throws IOException, FileDoesNotExistException, DirectoryNotEmptyException,
       InvalidPathException, AccessControlException;
 
+  /**
+   * Deletes a batch of paths, as {@link #delete(AlluxioURI, DeleteContext)} does for each of
+   * them. The paths are deleted in the order of the requests, and their journal entries are
+   * flushed together.
+   *
+   * @param requests the paths with their method contexts
+   * @return the results of the requests, in the order of the requests
+   * @throws UnavailableException if the batch could not be run, or its journal flushed
+   */
+  List<BatchResult<Void>> deleteBatch(List<Pair<AlluxioURI, DeleteContext>> requests)
+      throws UnavailableException;
+
   /**
    * Gets the {@link FileBlockInfo} for all blocks of a file. If path is a directory, an exception
    * is thrown.
@@ -498,6 +535,18 @@ public interface FileSystemMaster extends Master {
       throws FileDoesNotExistException, AccessControlException, InvalidPathException,
       IOException;
 
+  /**
+   * Sets the attributes of a batch of paths, as {@link #setAttribute(AlluxioURI,
+   * SetAttributeContext)} does for each of them. The paths are updated in the order of the
+   * requests, and their journal entries are flushed together.
+   *
+   * @param requests the paths with their method contexts
+   * @return the results of the requests, in the order of the requests
+   * @throws UnavailableException if the batch could not be run, or its journal flushed
+   */
+  List<BatchResult<Void>> setAttributeBatch(List<Pair<AlluxioURI, SetAttributeContext>> requests)
+      throws UnavailableException;
+
   /**
    * Schedules a file for async persistence.
    *
@@ -13,6 +13,7 @@ package alluxio.master.file;
 
 import alluxio.AlluxioURI;
 import alluxio.RpcUtils;
+import alluxio.collections.Pair;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.InvalidPathException;
@@ -26,8 +27,12 @@ import alluxio.grpc.CompleteFilePResponse;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateDirectoryPRequest;
 import alluxio.grpc.CreateDirectoryPResponse;
+import alluxio.grpc.CreateFileBatchPRequest;
+import alluxio.grpc.CreateFileBatchPResponse;
 import alluxio.grpc.CreateFilePRequest;
 import alluxio.grpc.CreateFilePResponse;
+import alluxio.grpc.DeleteBatchPRequest;
+import alluxio.grpc.DeleteBatchPResponse;
 import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
@@ -43,6 +48,8 @@ import alluxio.grpc.GetNewBlockIdForFilePRequest;
 import alluxio.grpc.GetNewBlockIdForFilePResponse;
 import alluxio.grpc.GetStateLockHoldersPRequest;
 import alluxio.grpc.GetStateLockHoldersPResponse;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
@@ -61,6 +68,8 @@ import alluxio.grpc.ScheduleAsyncPersistencePRequest;
 import alluxio.grpc.ScheduleAsyncPersistencePResponse;
 import alluxio.grpc.SetAclPRequest;
 import alluxio.grpc.SetAclPResponse;
+import alluxio.grpc.SetAttributeBatchPRequest;
+import alluxio.grpc.SetAttributeBatchPResponse;
 import alluxio.grpc.SetAttributePRequest;
 import alluxio.grpc.SetAttributePResponse;
 import alluxio.grpc.StartSyncPRequest;
@@ -90,6 +99,8 @@ import alluxio.master.file.contexts.ScheduleAsyncPersistenceContext;
 import alluxio.master.file.contexts.SetAclContext;
 import alluxio.master.file.contexts.SetAttributeContext;
 import alluxio.underfs.UfsMode;
+import alluxio.wire.BatchResult;
+import alluxio.wire.FileInfo;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -198,6 +209,28 @@ public final class FileSystemMasterClientServiceHandler
     }, "CreateFile", "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void createFileBatch(CreateFileBatchPRequest request,
+      StreamObserver<CreateFileBatchPResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<Pair<AlluxioURI, CreateFileContext>> requests = new ArrayList<>();
+      for (CreateFilePRequest fileRequest : request.getRequestsList()) {
+        requests.add(new Pair<>(getAlluxioURI(fileRequest.getPath()),
+            CreateFileContext.create(fileRequest.getOptions().toBuilder())
+                .withTracker(new GrpcCallTracker(responseObserver))));
+      }
+      CreateFileBatchPResponse.Builder response = CreateFileBatchPResponse.newBuilder();
+      for (BatchResult<FileInfo> result : mFileSystemMaster.createFileBatch(requests)) {
+        CreateFilePResponse.Builder fileResponse = CreateFilePResponse.newBuilder();
+        if (result.isSuccess()) {
+          fileResponse.setFileInfo(GrpcUtils.toProto(result.getValue()));
+        }
+        response.addResponses(fileResponse).addStatuses(GrpcUtils.toProto(result));
+      }
+      return response.build();
+    }, "CreateFileBatch", "requests=%s", responseObserver, request.getRequestsCount());
+  }
+
   @Override
   public void free(FreePRequest request, StreamObserver<FreePResponse> responseObserver) {
     RpcUtils.call(LOG, () -> {
@@ -240,6 +273,28 @@ public final class FileSystemMasterClientServiceHandler
     }, "GetStatus", true, "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void getStatusBatch(GetStatusBatchPRequest request,
+      StreamObserver<GetStatusBatchPResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<Pair<AlluxioURI, GetStatusContext>> requests = new ArrayList<>();
+      for (GetStatusPRequest statusRequest : request.getRequestsList()) {
+        requests.add(new Pair<>(getAlluxioURI(statusRequest.getPath()),
+            GetStatusContext.create(statusRequest.getOptions().toBuilder())
+                .withTracker(new GrpcCallTracker(responseObserver))));
+      }
+      GetStatusBatchPResponse.Builder response = GetStatusBatchPResponse.newBuilder();
+      for (BatchResult<FileInfo> result : mFileSystemMaster.getFileInfoBatch(requests)) {
+        GetStatusPResponse.Builder statusResponse = GetStatusPResponse.newBuilder();
+        if (result.isSuccess()) {
+          statusResponse.setFileInfo(GrpcUtils.toProto(result.getValue()));
+        }
+        response.addResponses(statusResponse).addStatuses(GrpcUtils.toProto(result));
+      }
+      return response.build();
+    }, "GetStatusBatch", true, "requests=%s", responseObserver, request.getRequestsCount());
+  }
+
   @Override
   public void listStatus(ListStatusPRequest request,
       StreamObserver<ListStatusPResponse> responseObserver) {
@@ -253,10 +308,10 @@ public final class FileSystemMasterClientServiceHandler
     try {
       RpcUtils.callAndReturn(LOG, () -> {
         AlluxioURI pathUri = getAlluxioURI(request.getPath());
-        mFileSystemMaster.listStatus(pathUri,
-            ListStatusContext.create(request.getOptions().toBuilder())
-                .withTracker(new GrpcCallTracker(responseObserver)),
-            resultStream);
+        ListStatusContext context = ListStatusContext.create(request.getOptions().toBuilder())
+            .withTracker(new GrpcCallTracker(responseObserver));
+        mFileSystemMaster.listStatus(pathUri, context, resultStream);
+        resultStream.complete(context.getContinuationToken());
         // Return just something.
         return null;
       }, "ListStatus", false, "request=%s", request);
@@ -323,6 +378,24 @@ public final class FileSystemMasterClientServiceHandler
     }, "Remove", "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void removeBatch(DeleteBatchPRequest request,
+      StreamObserver<DeleteBatchPResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<Pair<AlluxioURI, DeleteContext>> requests = new ArrayList<>();
+      for (DeletePRequest deleteRequest : request.getRequestsList()) {
+        requests.add(new Pair<>(getAlluxioURI(deleteRequest.getPath()),
+            DeleteContext.create(deleteRequest.getOptions().toBuilder())
+                .withTracker(new GrpcCallTracker(responseObserver))));
+      }
+      DeleteBatchPResponse.Builder response = DeleteBatchPResponse.newBuilder();
+      for (BatchResult<Void> result : mFileSystemMaster.deleteBatch(requests)) {
+        response.addStatuses(GrpcUtils.toProto(result));
+      }
+      return response.build();
+    }, "RemoveBatch", "requests=%s", responseObserver, request.getRequestsCount());
+  }
+
   @Override
   public void rename(RenamePRequest request, StreamObserver<RenamePResponse> responseObserver) {
     RpcUtils.call(LOG, () -> {
@@ -367,6 +440,24 @@ public final class FileSystemMasterClientServiceHandler
     }, "SetAttribute", "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void setAttributeBatch(SetAttributeBatchPRequest request,
+      StreamObserver<SetAttributeBatchPResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<Pair<AlluxioURI, SetAttributeContext>> requests = new ArrayList<>();
+      for (SetAttributePRequest attributeRequest : request.getRequestsList()) {
+        requests.add(new Pair<>(getAlluxioURI(attributeRequest.getPath()),
+            SetAttributeContext.create(attributeRequest.getOptions().toBuilder())
+                .withTracker(new GrpcCallTracker(responseObserver))));
+      }
+      SetAttributeBatchPResponse.Builder response = SetAttributeBatchPResponse.newBuilder();
+      for (BatchResult<Void> result : mFileSystemMaster.setAttributeBatch(requests)) {
+        response.addStatuses(GrpcUtils.toProto(result));
+      }
+      return response.build();
+    }, "SetAttributeBatch", "requests=%s", responseObserver, request.getRequestsCount());
+  }
+
   @Override
   public void startSync(StartSyncPRequest request,
       StreamObserver<StartSyncPResponse> responseObserver) {
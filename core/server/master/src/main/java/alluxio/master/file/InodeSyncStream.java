@@ -40,6 +40,8 @@ import alluxio.master.file.contexts.GetStatusContext;
 import alluxio.master.file.contexts.LoadMetadataContext;
 import alluxio.master.file.contexts.SetAttributeContext;
 import alluxio.master.file.meta.Inode;
+import alluxio.master.file.meta.InodeDirectory;
+import alluxio.master.file.meta.InodeDirectoryView;
 import alluxio.master.file.meta.InodeFile;
 import alluxio.master.file.meta.InodeLockManager;
 import alluxio.master.file.meta.InodeTree;
@@ -53,6 +55,7 @@ import alluxio.master.file.meta.UfsSyncPathCache;
 import alluxio.master.file.meta.UfsSyncUtils;
 import alluxio.master.journal.MergeJournalContext;
 import alluxio.master.metastore.ReadOnlyInodeStore;
+import alluxio.master.metastore.ReadOption;
 import alluxio.proto.journal.File;
 import alluxio.proto.journal.Journal;
 import alluxio.resource.CloseableResource;
@@ -63,33 +66,40 @@ import alluxio.underfs.Fingerprint;
 import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UfsStatusCache;
+import alluxio.underfs.UfsStatusPager;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.util.LogUtils;
 import alluxio.util.interfaces.Scoped;
 import alluxio.util.io.PathUtils;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
@@ -105,12 +115,17 @@ import javax.annotation.Nullable;
  * sync depending on the {@link #mDescendantType}. Syncing is finished when all submitted tasks
  * are completed and there are no new inodes left in the queue.
  *
- * Syncing inode metadata requires making calls to the UFS. This implementation will schedule UFS
- * RPCs with the {@link UfsStatusCache#prefetchChildren(AlluxioURI, MountTable)}. Then, once the
- * inode begins processing, it can retrieve the results. After processing, it can then remove its
- * {@link UfsStatus} from the cache. This strategy helps reduce memory pressure on the master
- * while performing a sync for a large tree. Additionally, by using a prefetch mechanism we can
- * concurrently process other inodes while waiting for UFS RPCs to complete.
+ * The children of a directory are synced by a {@link ChildrenCursor}, which merges the UFS
+ * listing of the directory with its children in Alluxio one page at a time, each page in a job of
+ * its own. The cursors are queued until their next page is merged, and only the cursors at the
+ * head of the queue, within {@link #mPrefetchWindow}, have their next page listed ahead by their
+ * {@link UfsStatusPager}, so the jobs do not wait on the UFS. The directory is only locked while a
+ * page is merged, and its children in Alluxio are read one page at a time as well. A job loads the
+ * children which only exist in the UFS under its own journal context, and queues the other
+ * children with their {@link UfsStatus} in the {@link UfsStatusCache}, which they remove once they
+ * are processed. No more pages are merged while the queued paths, cursors and pages listed ahead
+ * add up to {@link #mMaxPendingPaths}, so the memory of a sync stays bounded regardless of the
+ * size of the directories it syncs.
  *
  * With regard to locking, this class expects to be able to take a write lock on any inode, and
  * then subsequently downgrades or unlocks after the sync is finished. Even though we use
@@ -146,6 +161,9 @@ public class InodeSyncStream {
   /** A {@link UfsSyncPathCache} maintained from the {@link DefaultFileSystemMaster}. */
   private final UfsSyncPathCache mUfsSyncPathCache;
 
+  /** The sync interval of the RPC, in ms. */
+  private final long mSyncIntervalMs;
+
   /** Object holding the {@link UfsStatus}es which may be required for syncing. */
   private final UfsStatusCache mStatusCache;
 
@@ -186,7 +204,13 @@ public class InodeSyncStream {
   private final boolean mLoadOnly;
 
   /** Queue used to keep track of paths that still need to be synced. */
-  private final ConcurrentLinkedQueue<AlluxioURI> mPendingPaths;
+  private final LinkedBlockingQueue<AlluxioURI> mPendingPaths;
+
+  /** Queue of the directories whose children remain to be merged with their UFS listings. */
+  private final Queue<ChildrenCursor> mPendingCursors;
+
+  /** Whether the sync is done, after which the cursors are closed rather than queued. */
+  private boolean mCursorsClosed = false;
 
   /** Queue of paths that have been submitted to the executor. */
   private final Queue<Future<Boolean>> mSyncPathJobs;
@@ -198,6 +222,21 @@ public class InodeSyncStream {
   private final int mConcurrencyLevel =
       ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_SYNC_CONCURRENCY_LEVEL);
 
+  /**
+   * The number of queued paths, cursors and statuses listed ahead above which no more pages of
+   * children are merged.
+   */
+  private final int mMaxPendingPaths =
+      ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_SYNC_PENDING_PATHS_MAX);
+
+  /** The number of children merged with the UFS listing of a directory at a time. */
+  private final int mUfsPageSize =
+      ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_SYNC_UFS_LISTING_PAGE_SIZE);
+
+  /** The number of cursors at the head of the queue whose next page is listed ahead. */
+  private final int mPrefetchWindow =
+      Math.max(1, Math.min(mConcurrencyLevel, mMaxPendingPaths / mUfsPageSize));
+
   private final FileSystemMasterAuditContext mAuditContext;
   private final Function<LockedInodePath, Inode> mAuditContextSrcInodeFunc;
   private final DefaultFileSystemMaster.PermissionCheckFunction mPermissionCheckOperation;
@@ -232,7 +271,8 @@ public class InodeSyncStream {
       @Nullable Function<LockedInodePath, Inode> auditContextSrcInodeFunc,
       @Nullable DefaultFileSystemMaster.PermissionCheckFunction permissionCheckOperation,
       boolean isGetFileInfo, boolean forceSync, boolean loadOnly, boolean loadAlways) {
-    mPendingPaths = new ConcurrentLinkedQueue<>();
+    mPendingPaths = new LinkedBlockingQueue<>();
+    mPendingCursors = new LinkedList<>();
     mDescendantType = descendantType;
     mRpcContext = rpcContext;
     mMetadataSyncService = fsMaster.mSyncMetadataExecutorIns;
@@ -251,6 +291,8 @@ public class InodeSyncStream {
     mAuditContext = auditContext;
     mAuditContextSrcInodeFunc = auditContextSrcInodeFunc;
     mPermissionCheckOperation = permissionCheckOperation;
+    mSyncIntervalMs = options.hasSyncIntervalMs() ? options.getSyncIntervalMs() :
+        ServerConfiguration.getMs(PropertyKey.USER_FILE_METADATA_SYNC_INTERVAL);
     // If an absent cache entry was more recent than this value, then it is valid for this sync
     long validCacheTime;
     if (loadOnly) {
@@ -260,9 +302,7 @@ public class InodeSyncStream {
         validCacheTime = UfsAbsentPathCache.ALWAYS;
       }
     } else {
-      long syncInterval = options.hasSyncIntervalMs() ? options.getSyncIntervalMs() :
-          ServerConfiguration.getMs(PropertyKey.USER_FILE_METADATA_SYNC_INTERVAL);
-      validCacheTime = System.currentTimeMillis() - syncInterval;
+      validCacheTime = System.currentTimeMillis() - mSyncIntervalMs;
     }
     mStatusCache = new UfsStatusCache(fsMaster.mSyncPrefetchExecutorIns,
         fsMaster.getAbsentPathCache(), validCacheTime);
@@ -306,7 +346,6 @@ public class InodeSyncStream {
     // 5. If a recursive sync, add children inodes to sync queue
     int syncPathCount = 0;
     int failedSyncPathCount = 0;
-    int stopNum = -1; // stop syncing when we've processed this many paths. -1 for infinite
     if (!mRootScheme.shouldSync() && !mForceSync) {
       DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_SKIPPED.inc();
       return SyncStatus.NOT_NEEDED;
@@ -317,13 +356,9 @@ public class InodeSyncStream {
         mAuditContext.setSrcInode(mAuditContextSrcInodeFunc.apply(path));
       }
 
+      // If descendantType is ONE, only the children of the root are queued
       syncInodeMetadata(path);
       syncPathCount++;
-      if (mDescendantType == DescendantType.ONE) {
-        // If descendantType is ONE, then we shouldn't process any more paths except for those
-        // currently in the queue
-        stopNum = mPendingPaths.size();
-      }
 
       // process the sync result for the original path
       try {
@@ -350,7 +385,7 @@ public class InodeSyncStream {
     }
 
     // Process any children after the root.
-    while (!mPendingPaths.isEmpty() || !mSyncPathJobs.isEmpty()) {
+    while (!mPendingPaths.isEmpty() || !mSyncPathJobs.isEmpty() || hasPendingCursors()) {
       if (Thread.currentThread().isInterrupted()) {
         LOG.warn("Metadata syncing was interrupted before completion; {}", toString());
         break;
@@ -394,23 +429,16 @@ public class InodeSyncStream {
         }
       }
 
-      // When using descendant type of ONE, we need to stop prematurely.
-      if (stopNum != -1 && (syncPathCount + failedSyncPathCount) > stopNum) {
-        break;
-      }
-
       // We can submit up to ( max_concurrency - <jobs queue size>) jobs back into the queue
       int submissions = mConcurrencyLevel - mSyncPathJobs.size();
       for (int i = 0; i < submissions; i++) {
-        AlluxioURI path = mPendingPaths.poll();
-        if (path == null) {
-          // no paths left to sync
+        Callable<Boolean> task = nextSyncTask();
+        if (task == null) {
+          // no paths or pages left to sync
           break;
         }
-        Future<Boolean> job = mMetadataSyncService.submit(() -> processSyncPath(path));
+        Future<Boolean> job = mMetadataSyncService.submit(task);
         mSyncPathJobs.offer(job);
-        // Update global counters for all sync streams
-        DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_PENDING_PATHS_TOTAL.dec();
         DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_ACTIVE_PATHS_TOTAL.inc();
       }
       // After submitting all jobs wait for the job at the head of the queue to finish.
@@ -438,10 +466,12 @@ public class InodeSyncStream {
     if (success) {
       // update the sync path cache for the root of the sync
       // TODO(gpang): Do we need special handling for failures and thread interrupts?
-      mUfsSyncPathCache.notifySyncedPath(mRootScheme.getPath().getPath(), mDescendantType);
+      mUfsSyncPathCache.notifySyncedPath(mRpcContext, mRootScheme.getPath().getPath(),
+          mDescendantType, mSyncIntervalMs);
     }
     mStatusCache.cancelAllPrefetch();
     mSyncPathJobs.forEach(f -> f.cancel(true));
+    closeCursors();
     if (!mPendingPaths.isEmpty() || !mSyncPathJobs.isEmpty()) {
       DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_SYNC_PATHS_CANCEL.inc(
           mPendingPaths.size() + mSyncPathJobs.size());
@@ -460,6 +490,97 @@ public class InodeSyncStream {
     return success ? SyncStatus.OK : SyncStatus.FAILED;
   }
 
+  /**
+   * Returns the next task to run, which merges the next page of children of a directory unless
+   * too many paths are already queued, or syncs the next queued path.
+   *
+   * @return the next task, or null if there is nothing to sync for now
+   */
+  @Nullable
+  private Callable<Boolean> nextSyncTask() {
+    ChildrenCursor cursor = null;
+    synchronized (this) {
+      // the cursors are merged regardless of the bound once no path is left to drain it
+      if (pendingLoad() < mMaxPendingPaths || mPendingPaths.isEmpty()) {
+        cursor = mPendingCursors.poll();
+        if (cursor != null) {
+          prefetchCursors();
+        }
+      }
+    }
+    if (cursor != null) {
+      ChildrenCursor next = cursor;
+      return () -> processChildren(next);
+    }
+    AlluxioURI path = mPendingPaths.poll();
+    if (path == null) {
+      return null;
+    }
+    // Update global counters for all sync streams
+    DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_PENDING_PATHS_TOTAL.dec();
+    return () -> processSyncPath(path);
+  }
+
+  private synchronized boolean hasPendingCursors() {
+    return !mPendingCursors.isEmpty();
+  }
+
+  /**
+   * @return the number of queued paths and cursors, and of the statuses listed ahead for the
+   *         cursors at the head of the queue
+   */
+  private synchronized int pendingLoad() {
+    int cursors = mPendingCursors.size();
+    return mPendingPaths.size() + cursors + Math.min(cursors, mPrefetchWindow) * mUfsPageSize;
+  }
+
+  /**
+   * Lists ahead the next page of the cursors which are about to be dequeued.
+   */
+  private synchronized void prefetchCursors() {
+    Iterator<ChildrenCursor> cursors = mPendingCursors.iterator();
+    for (int i = 0; i < mPrefetchWindow && cursors.hasNext(); i++) {
+      cursors.next().mPager.prefetch();
+    }
+  }
+
+  /**
+   * @return whether a cursor whose page is being merged would be within the prefetch window once
+   *         queued again
+   */
+  private synchronized boolean isNearHeadOfQueue() {
+    return mPendingCursors.size() < mPrefetchWindow;
+  }
+
+  /**
+   * Queues a cursor to merge its next page, or closes it if the sync is done.
+   *
+   * @param cursor the cursor
+   */
+  private void queueCursor(ChildrenCursor cursor) {
+    synchronized (this) {
+      if (!mCursorsClosed) {
+        if (mPendingCursors.size() < mPrefetchWindow) {
+          // the pager is not read concurrently until the cursor is queued
+          cursor.mPager.prefetch();
+        }
+        mPendingCursors.add(cursor);
+        return;
+      }
+    }
+    cursor.close();
+  }
+
+  private void closeCursors() {
+    List<ChildrenCursor> cursors;
+    synchronized (this) {
+      mCursorsClosed = true;
+      cursors = new ArrayList<>(mPendingCursors);
+      mPendingCursors.clear();
+    }
+    cursors.forEach(ChildrenCursor::close);
+  }
+
   private void updateMetrics(boolean success, Instant startTime,
       int successPathCount, int failedPathCount) {
     Instant endTime = Instant.now();
@@ -521,12 +642,48 @@ public class InodeSyncStream {
     return false;
   }
 
+  /**
+   * Merges the next page of the UFS listing of a directory with its children in Alluxio.
+   *
+   * @param cursor the cursor over the children of the directory
+   * @return true if the page was merged
+   */
+  private boolean processChildren(ChildrenCursor cursor) {
+    boolean hasMore = false;
+    try {
+      if (Thread.currentThread().isInterrupted()) {
+        LOG.warn("Thread syncing the children of {} was interrupted before completion",
+            cursor.mPath);
+        return false;
+      }
+      hasMore = cursor.mergeNextPage();
+      return true;
+    } catch (FileDoesNotExistException e) {
+      // the directory was removed since it was synced
+      LOG.debug("Stopped syncing the children of {}: {}", cursor.mPath, e.toString());
+      return true;
+    } catch (InterruptedException | InvalidPathException | IOException e) {
+      LogUtils.warnWithException(LOG, "Failed to sync the children of {}", cursor.mPath, e);
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+    } finally {
+      if (hasMore) {
+        queueCursor(cursor);
+      } else {
+        cursor.close();
+      }
+    }
+    return false;
+  }
+
   private void syncInodeMetadata(LockedInodePath inodePath)
       throws InvalidPathException, AccessControlException, IOException, FileDoesNotExistException,
       FileAlreadyCompletedException, InvalidFileSizeException, BlockInfoException,
       InterruptedException {
     if (!inodePath.fullPathExists()) {
-      loadMetadataForPath(inodePath);
+      // the children of a directory are loaded by its cursor while it is synced
+      loadMetadataForPath(inodePath, mIsGetFileInfo || mDescendantType == DescendantType.NONE);
       // skip the load metadata step in the sync if it has been just loaded
       syncExistingInodeMetadata(inodePath, true);
     } else {
@@ -696,71 +853,38 @@ public class InodeSyncStream {
           syncChildren && mRootScheme.getPath().equals(inodePath.getUri());
     }
 
-    int childCount = inode.isDirectory() ? (int) inode.asDirectory().getChildCount() : 0;
-    Map<String, Inode> inodeChildren = new HashMap<>(childCount);
-    if (syncChildren) {
-      // maps children name to inode
-      mInodeStore.getChildren(inode.asDirectory())
-          .forEach(child -> inodeChildren.put(child.getName(), child));
-
-      // Fetch and populate children into the cache
-      mStatusCache.prefetchChildren(inodePath.getUri(), mMountTable);
-      Collection<UfsStatus> listStatus = mStatusCache
-          .fetchChildrenIfAbsent(mRpcContext, inodePath.getUri(), mMountTable);
-      // Iterate over UFS listings and process UFS children.
-      if (listStatus != null) {
-        for (UfsStatus ufsChildStatus : listStatus) {
-          if (!inodeChildren.containsKey(ufsChildStatus.getName()) && !PathUtils
-              .isTemporaryFileName(ufsChildStatus.getName())) {
-            // Ufs child exists, but Alluxio child does not. Must load metadata.
-            loadMetadata = true;
-            break;
-          }
-        }
-      }
-    }
     // If the inode was deleted in the previous sync step, we need to remove the inode from the
     // locked path
     if (deletedInode) {
       inodePath.removeLastInode();
     }
 
-    // load metadata if necessary.
-    if (loadMetadata && !skipLoad) {
-      loadMetadataForPath(inodePath);
+    // load metadata if necessary. The children of a synced directory are loaded by its cursor.
+    if (loadMetadata && !skipLoad && !syncChildren) {
+      loadMetadataForPath(inodePath, true);
     }
 
     if (syncChildren) {
-      // Iterate over Alluxio children and process persisted children.
-      mInodeStore.getChildren(inode.asDirectory()).forEach(childInode -> {
-        // If we are only loading non-existing metadata, then don't process any child which
-        // was already in the tree, unless it is a directory, in which case, we might need to load
-        // its children.
-        if (mLoadOnly && inodeChildren.containsKey(childInode.getName()) && childInode.isFile()) {
-          return;
-        }
-        // If we're performing a recursive sync, add each child of our current Inode to the queue
-        AlluxioURI child = inodePath.getUri().joinUnsafe(childInode.getName());
-        mPendingPaths.add(child);
-        // Update a global counter for all sync streams
-        DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_PENDING_PATHS_TOTAL.inc();
-        // This asynchronously schedules a job to pre-fetch the statuses into the cache.
-        if (childInode.isDirectory() && mDescendantType == DescendantType.ALL) {
-          mStatusCache.prefetchChildren(child, mMountTable);
-        }
-      });
+      // The children are merged with the UFS listing by separate jobs once this path is unlocked,
+      // and the first page is listed meanwhile if the cursor is near the head of the queue
+      queueCursor(new ChildrenCursor(inodePath.getUri(), inode.asDirectory()));
     }
   }
 
-  private void loadMetadataForPath(LockedInodePath inodePath)
+  /**
+   * @param inodePath the path to load
+   * @param loadChildren whether to load the children of a directory, or to leave them to be
+   *                     merged by its cursor
+   */
+  private void loadMetadataForPath(LockedInodePath inodePath, boolean loadChildren)
       throws InvalidPathException, AccessControlException, IOException, FileDoesNotExistException,
       FileAlreadyCompletedException, InvalidFileSizeException, BlockInfoException {
     UfsStatus status = mStatusCache.fetchStatusIfAbsent(inodePath.getUri(), mMountTable);
     DescendantType descendantType = mDescendantType;
     // If loadMetadata is only for one level, and the path is not the root of the loadMetadata,
     // do not load the subdirectory
-    if (descendantType.equals(DescendantType.ONE)
-        && !inodePath.getUri().equals(mRootScheme.getPath())) {
+    if (!loadChildren || (descendantType.equals(DescendantType.ONE)
+        && !inodePath.getUri().equals(mRootScheme.getPath()))) {
       descendantType = DescendantType.NONE;
     }
     LoadMetadataContext ctx = LoadMetadataContext.mergeFrom(
@@ -769,14 +893,15 @@ public class InodeSyncStream {
             .setCreateAncestors(true)
             .setLoadDescendantType(GrpcUtils.toProto(descendantType)))
         .setUfsStatus(status);
-    loadMetadata(inodePath, ctx);
+    loadMetadata(mRpcContext, inodePath, ctx);
   }
 
   /**
   * This method creates inodes containing the metadata from the UFS. The {@link UfsStatus} object
   * must be set in the {@link LoadMetadataContext} in order to successfully create the inodes.
   */
-  private void loadMetadata(LockedInodePath inodePath, LoadMetadataContext context)
+  private void loadMetadata(RpcContext rpcContext, LockedInodePath inodePath,
+      LoadMetadataContext context)
       throws AccessControlException, BlockInfoException, FileAlreadyCompletedException,
       FileDoesNotExistException, InvalidFileSizeException, InvalidPathException, IOException {
     AlluxioURI path = inodePath.getUri();
@@ -792,19 +917,19 @@ public class InodeSyncStream {
                   + "status is present in the context. %s", inodePath.getUri()));
         }
 
-        mInodeTree.setDirectChildrenLoaded(mRpcContext, inode.asDirectory());
+        mInodeTree.setDirectChildrenLoaded(rpcContext, inode.asDirectory());
         return;
       }
 
       if (context.getUfsStatus().isFile()) {
-        loadFileMetadataInternal(mRpcContext, inodePath, resolution, context, mFsMaster);
+        loadFileMetadataInternal(rpcContext, inodePath, resolution, context, mFsMaster);
       } else {
-        loadDirectoryMetadata(mRpcContext, inodePath, context, mMountTable, mFsMaster);
+        loadDirectoryMetadata(rpcContext, inodePath, context, mMountTable, mFsMaster);
 
         // now load all children if required
         LoadDescendantPType type = context.getOptions().getLoadDescendantType();
         if (type != LoadDescendantPType.NONE) {
-          Collection<UfsStatus> children = mStatusCache.fetchChildrenIfAbsent(mRpcContext,
+          Collection<UfsStatus> children = mStatusCache.fetchChildrenIfAbsent(rpcContext,
               inodePath.getUri(), mMountTable);
           if (children == null) {
             LOG.debug("fetching children for {} returned null", inodePath.getUri());
@@ -832,7 +957,7 @@ public class InodeSyncStream {
             try (LockedInodePath descendant = inodePath
                 .lockDescendant(inodePath.getUri().joinUnsafe(childStatus.getName()),
                     LockPattern.READ)) {
-              loadMetadata(descendant, loadMetadataContext);
+              loadMetadata(rpcContext, descendant, loadMetadataContext);
             } catch (FileNotFoundException e) {
               LOG.debug("Failed to loadMetadata because file is not in ufs:"
                   + " inodePath={}, options={}.",
@@ -846,7 +971,7 @@ public class InodeSyncStream {
               failedSync++;
             }
           }
-          mInodeTree.setDirectChildrenLoaded(mRpcContext, inodePath.getInode().asDirectory());
+          mInodeTree.setDirectChildrenLoaded(rpcContext, inodePath.getInode().asDirectory());
         }
       }
     } catch (IOException | InterruptedException e) {
@@ -1082,6 +1207,200 @@ public class InodeSyncStream {
     inodePath.traverse();
   }
 
+  /**
+   * Merges the UFS listing of a directory with its children in Alluxio, one page at a time.
+   *
+   * The pages of the listing and the children in Alluxio are both in the order of their names, so
+   * they are merged in a single pass as long as the UFS lists the directory in that order. A child
+   * listed out of order, as object stores may list the prefix of a directory after the names which
+   * extend it, is looked up instead. The children which only exist in the UFS are loaded, and the
+   * others are queued to be synced. A child which only exists in Alluxio is queued without a
+   * status, so that it is synced against the UFS on its own, and deleted if it does not exist.
+   */
+  private final class ChildrenCursor implements Closeable {
+    private final AlluxioURI mPath;
+    private final long mDirectoryId;
+    private final UfsStatusPager mPager;
+    /** The current page of the children of the directory in Alluxio, in the order of names. */
+    private PeekingIterator<Inode> mInodes = Iterators.peekingIterator(Collections.emptyIterator());
+    /** The name of the last child read from Alluxio, or the empty name before the first one. */
+    private String mLastInodeName = "";
+    /** Whether all the children of the directory were read from Alluxio. */
+    private boolean mInodesDone = false;
+    /** The name of the last child listed in order by the UFS, or null before the first one. */
+    @Nullable
+    private String mLastUfsName = null;
+    /** The number of children which failed to load. */
+    private int mFailedLoads = 0;
+
+    /**
+     * Creates a cursor over the children of a directory. Nothing is listed until the cursor
+     * nears the head of the queue.
+     *
+     * @param path the path of the directory
+     * @param directory the directory, which must be locked
+     */
+    ChildrenCursor(AlluxioURI path, InodeDirectoryView directory) throws InvalidPathException {
+      mPath = path;
+      mDirectoryId = directory.getId();
+      mPager = mStatusCache.pageChildren(path, mMountTable, mUfsPageSize);
+    }
+
+    /**
+     * Merges the next page of the listing under the read lock of the directory and a journal
+     * context of its own. Once the listing is done, the children remaining in Alluxio are queued
+     * one page at a time.
+     *
+     * @return whether children remain to be merged
+     */
+    boolean mergeNextPage() throws FileDoesNotExistException, InvalidPathException, IOException,
+        InterruptedException {
+      // the page is listed before locking the directory, and the next one while it is merged
+      List<UfsStatus> page = mPager.nextPage(mRpcContext);
+      if (page != null && isNearHeadOfQueue()) {
+        mPager.prefetch();
+      }
+      try (LockedInodePath dirPath = mInodeTree.lockFullInodePath(mPath, LockPattern.READ);
+           RpcContext pageContext =
+               mFsMaster.createRpcContext(mRpcContext.getOperationContext())) {
+        if (dirPath.getInode().getId() != mDirectoryId) {
+          throw new FileDoesNotExistException(
+              String.format("Directory %s was replaced while syncing its children", mPath));
+        }
+        if (page != null) {
+          for (UfsStatus status : page) {
+            mergeUfsChild(pageContext, dirPath, status);
+          }
+          return true;
+        }
+        for (int i = 0; i < mUfsPageSize && hasNextInode(); i++) {
+          queueChild(mInodes.next(), null);
+        }
+        if (hasNextInode()) {
+          return true;
+        }
+        if (mFailedLoads > 0) {
+          throw new IOException(String.format("Failed to load metadata of %s files or "
+              + "directories under %s", mFailedLoads, mPath));
+        }
+        InodeDirectory directory = dirPath.getInode().asDirectory();
+        if (!directory.isDirectChildrenLoaded()) {
+          mInodeTree.setDirectChildrenLoaded(pageContext, directory);
+        }
+        return false;
+      }
+    }
+
+    private void mergeUfsChild(RpcContext pageContext, LockedInodePath dirPath, UfsStatus status)
+        throws InvalidPathException {
+      String name = status.getName();
+      if (PathUtils.isTemporaryFileName(name)) {
+        return;
+      }
+      Inode inode;
+      if (mLastUfsName == null || name.compareTo(mLastUfsName) > 0) {
+        while (hasNextInode() && mInodes.peek().getName().compareTo(name) < 0) {
+          queueChild(mInodes.next(), null);
+        }
+        inode = hasNextInode() && mInodes.peek().getName().equals(name) ? mInodes.next() : null;
+        mLastUfsName = name;
+      } else {
+        // the child may have been queued already, in which case it is synced twice
+        inode = mInodeStore.getChild(mDirectoryId, name).orElse(null);
+      }
+      if (inode != null) {
+        queueChild(inode, status);
+      } else {
+        loadChild(pageContext, dirPath, status);
+      }
+    }
+
+    /**
+     * Reads the next page of the children of the directory in Alluxio once the current one is
+     * consumed. The directory must be locked.
+     *
+     * Once a page comes back short, no more pages are read, so that the children loaded by this
+     * cursor are not read back as children which only exist in Alluxio. Until then, a child is
+     * only loaded once the current page reaches past its name, so the next pages start after it.
+     *
+     * @return whether children remain to be merged in Alluxio
+     */
+    private boolean hasNextInode() {
+      if (!mInodes.hasNext() && !mInodesDone) {
+        List<Inode> page = new ArrayList<>(mUfsPageSize);
+        Iterables.addAll(page, Iterables.limit(mInodeStore.getChildren(mDirectoryId,
+            ReadOption.newBuilder().setStartAfter(mLastInodeName).build()), mUfsPageSize));
+        mInodesDone = page.size() < mUfsPageSize;
+        if (!page.isEmpty()) {
+          mLastInodeName = page.get(page.size() - 1).getName();
+        }
+        mInodes = Iterators.peekingIterator(page.iterator());
+      }
+      return mInodes.hasNext();
+    }
+
+    /**
+     * @param inode a child of the directory in Alluxio
+     * @param status the status of the child in the UFS, or null if it was not listed
+     */
+    private void queueChild(Inode inode, @Nullable UfsStatus status) {
+      // If we are only loading non-existing metadata, then don't process any child which
+      // was already in the tree, unless it is a directory, in which case, we might need to load
+      // its children.
+      if (mLoadOnly && inode.isFile()) {
+        return;
+      }
+      queuePath(mPath.joinUnsafe(inode.getName()), status);
+    }
+
+    private void queuePath(AlluxioURI child, @Nullable UfsStatus status) {
+      if (status != null) {
+        mStatusCache.addStatus(child, status);
+      }
+      mPendingPaths.add(child);
+      // Update a global counter for all sync streams
+      DefaultFileSystemMaster.Metrics.INODE_SYNC_STREAM_PENDING_PATHS_TOTAL.inc();
+    }
+
+    private void loadChild(RpcContext pageContext, LockedInodePath dirPath, UfsStatus status)
+        throws InvalidPathException {
+      AlluxioURI child = mPath.joinUnsafe(status.getName());
+      LoadMetadataContext context = LoadMetadataContext.mergeFrom(
+          LoadMetadataPOptions.newBuilder()
+              .setLoadDescendantType(LoadDescendantPType.NONE)
+              // No Ttl on loaded files
+              .setCommonOptions(NO_TTL_OPTION)
+              .setCreateAncestors(false))
+          .setUfsStatus(status);
+      try (LockedInodePath childPath = dirPath.lockDescendant(child, LockPattern.READ)) {
+        loadMetadata(pageContext, childPath, context);
+      } catch (FileNotFoundException e) {
+        LOG.debug("Failed to loadMetadata because file is not in ufs:"
+            + " inodePath={}, options={}.", child, context, e);
+        return;
+      } catch (AccessControlException | BlockInfoException | FileAlreadyCompletedException
+          | FileDoesNotExistException | InvalidFileSizeException | IOException e) {
+        LOG.debug("Failed to loadMetadata because the ufs file or directory"
+            + " is {}, options={}.", status, context, e);
+        mFailedLoads++;
+        return;
+      }
+      if (status.isDirectory() && mDescendantType == DescendantType.ALL) {
+        // the loaded directory is synced to merge its own children
+        queuePath(child, status);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        mPager.close();
+      } catch (IOException e) {
+        LOG.debug("Failed to close the listing of {}", mPath, e);
+      }
+    }
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
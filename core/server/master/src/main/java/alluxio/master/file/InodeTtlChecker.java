@@ -13,7 +13,11 @@ package alluxio.master.file;
 
 import alluxio.AlluxioURI;
 import alluxio.Constants;
+import alluxio.collections.Pair;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.status.NotFoundException;
 import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.TtlAction;
@@ -25,19 +29,27 @@ import alluxio.master.file.meta.Inode;
 import alluxio.master.file.meta.InodeTree;
 import alluxio.master.file.meta.InodeTree.LockPattern;
 import alluxio.master.file.meta.LockedInodePath;
-import alluxio.master.file.meta.TtlBucket;
-import alluxio.master.file.meta.TtlBucketList;
+import alluxio.master.file.meta.TtlTimingWheel;
 import alluxio.master.journal.JournalContext;
 import alluxio.proto.journal.File.UpdateInodeEntry;
+import alluxio.wire.BatchResult;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This class represents the executor for periodic inode ttl check.
+ * <p>
+ * The expired inodes are taken from the {@link TtlTimingWheel} in batches of
+ * {@link PropertyKey#MASTER_TTL_CHECKER_BATCH_SIZE}, at most
+ * {@link PropertyKey#MASTER_TTL_CHECKER_RATE} inodes per second. The deletes of a batch share
+ * one journal flush, as do the ttl resets of the inodes it frees.
  */
 @NotThreadSafe
 final class InodeTtlChecker implements HeartbeatExecutor {
@@ -45,7 +57,10 @@ final class InodeTtlChecker implements HeartbeatExecutor {
 
   private final FileSystemMaster mFileSystemMaster;
   private final InodeTree mInodeTree;
-  private final TtlBucketList mTtlBuckets;
+  private final TtlTimingWheel mTtlWheel;
+  private final int mBatchSize;
+  @Nullable
+  private final RateLimiter mRateLimiter;
 
   /**
    * Constructs a new {@link InodeTtlChecker}.
@@ -53,74 +68,134 @@ final class InodeTtlChecker implements HeartbeatExecutor {
   public InodeTtlChecker(FileSystemMaster fileSystemMaster, InodeTree inodeTree) {
     mFileSystemMaster = fileSystemMaster;
     mInodeTree = inodeTree;
-    mTtlBuckets = inodeTree.getTtlBuckets();
+    mTtlWheel = inodeTree.getTtlWheel();
+    mBatchSize = ServerConfiguration.getInt(PropertyKey.MASTER_TTL_CHECKER_BATCH_SIZE);
+    int rate = ServerConfiguration.getInt(PropertyKey.MASTER_TTL_CHECKER_RATE);
+    mRateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
   }
 
   @Override
   public void heartbeat() throws InterruptedException {
-    Set<TtlBucket> expiredBuckets = mTtlBuckets.getExpiredBuckets(System.currentTimeMillis());
-    for (TtlBucket bucket : expiredBuckets) {
-      for (Inode inode : bucket.getInodes()) {
-        // Throw if interrupted.
-        if (Thread.interrupted()) {
-          throw new InterruptedException("InodeTtlChecker interrupted.");
-        }
-        AlluxioURI path = null;
-        try (LockedInodePath inodePath =
-            mInodeTree.lockFullInodePath(inode.getId(), LockPattern.READ)) {
-          path = inodePath.getUri();
-        } catch (FileDoesNotExistException e) {
-          // The inode has already been deleted, nothing needs to be done.
-          continue;
-        } catch (Exception e) {
-          LOG.error("Exception trying to clean up {} for ttl check: {}", inode.toString(),
-              e.toString());
-        }
-        if (path != null) {
+    long now = System.currentTimeMillis();
+    while (true) {
+      // Throw if interrupted.
+      if (Thread.interrupted()) {
+        throw new InterruptedException("InodeTtlChecker interrupted.");
+      }
+      long[] expired = mTtlWheel.pollExpired(now, mBatchSize);
+      if (expired.length == 0) {
+        return;
+      }
+      if (mRateLimiter != null) {
+        mRateLimiter.acquire(expired.length);
+      }
+      handleExpired(expired, now);
+    }
+  }
+
+  /**
+   * Frees or deletes a batch of expired inodes, according to their ttl actions.
+   *
+   * @param ids the ids of the expired inodes
+   * @param now the time the inodes expired by
+   */
+  private void handleExpired(long[] ids, long now) {
+    List<Pair<AlluxioURI, DeleteContext>> deletes = new ArrayList<>();
+    List<Long> freedIds = new ArrayList<>();
+    for (long id : ids) {
+      AlluxioURI path;
+      Inode inode;
+      try (LockedInodePath inodePath = mInodeTree.lockFullInodePath(id, LockPattern.READ)) {
+        path = inodePath.getUri();
+        inode = inodePath.getInode();
+      } catch (FileDoesNotExistException e) {
+        // The inode has already been deleted, nothing needs to be done.
+        continue;
+      } catch (Exception e) {
+        LOG.error("Exception trying to clean up inode {} for ttl check: {}", id, e.toString());
+        continue;
+      }
+      if (inode.getTtl() == Constants.NO_TTL || inode.getCreationTimeMs() + inode.getTtl() > now) {
+        // The ttl was changed after the inode was taken from the wheel, which holds it again.
+        continue;
+      }
+      TtlAction ttlAction = inode.getTtlAction();
+      LOG.info("Path {} TTL has expired, performing action {}", path.getPath(), ttlAction);
+      switch (ttlAction) {
+        case FREE:
+          // public free method will lock the path, and check WRITE permission required at
+          // parent of file
           try {
-            TtlAction ttlAction = inode.getTtlAction();
-            LOG.info("Path {} TTL has expired, performing action {}", path.getPath(), ttlAction);
-            switch (ttlAction) {
-              case FREE:
-                // public free method will lock the path, and check WRITE permission required at
-                // parent of file
-                if (inode.isDirectory()) {
-                  mFileSystemMaster.free(path, FreeContext
-                      .mergeFrom(FreePOptions.newBuilder().setForced(true).setRecursive(true)));
-                } else {
-                  mFileSystemMaster.free(path,
-                      FreeContext.mergeFrom(FreePOptions.newBuilder().setForced(true)));
-                }
-                try (JournalContext journalContext = mFileSystemMaster.createJournalContext()) {
-                  // Reset state
-                  mInodeTree.updateInode(journalContext, UpdateInodeEntry.newBuilder()
-                      .setId(inode.getId())
-                      .setTtl(Constants.NO_TTL)
-                      .setTtlAction(ProtobufUtils.toProtobuf(TtlAction.DELETE))
-                      .build());
-                }
-                mTtlBuckets.remove(inode);
-                break;
-              case DELETE:// Default if not set is DELETE
-                // public delete method will lock the path, and check WRITE permission required at
-                // parent of file
-                if (inode.isDirectory()) {
-                  mFileSystemMaster.delete(path,
-                      DeleteContext.mergeFrom(DeletePOptions.newBuilder().setRecursive(true)));
-                } else {
-                  mFileSystemMaster.delete(path, DeleteContext.defaults());
-                }
-                break;
-              default:
-                LOG.error("Unknown ttl action {}", ttlAction);
+            if (inode.isDirectory()) {
+              mFileSystemMaster.free(path, FreeContext
+                  .mergeFrom(FreePOptions.newBuilder().setForced(true).setRecursive(true)));
+            } else {
+              mFileSystemMaster.free(path,
+                  FreeContext.mergeFrom(FreePOptions.newBuilder().setForced(true)));
             }
+            freedIds.add(id);
           } catch (Exception e) {
             LOG.error("Exception trying to clean up {} for ttl check", inode.toString(), e);
           }
+          break;
+        case DELETE:// Default if not set is DELETE
+          // public delete method will lock the path, and check WRITE permission required at
+          // parent of file
+          if (inode.isDirectory()) {
+            deletes.add(new Pair<>(path,
+                DeleteContext.mergeFrom(DeletePOptions.newBuilder().setRecursive(true))));
+          } else {
+            deletes.add(new Pair<>(path, DeleteContext.defaults()));
+          }
+          break;
+        default:
+          LOG.error("Unknown ttl action {}", ttlAction);
+      }
+    }
+    if (!deletes.isEmpty()) {
+      delete(deletes);
+    }
+    if (!freedIds.isEmpty()) {
+      resetTtl(freedIds);
+    }
+  }
+
+  private void delete(List<Pair<AlluxioURI, DeleteContext>> deletes) {
+    List<BatchResult<Void>> results;
+    try {
+      results = mFileSystemMaster.deleteBatch(deletes);
+    } catch (Exception e) {
+      LOG.error("Exception trying to delete {} expired paths for ttl check", deletes.size(), e);
+      return;
+    }
+    for (int i = 0; i < results.size(); i++) {
+      BatchResult<Void> result = results.get(i);
+      // A path is not found when an expired ancestor was deleted before it in the batch.
+      if (!result.isSuccess() && !(result.getError() instanceof NotFoundException)) {
+        LOG.error("Exception trying to clean up {} for ttl check",
+            deletes.get(i).getFirst(), result.getError());
+      }
+    }
+  }
+
+  private void resetTtl(List<Long> ids) {
+    try (JournalContext journalContext = mFileSystemMaster.createJournalContext()) {
+      for (long id : ids) {
+        try {
+          // Reset state
+          mInodeTree.updateInode(journalContext, UpdateInodeEntry.newBuilder()
+              .setId(id)
+              .setTtl(Constants.NO_TTL)
+              .setTtlAction(ProtobufUtils.toProtobuf(TtlAction.DELETE))
+              .build());
+        } catch (Exception e) {
+          LOG.error("Exception trying to reset the ttl of inode {} for ttl check", id, e);
         }
       }
+    } catch (Exception e) {
+      LOG.error("Exception trying to reset the ttl of {} freed inodes for ttl check", ids.size(),
+          e);
     }
-    mTtlBuckets.removeBuckets(expiredBuckets);
   }
 
   @Override
@@ -21,6 +21,7 @@ import io.grpc.stub.StreamObserver;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -63,7 +64,7 @@ public class ListStatusResultStream implements ResultStream<FileInfo> {
    */
   private void sendCurrentBatch() {
     if (mInfos.size() > 0) {
-      mClientObserver.onNext(toProto());
+      mClientObserver.onNext(toProto().build());
       mInfos.clear();
     }
   }
@@ -73,11 +74,26 @@ public class ListStatusResultStream implements ResultStream<FileInfo> {
    * It sends any remaining items and closes the underlying stream.
    */
   public synchronized void complete() {
+    complete(null);
+  }
+
+  /**
+   * Used to complete the stream of a listing which may continue in another call.
+   * It sends any remaining items with the continuation token and closes the underlying stream.
+   *
+   * @param continuationToken the token to list the next batch, or null if the listing is done
+   */
+  public synchronized void complete(@Nullable String continuationToken) {
     if (!mStreamActive) {
       return;
     }
     try {
-      sendCurrentBatch();
+      if (continuationToken == null) {
+        sendCurrentBatch();
+      } else {
+        mClientObserver.onNext(toProto().setContinuationToken(continuationToken).build());
+        mInfos.clear();
+      }
       mClientObserver.onCompleted();
     } finally {
       mStreamActive = false;
@@ -102,10 +118,9 @@ public class ListStatusResultStream implements ResultStream<FileInfo> {
   /**
    * @return the proto representation of currently batched items
    */
-  private ListStatusPResponse toProto() {
+  private ListStatusPResponse.Builder toProto() {
     return ListStatusPResponse.newBuilder()
         .addAllFileInfos(
-            mInfos.stream().map((info) -> GrpcUtils.toProto(info)).collect(Collectors.toList()))
-        .build();
+            mInfos.stream().map((info) -> GrpcUtils.toProto(info)).collect(Collectors.toList()));
   }
 }
@@ -17,11 +17,16 @@ import alluxio.util.FileSystemOptions;
 
 import com.google.common.base.MoreObjects;
 
+import javax.annotation.Nullable;
+
 /**
  * Used to merge and wrap {@link ListStatusPOptions}.
  */
 public class ListStatusContext
     extends OperationContext<ListStatusPOptions.Builder, ListStatusContext> {
+  /** The token to list the next batch, set when the listing stopped at its batch size. */
+  @Nullable
+  private String mContinuationToken;
 
   /**
    * Creates context with given option data.
@@ -61,6 +66,23 @@ public class ListStatusContext
     return create(FileSystemOptions.listStatusDefaults(ServerConfiguration.global()).toBuilder());
   }
 
+  /**
+   * @return the token to list the next batch, or null if the listing is complete
+   */
+  @Nullable
+  public String getContinuationToken() {
+    return mContinuationToken;
+  }
+
+  /**
+   * @param continuationToken the token to list the next batch
+   * @return the updated context
+   */
+  public ListStatusContext setContinuationToken(@Nullable String continuationToken) {
+    mContinuationToken = continuationToken;
+    return this;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
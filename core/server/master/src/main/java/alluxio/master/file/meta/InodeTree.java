@@ -179,7 +179,7 @@ public class InodeTree implements DelegatingJournaled {
   /** Mount table manages the file system mount points. */
   private final MountTable mMountTable;
 
-  private final TtlBucketList mTtlBuckets;
+  private final TtlTimingWheel mTtlWheel;
 
   /** Manager for inode locking. */
   private final InodeLockManager mInodeLockManager;
@@ -215,9 +215,9 @@ public class InodeTree implements DelegatingJournaled {
       InodeDirectoryIdGenerator directoryIdGenerator, MountTable mountTable,
       InodeLockManager lockManager) {
     mInodeStore = new DelegatingReadOnlyInodeStore(inodeStore);
-    mTtlBuckets = new TtlBucketList(mInodeStore);
+    mTtlWheel = new TtlTimingWheel(mInodeStore);
     mInodeLockManager = lockManager;
-    mState = new InodeTreePersistentState(inodeStore, mInodeLockManager, mTtlBuckets);
+    mState = new InodeTreePersistentState(inodeStore, mInodeLockManager, mTtlWheel);
     mContainerIdGenerator = containerIdGenerator;
     mDirectoryIdGenerator = directoryIdGenerator;
     mMountTable = mountTable;
@@ -263,10 +263,10 @@ public class InodeTree implements DelegatingJournaled {
   }
 
   /**
-   * @return the list of TTL buckets for tracking inode TTLs
+   * @return the timing wheel for tracking inode TTLs
    */
-  public TtlBucketList getTtlBuckets() {
-    return mTtlBuckets;
+  public TtlTimingWheel getTtlWheel() {
+    return mTtlWheel;
   }
 
   /**
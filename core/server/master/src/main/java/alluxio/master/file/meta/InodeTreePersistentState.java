@@ -111,25 +111,25 @@ public class InodeTreePersistentState implements Journaled {
   private final ToBePersistedFileIds mToBePersistedIds = new ToBePersistedFileIds();
 
   /**
-   * TTL bucket list. The list is owned by InodeTree, and is only shared with
-   * InodeTreePersistentState so that the list can be updated whenever inode tree state changes.
+   * TTL timing wheel. The wheel is owned by InodeTree, and is only shared with
+   * InodeTreePersistentState so that the wheel can be updated whenever inode tree state changes.
    */
-  // TODO(andrew): Move ownership of the ttl bucket list to this class
-  private final TtlBucketList mTtlBuckets;
+  // TODO(andrew): Move ownership of the ttl timing wheel to this class
+  private final TtlTimingWheel mTtlWheel;
 
   private final BucketCounter mBucketCounter;
 
   /**
    * @param inodeStore file store which holds inode metadata
    * @param lockManager manager for inode locks
-   * @param ttlBucketList reference to the ttl bucket list so that the list can be updated when the
+   * @param ttlWheel reference to the ttl timing wheel so that the wheel can be updated when the
    *        inode tree is modified
    */
   public InodeTreePersistentState(InodeStore inodeStore, InodeLockManager lockManager,
-      TtlBucketList ttlBucketList) {
+      TtlTimingWheel ttlWheel) {
     mInodeStore = inodeStore;
     mInodeLockManager = lockManager;
-    mTtlBuckets = ttlBucketList;
+    mTtlWheel = ttlWheel;
     mBucketCounter = new BucketCounter(
         ServerConfiguration.getList(MASTER_METRICS_FILE_SIZE_DISTRIBUTION_BUCKETS)
             .stream().map(FormatUtils::parseSpaceSize).collect(Collectors.toList()));
@@ -418,7 +418,7 @@ public class InodeTreePersistentState implements Journaled {
     mPinnedInodeFileIds.remove(id);
     mReplicationLimitedFileIds.remove(id);
     mToBePersistedIds.remove(id);
-    mTtlBuckets.remove(inode);
+    mTtlWheel.remove(inode);
   }
 
   private void applyCreateDirectory(InodeDirectoryEntry entry) {
@@ -475,11 +475,11 @@ public class InodeTreePersistentState implements Journaled {
     if (entry.hasTtl()) {
       // Remove before updating the inode. #remove relies on the inode having the same
       // TTL as when it was inserted.
-      mTtlBuckets.remove(inode);
+      mTtlWheel.remove(inode);
     }
     inode.updateFromEntry(entry);
     if (entry.hasTtl()) {
-      mTtlBuckets.insert(Inode.wrap(inode));
+      mTtlWheel.insert(Inode.wrap(inode));
     }
     if (inode.isFile() && entry.hasPinned()) {
       setReplicationForPin(inode, entry.getPinned());
@@ -651,7 +651,7 @@ public class InodeTreePersistentState implements Journaled {
       setReplicationForPin(inode, pinned);
     }
     // Add the file to TTL buckets, the insert automatically rejects files w/ Constants.NO_TTL
-    mTtlBuckets.insert(Inode.wrap(inode));
+    mTtlWheel.insert(Inode.wrap(inode));
     updateToBePersistedIds(inode);
     if (inode.isFile() && inode.asFile().isCompleted()) {
       mBucketCounter.insert(inode.asFile().getLength());
@@ -800,22 +800,23 @@ public class InodeTreePersistentState implements Journaled {
     mReplicationLimitedFileIds.clear();
     mPinnedInodeFileIds.clear();
     mOpIdCache.invalidateAll();
+    mTtlWheel.clear();
   }
 
   @Override
   public void writeToCheckpoint(OutputStream output) throws IOException, InterruptedException {
-    // mTtlBuckets must come after mInodeStore so that it can query the inode store to resolve inode
+    // mTtlWheel must come after mInodeStore so that it can query the inode store to resolve inode
     // ids to inodes.
     JournalUtils.writeToCheckpoint(output, Arrays.asList(mInodeStore, mPinnedInodeFileIds,
-        mReplicationLimitedFileIds, mToBePersistedIds, mTtlBuckets, mInodeCounter));
+        mReplicationLimitedFileIds, mToBePersistedIds, mTtlWheel, mInodeCounter));
   }
 
   @Override
   public void restoreFromCheckpoint(CheckpointInputStream input) throws IOException {
-    // mTtlBuckets must come after mInodeStore so that it can query the inode store to resolve inode
+    // mTtlWheel must come after mInodeStore so that it can query the inode store to resolve inode
     // ids to inodes.
     JournalUtils.restoreFromCheckpoint(input, Arrays.asList(mInodeStore, mPinnedInodeFileIds,
-        mReplicationLimitedFileIds, mToBePersistedIds, mTtlBuckets, mInodeCounter));
+        mReplicationLimitedFileIds, mToBePersistedIds, mTtlWheel, mInodeCounter));
   }
 
   @Override
@@ -0,0 +1,376 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.Constants;
+import alluxio.collections.LongHashSet;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.master.journal.checkpoint.CheckpointInputStream;
+import alluxio.master.journal.checkpoint.CheckpointName;
+import alluxio.master.journal.checkpoint.CheckpointOutputStream;
+import alluxio.master.journal.checkpoint.CheckpointType;
+import alluxio.master.journal.checkpoint.Checkpointed;
+import alluxio.master.metastore.ReadOnlyInodeStore;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A hierarchical timing wheel of the ids of the inodes with a ttl, keyed by the tick at which
+ * their ttl expires. A tick lasts for {@link PropertyKey#MASTER_TTL_CHECKER_INTERVAL_MS}, so that
+ * an inode expires at the first check after the interval its ttl ends in has passed.
+ * <p>
+ * Each level of the wheel resolves {@link #SLOT_BITS} bits of the tick, from the most significant
+ * bits at the root to the least significant ones at the leaves, and keeps a bitmap of its
+ * occupied slots. The next occupied slot is thus found in constant time, and inserting, removing,
+ * or polling an inode only visits as many levels as the ticks in use need. The leaves hold the
+ * inode ids in primitive sets, so that the wheel does not retain the inodes themselves.
+ */
+@ThreadSafe
+public final class TtlTimingWheel implements Checkpointed {
+  private static final Logger LOG = LoggerFactory.getLogger(TtlTimingWheel.class);
+
+  /** The number of bits of a tick resolved by each level. */
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  /** The maximum number of levels, which address ticks up to {@link #MAX_TICK}. */
+  private static final int MAX_LEVELS = 10;
+  private static final long MAX_TICK = (1L << (SLOT_BITS * MAX_LEVELS)) - 1;
+
+  /**
+   * The duration of a tick, the same as the ttl checker's interval.
+   *
+   * This field is intentionally not final so that tests can change the value.
+   */
+  private static long sTtlIntervalMs =
+      ServerConfiguration.getMs(PropertyKey.MASTER_TTL_CHECKER_INTERVAL_MS);
+
+  private final ReadOnlyInodeStore mInodeStore;
+
+  /** The root level, which addresses the ticks below {@code SLOTS ^ mLevels}. */
+  @GuardedBy("this")
+  private Level mRoot;
+  @GuardedBy("this")
+  private int mLevels;
+  /** The number of inode ids in the wheel. */
+  @GuardedBy("this")
+  private int mSize;
+
+  /**
+   * Creates a new empty {@link TtlTimingWheel}.
+   *
+   * @param inodeStore the inode store
+   */
+  public TtlTimingWheel(ReadOnlyInodeStore inodeStore) {
+    mInodeStore = inodeStore;
+    mRoot = new Level();
+    mLevels = 1;
+  }
+
+  /**
+   * @return the duration of a tick of the wheel in milliseconds
+   */
+  public static long getTtlIntervalMs() {
+    return sTtlIntervalMs;
+  }
+
+  /**
+   * Inserts an inode into the slot of the tick its ttl expires at. If its ttl value is
+   * {@link Constants#NO_TTL}, the inode is not inserted and nothing will happen.
+   *
+   * @param inode the inode to be inserted
+   */
+  public void insert(Inode inode) {
+    if (inode.getTtl() == Constants.NO_TTL) {
+      return;
+    }
+    add(inode.getId(), expiryTick(inode));
+  }
+
+  /**
+   * Removes an inode from the wheel if it is in the wheel, otherwise, does nothing.
+   *
+   * <p>
+   * The slot of the inode is found by its current ttl. If the ttl of an inode in the wheel is
+   * going to change, be sure to remove the inode first.
+   *
+   * @param inode the inode to be removed
+   */
+  public void remove(InodeView inode) {
+    if (inode.getTtl() == Constants.NO_TTL) {
+      return;
+    }
+    removeAt(inode.getId(), expiryTick(inode));
+  }
+
+  /**
+   * Removes from the wheel, and returns, the ids of up to the given number of inodes whose ttl
+   * has expired by the given time. The inodes which expired earliest are returned first.
+   *
+   * @param timeMs the current time in milliseconds
+   * @param limit the maximum number of ids to return
+   * @return the ids of the expired inodes, or an empty array if none has expired
+   */
+  public synchronized long[] pollExpired(long timeMs, int limit) {
+    Preconditions.checkArgument(limit > 0, "limit must be positive: %s", limit);
+    long[] ids = new long[Math.min(limit, mSize)];
+    if (ids.length == 0) {
+      return ids;
+    }
+    int count = drain(mRoot, mLevels, 0, currentTick(timeMs), ids, 0);
+    mSize -= count;
+    return count == ids.length ? ids : Arrays.copyOf(ids, count);
+  }
+
+  /**
+   * @return the number of inodes in the wheel
+   */
+  public synchronized int size() {
+    return mSize;
+  }
+
+  /**
+   * Removes all inodes from the wheel.
+   */
+  public synchronized void clear() {
+    mRoot = new Level();
+    mLevels = 1;
+    mSize = 0;
+  }
+
+  @Override
+  public CheckpointName getCheckpointName() {
+    return CheckpointName.TTL_BUCKET_LIST;
+  }
+
+  @Override
+  public void writeToCheckpoint(OutputStream output) throws IOException, InterruptedException {
+    CheckpointOutputStream cos = new CheckpointOutputStream(output, CheckpointType.LONGS);
+    for (long id : snapshot()) {
+      cos.writeLong(id);
+    }
+  }
+
+  @Override
+  public void restoreFromCheckpoint(CheckpointInputStream input) throws IOException {
+    clear();
+    Preconditions.checkState(input.getType() == CheckpointType.LONGS,
+        "Unexpected checkpoint type: %s", input.getType());
+    while (true) {
+      try {
+        long id = input.readLong();
+        Optional<Inode> inode = mInodeStore.get(id);
+        if (inode.isPresent()) {
+          insert(inode.get());
+        } else {
+          LOG.error("Failed to find inode for id {}", id);
+        }
+      } catch (EOFException e) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * @param inode an inode with a ttl
+   * @return the first tick at which the ttl of the inode has expired
+   */
+  private static long expiryTick(InodeView inode) {
+    long ttlEndTimeMs = inode.getCreationTimeMs() + inode.getTtl();
+    // An inode whose ttl ends in the interval [k * interval, (k + 1) * interval) expires once the
+    // whole interval has passed, that is at tick k + 1.
+    long tick = sTtlIntervalMs == 0 ? ttlEndTimeMs : ttlEndTimeMs / sTtlIntervalMs + 1;
+    return Math.min(Math.max(tick, 0), MAX_TICK);
+  }
+
+  /**
+   * @param timeMs a time in milliseconds
+   * @return the tick of the time
+   */
+  private static long currentTick(long timeMs) {
+    long tick = sTtlIntervalMs == 0 ? timeMs : timeMs / sTtlIntervalMs;
+    return Math.min(tick, MAX_TICK);
+  }
+
+  /**
+   * @param tick a tick
+   * @param height the height of a level, 1 for the leaves
+   * @return the slot of the tick in the levels of the height
+   */
+  private static int slot(long tick, int height) {
+    return (int) (tick >>> ((height - 1) * SLOT_BITS)) & (SLOTS - 1);
+  }
+
+  private synchronized void add(long id, long tick) {
+    // Grow the wheel until its root addresses the tick.
+    while (mLevels < MAX_LEVELS && (tick >>> (mLevels * SLOT_BITS)) != 0) {
+      Level root = new Level();
+      if (mRoot.mOccupied != 0) {
+        root.mSlots[0] = mRoot;
+        root.mOccupied = 1L;
+      }
+      mRoot = root;
+      mLevels++;
+    }
+    Level level = mRoot;
+    for (int height = mLevels; height > 1; height--) {
+      int slot = slot(tick, height);
+      Level child = (Level) level.mSlots[slot];
+      if (child == null) {
+        child = new Level();
+        level.mSlots[slot] = child;
+        level.mOccupied |= 1L << slot;
+      }
+      level = child;
+    }
+    int slot = slot(tick, 1);
+    LongHashSet ids = (LongHashSet) level.mSlots[slot];
+    if (ids == null) {
+      ids = new LongHashSet();
+      level.mSlots[slot] = ids;
+      level.mOccupied |= 1L << slot;
+    }
+    if (ids.add(id)) {
+      mSize++;
+    }
+  }
+
+  private synchronized void removeAt(long id, long tick) {
+    if (mLevels < MAX_LEVELS && (tick >>> (mLevels * SLOT_BITS)) != 0) {
+      // The wheel has never held an inode at this tick.
+      return;
+    }
+    if (removeFrom(mRoot, mLevels, id, tick)) {
+      mSize--;
+    }
+  }
+
+  /**
+   * Removes an id from the slot of its tick below a level, and frees the slots left empty.
+   *
+   * @return whether the id was removed
+   */
+  private static boolean removeFrom(Level level, int height, long id, long tick) {
+    int slot = slot(tick, height);
+    Object child = level.mSlots[slot];
+    if (child == null) {
+      return false;
+    }
+    boolean removed;
+    boolean empty;
+    if (height == 1) {
+      LongHashSet ids = (LongHashSet) child;
+      removed = ids.remove(id);
+      empty = ids.isEmpty();
+    } else {
+      Level childLevel = (Level) child;
+      removed = removeFrom(childLevel, height - 1, id, tick);
+      empty = childLevel.mOccupied == 0;
+    }
+    if (empty) {
+      level.clear(slot);
+    }
+    return removed;
+  }
+
+  /**
+   * Moves the ids of the ticks up to the current tick below a level into the output array, in the
+   * order of their ticks, until the array is full, and frees the slots left empty.
+   *
+   * @param level the level
+   * @param height the height of the level
+   * @param base the first tick addressed by the level
+   * @param currentTick the current tick
+   * @param out the output array
+   * @param count the number of ids already in the output array
+   * @return the number of ids in the output array
+   */
+  private static int drain(Level level, int height, long base, long currentTick, long[] out,
+      int count) {
+    int shift = (height - 1) * SLOT_BITS;
+    long occupied = level.mOccupied;
+    while (occupied != 0 && count < out.length) {
+      int slot = Long.numberOfTrailingZeros(occupied);
+      occupied &= occupied - 1;
+      long slotBase = base + ((long) slot << shift);
+      if (slotBase > currentTick) {
+        break;
+      }
+      boolean empty;
+      if (height == 1) {
+        LongHashSet ids = (LongHashSet) level.mSlots[slot];
+        count += ids.poll(out, count, out.length - count);
+        empty = ids.isEmpty();
+      } else {
+        Level child = (Level) level.mSlots[slot];
+        count = drain(child, height - 1, slotBase, currentTick, out, count);
+        empty = child.mOccupied == 0;
+      }
+      if (empty) {
+        level.clear(slot);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the ids of all inodes in the wheel
+   */
+  private synchronized long[] snapshot() {
+    long[] ids = new long[mSize];
+    int count = collect(mRoot, mLevels, ids, 0);
+    Preconditions.checkState(count == mSize, "Counted %s inodes in a wheel of %s inodes", count,
+        mSize);
+    return ids;
+  }
+
+  private static int collect(Level level, int height, long[] out, int count) {
+    long occupied = level.mOccupied;
+    while (occupied != 0) {
+      int slot = Long.numberOfTrailingZeros(occupied);
+      occupied &= occupied - 1;
+      if (height == 1) {
+        for (long id : ((LongHashSet) level.mSlots[slot]).toLongArray()) {
+          out[count++] = id;
+        }
+      } else {
+        count = collect((Level) level.mSlots[slot], height - 1, out, count);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * A level of the wheel. The slots of the leaves hold {@link LongHashSet}s of inode ids, and the
+   * slots of the other levels hold the levels below them.
+   */
+  private static final class Level {
+    /** The bitmap of the occupied slots. */
+    private long mOccupied;
+    private final Object[] mSlots = new Object[SLOTS];
+
+    private void clear(int slot) {
+      mSlots[slot] = null;
+      mOccupied &= ~(1L << slot);
+    }
+  }
+}
@@ -16,53 +16,178 @@ import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.InvalidPathException;
 import alluxio.file.options.DescendantType;
+import alluxio.master.journal.JournalContext;
+import alluxio.master.journal.Journaled;
+import alluxio.master.journal.checkpoint.CheckpointName;
+import alluxio.proto.journal.File.UpdateUfsSyncPathEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.resource.CloseableIterator;
 import alluxio.util.io.PathUtils;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This cache maintains the Alluxio paths which have been synced with UFS.
+ *
+ * The sync times are kept in a prefix tree of path components, so whether a path or any of its
+ * ancestors was recently synced is answered in a single walk from the root to the path. The sync
+ * times are journaled and checkpointed, so a master does not sync every path again after a
+ * failover or a restart.
+ *
+ * The sync times of a path are journaled at most once per
+ * {@link PropertyKey#MASTER_UFS_PATH_CACHE_JOURNAL_GRANULARITY}, and the syncs in between only
+ * update the memory of the primary master, so that frequent syncs of the same path do not each
+ * write to the journal. The sync times of syncs which always sync are not journaled at all.
+ *
+ * A recursive sync of a directory makes the sync times of its descendants which are not more
+ * recent redundant, so they are removed from the tree. Once the tree tracks more than
+ * {@link PropertyKey#MASTER_UFS_PATH_CACHE_CAPACITY} paths, the least recently synced paths are
+ * removed in a batch, rather than one path for every synced path. Since the primary master also
+ * has the sync times which were not journaled, it may remove other paths than the standby
+ * masters do.
  */
 @ThreadSafe
-public final class UfsSyncPathCache {
+public final class UfsSyncPathCache implements Journaled {
   private static final Logger LOG = LoggerFactory.getLogger(UfsSyncPathCache.class);
 
+  /** The fraction of the paths which remain once the cache evicts paths. */
+  private static final double EVICTION_RETAINED_RATIO = 0.9;
+
+  private final Clock mClock;
   /** Number of paths to cache. */
-  private static final int MAX_PATHS =
-      ServerConfiguration.getInt(PropertyKey.MASTER_UFS_PATH_CACHE_CAPACITY);
+  private final int mMaxPaths;
+  /** The time after which the sync time of a path is journaled again. */
+  private final long mJournalGranularityMs;
 
-  /** Cache of paths which have been synced. */
-  private final Cache<String, SyncTime> mCache;
+  /** The root of the tree of synced paths. */
+  private volatile Node mRoot = new Node();
+  /** The number of paths with a sync time, guarded by this cache. */
+  private int mNumPaths = 0;
 
   /**
    * Creates a new instance of {@link UfsSyncPathCache}.
    */
   public UfsSyncPathCache() {
-    mCache = CacheBuilder.newBuilder().maximumSize(MAX_PATHS).build();
+    this(Clock.systemUTC(),
+        ServerConfiguration.getInt(PropertyKey.MASTER_UFS_PATH_CACHE_CAPACITY),
+        ServerConfiguration.getMs(PropertyKey.MASTER_UFS_PATH_CACHE_JOURNAL_GRANULARITY));
   }
 
   /**
-   * Notifies the cache that the path was synced.
+   * Creates a new instance of {@link UfsSyncPathCache}.
    *
+   * @param clock the clock of the sync times
+   * @param maxPaths the number of paths to cache
+   * @param journalGranularityMs the time after which the sync time of a path is journaled again
+   */
+  @VisibleForTesting
+  UfsSyncPathCache(Clock clock, int maxPaths, long journalGranularityMs) {
+    mClock = clock;
+    mMaxPaths = maxPaths;
+    mJournalGranularityMs = journalGranularityMs;
+  }
+
+  /**
+   * Notifies the cache that the path was synced. The sync time is journaled unless it was
+   * journaled less than {@link PropertyKey#MASTER_UFS_PATH_CACHE_JOURNAL_GRANULARITY} ago, or the
+   * sync interval is 0.
+   *
+   * @param context the journal context
    * @param path the path that was synced
    * @param descendantType the descendant type that the path was synced with
+   * @param syncIntervalMs the sync interval of the sync, in ms
    */
-  public void notifySyncedPath(String path, DescendantType descendantType) {
-    long syncTimeMs = System.currentTimeMillis();
-    mCache.asMap().compute(path, (key, oldSyncTime) -> {
-      if (oldSyncTime != null) {
-        // update the existing sync time
-        oldSyncTime.updateSync(syncTimeMs, descendantType);
-        return oldSyncTime;
-      }
-      return new SyncTime(syncTimeMs, descendantType);
-    });
+  public void notifySyncedPath(Supplier<JournalContext> context, String path,
+      DescendantType descendantType, long syncIntervalMs) {
+    long syncTimeMs = mClock.millis();
+    boolean recursive = descendantType == DescendantType.ALL;
+    if (syncIntervalMs == 0) {
+      // the syncs which always sync do not need the time journaled, but the syncs of other
+      // intervals on this master can still skip the path
+      updateInMemory(path, syncTimeMs, recursive);
+      return;
+    }
+    if (updateIfJournaledRecently(path, syncTimeMs, recursive)) {
+      return;
+    }
+    UpdateUfsSyncPathEntry.Builder entry = UpdateUfsSyncPathEntry.newBuilder()
+        .setPath(path)
+        .setLastSyncMs(syncTimeMs);
+    if (recursive) {
+      entry.setLastRecursiveSyncMs(syncTimeMs);
+    }
+    applyAndJournal(context,
+        JournalEntry.newBuilder().setUpdateUfsSyncPath(entry.build()).build());
+  }
+
+  /**
+   * Updates the sync times of a path in memory only.
+   *
+   * @param path the path that was synced
+   * @param syncTimeMs the sync time
+   * @param recursive whether the sync was recursive
+   */
+  private synchronized void updateInMemory(String path, long syncTimeMs, boolean recursive) {
+    String[] components;
+    try {
+      components = PathUtils.getPathComponents(path);
+    } catch (InvalidPathException e) {
+      LOG.warn("Ignoring the sync time of invalid path ({})", path);
+      return;
+    }
+    Node node = mRoot;
+    for (int i = 1; i < components.length; i++) {
+      node = node.getOrCreateChild(components[i]);
+    }
+    update(node, syncTimeMs, recursive ? syncTimeMs : Node.UNSYNCED);
+  }
+
+  /**
+   * Updates the sync times of a path in memory only, if the times of the path were journaled
+   * recently enough.
+   *
+   * @param path the path that was synced
+   * @param syncTimeMs the sync time
+   * @param recursive whether the sync was recursive
+   * @return whether the sync times were updated
+   */
+  private synchronized boolean updateIfJournaledRecently(String path, long syncTimeMs,
+      boolean recursive) {
+    String[] components;
+    try {
+      components = PathUtils.getPathComponents(path);
+    } catch (InvalidPathException e) {
+      return false;
+    }
+    Node node = mRoot;
+    for (int i = 1; i < components.length && node != null; i++) {
+      node = node.getChild(components[i]);
+    }
+    if (node == null || node.mJournaledSyncMs == Node.UNSYNCED
+        || syncTimeMs - node.mJournaledSyncMs >= mJournalGranularityMs) {
+      return false;
+    }
+    if (recursive && (node.mJournaledRecursiveSyncMs == Node.UNSYNCED
+        || syncTimeMs - node.mJournaledRecursiveSyncMs >= mJournalGranularityMs)) {
+      return false;
+    }
+    update(node, syncTimeMs, recursive ? syncTimeMs : Node.UNSYNCED);
+    return true;
   }
 
   /**
@@ -89,88 +214,265 @@ public final class UfsSyncPathCache {
       return true;
     }
 
-    // check the last sync information for the path itself.
-    SyncTime lastSync = mCache.getIfPresent(path);
-    if (!shouldSyncInternal(lastSync, intervalMs, false)) {
-      // Sync is not necessary for this path.
-      return false;
+    String[] components;
+    try {
+      components = PathUtils.getPathComponents(path);
+    } catch (InvalidPathException e) {
+      // this is not expected, but the sync should be triggered just in case.
+      LOG.debug("Failed to get the components of ({}) for checking sync", path);
+      return true;
     }
-
-    // sync should be done on this path, but check all ancestors to determine if a recursive sync
-    // had been performed (to avoid a sync again).
-    int parentLevel = 0;
-    String currPath = path;
-    while (!currPath.equals(AlluxioURI.SEPARATOR)) {
-      try {
-        currPath = PathUtils.getParent(currPath);
-        parentLevel++;
-        lastSync = mCache.getIfPresent(currPath);
-        if (!shouldSyncInternal(lastSync, intervalMs, parentLevel > 1 || !isGetFileInfo)) {
-          // Sync is not necessary because an ancestor was already recursively synced
-          return false;
-        }
-      } catch (InvalidPathException e) {
-        // this is not expected, but the sync should be triggered just in case.
-        LOG.debug("Failed to get parent of ({}), for checking sync for ({})", currPath, path);
-        return true;
+    // walk from the root to the path, checking whether an ancestor was already recursively
+    // synced (to avoid a sync again), and finally whether the path itself was synced
+    Node node = mRoot;
+    for (int i = 0; ; i++) {
+      int parentLevel = components.length - 1 - i;
+      boolean checkRecursive = parentLevel > 1 || (parentLevel == 1 && !isGetFileInfo);
+      if (!shouldSyncInternal(node, intervalMs, checkRecursive)) {
+        // Sync is not necessary for this path, or an ancestor was already recursively synced
+        return false;
+      }
+      if (parentLevel == 0) {
+        break;
+      }
+      node = node.getChild(components[i + 1]);
+      if (node == null) {
+        // neither the path nor its remaining ancestors were synced
+        break;
       }
     }
 
-    // trigger a sync, because a sync on the path (or an ancestor) was performed recently
+    // trigger a sync, because a sync on the path (or an ancestor) was not performed recently
     return true;
   }
 
   /**
    * Determines if the sync should be performed.
    *
-   * @param syncTime the {@link SyncTime} to examine
+   * @param node the node of the path to examine
    * @param intervalMs the sync interval, in ms
    * @param checkRecursive checks the recursive sync time if true, checks the standard sync time
    *                       otherwise
    * @return true if the sync should be performed
    */
-  private boolean shouldSyncInternal(@Nullable SyncTime syncTime, long intervalMs,
-      boolean checkRecursive) {
-    if (syncTime == null) {
-      return true;
-    }
-    long lastSyncMs = syncTime.getLastSyncMs();
+  private boolean shouldSyncInternal(Node node, long intervalMs, boolean checkRecursive) {
+    long lastSyncMs = node.mLastSyncMs;
     if (checkRecursive) {
-      lastSyncMs = syncTime.getLastRecursiveSyncMs();
+      lastSyncMs = node.mLastRecursiveSyncMs;
     }
-    if (lastSyncMs == SyncTime.UNSYNCED) {
+    if (lastSyncMs == Node.UNSYNCED) {
       // was not synced ever, so should sync
       return true;
     }
-    return (System.currentTimeMillis() - lastSyncMs) >= intervalMs;
+    return (mClock.millis() - lastSyncMs) >= intervalMs;
+  }
+
+  /**
+   * @return the number of paths with a sync time
+   */
+  public synchronized int size() {
+    return mNumPaths;
+  }
+
+  @Override
+  public boolean processJournalEntry(JournalEntry entry) {
+    if (entry.hasUpdateUfsSyncPath()) {
+      applyUpdateUfsSyncPath(entry.getUpdateUfsSyncPath());
+      return true;
+    }
+    return false;
+  }
+
+  private synchronized void applyUpdateUfsSyncPath(UpdateUfsSyncPathEntry entry) {
+    String[] components;
+    try {
+      components = PathUtils.getPathComponents(entry.getPath());
+    } catch (InvalidPathException e) {
+      LOG.warn("Ignoring the sync time of invalid path ({})", entry.getPath());
+      return;
+    }
+    Node node = mRoot;
+    for (int i = 1; i < components.length; i++) {
+      node = node.getOrCreateChild(components[i]);
+    }
+    long lastRecursiveSyncMs =
+        entry.hasLastRecursiveSyncMs() ? entry.getLastRecursiveSyncMs() : Node.UNSYNCED;
+    node.mJournaledSyncMs = Math.max(node.mJournaledSyncMs, entry.getLastSyncMs());
+    node.mJournaledRecursiveSyncMs =
+        Math.max(node.mJournaledRecursiveSyncMs, lastRecursiveSyncMs);
+    update(node, entry.getLastSyncMs(), lastRecursiveSyncMs);
+  }
+
+  /**
+   * Updates the sync times of the node of a path.
+   *
+   * @param node the node
+   * @param lastSyncMs the sync time
+   * @param lastRecursiveSyncMs the recursive sync time, or {@link Node#UNSYNCED}
+   */
+  private void update(Node node, long lastSyncMs, long lastRecursiveSyncMs) {
+    if (node.mLastSyncMs == Node.UNSYNCED) {
+      mNumPaths++;
+    }
+    // the entries of concurrent syncs may be journaled out of order
+    node.mLastSyncMs = Math.max(node.mLastSyncMs, lastSyncMs);
+    if (lastRecursiveSyncMs != Node.UNSYNCED) {
+      node.mLastRecursiveSyncMs = Math.max(node.mLastRecursiveSyncMs, lastRecursiveSyncMs);
+      removeSyncedBefore(node, node.mLastRecursiveSyncMs);
+    }
+    if (mNumPaths > mMaxPaths) {
+      evict();
+    }
+  }
+
+  /**
+   * Removes the sync times of the descendants of a node which were synced no later than a time.
+   *
+   * @param node the node
+   * @param syncTimeMs the time
+   */
+  private void removeSyncedBefore(Node node, long syncTimeMs) {
+    Map<String, Node> children = node.mChildren;
+    if (children == null) {
+      return;
+    }
+    children.entrySet().removeIf(child -> {
+      if (child.getValue().mLastSyncMs != Node.UNSYNCED
+          && child.getValue().mLastSyncMs <= syncTimeMs) {
+        child.getValue().clear();
+        mNumPaths--;
+      }
+      removeSyncedBefore(child.getValue(), syncTimeMs);
+      return child.getValue().isEmpty();
+    });
+  }
+
+  /**
+   * Removes the least recently synced paths, so that a fraction of the capacity remains.
+   */
+  private void evict() {
+    long[] syncTimes = new long[mNumPaths];
+    int numPaths = 0;
+    Deque<Node> nodes = new ArrayDeque<>();
+    nodes.push(mRoot);
+    while (!nodes.isEmpty()) {
+      Node node = nodes.pop();
+      if (node.mLastSyncMs != Node.UNSYNCED) {
+        syncTimes[numPaths++] = node.mLastSyncMs;
+      }
+      if (node.mChildren != null) {
+        node.mChildren.values().forEach(nodes::push);
+      }
+    }
+    Arrays.sort(syncTimes, 0, numPaths);
+    int toEvict = numPaths - (int) (mMaxPaths * EVICTION_RETAINED_RATIO);
+    long cutoffMs = syncTimes[Math.max(toEvict, 1) - 1];
+    if (mRoot.mLastSyncMs != Node.UNSYNCED && mRoot.mLastSyncMs <= cutoffMs) {
+      mRoot.clear();
+      mNumPaths--;
+    }
+    removeSyncedBefore(mRoot, cutoffMs);
+    LOG.debug("Evicted the paths synced before {}, {} paths remain", cutoffMs, mNumPaths);
   }
 
-  private static class SyncTime {
+  @Override
+  public synchronized void resetState() {
+    mRoot = new Node();
+    mNumPaths = 0;
+  }
+
+  @Override
+  public CheckpointName getCheckpointName() {
+    return CheckpointName.UFS_SYNC_PATH_CACHE;
+  }
+
+  @Override
+  public CloseableIterator<JournalEntry> getJournalEntryIterator() {
+    // parents are listed before their descendants, so a restored parent never removes them
+    Deque<Map.Entry<String, Node>> nodes = new ArrayDeque<>();
+    nodes.push(new AbstractMap.SimpleImmutableEntry<>(AlluxioURI.SEPARATOR, mRoot));
+    return CloseableIterator.noopCloseable(new Iterator<JournalEntry>() {
+      @Nullable
+      private JournalEntry mNext = null;
+
+      @Override
+      public boolean hasNext() {
+        while (mNext == null && !nodes.isEmpty()) {
+          Map.Entry<String, Node> entry = nodes.pop();
+          String path = entry.getKey();
+          Node node = entry.getValue();
+          if (node.mChildren != null) {
+            node.mChildren.forEach((name, child) -> nodes.push(
+                new AbstractMap.SimpleImmutableEntry<>(
+                    PathUtils.concatPath(path, name), child)));
+          }
+          long lastSyncMs = node.mLastSyncMs;
+          if (lastSyncMs == Node.UNSYNCED) {
+            continue;
+          }
+          UpdateUfsSyncPathEntry.Builder builder = UpdateUfsSyncPathEntry.newBuilder()
+              .setPath(path)
+              .setLastSyncMs(lastSyncMs);
+          if (node.mLastRecursiveSyncMs != Node.UNSYNCED) {
+            builder.setLastRecursiveSyncMs(node.mLastRecursiveSyncMs);
+          }
+          mNext = JournalEntry.newBuilder().setUpdateUfsSyncPath(builder.build()).build();
+        }
+        return mNext != null;
+      }
+
+      @Override
+      public JournalEntry next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        JournalEntry next = mNext;
+        mNext = null;
+        return next;
+      }
+    });
+  }
+
+  /**
+   * A path component in the tree of synced paths. The tree is only modified while holding the
+   * lock of the cache, and read without it.
+   */
+  private static final class Node {
     static final long UNSYNCED = -1;
     /** the last time (in ms) that a sync was performed. */
-    private long mLastSyncMs;
+    private volatile long mLastSyncMs = UNSYNCED;
     /** the last time (in ms) that a recursive sync was performed. */
-    private long mLastRecursiveSyncMs;
+    private volatile long mLastRecursiveSyncMs = UNSYNCED;
+    /** the last sync time which was journaled. */
+    private long mJournaledSyncMs = UNSYNCED;
+    /** the last recursive sync time which was journaled. */
+    private long mJournaledRecursiveSyncMs = UNSYNCED;
+    /** the children by name, or null until the first one is added. */
+    @Nullable
+    private volatile Map<String, Node> mChildren;
 
-    SyncTime(long syncMs, DescendantType descendantType) {
-      mLastSyncMs = UNSYNCED;
-      mLastRecursiveSyncMs = UNSYNCED;
-      updateSync(syncMs, descendantType);
+    @Nullable
+    Node getChild(String name) {
+      Map<String, Node> children = mChildren;
+      return children == null ? null : children.get(name);
     }
 
-    void updateSync(long syncMs, DescendantType descendantType) {
-      mLastSyncMs = syncMs;
-      if (descendantType == DescendantType.ALL) {
-        mLastRecursiveSyncMs = syncMs;
+    Node getOrCreateChild(String name) {
+      if (mChildren == null) {
+        mChildren = new ConcurrentHashMap<>(4);
       }
+      return mChildren.computeIfAbsent(name, key -> new Node());
     }
 
-    long getLastSyncMs() {
-      return mLastSyncMs;
+    void clear() {
+      mLastSyncMs = UNSYNCED;
+      mLastRecursiveSyncMs = UNSYNCED;
+      mJournaledSyncMs = UNSYNCED;
+      mJournaledRecursiveSyncMs = UNSYNCED;
     }
 
-    long getLastRecursiveSyncMs() {
-      return mLastRecursiveSyncMs;
+    boolean isEmpty() {
+      return mLastSyncMs == UNSYNCED && (mChildren == null || mChildren.isEmpty());
     }
   }
 }
@@ -44,7 +44,9 @@ public interface ReadOnlyInodeStore extends Closeable {
   }
 
   /**
-   * Returns an iterable for the ids of the children of the given directory.
+   * Returns an iterable for the ids of the children of the given directory. When the option sets
+   * {@link ReadOption#getStartAfter()}, the children are returned in the order of their names,
+   * starting after the given name.
    *
    * @param inodeId an inode id to list child ids for
    * @param option the options
@@ -42,7 +42,10 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
@@ -59,8 +62,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -208,7 +213,19 @@ public final class CachingInodeStore implements InodeStore, Closeable {
 
   @Override
   public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
-    return () -> mListingCache.getChildIds(inodeId, option).iterator();
+    String startAfter = option.getStartAfter();
+    if (startAfter == null) {
+      return () -> mListingCache.getChildIds(inodeId, option).values().iterator();
+    }
+    // A cached listing is sorted in memory, otherwise the page is read from the backing store
+    // starting after the name, and merged with the edges of the cache.
+    return () -> mListingCache.getCachedListing(inodeId)
+        .map(listing -> listing.entrySet().stream()
+            .filter(entry -> entry.getKey().compareTo(startAfter) > 0)
+            .sorted(Map.Entry.comparingByKey())
+            .map(Map.Entry::getValue)
+            .iterator())
+        .orElseGet(() -> mEdgeCache.getChildIdsAfter(inodeId, startAfter, option));
   }
 
   @Override
@@ -434,6 +451,57 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       return childIds;
     }
 
+    /**
+     * Gets the child ids for an inode after the given name, in the order of their names. The
+     * children in the backing store are read lazily starting after the name, and merged with the
+     * sorted edges of the cache, so that a page of a large directory does not read all of its
+     * children. This provides the same consistency guarantees as
+     * {@link #getChildIds(Long, ReadOption)}.
+     *
+     * @param inodeId the inode to get the children for
+     * @param startAfter the name after which to list
+     * @param option the read options
+     * @return an iterator over the child ids
+     */
+    public Iterator<Long> getChildIdsAfter(Long inodeId, String startAfter, ReadOption option) {
+      NavigableMap<String, Long> cachedEdges = new TreeMap<>();
+      mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap()).forEach((name, id) -> {
+        if (name.compareTo(startAfter) > 0) {
+          cachedEdges.put(name, id);
+        }
+      });
+      if (mBackingStoreEmpty) {
+        return cachedEdges.values().iterator();
+      }
+      Set<String> unflushedDeletes =
+          new HashSet<>(mUnflushedDeletes.getOrDefault(inodeId, Collections.EMPTY_SET));
+      Iterator<Long> storedIds = mBackingStore.getChildIds(inodeId,
+          ReadOption.newBuilder().setStartAfter(startAfter).build()).iterator();
+      PeekingIterator<Inode> stored = Iterators.peekingIterator(Iterators.filter(
+          Iterators.transform(storedIds, id -> CachingInodeStore.this.get(id, option).orElse(null)),
+          inode -> inode != null && !unflushedDeletes.contains(inode.getName())));
+      PeekingIterator<Map.Entry<String, Long>> cached =
+          Iterators.peekingIterator(cachedEdges.entrySet().iterator());
+      return new AbstractIterator<Long>() {
+        @Override
+        protected Long computeNext() {
+          if (stored.hasNext() && (!cached.hasNext()
+              || stored.peek().getName().compareTo(cached.peek().getKey()) < 0)) {
+            return stored.next().getId();
+          }
+          if (!cached.hasNext()) {
+            return endOfData();
+          }
+          Map.Entry<String, Long> edge = cached.next();
+          // an edge in both the cache and the backing store is listed from the cache
+          if (stored.hasNext() && stored.peek().getName().equals(edge.getKey())) {
+            stored.next();
+          }
+          return edge.getValue();
+        }
+      };
+    }
+
     @Override
     protected Optional<Long> load(Edge edge) {
       if (mBackingStoreEmpty) {
@@ -686,11 +754,22 @@ public final class CachingInodeStore implements InodeStore, Closeable {
      * @return the children of the inode, or empty if the child list isn't cached
      */
     public Optional<Collection<Long>> getCachedChildIds(Long inodeId) {
+      return getCachedListing(inodeId).map(Map::values);
+    }
+
+    /**
+     * Returns the children of the given inode by name, if the child list is cached. This method
+     * only consults the cache, and never looks in the backing store.
+     *
+     * @param inodeId the directory to list
+     * @return the ids of the children of the inode by name, or empty if the child list isn't cached
+     */
+    public Optional<Map<String, Long>> getCachedListing(Long inodeId) {
       ListingCacheEntry entry = mMap.get(inodeId);
       if (entry != null && entry.mChildren != null) {
         mStatsCounter.recordHit();
         entry.mReferenced = true;
-        return Optional.of(entry.mChildren.values());
+        return Optional.of(entry.mChildren);
       }
       mStatsCounter.recordMiss();
       return Optional.empty();
@@ -701,9 +780,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
      *
      * @param inodeId the inode directory id
      * @param option  the read options
-     * @return the ids of all children of the directory
+     * @return the ids of all children of the directory, by child name
      */
-    public Collection<Long> getChildIds(Long inodeId, ReadOption option) {
+    public Map<String, Long> getChildIds(Long inodeId, ReadOption option) {
       evictIfNecessary();
       AtomicBoolean createdNewEntry = new AtomicBoolean(false);
       ListingCacheEntry entry = mMap.compute(inodeId, (key, value) -> {
@@ -720,13 +799,13 @@ public final class CachingInodeStore implements InodeStore, Closeable {
         return value;
       });
       if (entry != null && entry.mChildren != null) {
-        return entry.mChildren.values();
+        return entry.mChildren;
       }
       if (entry == null || !createdNewEntry.get() || option.shouldSkipCache()) {
         // Skip caching if the cache is full or someone else is already caching.
-        return getDataFromBackingStore(inodeId, option).values();
+        return getDataFromBackingStore(inodeId, option);
       }
-      return loadChildren(inodeId, entry, option).values();
+      return loadChildren(inodeId, entry, option);
     }
 
     public void clear() {
@@ -0,0 +1,720 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.heap;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.master.metastore.BlockStore;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.meta.Block.BlockLocation;
+import alluxio.proto.meta.Block.BlockMeta;
+import alluxio.resource.CloseableIterator;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A heap block store with a compact memory layout. Instead of objects per block and per location
+ * as in {@link HeapBlockStore}, blocks are stored in primitive arrays with open addressing and
+ * linear probing:
+ * <ul>
+ *   <li>the id and the length of each block are stored in long arrays,</li>
+ *   <li>up to a fixed number of locations per block are stored inline, each as the worker id and
+ *   an int packing the interned tier (high 16 bits) and medium type (low 16 bits),</li>
+ *   <li>the other locations of blocks with more replicas, and the rare locations that do not fit
+ *   into this layout, are kept in a regular map.</li>
+ * </ul>
+ * {@link BlockMeta} and {@link BlockLocation} objects are only created when queried.
+ *
+ * As with {@link HeapBlockStore}, operations on the same block id require external
+ * synchronization, and operations on different block ids can be performed concurrently. The table
+ * is split into segments, each guarded by its own {@link StampedLock}. Block lookups first probe
+ * the segment without locking and only fall back to the read lock if an update raced with them.
+ */
+@ThreadSafe
+public class CompactBlockStore implements BlockStore {
+  /** The largest number of inline locations per block. */
+  public static final int MAX_INLINE_LOCATIONS = 16;
+
+  private static final int NUM_SEGMENTS = 64;
+  private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(NUM_SEGMENTS);
+  private static final int MIN_SEGMENT_CAPACITY = 16;
+  private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+
+  // Bits of the state of a slot. A slot is free if and only if its state is 0.
+  private static final int HAS_META = 0x80;
+  private static final int HAS_LENGTH = 0x40;
+  private static final int HAS_OVERFLOW = 0x20;
+  private static final int COUNT_MASK = 0x1f;
+
+  /** Location code of a location which cannot be stored inline. */
+  private static final int NO_CODE = -1;
+  private static final int NAME_CODE_BITS = 16;
+  private static final int NAME_CODE_MASK = (1 << NAME_CODE_BITS) - 1;
+
+  private final int mInlineLocations;
+  private final NameTable mNames = new NameTable();
+  private final Segment[] mSegments = new Segment[NUM_SEGMENTS];
+
+  /**
+   * Creates a compact block store with the number of inline locations per block taken from
+   * {@link PropertyKey#MASTER_METASTORE_BLOCK_COMPACT_INLINE_LOCATIONS}.
+   */
+  public CompactBlockStore() {
+    this(ServerConfiguration.getInt(PropertyKey.MASTER_METASTORE_BLOCK_COMPACT_INLINE_LOCATIONS));
+    if (ServerConfiguration.getBoolean(PropertyKey.MASTER_METRICS_HEAP_ENABLED)) {
+      MetricsSystem.registerCachedGaugeIfAbsent(MetricKey.MASTER_BLOCK_HEAP_SIZE.getName(),
+          this::getAllocatedBytes);
+    }
+  }
+
+  /**
+   * Creates a compact block store.
+   *
+   * @param inlineLocations the number of locations per block stored inline
+   */
+  public CompactBlockStore(int inlineLocations) {
+    Preconditions.checkArgument(inlineLocations > 0 && inlineLocations <= MAX_INLINE_LOCATIONS,
+        "The number of inline locations must be between 1 and %s, got %s",
+        MAX_INLINE_LOCATIONS, inlineLocations);
+    mInlineLocations = inlineLocations;
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      mSegments[i] = new Segment();
+    }
+  }
+
+  @Override
+  public Optional<BlockMeta> getBlock(long id) {
+    long hash = hash(id);
+    return getSegment(hash).getBlock(id, hash);
+  }
+
+  @Override
+  public void putBlock(long id, BlockMeta meta) {
+    long hash = hash(id);
+    getSegment(hash).putBlock(id, hash, meta);
+  }
+
+  @Override
+  public void removeBlock(long id) {
+    long hash = hash(id);
+    getSegment(hash).removeBlock(id, hash);
+  }
+
+  @Override
+  public void clear() {
+    for (Segment segment : mSegments) {
+      segment.clear();
+    }
+  }
+
+  @Override
+  public List<BlockLocation> getLocations(long id) {
+    long hash = hash(id);
+    return getSegment(hash).getLocations(id, hash);
+  }
+
+  @Override
+  public void addLocation(long id, BlockLocation location) {
+    long hash = hash(id);
+    getSegment(hash).addLocation(id, hash, location, encode(location));
+  }
+
+  @Override
+  public void removeLocation(long blockId, long workerId) {
+    long hash = hash(blockId);
+    getSegment(hash).removeLocation(blockId, hash, workerId);
+  }
+
+  @Override
+  public void close() {
+    // Nothing to close for HEAP store.
+  }
+
+  @Override
+  public long size() {
+    long size = 0;
+    for (Segment segment : mSegments) {
+      size += segment.numBlocks();
+    }
+    return size;
+  }
+
+  /**
+   * Returns an iterator over the blocks. The blocks of each segment are copied into primitive
+   * arrays when the iterator reaches the segment, so the iterator reflects the state of each
+   * segment at that time.
+   *
+   * @return a {@link CloseableIterator} over the blocks
+   */
+  @Override
+  public CloseableIterator<Block> getCloseableIterator() {
+    return CloseableIterator.noopCloseable(new Iterator<Block>() {
+      private int mSegmentIndex;
+      private long[] mIds = new long[0];
+      private long[] mLengths;
+      private byte[] mStates;
+      private int mPos;
+
+      @Override
+      public boolean hasNext() {
+        while (mPos == mIds.length && mSegmentIndex < NUM_SEGMENTS) {
+          mSegments[mSegmentIndex++].snapshot(this::reset);
+        }
+        return mPos < mIds.length;
+      }
+
+      @Override
+      public Block next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Block block = new Block(mIds[mPos], toMeta(mStates[mPos], mLengths[mPos]).get());
+        mPos++;
+        return block;
+      }
+
+      private void reset(long[] ids, long[] lengths, byte[] states) {
+        mIds = ids;
+        mLengths = lengths;
+        mStates = states;
+        mPos = 0;
+      }
+    });
+  }
+
+  /**
+   * @return the number of bytes of the arrays backing the store, excluding the map of locations
+   *         which are not stored inline
+   */
+  public long getAllocatedBytes() {
+    long bytes = 0;
+    for (Segment segment : mSegments) {
+      bytes += segment.getAllocatedBytes();
+    }
+    return bytes;
+  }
+
+  private Segment getSegment(long hash) {
+    return mSegments[(int) (hash >>> SEGMENT_SHIFT)];
+  }
+
+  /**
+   * @return the location code of the location, or {@link #NO_CODE} if it cannot be stored inline
+   */
+  private int encode(BlockLocation location) {
+    if (!location.hasWorkerId() || location.getUnknownFields().getSerializedSize() != 0) {
+      return NO_CODE;
+    }
+    int tier = location.hasTier() ? mNames.getCode(location.getTier()) : 0;
+    int medium = location.hasMediumType() ? mNames.getCode(location.getMediumType()) : 0;
+    if (tier == NO_CODE || medium == NO_CODE) {
+      return NO_CODE;
+    }
+    return (tier << NAME_CODE_BITS) | medium;
+  }
+
+  private BlockLocation decode(long workerId, int code) {
+    BlockLocation.Builder builder = BlockLocation.newBuilder().setWorkerId(workerId);
+    int tier = code >>> NAME_CODE_BITS;
+    int medium = code & NAME_CODE_MASK;
+    if (tier != 0) {
+      builder.setTier(mNames.getName(tier));
+    }
+    if (medium != 0) {
+      builder.setMediumType(mNames.getName(medium));
+    }
+    return builder.build();
+  }
+
+  private static Optional<BlockMeta> toMeta(int state, long length) {
+    if ((state & HAS_META) == 0) {
+      return Optional.empty();
+    }
+    BlockMeta.Builder builder = BlockMeta.newBuilder();
+    if ((state & HAS_LENGTH) != 0) {
+      builder.setLength(length);
+    }
+    return Optional.of(builder.build());
+  }
+
+  /**
+   * Mixes the bits of a block id with the finalizer of MurmurHash3. Block ids are sequential in
+   * their low bits, which would otherwise cluster in the table.
+   */
+  private static long hash(long id) {
+    long h = id;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Receives the blocks of a segment.
+   */
+  @FunctionalInterface
+  private interface SnapshotConsumer {
+    void accept(long[] ids, long[] lengths, byte[] states);
+  }
+
+  /**
+   * Interns the tier and medium type names of locations. Codes start at 1 so that 0 denotes a
+   * field which is not set. There are only a few distinct names in a cluster, so names are never
+   * removed.
+   */
+  private static final class NameTable {
+    private final Map<String, Integer> mCodes = new ConcurrentHashMap<>();
+    private volatile String[] mNames = new String[1];
+
+    /**
+     * @return the code of the name, or {@link #NO_CODE} if there are too many names
+     */
+    int getCode(String name) {
+      Integer code = mCodes.get(name);
+      if (code != null) {
+        return code;
+      }
+      synchronized (this) {
+        code = mCodes.get(name);
+        if (code != null) {
+          return code;
+        }
+        String[] names = mNames;
+        if (names.length > NAME_CODE_MASK) {
+          return NO_CODE;
+        }
+        String[] newNames = Arrays.copyOf(names, names.length + 1);
+        newNames[names.length] = name;
+        // publish the name before its code, so that any code read maps to a name
+        mNames = newNames;
+        mCodes.put(name, names.length);
+        return names.length;
+      }
+    }
+
+    String getName(int code) {
+      return mNames[code];
+    }
+  }
+
+  private final class Segment {
+    private final StampedLock mLock = new StampedLock();
+    @GuardedBy("mLock")
+    private long[] mIds;
+    @GuardedBy("mLock")
+    private long[] mLengths;
+    @GuardedBy("mLock")
+    private byte[] mStates;
+    /** The worker ids of the inline locations, {@link #mInlineLocations} per slot. */
+    @GuardedBy("mLock")
+    private long[] mWorkerIds;
+    /** The codes of the inline locations, {@link #mInlineLocations} per slot. */
+    @GuardedBy("mLock")
+    private int[] mLocationCodes;
+    /** The locations which are not stored inline, by block id and worker id. */
+    @GuardedBy("mLock")
+    private final Map<Long, Map<Long, BlockLocation>> mOverflow = new HashMap<>();
+    /** The number of occupied slots. */
+    @GuardedBy("mLock")
+    private int mSize;
+    /** The number of slots with block metadata. */
+    @GuardedBy("mLock")
+    private int mNumBlocks;
+
+    Segment() {
+      allocate(MIN_SEGMENT_CAPACITY);
+    }
+
+    Optional<BlockMeta> getBlock(long id, long hash) {
+      long stamp = mLock.tryOptimisticRead();
+      if (stamp != 0) {
+        long[] ids = mIds;
+        long[] lengths = mLengths;
+        byte[] states = mStates;
+        // the arrays may belong to different generations if a resize is in progress
+        if (ids.length == lengths.length && ids.length == states.length) {
+          int slot = find(ids, states, id, hash);
+          int state = slot >= 0 ? states[slot] : 0;
+          long length = slot >= 0 ? lengths[slot] : 0;
+          if (mLock.validate(stamp)) {
+            return toMeta(state, length);
+          }
+        }
+      }
+      stamp = mLock.readLock();
+      try {
+        int slot = find(mIds, mStates, id, hash);
+        return slot >= 0 ? toMeta(mStates[slot], mLengths[slot]) : Optional.empty();
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    void putBlock(long id, long hash, BlockMeta meta) {
+      long stamp = mLock.writeLock();
+      try {
+        int slot = findOrInsert(id, hash);
+        int state = mStates[slot];
+        if ((state & HAS_META) == 0) {
+          mNumBlocks++;
+        }
+        state = (state & ~HAS_LENGTH) | HAS_META;
+        if (meta.hasLength()) {
+          state |= HAS_LENGTH;
+        }
+        mStates[slot] = (byte) state;
+        mLengths[slot] = meta.getLength();
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    void removeBlock(long id, long hash) {
+      long stamp = mLock.writeLock();
+      try {
+        int slot = find(mIds, mStates, id, hash);
+        if (slot < 0 || (mStates[slot] & HAS_META) == 0) {
+          return;
+        }
+        mNumBlocks--;
+        // the locations of the block are kept until they are removed, as in HeapBlockStore
+        mStates[slot] = (byte) (mStates[slot] & ~(HAS_META | HAS_LENGTH));
+        mLengths[slot] = 0;
+        deleteSlotIfUnused(slot);
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    List<BlockLocation> getLocations(long id, long hash) {
+      long stamp = mLock.readLock();
+      try {
+        int slot = find(mIds, mStates, id, hash);
+        if (slot < 0) {
+          return Collections.emptyList();
+        }
+        int state = mStates[slot];
+        int count = state & COUNT_MASK;
+        if (count == 0 && (state & HAS_OVERFLOW) == 0) {
+          return Collections.emptyList();
+        }
+        List<BlockLocation> locations = new ArrayList<>(count);
+        int base = slot * mInlineLocations;
+        for (int i = 0; i < count; i++) {
+          locations.add(decode(mWorkerIds[base + i], mLocationCodes[base + i]));
+        }
+        if ((state & HAS_OVERFLOW) != 0) {
+          locations.addAll(mOverflow.get(id).values());
+        }
+        return locations;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    void addLocation(long id, long hash, BlockLocation location, int code) {
+      long workerId = location.getWorkerId();
+      long stamp = mLock.writeLock();
+      try {
+        int slot = findOrInsert(id, hash);
+        int base = slot * mInlineLocations;
+        int count = mStates[slot] & COUNT_MASK;
+        for (int i = 0; i < count; i++) {
+          if (mWorkerIds[base + i] == workerId) {
+            if (code != NO_CODE) {
+              mLocationCodes[base + i] = code;
+              return;
+            }
+            removeInline(slot, i);
+            count--;
+            break;
+          }
+        }
+        Map<Long, BlockLocation> overflow =
+            (mStates[slot] & HAS_OVERFLOW) != 0 ? mOverflow.get(id) : null;
+        if (overflow != null && overflow.containsKey(workerId)) {
+          overflow.put(workerId, location);
+          return;
+        }
+        if (code != NO_CODE && count < mInlineLocations) {
+          mWorkerIds[base + count] = workerId;
+          mLocationCodes[base + count] = code;
+          mStates[slot]++;
+          return;
+        }
+        if (overflow == null) {
+          overflow = new HashMap<>(4);
+          mOverflow.put(id, overflow);
+          mStates[slot] |= HAS_OVERFLOW;
+        }
+        overflow.put(workerId, location);
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    void removeLocation(long id, long hash, long workerId) {
+      long stamp = mLock.writeLock();
+      try {
+        int slot = find(mIds, mStates, id, hash);
+        if (slot < 0) {
+          return;
+        }
+        int base = slot * mInlineLocations;
+        int count = mStates[slot] & COUNT_MASK;
+        boolean removed = false;
+        for (int i = 0; i < count; i++) {
+          if (mWorkerIds[base + i] == workerId) {
+            removeInline(slot, i);
+            removed = true;
+            break;
+          }
+        }
+        if ((mStates[slot] & HAS_OVERFLOW) != 0) {
+          Map<Long, BlockLocation> overflow = mOverflow.get(id);
+          if (!removed) {
+            overflow.remove(workerId);
+          } else {
+            // move a location from the map into the freed inline entry
+            Iterator<BlockLocation> it = overflow.values().iterator();
+            while (it.hasNext()) {
+              BlockLocation location = it.next();
+              int code = encode(location);
+              if (code != NO_CODE) {
+                it.remove();
+                mWorkerIds[base + count - 1] = location.getWorkerId();
+                mLocationCodes[base + count - 1] = code;
+                mStates[slot]++;
+                break;
+              }
+            }
+          }
+          if (overflow.isEmpty()) {
+            mOverflow.remove(id);
+            mStates[slot] = (byte) (mStates[slot] & ~HAS_OVERFLOW);
+          }
+        }
+        deleteSlotIfUnused(slot);
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    int numBlocks() {
+      long stamp = mLock.readLock();
+      try {
+        return mNumBlocks;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    void snapshot(SnapshotConsumer consumer) {
+      long[] ids;
+      long[] lengths;
+      byte[] states;
+      long stamp = mLock.readLock();
+      try {
+        ids = new long[mNumBlocks];
+        lengths = new long[mNumBlocks];
+        states = new byte[mNumBlocks];
+        int n = 0;
+        for (int slot = 0; slot < mStates.length; slot++) {
+          if ((mStates[slot] & HAS_META) != 0) {
+            ids[n] = mIds[slot];
+            lengths[n] = mLengths[slot];
+            states[n] = mStates[slot];
+            n++;
+          }
+        }
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+      consumer.accept(ids, lengths, states);
+    }
+
+    void clear() {
+      long stamp = mLock.writeLock();
+      try {
+        allocate(MIN_SEGMENT_CAPACITY);
+        mOverflow.clear();
+      } finally {
+        mLock.unlockWrite(stamp);
+      }
+    }
+
+    long getAllocatedBytes() {
+      long stamp = mLock.readLock();
+      try {
+        return (long) (mIds.length + mLengths.length + mWorkerIds.length) * Long.BYTES
+            + (long) mLocationCodes.length * Integer.BYTES + mStates.length;
+      } finally {
+        mLock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Probes for a block id. The probe is bounded by the table length so that it terminates even
+     * when it observes a table being concurrently modified.
+     *
+     * @return the slot of the block id, or -1 if absent
+     */
+    private int find(long[] ids, byte[] states, long id, long hash) {
+      int mask = states.length - 1;
+      int slot = (int) hash & mask;
+      for (int i = 0; i < states.length; i++) {
+        if (states[slot] == 0) {
+          return -1;
+        }
+        if (ids[slot] == id) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    /**
+     * Returns the slot of a block id, claiming a free slot if the id is absent. The caller must
+     * set a non-zero state on a claimed slot.
+     */
+    @GuardedBy("mLock")
+    private int findOrInsert(long id, long hash) {
+      int slot = find(mIds, mStates, id, hash);
+      if (slot >= 0) {
+        return slot;
+      }
+      // keep the load factor at or below 3/4
+      if (mSize + 1 > (mStates.length >>> 2) * 3) {
+        resize(mStates.length * 2);
+      }
+      int mask = mStates.length - 1;
+      slot = (int) hash & mask;
+      while (mStates[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      mIds[slot] = id;
+      mSize++;
+      return slot;
+    }
+
+    /**
+     * Removes an inline location, moving the last inline location of the slot into its place.
+     */
+    @GuardedBy("mLock")
+    private void removeInline(int slot, int index) {
+      int base = slot * mInlineLocations;
+      int last = (mStates[slot] & COUNT_MASK) - 1;
+      mWorkerIds[base + index] = mWorkerIds[base + last];
+      mLocationCodes[base + index] = mLocationCodes[base + last];
+      mStates[slot]--;
+    }
+
+    @GuardedBy("mLock")
+    private void deleteSlotIfUnused(int slot) {
+      if (mStates[slot] == 0) {
+        deleteSlot(slot);
+        mSize--;
+      }
+    }
+
+    /**
+     * Empties a slot and shifts back the following entries of the probe sequence, so that no
+     * tombstone is needed.
+     */
+    @GuardedBy("mLock")
+    private void deleteSlot(int slot) {
+      int mask = mStates.length - 1;
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (mStates[next] != 0) {
+        int home = (int) hash(mIds[next]) & mask;
+        // move the entry into the hole if the hole lies on the path from its home slot
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          moveSlot(next, hole);
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      mStates[hole] = 0;
+    }
+
+    @GuardedBy("mLock")
+    private void moveSlot(int from, int to) {
+      mIds[to] = mIds[from];
+      mLengths[to] = mLengths[from];
+      mStates[to] = mStates[from];
+      System.arraycopy(mWorkerIds, from * mInlineLocations, mWorkerIds, to * mInlineLocations,
+          mInlineLocations);
+      System.arraycopy(mLocationCodes, from * mInlineLocations, mLocationCodes,
+          to * mInlineLocations, mInlineLocations);
+    }
+
+    @GuardedBy("mLock")
+    private void resize(int capacity) {
+      Preconditions.checkState(capacity <= MAX_SEGMENT_CAPACITY, "Block store segment is full");
+      long[] oldIds = mIds;
+      long[] oldLengths = mLengths;
+      byte[] oldStates = mStates;
+      long[] oldWorkerIds = mWorkerIds;
+      int[] oldLocationCodes = mLocationCodes;
+      int numBlocks = mNumBlocks;
+      allocate(capacity);
+      int mask = capacity - 1;
+      for (int i = 0; i < oldStates.length; i++) {
+        if (oldStates[i] != 0) {
+          int slot = (int) hash(oldIds[i]) & mask;
+          while (mStates[slot] != 0) {
+            slot = (slot + 1) & mask;
+          }
+          mIds[slot] = oldIds[i];
+          mLengths[slot] = oldLengths[i];
+          mStates[slot] = oldStates[i];
+          System.arraycopy(oldWorkerIds, i * mInlineLocations, mWorkerIds,
+              slot * mInlineLocations, mInlineLocations);
+          System.arraycopy(oldLocationCodes, i * mInlineLocations, mLocationCodes,
+              slot * mInlineLocations, mInlineLocations);
+          mSize++;
+        }
+      }
+      mNumBlocks = numBlocks;
+    }
+
+    @GuardedBy("mLock")
+    private void allocate(int capacity) {
+      mIds = new long[capacity];
+      mLengths = new long[capacity];
+      mStates = new byte[capacity];
+      mWorkerIds = new long[capacity * mInlineLocations];
+      mLocationCodes = new int[capacity * mInlineLocations];
+      mSize = 0;
+      mNumBlocks = 0;
+    }
+  }
+}
@@ -48,11 +48,14 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -65,6 +68,8 @@ public class RocksInodeStore implements InodeStore {
   private static final String INODES_COLUMN = "inodes";
   private static final String EDGES_COLUMN = "edges";
   private static final String ROCKS_STORE_NAME = "InodeStore";
+  /** The number of child ids a listing reads from RocksDB at a time. */
+  private static final int CHILD_IDS_CHUNK_SIZE = 1000;
 
   // These are fields instead of constants because they depend on the call to RocksDB.loadLibrary().
   private final WriteOptions mDisableWAL;
@@ -285,15 +290,7 @@ public class RocksInodeStore implements InodeStore {
 
   @Override
   public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
-    List<Long> ids = new ArrayList<>();
-    try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
-      iter.seek(Longs.toByteArray(inodeId));
-      while (iter.isValid()) {
-        ids.add(Longs.fromByteArray(iter.value()));
-        iter.next();
-      }
-    }
-    return ids;
+    return () -> new ChildIdIterator(inodeId, option.getStartAfter());
   }
 
   @Override
@@ -494,4 +491,62 @@ public class RocksInodeStore implements InodeStore {
     }
     return sb.toString();
   }
+
+  /**
+   * Iterates over the child ids of a directory, reading them in chunks so that a listing holds
+   * neither a RocksDB iterator nor all the ids of a large directory at once. The edges of a
+   * directory are sorted by child name, so each chunk seeks to the edge after the last one read.
+   */
+  private final class ChildIdIterator implements Iterator<Long> {
+    private final long mInodeId;
+    private final List<Long> mChunk = new ArrayList<>();
+    private int mPosition = 0;
+    /** The key of the last edge read, or null to read from the first child. */
+    @Nullable
+    private byte[] mLastKey;
+    private boolean mDone = false;
+
+    ChildIdIterator(long inodeId, @Nullable String startAfter) {
+      mInodeId = inodeId;
+      mLastKey = startAfter == null || startAfter.isEmpty() ? null
+          : RocksUtils.toByteArray(inodeId, startAfter);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (mPosition == mChunk.size() && !mDone) {
+        readChunk();
+      }
+      return mPosition < mChunk.size();
+    }
+
+    @Override
+    public Long next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return mChunk.get(mPosition++);
+    }
+
+    private void readChunk() {
+      mChunk.clear();
+      mPosition = 0;
+      try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
+        if (mLastKey == null) {
+          iter.seek(Longs.toByteArray(mInodeId));
+        } else {
+          iter.seek(mLastKey);
+          if (iter.isValid() && Arrays.equals(iter.key(), mLastKey)) {
+            iter.next();
+          }
+        }
+        while (iter.isValid() && mChunk.size() < CHILD_IDS_CHUNK_SIZE) {
+          mChunk.add(Longs.fromByteArray(iter.value()));
+          mLastKey = iter.key();
+          iter.next();
+        }
+        mDone = !iter.isValid();
+      }
+    }
+  }
 }
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -353,6 +354,42 @@ public class UfsStatusCache {
     return mChildren.get(path);
   }
 
+  /**
+   * Creates a pager over the UFS listing of a directory, which lists the pages on the prefetch
+   * executor of this cache. Unlike {@link #fetchChildrenIfAbsent(RpcContext, AlluxioURI,
+   * MountTable)}, the listed statuses are not added to the cache. The caller must close the pager.
+   *
+   * @param path the Alluxio path of the directory
+   * @param mountTable the Alluxio mount table
+   * @param pageSize the maximum number of statuses of a page
+   * @return the pager over the children of the directory
+   * @throws InvalidPathException if the alluxio path can't be resolved to a UFS mount
+   */
+  public UfsStatusPager pageChildren(AlluxioURI path, MountTable mountTable, int pageSize)
+      throws InvalidPathException {
+    MountTable.Resolution resolution = mountTable.resolve(path);
+    String ufsPath = resolution.getUri().toString();
+    CloseableResource<UnderFileSystem> ufsResource = resolution.acquireUfsResource();
+    return new UfsStatusPager(path, new UfsStatusPager.UfsStatusLister() {
+      @Override
+      public Iterator<UfsStatus> list() throws IOException {
+        if (mAbsentCache.isAbsentSince(path, mCacheValidTime)) {
+          return null;
+        }
+        Iterator<UfsStatus> statuses = ufsResource.get().listStatusIterator(ufsPath);
+        if (statuses == null) {
+          mAbsentCache.addSinglePath(path);
+        }
+        return statuses;
+      }
+
+      @Override
+      public void close() {
+        ufsResource.close();
+      }
+    }, pageSize, mPrefetchExecutor, mUfsFetchTimeout);
+  }
+
   /**
    * Submit a request to asynchronously fetch the statuses corresponding to a given directory.
    *
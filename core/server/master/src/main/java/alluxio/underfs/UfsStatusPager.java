@@ -0,0 +1,234 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.master.file.DefaultFileSystemMaster;
+import alluxio.master.file.RpcContext;
+import alluxio.util.LogUtils;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Lists the children of a UFS directory one page at a time.
+ *
+ * Once the caller calls {@link #prefetch()}, the next page is listed on the prefetch executor
+ * while the caller processes the current one, so the caller does not wait on the UFS between
+ * pages. The caller decides when to list ahead, so that only the pagers about to be read hold a
+ * page listed ahead. At most one page is listed ahead, and the UFS listing itself is consumed
+ * incrementally through {@link UnderFileSystem#listStatusIterator(String)}, so a pager holds at
+ * most two pages in memory regardless of the size of the directory.
+ */
+@NotThreadSafe
+public final class UfsStatusPager implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsStatusPager.class);
+
+  private final AlluxioURI mPath;
+  private final UfsStatusLister mLister;
+  private final int mPageSize;
+  @Nullable
+  private final ExecutorService mExecutor;
+  private final long mFetchTimeoutMs;
+
+  /** The listing of the directory, opened by the first page, or null before it. */
+  @Nullable
+  private Iterator<UfsStatus> mStatuses;
+  /** The page listed ahead, or null if none is being listed. */
+  @Nullable
+  private Future<List<UfsStatus>> mNextPage;
+  /** Whether the directory does not exist in the UFS. */
+  private boolean mAbsent = false;
+  /** Whether the last page was listed. */
+  private boolean mDone = false;
+
+  /**
+   * @param path the Alluxio path of the directory
+   * @param lister lists the directory in the UFS
+   * @param pageSize the maximum number of statuses of a page
+   * @param executor the executor listing the next page, or null to list every page on demand
+   * @param fetchTimeoutMs the time after which a caller waiting for a page checks whether its
+   *                       operation was cancelled
+   */
+  UfsStatusPager(AlluxioURI path, UfsStatusLister lister, int pageSize,
+      @Nullable ExecutorService executor, long fetchTimeoutMs) {
+    Preconditions.checkArgument(pageSize > 0, "pageSize must be positive");
+    mPath = path;
+    mLister = lister;
+    mPageSize = pageSize;
+    mExecutor = executor;
+    mFetchTimeoutMs = fetchTimeoutMs;
+  }
+
+  /**
+   * Starts listing the next page in the background, unless it is already being listed or the
+   * listing is done.
+   */
+  public void prefetch() {
+    if (mNextPage == null && !mDone) {
+      listAhead();
+    }
+  }
+
+  /**
+   * Returns the next page of the listing, which is listed on the caller thread unless it was
+   * prefetched.
+   *
+   * @param rpcContext the context of the operation waiting for the page, or null
+   * @return the statuses of the next page in the order of their names, or null once the directory
+   *         was entirely listed or if it does not exist in the UFS
+   */
+  @Nullable
+  public List<UfsStatus> nextPage(@Nullable RpcContext rpcContext)
+      throws IOException, InterruptedException {
+    if (mDone && mNextPage == null) {
+      return null;
+    }
+    List<UfsStatus> page;
+    if (mNextPage == null) {
+      page = listPage();
+    } else {
+      page = waitForNextPage(rpcContext);
+    }
+    if (page.isEmpty()) {
+      return null;
+    }
+    return page;
+  }
+
+  /**
+   * @return whether the directory turned out not to exist in the UFS
+   */
+  public boolean isAbsent() {
+    return mAbsent;
+  }
+
+  private void listAhead() {
+    if (mExecutor == null) {
+      return;
+    }
+    try {
+      mNextPage = mExecutor.submit(this::listPage);
+      DefaultFileSystemMaster.Metrics.METADATA_SYNC_PREFETCH_OPS_COUNT.inc();
+    } catch (RejectedExecutionException e) {
+      // the next page is listed on demand instead
+      LOG.debug("Failed to submit the listing of the next page of {}", mPath, e);
+    }
+  }
+
+  private List<UfsStatus> waitForNextPage(@Nullable RpcContext rpcContext)
+      throws IOException, InterruptedException {
+    Future<List<UfsStatus>> nextPage = mNextPage;
+    try {
+      while (true) {
+        try {
+          List<UfsStatus> page = nextPage.get(mFetchTimeoutMs, TimeUnit.MILLISECONDS);
+          DefaultFileSystemMaster.Metrics.METADATA_SYNC_PREFETCH_SUCCESS.inc();
+          DefaultFileSystemMaster.Metrics.METADATA_SYNC_PREFETCH_PATHS.inc(page.size());
+          return page;
+        } catch (TimeoutException e) {
+          if (rpcContext != null) {
+            rpcContext.throwIfCancelled();
+          }
+          DefaultFileSystemMaster.Metrics.METADATA_SYNC_PREFETCH_RETRIES.inc();
+        }
+      }
+    } catch (ExecutionException e) {
+      DefaultFileSystemMaster.Metrics.METADATA_SYNC_PREFETCH_FAIL.inc();
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (CancellationException e) {
+      throw new IOException(String.format("The listing of %s was cancelled", mPath), e);
+    } finally {
+      mNextPage = null;
+    }
+  }
+
+  /**
+   * Lists a page, on the executor or on the caller thread, never on both at once.
+   *
+   * @return the statuses of the page sorted by name, empty once the listing is done
+   */
+  private List<UfsStatus> listPage() throws IOException {
+    if (mStatuses == null) {
+      mStatuses = mLister.list();
+      if (mStatuses == null) {
+        mAbsent = true;
+        mDone = true;
+        return new ArrayList<>();
+      }
+    }
+    List<UfsStatus> page = new ArrayList<>(mPageSize);
+    try {
+      while (page.size() < mPageSize && mStatuses.hasNext()) {
+        page.add(mStatuses.next());
+      }
+      mDone = !mStatuses.hasNext();
+    } catch (UncheckedIOException e) {
+      LogUtils.warnWithException(LOG, "Failed to list a page of {}", mPath, e);
+      throw e.getCause();
+    }
+    page.sort(Comparator.comparing(UfsStatus::getName));
+    return page;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mNextPage != null) {
+      mNextPage.cancel(true);
+      mNextPage = null;
+    }
+    mDone = true;
+    mLister.close();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("path", mPath)
+        .add("pageSize", mPageSize)
+        .add("done", mDone)
+        .toString();
+  }
+
+  /**
+   * Lists a directory in its UFS, holding the UFS until closed.
+   */
+  interface UfsStatusLister extends Closeable {
+    /**
+     * @return an iterator over the children of the directory, or null if it does not exist
+     */
+    @Nullable
+    Iterator<UfsStatus> list() throws IOException;
+  }
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertTrue;
 import alluxio.Constants;
 import alluxio.StorageTierAssoc;
 import alluxio.DefaultStorageTierAssoc;
+import alluxio.collections.LongHashSet;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
 
@@ -62,11 +63,12 @@ public final class MasterWorkerInfoTest {
     // register
     mInfo = new MasterWorkerInfo(0, new WorkerNetAddress());
     mInfo.register(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES, TOTAL_BYTES_ON_TIERS,
-        USED_BYTES_ON_TIERS, NEW_BLOCKS);
+        USED_BYTES_ON_TIERS, new LongHashSet(NEW_BLOCKS));
   }
 
   /**
-   * Tests the {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, Set)} method.
+   * Tests the {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, LongHashSet)}
+   * method.
    */
   @Test
   public void register() {
@@ -89,20 +91,20 @@ public final class MasterWorkerInfoTest {
 
   /**
    * Tests that re-registering via
-   * {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, Set)} works.
+   * {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, LongHashSet)} works.
    */
   @Test
   public void registerAgain() {
     Set<Long> newBlocks = Sets.newHashSet(3L);
     Set<Long> removedBlocks = mInfo.register(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES,
-        TOTAL_BYTES_ON_TIERS, USED_BYTES_ON_TIERS, newBlocks);
+        TOTAL_BYTES_ON_TIERS, USED_BYTES_ON_TIERS, new LongHashSet(newBlocks));
     assertEquals(NEW_BLOCKS, removedBlocks);
     assertEquals(newBlocks, mInfo.getBlocks());
   }
 
   /**
    * Tests that an exception is thrown when trying to use the
-   * {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, Set)} method with a
+   * {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, LongHashSet)} method with a
    * different number of tiers.
    */
   @Test
@@ -113,7 +115,7 @@ public final class MasterWorkerInfoTest {
         + " totalBytesOnTiers has 2 tiers and usedBytesOnTiers has 1 tiers");
 
     mInfo.register(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES, TOTAL_BYTES_ON_TIERS,
-        ImmutableMap.of(Constants.MEDIUM_SSD, (long) Constants.KB), NEW_BLOCKS);
+        ImmutableMap.of(Constants.MEDIUM_SSD, (long) Constants.KB), new LongHashSet(NEW_BLOCKS));
   }
 
   /**
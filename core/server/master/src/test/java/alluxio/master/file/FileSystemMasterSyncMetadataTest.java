@@ -78,6 +78,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -327,6 +328,11 @@ public final class FileSystemMasterSyncMetadataTest {
     mRegistry.start(true);
 
     mUfs = Mockito.mock(UnderFileSystem.class);
+    // the listings of a sync are iterated over the stubbed listStatus
+    Mockito.when(mUfs.listStatusIterator(anyString())).thenAnswer(invocation -> {
+      UfsStatus[] statuses = mUfs.listStatus(invocation.getArgument(0, String.class));
+      return statuses == null ? null : Arrays.asList(statuses).iterator();
+    });
     PowerMockito.mockStatic(UnderFileSystem.Factory.class);
     Mockito.when(UnderFileSystem.Factory.create(anyString(), any())).thenReturn(mUfs);
   }
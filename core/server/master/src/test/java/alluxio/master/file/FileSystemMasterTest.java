@@ -29,6 +29,7 @@ import alluxio.AuthenticatedUserRule;
 import alluxio.ConfigurationRule;
 import alluxio.Constants;
 import alluxio.client.WriteType;
+import alluxio.collections.Pair;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.AccessControlException;
@@ -39,7 +40,9 @@ import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.UnexpectedAlluxioException;
+import alluxio.exception.status.AlreadyExistsException;
 import alluxio.exception.status.FailedPreconditionException;
+import alluxio.exception.status.NotFoundException;
 import alluxio.grpc.Command;
 import alluxio.grpc.CommandType;
 import alluxio.grpc.CompleteFilePOptions;
@@ -100,6 +103,7 @@ import alluxio.util.IdUtils;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.FileUtils;
+import alluxio.wire.BatchResult;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.FileSystemCommand;
@@ -127,6 +131,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -1360,6 +1365,69 @@ public final class FileSystemMasterTest {
     }
   }
 
+  @Test
+  public void listStatusBatches() throws Exception {
+    final int files = 10;
+    for (int i = 0; i < files; i++) {
+      createFileWithSingleBlock(ROOT_URI.join("file" + String.format("%05d", i)));
+      createFileWithSingleBlock(NESTED_URI.join("file" + String.format("%05d", i)));
+    }
+    for (boolean recursive : new boolean[] {false, true}) {
+      List<String> expected = listPaths(ROOT_URI, ListStatusPOptions.newBuilder()
+          .setLoadMetadataType(LoadMetadataPType.NEVER).setRecursive(recursive));
+      for (int batchSize : new int[] {1, 3, files, 100}) {
+        List<String> paths = new ArrayList<>();
+        String continuationToken = "";
+        do {
+          ListStatusContext context = ListStatusContext.mergeFrom(ListStatusPOptions.newBuilder()
+              .setLoadMetadataType(LoadMetadataPType.NEVER).setRecursive(recursive)
+              .setBatchSize(batchSize).setContinuationToken(continuationToken));
+          List<FileInfo> infos = mFileSystemMaster.listStatus(ROOT_URI, context);
+          assertTrue(infos.size() <= batchSize);
+          infos.forEach(info -> paths.add(info.getPath()));
+          continuationToken = context.getContinuationToken();
+        } while (continuationToken != null);
+        assertEquals(expected, paths);
+      }
+    }
+  }
+
+  @Test
+  public void syncMetadataInPages() throws Exception {
+    ServerConfiguration.set(PropertyKey.MASTER_METADATA_SYNC_UFS_LISTING_PAGE_SIZE, 3);
+    ServerConfiguration.set(PropertyKey.MASTER_METADATA_SYNC_PENDING_PATHS_MAX, 2);
+    final int files = 10;
+    AlluxioURI dir = new AlluxioURI("/pages");
+    Path ufsDir = Paths.get(mUnderFS).resolve("pages");
+    for (int i = 0; i < files; i++) {
+      FileUtils.createFile(ufsDir.resolve("file" + i).toString());
+      FileUtils.createFile(ufsDir.resolve("dir" + i).resolve("file").toString());
+    }
+    ListStatusPOptions.Builder options = ListStatusPOptions.newBuilder().setRecursive(true)
+        .setCommonOptions(FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(0));
+    assertEquals(3 * files, listPaths(dir, options).size());
+
+    // files removed from and added to the UFS in every page are merged
+    for (int i = 0; i < files; i += 2) {
+      Files.delete(ufsDir.resolve("file" + i));
+      FileUtils.createFile(ufsDir.resolve("new" + i).toString());
+    }
+    Files.delete(ufsDir.resolve("dir1").resolve("file"));
+    List<String> paths = listPaths(dir, options);
+    assertEquals(3 * files - 1, paths.size());
+    assertFalse(paths.contains("/pages/file0"));
+    assertTrue(paths.contains("/pages/file1"));
+    assertTrue(paths.contains("/pages/new8"));
+    assertFalse(paths.contains("/pages/dir1/file"));
+    assertTrue(paths.contains("/pages/dir9/file"));
+  }
+
+  private List<String> listPaths(AlluxioURI uri, ListStatusPOptions.Builder options)
+      throws Exception {
+    return mFileSystemMaster.listStatus(uri, ListStatusContext.mergeFrom(options)).stream()
+        .map(FileInfo::getPath).collect(Collectors.toList());
+  }
+
   @Test
   public void listStatusRecursivePermissions() throws Exception {
     final int files = 10;
@@ -2225,6 +2293,50 @@ public final class FileSystemMasterTest {
         mFileSystemMaster.getFileInfo(NESTED_URI, GET_STATUS_CONTEXT).getName());
   }
 
+  /**
+   * Tests that the operations of a batch fail or succeed on their own.
+   */
+  @Test
+  public void batchOperations() throws Exception {
+    AlluxioURI fileB = new AlluxioURI("/batch/b");
+    AlluxioURI fileA = new AlluxioURI("/batch/a");
+    AlluxioURI missing = new AlluxioURI("/batch/missing");
+    CreateFilePOptions.Builder createOptions =
+        CreateFilePOptions.newBuilder().setBlockSizeBytes(Constants.KB).setRecursive(true);
+    List<BatchResult<FileInfo>> created = mFileSystemMaster.createFileBatch(Arrays.asList(
+        new Pair<>(fileB, CreateFileContext.mergeFrom(createOptions.clone())),
+        new Pair<>(fileA, CreateFileContext.mergeFrom(createOptions.clone())),
+        new Pair<>(fileB, CreateFileContext.mergeFrom(createOptions.clone()))));
+    // results follow the order of the requests, and the duplicate fails
+    assertEquals(fileB.getPath(), created.get(0).getValue().getPath());
+    assertEquals(fileA.getPath(), created.get(1).getValue().getPath());
+    assertTrue(created.get(2).getError() instanceof AlreadyExistsException);
+
+    List<BatchResult<Void>> set = mFileSystemMaster.setAttributeBatch(Arrays.asList(
+        new Pair<>(fileA, SetAttributeContext.mergeFrom(
+            SetAttributePOptions.newBuilder().setPinned(true))),
+        new Pair<>(missing, SetAttributeContext.mergeFrom(
+            SetAttributePOptions.newBuilder().setPinned(true)))));
+    assertTrue(set.get(0).isSuccess());
+    assertTrue(set.get(1).getError() instanceof NotFoundException);
+
+    List<BatchResult<FileInfo>> infos = mFileSystemMaster.getFileInfoBatch(Arrays.asList(
+        new Pair<>(missing, GetStatusContext.mergeFrom(GetStatusPOptions.newBuilder())),
+        new Pair<>(fileA, GetStatusContext.mergeFrom(GetStatusPOptions.newBuilder()))));
+    assertTrue(infos.get(0).getError() instanceof NotFoundException);
+    assertTrue(infos.get(1).getValue().isPinned());
+
+    List<BatchResult<Void>> deleted = mFileSystemMaster.deleteBatch(Arrays.asList(
+        new Pair<>(fileA, DeleteContext.defaults()),
+        new Pair<>(missing, DeleteContext.defaults()),
+        new Pair<>(fileB, DeleteContext.defaults())));
+    assertTrue(deleted.get(0).isSuccess());
+    assertTrue(deleted.get(1).getError() instanceof NotFoundException);
+    assertTrue(deleted.get(2).isSuccess());
+    assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(fileA));
+    assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(fileB));
+  }
+
   /**
    * Tests the {@link FileSystemMaster#setAttribute(AlluxioURI, SetAttributeContext)} method and
    * that an exception is thrown when trying to set a TTL for a directory.
@@ -0,0 +1,175 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.master.journal.checkpoint.CheckpointInputStream;
+import alluxio.master.metastore.InodeStore;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link TtlTimingWheel}.
+ */
+public final class TtlTimingWheelTest {
+  private static final long TTL_INTERVAL = 10;
+  private static final long INTERVAL1_START = 0;
+  private static final long INTERVAL1_END = INTERVAL1_START + TTL_INTERVAL;
+  private static final long INTERVAL2_START = INTERVAL1_END;
+  private static final long INTERVAL2_END = INTERVAL2_START + TTL_INTERVAL;
+  private static final Inode INTERVAL1_FILE1 =
+      TtlTestUtils.createFileWithIdAndTtl(0, INTERVAL1_START);
+  private static final Inode INTERVAL1_FILE2 =
+      TtlTestUtils.createFileWithIdAndTtl(1, INTERVAL1_END - 1);
+  private static final Inode INTERVAL2_FILE =
+      TtlTestUtils.createFileWithIdAndTtl(2, INTERVAL2_START);
+
+  private InodeStore mInodeStore;
+  private TtlTimingWheel mWheel;
+
+  @ClassRule
+  public static TtlIntervalRule sTtlIntervalRule = new TtlIntervalRule(TTL_INTERVAL);
+
+  /**
+   * Sets up a new {@link TtlTimingWheel} before a test runs.
+   */
+  @Before
+  public void before() {
+    mInodeStore = mock(InodeStore.class);
+    mWheel = new TtlTimingWheel(mInodeStore);
+  }
+
+  private void assertExpired(long time, Inode... inodes) {
+    long[] expired = mWheel.pollExpired(time, Integer.MAX_VALUE);
+    Arrays.sort(expired);
+    Assert.assertArrayEquals(Arrays.stream(inodes).mapToLong(Inode::getId).sorted().toArray(),
+        expired);
+  }
+
+  /**
+   * Tests that inodes expire once the interval their ttl ends in has passed.
+   */
+  @Test
+  public void insert() {
+    mWheel.insert(INTERVAL1_FILE1);
+    mWheel.insert(INTERVAL1_FILE2);
+    mWheel.insert(INTERVAL2_FILE);
+    Assert.assertEquals(3, mWheel.size());
+
+    // No inode should expire before the end of the first interval.
+    assertExpired(INTERVAL1_END - 1);
+    assertExpired(INTERVAL1_END, INTERVAL1_FILE1, INTERVAL1_FILE2);
+    // Expired inodes are only returned once.
+    assertExpired(INTERVAL2_END - 1);
+    assertExpired(INTERVAL2_END, INTERVAL2_FILE);
+    Assert.assertEquals(0, mWheel.size());
+  }
+
+  /**
+   * Tests the {@link TtlTimingWheel#remove(InodeView)} method.
+   */
+  @Test
+  public void remove() {
+    mWheel.insert(INTERVAL1_FILE1);
+    mWheel.insert(INTERVAL1_FILE2);
+    mWheel.insert(INTERVAL2_FILE);
+
+    mWheel.remove(INTERVAL1_FILE1);
+    mWheel.remove(INTERVAL2_FILE);
+    // Removing an inode not in the wheel does nothing.
+    mWheel.remove(INTERVAL2_FILE);
+    Assert.assertEquals(1, mWheel.size());
+    assertExpired(INTERVAL2_END, INTERVAL1_FILE2);
+  }
+
+  /**
+   * Tests that expired inodes are polled up to the limit, earliest expiry first.
+   */
+  @Test
+  public void pollInBatches() {
+    int count = 1000;
+    for (int i = count - 1; i >= 0; i--) {
+      mWheel.insert(TtlTestUtils.createFileWithIdAndTtl(i, i * TTL_INTERVAL));
+    }
+    // Inodes far in the future should not be polled.
+    mWheel.insert(TtlTestUtils.createFileWithIdAndTtl(count, Long.MAX_VALUE / 2));
+
+    long now = count * TTL_INTERVAL;
+    long previousId = -1;
+    int polled = 0;
+    long[] batch;
+    while ((batch = mWheel.pollExpired(now, 7)).length > 0) {
+      Assert.assertTrue(batch.length <= 7);
+      for (long id : batch) {
+        Assert.assertTrue(id > previousId);
+        previousId = id;
+      }
+      polled += batch.length;
+    }
+    Assert.assertEquals(count, polled);
+    Assert.assertEquals(1, mWheel.size());
+  }
+
+  /**
+   * Tests that the inodes of a slot holding more inodes than a batch are polled across batches.
+   */
+  @Test
+  public void pollLargeSlot() {
+    int count = 10_000;
+    for (int i = 0; i < count; i++) {
+      mWheel.insert(TtlTestUtils.createFileWithIdAndTtl(i, INTERVAL1_START + i % TTL_INTERVAL));
+    }
+    Set<Long> polled = new HashSet<>();
+    long[] batch;
+    while ((batch = mWheel.pollExpired(INTERVAL1_END, 100)).length > 0) {
+      Assert.assertEquals(100, batch.length);
+      for (long id : batch) {
+        Assert.assertTrue(polled.add(id));
+      }
+    }
+    Assert.assertEquals(count, polled.size());
+    Assert.assertEquals(0, mWheel.size());
+  }
+
+  /**
+   * Tests that the wheel is restored from a checkpoint.
+   */
+  @Test
+  public void checkpoint() throws Exception {
+    for (Inode inode : Arrays.asList(INTERVAL1_FILE1, INTERVAL1_FILE2, INTERVAL2_FILE)) {
+      mWheel.insert(inode);
+      when(mInodeStore.get(inode.getId())).thenReturn(Optional.of(inode));
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    mWheel.writeToCheckpoint(baos);
+
+    TtlTimingWheel restored = new TtlTimingWheel(mInodeStore);
+    restored.restoreFromCheckpoint(
+        new CheckpointInputStream(new ByteArrayInputStream(baos.toByteArray())));
+    Assert.assertEquals(3, restored.size());
+    mWheel = restored;
+    assertExpired(INTERVAL1_END, INTERVAL1_FILE1, INTERVAL1_FILE2);
+    assertExpired(INTERVAL2_END, INTERVAL2_FILE);
+  }
+}
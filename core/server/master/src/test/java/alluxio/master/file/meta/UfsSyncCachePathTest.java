@@ -11,13 +11,28 @@
 
 package alluxio.master.file.meta;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import alluxio.clock.ManualClock;
 import alluxio.file.options.DescendantType;
+import alluxio.master.journal.JournalContext;
+import alluxio.master.journal.NoopJournalContext;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.resource.CloseableIterator;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 public class UfsSyncCachePathTest {
+  private static final long SYNC_INTERVAL_MS = 1000;
+  private static final int CAPACITY = 10;
+  private static final long JOURNAL_GRANULARITY_MS = 60_000;
+
+  private ManualClock mClock;
 
   private String mGrandParentDir;
   private String mParentPath;
@@ -27,11 +42,12 @@ public class UfsSyncCachePathTest {
 
   @Before
   public void before() throws Exception {
+    mClock = new ManualClock();
     mGrandParentDir = "/dir1";
     mParentPath = "/dir1/dir2";
     mChildPath = "/dir1/dir2/dir3";
     mChildFile = "/dir1/dir2/file";
-    mUspCache = new UfsSyncPathCache();
+    mUspCache = new UfsSyncPathCache(mClock, CAPACITY, JOURNAL_GRANULARITY_MS);
   }
 
   @Test
@@ -61,8 +77,9 @@ public class UfsSyncCachePathTest {
   }
 
   private void getFileInfoInCache(DescendantType descendantType) throws Exception {
-    mUspCache.notifySyncedPath(mParentPath, descendantType);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mParentPath, descendantType,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // request from getFileInfo
     boolean shouldSync = mUspCache.shouldSyncPath(mParentPath, 30, true);
     Assert.assertTrue(shouldSync);
@@ -83,8 +100,9 @@ public class UfsSyncCachePathTest {
   }
 
   private void getFileInfoFromDirectParent(DescendantType descendantType) throws Exception {
-    mUspCache.notifySyncedPath(mParentPath, descendantType);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mParentPath, descendantType,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, true);
     Assert.assertTrue(shouldSync);
@@ -104,8 +122,9 @@ public class UfsSyncCachePathTest {
    */
   @Test
   public void getFileInfoFromGrandParentONE() throws Exception {
-    mUspCache.notifySyncedPath(mGrandParentDir, DescendantType.ONE);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mGrandParentDir, DescendantType.ONE,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, true);
     Assert.assertTrue(shouldSync);
@@ -125,8 +144,9 @@ public class UfsSyncCachePathTest {
    */
   @Test
   public void getFileInfoFromGrandParentALL() throws Exception {
-    mUspCache.notifySyncedPath(mGrandParentDir, DescendantType.ALL);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mGrandParentDir, DescendantType.ALL,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, true);
     Assert.assertTrue(shouldSync);
@@ -152,8 +172,9 @@ public class UfsSyncCachePathTest {
   }
 
   private void listStatusInCache(DescendantType descendantType) throws Exception {
-    mUspCache.notifySyncedPath(mParentPath, descendantType);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mParentPath, descendantType,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // request from listStatus
     boolean shouldSync = mUspCache.shouldSyncPath(mParentPath, 30, false);
     Assert.assertTrue(shouldSync);
@@ -168,8 +189,9 @@ public class UfsSyncCachePathTest {
    */
   @Test
   public void lsFromDirectParentONE() throws Exception {
-    mUspCache.notifySyncedPath(mParentPath, DescendantType.ONE);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mParentPath, DescendantType.ONE,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, false);
     Assert.assertTrue(shouldSync);
@@ -189,8 +211,9 @@ public class UfsSyncCachePathTest {
    */
   @Test
   public void lsFromDirectParentALL() throws Exception {
-    mUspCache.notifySyncedPath(mParentPath, DescendantType.ALL);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mParentPath, DescendantType.ALL,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, false);
     Assert.assertTrue(shouldSync);
@@ -210,8 +233,9 @@ public class UfsSyncCachePathTest {
    */
   @Test
   public void lsFromGrandParentONE() throws Exception {
-    mUspCache.notifySyncedPath(mGrandParentDir, DescendantType.ONE);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mGrandParentDir, DescendantType.ONE,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, false);
     Assert.assertTrue(shouldSync);
@@ -231,8 +255,9 @@ public class UfsSyncCachePathTest {
    */
   @Test
   public void lsFromGrandParentALL() throws Exception {
-    mUspCache.notifySyncedPath(mGrandParentDir, DescendantType.ALL);
-    Thread.sleep(50);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mGrandParentDir, DescendantType.ALL,
+        SYNC_INTERVAL_MS);
+    mClock.addTimeMs(50);
     // test child directory
     boolean shouldSync = mUspCache.shouldSyncPath(mChildPath, 30, false);
     Assert.assertTrue(shouldSync);
@@ -244,4 +269,99 @@ public class UfsSyncCachePathTest {
     shouldSync = mUspCache.shouldSyncPath(mChildFile, 10000, false);
     Assert.assertFalse(shouldSync);
   }
+
+  /**
+   * The sync times are restored from the journal entries of a checkpoint.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void restoreFromJournalEntries() throws Exception {
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mGrandParentDir, DescendantType.ALL,
+        SYNC_INTERVAL_MS);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mChildPath, DescendantType.ONE,
+        SYNC_INTERVAL_MS);
+    UfsSyncPathCache restored = new UfsSyncPathCache(mClock, CAPACITY, JOURNAL_GRANULARITY_MS);
+    try (CloseableIterator<JournalEntry> it = mUspCache.getJournalEntryIterator()) {
+      while (it.hasNext()) {
+        Assert.assertTrue(restored.processJournalEntry(it.next()));
+      }
+    }
+    Assert.assertEquals(2, restored.size());
+    Assert.assertFalse(restored.shouldSyncPath(mChildFile, 10000, false));
+    Assert.assertFalse(restored.shouldSyncPath(mChildPath, 10000, true));
+
+    restored.resetState();
+    Assert.assertEquals(0, restored.size());
+    Assert.assertTrue(restored.shouldSyncPath(mChildFile, 10000, false));
+  }
+
+  /**
+   * A recursive sync removes the sync times of the descendants synced before it.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void recursiveSyncRemovesDescendants() throws Exception {
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mChildPath, DescendantType.ONE,
+        SYNC_INTERVAL_MS);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mChildFile, DescendantType.NONE,
+        SYNC_INTERVAL_MS);
+    Assert.assertEquals(2, mUspCache.size());
+    mClock.addTimeMs(5);
+    mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, mGrandParentDir, DescendantType.ALL,
+        SYNC_INTERVAL_MS);
+    Assert.assertEquals(1, mUspCache.size());
+    Assert.assertFalse(mUspCache.shouldSyncPath(mChildPath, 10000, false));
+  }
+
+  /**
+   * The sync times of a path are journaled at most once per journal granularity, and not at all
+   * for syncs which always sync, which still update the memory of the master.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void coalesceJournalEntries() throws Exception {
+    JournalContext context = mock(JournalContext.class);
+    mUspCache.notifySyncedPath(() -> context, mParentPath, DescendantType.ONE, 0);
+    verify(context, times(0)).append(any());
+    Assert.assertFalse(mUspCache.shouldSyncPath(mParentPath, SYNC_INTERVAL_MS, false));
+
+    mUspCache.notifySyncedPath(() -> context, mParentPath, DescendantType.ONE, SYNC_INTERVAL_MS);
+    verify(context, times(1)).append(any());
+    mClock.addTimeMs(JOURNAL_GRANULARITY_MS / 2);
+    mUspCache.notifySyncedPath(() -> context, mParentPath, DescendantType.ONE, SYNC_INTERVAL_MS);
+    verify(context, times(1)).append(any());
+    // the sync time is still updated in memory
+    mClock.addTimeMs(JOURNAL_GRANULARITY_MS / 2);
+    Assert.assertFalse(mUspCache.shouldSyncPath(mParentPath, JOURNAL_GRANULARITY_MS, false));
+    // a recursive sync is journaled, as its time was not journaled yet
+    mUspCache.notifySyncedPath(() -> context, mParentPath, DescendantType.ALL, SYNC_INTERVAL_MS);
+    verify(context, times(2)).append(any());
+    mClock.addTimeMs(JOURNAL_GRANULARITY_MS);
+    mUspCache.notifySyncedPath(() -> context, mParentPath, DescendantType.ONE, SYNC_INTERVAL_MS);
+    verify(context, times(3)).append(any());
+  }
+
+  /**
+   * The least recently synced paths are evicted in a batch once the cache exceeds its capacity.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void evictLeastRecentlySynced() throws Exception {
+    for (int i = 0; i <= CAPACITY; i++) {
+      mUspCache.notifySyncedPath(NoopJournalContext.INSTANCE, "/dir" + i, DescendantType.ONE,
+          SYNC_INTERVAL_MS);
+      mClock.addTimeMs(1);
+    }
+    // the cache is trimmed to 90% of its capacity
+    Assert.assertEquals(CAPACITY * 9 / 10, mUspCache.size());
+    Assert.assertTrue(mUspCache.shouldSyncPath("/dir0", SYNC_INTERVAL_MS, false));
+    Assert.assertTrue(mUspCache.shouldSyncPath("/dir1", SYNC_INTERVAL_MS, false));
+    for (int i = 2; i <= CAPACITY; i++) {
+      Assert.assertFalse(mUspCache.shouldSyncPath("/dir" + i, SYNC_INTERVAL_MS, false));
+    }
+  }
 }
@@ -105,6 +105,27 @@ public class InodeStoreTest {
     assertEquals(Inode.wrap(child), mStore.getChild(mRoot, child.getName()).get());
   }
 
+  @Test
+  public void getChildrenStartAfter() {
+    writeInode(mRoot);
+    long id = 1;
+    for (String name : new String[] {"c", "a", "d", "b"}) {
+      MutableInodeFile child = inodeFile(id++, 0, name);
+      writeInode(child);
+      writeEdge(mRoot, child);
+    }
+    assertEquals(Arrays.asList("c", "d"), childNames("b"));
+    assertEquals(Arrays.asList("d"), childNames("cc"));
+    assertEquals(Arrays.asList("a", "b", "c", "d"), childNames(""));
+  }
+
+  private List<String> childNames(String startAfter) {
+    List<String> names = new ArrayList<>();
+    mStore.getChildren(mRoot, ReadOption.newBuilder().setStartAfter(startAfter).build())
+        .forEach(child -> names.add(child.getName()));
+    return names;
+  }
+
   @Test
   public void remove() {
     writeInode(mRoot);
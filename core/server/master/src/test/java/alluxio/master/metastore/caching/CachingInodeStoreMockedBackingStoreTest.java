@@ -287,6 +287,46 @@ public class CachingInodeStoreMockedBackingStoreTest {
     }
   }
 
+  @Test
+  public void pageChildren() throws Exception {
+    MutableInodeDirectory bigDir = createInodeDir(1, 0);
+    List<String> expected = new ArrayList<>();
+    for (int i = 100; i < 100 + CACHE_SIZE * 2; i++) {
+      mStore.addChild(bigDir.getId(), createInodeDir(i, bigDir.getId()));
+      expected.add(Long.toString(i));
+      if (i == 100 + CACHE_SIZE) {
+        // the children added after the flush are only in the cache
+        mStore.mEdgeCache.flush();
+        mStore.mInodeCache.flush();
+      }
+    }
+    // the deleted edges remain in the backing store until they are flushed
+    for (String name : new String[] {"105", "125", "139"}) {
+      mStore.removeChild(bigDir.getId(), name);
+      expected.remove(name);
+    }
+    mStore.mListingCache.clear();
+
+    List<String> listed = new ArrayList<>();
+    String startAfter = "";
+    while (true) {
+      List<Long> page = new ArrayList<>();
+      Iterables.addAll(page, Iterables.limit(mStore.getChildIds(bigDir.getId(),
+          ReadOption.newBuilder().setStartAfter(startAfter).build()), 7));
+      if (page.isEmpty()) {
+        break;
+      }
+      for (long id : page) {
+        startAfter = mStore.get(id).get().getName();
+        listed.add(startAfter);
+      }
+    }
+    assertEquals(expected, listed);
+    // the pages are read from the backing store rather than by listing the whole directory
+    verify(mBackingStore, times(0)).getChildIds(anyLong());
+    assertFalse(mStore.mListingCache.getCachedChildIds(bigDir.getId()).isPresent());
+  }
+
   @Test
   public void flushToBackingStore() throws Exception {
     for (long inodeId = 10; inodeId < 10 + CACHE_SIZE / 2; inodeId++) {
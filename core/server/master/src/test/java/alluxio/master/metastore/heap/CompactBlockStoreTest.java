@@ -0,0 +1,169 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.heap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.master.metastore.BlockStore;
+import alluxio.proto.meta.Block.BlockLocation;
+import alluxio.proto.meta.Block.BlockMeta;
+import alluxio.resource.CloseableIterator;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link CompactBlockStore}.
+ */
+public final class CompactBlockStoreTest {
+  private final CompactBlockStore mStore = new CompactBlockStore(2);
+
+  @Test
+  public void putGetRemove() {
+    mStore.putBlock(1, BlockMeta.newBuilder().setLength(100).build());
+    mStore.putBlock(2, BlockMeta.getDefaultInstance());
+    assertEquals(BlockMeta.newBuilder().setLength(100).build(), mStore.getBlock(1).get());
+    assertEquals(BlockMeta.getDefaultInstance(), mStore.getBlock(2).get());
+    assertFalse(mStore.getBlock(3).isPresent());
+    assertEquals(2, mStore.size());
+
+    mStore.putBlock(1, BlockMeta.newBuilder().setLength(200).build());
+    assertEquals(200, mStore.getBlock(1).get().getLength());
+    mStore.removeBlock(1);
+    mStore.removeBlock(3);
+    assertFalse(mStore.getBlock(1).isPresent());
+    assertEquals(1, mStore.size());
+  }
+
+  @Test
+  public void overflowLocations() {
+    mStore.putBlock(1, BlockMeta.newBuilder().setLength(100).build());
+    for (long workerId = 0; workerId < 5; workerId++) {
+      mStore.addLocation(1, location(workerId, "MEM"));
+    }
+    // replaces the location of the worker
+    mStore.addLocation(1, location(3, "SSD"));
+    assertEquals(locations(location(0, "MEM"), location(1, "MEM"), location(2, "MEM"),
+        location(3, "SSD"), location(4, "MEM")), locations(mStore.getLocations(1)));
+
+    // removing inline locations moves locations from the map inline
+    mStore.removeLocation(1, 0);
+    mStore.removeLocation(1, 1);
+    mStore.removeLocation(1, 2);
+    assertEquals(locations(location(3, "SSD"), location(4, "MEM")),
+        locations(mStore.getLocations(1)));
+    mStore.removeLocation(1, 3);
+    mStore.removeLocation(1, 4);
+    assertTrue(mStore.getLocations(1).isEmpty());
+    assertTrue(mStore.getBlock(1).isPresent());
+  }
+
+  @Test
+  public void locationsWithoutBlock() {
+    BlockLocation noTier = BlockLocation.newBuilder().setWorkerId(7).build();
+    mStore.putBlock(1, BlockMeta.newBuilder().setLength(100).build());
+    mStore.addLocation(1, noTier);
+    mStore.removeBlock(1);
+    // as in HeapBlockStore, locations are kept until they are removed
+    assertFalse(mStore.getBlock(1).isPresent());
+    assertEquals(0, mStore.size());
+    assertEquals(1, mStore.getLocations(1).size());
+    assertEquals(noTier, mStore.getLocations(1).get(0));
+    mStore.removeLocation(1, 7);
+    assertTrue(mStore.getLocations(1).isEmpty());
+  }
+
+  @Test
+  public void iterator() {
+    for (long id = 0; id < 1000; id++) {
+      mStore.putBlock(id, BlockMeta.newBuilder().setLength(id * 2).build());
+    }
+    mStore.removeBlock(500);
+    Set<Long> ids = new HashSet<>();
+    try (CloseableIterator<BlockStore.Block> iter = mStore.getCloseableIterator()) {
+      while (iter.hasNext()) {
+        BlockStore.Block block = iter.next();
+        assertEquals(block.getId() * 2, block.getMeta().getLength());
+        assertTrue(ids.add(block.getId()));
+      }
+    }
+    assertEquals(999, ids.size());
+    assertFalse(ids.contains(500L));
+  }
+
+  @Test
+  public void sameAsHeapBlockStore() {
+    HeapBlockStore expected = new HeapBlockStore();
+    Random random = new Random(42);
+    String[] tiers = {"MEM", "SSD", "HDD"};
+    int numBlocks = 5000;
+    for (int i = 0; i < 200000; i++) {
+      long id = random.nextInt(numBlocks);
+      long workerId = random.nextInt(6);
+      switch (random.nextInt(4)) {
+        case 0:
+          BlockMeta meta = BlockMeta.newBuilder().setLength(random.nextInt(1000)).build();
+          expected.putBlock(id, meta);
+          mStore.putBlock(id, meta);
+          break;
+        case 1:
+          expected.removeBlock(id);
+          mStore.removeBlock(id);
+          break;
+        case 2:
+          BlockLocation location = location(workerId, tiers[random.nextInt(tiers.length)]);
+          expected.addLocation(id, location);
+          mStore.addLocation(id, location);
+          break;
+        default:
+          expected.removeLocation(id, workerId);
+          mStore.removeLocation(id, workerId);
+          break;
+      }
+    }
+    assertEquals(expected.size(), mStore.size());
+    for (long id = 0; id < numBlocks; id++) {
+      assertEquals(expected.getBlock(id), mStore.getBlock(id));
+      assertEquals(locations(expected.getLocations(id)), locations(mStore.getLocations(id)));
+    }
+    mStore.clear();
+    assertEquals(0, mStore.size());
+    assertTrue(mStore.getLocations(0).isEmpty());
+  }
+
+  private static BlockLocation location(long workerId, String tier) {
+    return BlockLocation.newBuilder().setWorkerId(workerId).setTier(tier).setMediumType(tier)
+        .build();
+  }
+
+  private static Map<Long, BlockLocation> locations(BlockLocation... locations) {
+    Map<Long, BlockLocation> map = new HashMap<>();
+    for (BlockLocation location : locations) {
+      map.put(location.getWorkerId(), location);
+    }
+    return map;
+  }
+
+  private static Map<Long, BlockLocation> locations(List<BlockLocation> locations) {
+    Map<Long, BlockLocation> map = locations(locations.toArray(new BlockLocation[0]));
+    assertEquals("duplicate locations " + locations, locations.size(), map.size());
+    return map;
+  }
+}
@@ -59,6 +59,7 @@ import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -168,6 +169,40 @@ public class UfsStatusCacheTest {
     children.forEach(stat -> assertEquals("b", stat.getName()));
   }
 
+  @Test
+  public void pageChildren() throws Exception {
+    createUfsDirs("a");
+    for (int i = 0; i < 7; i++) {
+      createUfsFile("a/f" + (6 - i));
+    }
+    List<String> names = new ArrayList<>();
+    try (UfsStatusPager pager = mCache.pageChildren(new AlluxioURI("/a"), mMountTable, 3)) {
+      pager.prefetch();
+      List<UfsStatus> page;
+      while ((page = pager.nextPage(null)) != null) {
+        assertTrue(page.size() <= 3);
+        List<String> pageNames =
+            page.stream().map(UfsStatus::getName).collect(Collectors.toList());
+        assertEquals(pageNames.stream().sorted().collect(Collectors.toList()), pageNames);
+        names.addAll(pageNames);
+        pager.prefetch();
+      }
+      assertFalse(pager.isAbsent());
+    }
+    Collections.sort(names);
+    assertEquals(ImmutableList.of("f0", "f1", "f2", "f3", "f4", "f5", "f6"), names);
+    // the listed statuses are not cached
+    assertNull(mCache.getStatus(new AlluxioURI("/a/f0")));
+  }
+
+  @Test
+  public void pageAbsentChildren() throws Exception {
+    try (UfsStatusPager pager = mCache.pageChildren(new AlluxioURI("/a"), mMountTable, 3)) {
+      assertNull(pager.nextPage(null));
+      assertTrue(pager.isAbsent());
+    }
+  }
+
   @Test
   public void testFetchInterruptedException() throws Exception {
     spyUfs();
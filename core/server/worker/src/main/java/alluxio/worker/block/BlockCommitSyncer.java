@@ -0,0 +1,268 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Makes committed block files durable, according to a {@link BlockCommitSyncMode}. A block is
+ * durable once both its file and the directory holding the file are synced.
+ *
+ * In the {@link BlockCommitSyncMode#GROUP} mode, each committing thread still syncs its own block
+ * file, so that the file syncs of a device run in parallel, but the directory syncs are handed to
+ * a flusher thread of the device of the block. The flusher syncs together the commits queued while
+ * its previous batch was syncing, or arriving within a maximum delay, so each directory is synced
+ * once per batch rather than once per block. Directory syncs commit the journal of the file
+ * system, which serializes them on the device, so sharing them saves most of the cost of syncing
+ * small blocks.
+ *
+ * Block files are synced with {@link FileChannel#force(boolean)} without their metadata, which
+ * still writes out the size and the allocation of a new file. The directory sync then commits the
+ * rest of the metadata.
+ */
+@ThreadSafe
+public final class BlockCommitSyncer implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockCommitSyncer.class);
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final BlockCommitSyncMode mMode;
+  private final int mMaxBatch;
+  private final long mMaxDelayNanos;
+  /** The flushers of the devices, by the directories of the blocks. */
+  private final Map<Path, Flusher> mFlushers = new ConcurrentHashMap<>();
+  /** The flushers of the devices, by device. */
+  private final Map<Object, Flusher> mDeviceFlushers = new ConcurrentHashMap<>();
+  private volatile boolean mClosed;
+
+  /**
+   * @return a syncer configured by the server configuration
+   */
+  public static BlockCommitSyncer create() {
+    return new BlockCommitSyncer(
+        ServerConfiguration.getEnum(PropertyKey.WORKER_BLOCK_COMMIT_SYNC_MODE,
+            BlockCommitSyncMode.class),
+        ServerConfiguration.getInt(PropertyKey.WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_BATCH),
+        ServerConfiguration.getMs(PropertyKey.WORKER_BLOCK_COMMIT_SYNC_GROUP_MAX_DELAY));
+  }
+
+  /**
+   * @param mode how to sync the blocks
+   * @param maxBatch the maximum number of blocks synced together
+   * @param maxDelayMs the maximum time a flusher waits for more blocks to sync together
+   */
+  public BlockCommitSyncer(BlockCommitSyncMode mode, int maxBatch, long maxDelayMs) {
+    Preconditions.checkArgument(maxBatch > 0, "maxBatch must be positive");
+    Preconditions.checkArgument(maxDelayMs >= 0, "maxDelayMs must not be negative");
+    mMode = mode;
+    mMaxBatch = maxBatch;
+    mMaxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+  }
+
+  /**
+   * Syncs a committed block file and its directory, returning once both are durable.
+   *
+   * @param blockPath the path of the block file
+   */
+  public void sync(String blockPath) throws IOException {
+    if (mMode == BlockCommitSyncMode.NONE) {
+      return;
+    }
+    Path file = Paths.get(blockPath);
+    Path dir = file.getParent();
+    try (Timer.Context ctx = MetricsSystem.timer(
+        MetricKey.WORKER_BLOCK_COMMIT_SYNC_TIME.getName()).time()) {
+      force(file, false);
+      if (mMode == BlockCommitSyncMode.EACH) {
+        force(dir, true);
+        return;
+      }
+      CompletableFuture<Void> synced = getFlusher(dir).add(dir);
+      try {
+        synced.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while syncing block file " + blockPath);
+      } catch (ExecutionException e) {
+        throw new IOException("Failed to sync block file " + blockPath, e.getCause());
+      }
+    }
+  }
+
+  private Flusher getFlusher(Path dir) {
+    Flusher flusher = mFlushers.get(dir);
+    if (flusher != null) {
+      return flusher;
+    }
+    return mFlushers.computeIfAbsent(dir, d -> {
+      Object device;
+      try {
+        device = Files.getFileStore(d);
+      } catch (IOException e) {
+        LOG.warn("Failed to get the device of {}, syncing it on its own: {}", d, e.toString());
+        device = d;
+      }
+      return mDeviceFlushers.computeIfAbsent(device, Flusher::new);
+    });
+  }
+
+  @Override
+  public void close() {
+    mClosed = true;
+    for (Flusher flusher : mDeviceFlushers.values()) {
+      try {
+        flusher.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static void force(Path path, boolean metaData) throws IOException {
+    // a read-only channel is enough to sync both files and directories
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      channel.force(metaData);
+    }
+  }
+
+  /**
+   * A directory of a committed block waiting to be synced.
+   */
+  private static final class PendingSync {
+    private final Path mDir;
+    private final CompletableFuture<Void> mSynced = new CompletableFuture<>();
+
+    PendingSync(Path dir) {
+      mDir = dir;
+    }
+  }
+
+  /**
+   * Syncs the directories of the blocks of a device in batches.
+   */
+  private final class Flusher extends Thread {
+    private final BlockingQueue<PendingSync> mQueue = new LinkedBlockingQueue<>();
+    private final Object mStopLock = new Object();
+    /** Whether the flusher stopped taking blocks. */
+    @GuardedBy("mStopLock")
+    private boolean mStopped;
+
+    Flusher(Object device) {
+      super("block-commit-sync-" + device);
+      setDaemon(true);
+      start();
+    }
+
+    CompletableFuture<Void> add(Path dir) throws IOException {
+      PendingSync pending = new PendingSync(dir);
+      synchronized (mStopLock) {
+        if (mStopped) {
+          throw new IOException("The block commit syncer is closed");
+        }
+        mQueue.add(pending);
+      }
+      return pending.mSynced;
+    }
+
+    @Override
+    public void run() {
+      List<PendingSync> batch = new ArrayList<>(mMaxBatch);
+      try {
+        while (!mClosed) {
+          PendingSync first = mQueue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+          if (first == null) {
+            continue;
+          }
+          batch.add(first);
+          long deadline = System.nanoTime() + mMaxDelayNanos;
+          while (batch.size() < mMaxBatch) {
+            mQueue.drainTo(batch, mMaxBatch - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= mMaxBatch || remaining <= 0) {
+              break;
+            }
+            PendingSync next = mQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+              break;
+            }
+            batch.add(next);
+          }
+          syncBatch(batch);
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      synchronized (mStopLock) {
+        mStopped = true;
+      }
+      // the blocks added before stopping are still synced
+      while (!mQueue.isEmpty()) {
+        mQueue.drainTo(batch, mMaxBatch);
+        syncBatch(batch);
+        batch.clear();
+      }
+    }
+
+    private void syncBatch(List<PendingSync> batch) {
+      Map<Path, List<PendingSync>> byDir = new LinkedHashMap<>();
+      for (PendingSync pending : batch) {
+        byDir.computeIfAbsent(pending.mDir, d -> new ArrayList<>()).add(pending);
+      }
+      for (Map.Entry<Path, List<PendingSync>> entry : byDir.entrySet()) {
+        IOException error = null;
+        try {
+          force(entry.getKey(), true);
+        } catch (IOException e) {
+          error = e;
+        }
+        for (PendingSync pending : entry.getValue()) {
+          if (error == null) {
+            pending.mSynced.complete(null);
+          } else {
+            pending.mSynced.completeExceptionally(error);
+          }
+        }
+      }
+      MetricsSystem.counter(MetricKey.WORKER_BLOCK_COMMIT_SYNC_BATCHES.getName()).inc();
+    }
+  }
+}
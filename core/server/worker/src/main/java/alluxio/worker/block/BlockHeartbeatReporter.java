@@ -11,7 +11,7 @@
 
 package alluxio.worker.block;
 
-import com.google.common.collect.Lists;
+import alluxio.collections.LongHashSet;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.PrimitiveIterator;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -31,14 +32,14 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
   /** Lock for operations on the removed and added block collections. */
   private final Object mLock;
 
-  /** List of blocks that were removed in the last heartbeat period. */
-  private final List<Long> mRemovedBlocks;
+  /** Set of blocks that were removed in the last heartbeat period. */
+  private final LongHashSet mRemovedBlocks;
 
   /**
-   * Map of block store locations to a list of blocks that were added in the last
+   * Map of block store locations to a set of blocks that were added in the last
    * heartbeat period.
    */
-  private final Map<BlockStoreLocation, List<Long>> mAddedBlocks;
+  private final Map<BlockStoreLocation, LongHashSet> mAddedBlocks;
 
   /**
    * Map of storage tier alias to a list of storage paths
@@ -51,7 +52,7 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
    */
   public BlockHeartbeatReporter() {
     mLock = new Object();
-    mRemovedBlocks = new ArrayList<>(100);
+    mRemovedBlocks = new LongHashSet(100);
     mAddedBlocks = new HashMap<>(20);
     mLostStorage = new HashMap<>();
   }
@@ -64,8 +65,12 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
    */
   public BlockHeartbeatReport generateReport() {
     synchronized (mLock) {
+      Map<BlockStoreLocation, List<Long>> addedBlocks = new HashMap<>(mAddedBlocks.size());
+      for (Entry<BlockStoreLocation, LongHashSet> entry : mAddedBlocks.entrySet()) {
+        addedBlocks.put(entry.getKey(), toList(entry.getValue()));
+      }
       BlockHeartbeatReport report
-          = new BlockHeartbeatReport(mAddedBlocks, mRemovedBlocks, mLostStorage);
+          = new BlockHeartbeatReport(addedBlocks, toList(mRemovedBlocks), mLostStorage);
       // Clear added and removed blocks
       mAddedBlocks.clear();
       mRemovedBlocks.clear();
@@ -131,10 +136,8 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
   private void removeBlockInternal(long blockId) {
     // Remove the block from list of added blocks, in case it was added in this heartbeat period.
     removeBlockFromAddedBlocks(blockId);
-    // Add to the list of removed blocks in this heartbeat period.
-    if (!mRemovedBlocks.contains(blockId)) {
-      mRemovedBlocks.add(blockId);
-    }
+    // Add to the set of removed blocks in this heartbeat period.
+    mRemovedBlocks.add(blockId);
   }
 
   /**
@@ -144,11 +147,7 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
    * @param location BlockStoreLocation containing the blockid
    */
   private void addBlockToAddedBlocks(long blockId, BlockStoreLocation location) {
-    if (mAddedBlocks.containsKey(location)) {
-      mAddedBlocks.get(location).add(blockId);
-    } else {
-      mAddedBlocks.put(location, Lists.newArrayList(blockId));
-    }
+    mAddedBlocks.computeIfAbsent(location, k -> new LongHashSet()).add(blockId);
   }
 
   /**
@@ -157,13 +156,12 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
    * @param blockId the block to remove
    */
   private void removeBlockFromAddedBlocks(long blockId) {
-    Iterator<Entry<BlockStoreLocation, List<Long>>> iterator = mAddedBlocks.entrySet().iterator();
+    Iterator<Entry<BlockStoreLocation, LongHashSet>> iterator = mAddedBlocks.entrySet().iterator();
     while (iterator.hasNext()) {
-      Entry<BlockStoreLocation, List<Long>> entry = iterator.next();
-      List<Long> blockList = entry.getValue();
-      if (blockList.contains(blockId)) {
-        blockList.remove(blockId);
-        if (blockList.isEmpty()) {
+      Entry<BlockStoreLocation, LongHashSet> entry = iterator.next();
+      LongHashSet blockSet = entry.getValue();
+      if (blockSet.remove(blockId)) {
+        if (blockSet.isEmpty()) {
           iterator.remove();
         }
         // exit the loop when already find and remove block id from mAddedBlocks
@@ -171,4 +169,12 @@ public final class BlockHeartbeatReporter extends AbstractBlockStoreEventListene
       }
     }
   }
+
+  private static List<Long> toList(LongHashSet blockIds) {
+    List<Long> list = new ArrayList<>(blockIds.size());
+    for (PrimitiveIterator.OfLong it = blockIds.iterator(); it.hasNext(); ) {
+      list.add(it.nextLong());
+    }
+    return list;
+  }
 }
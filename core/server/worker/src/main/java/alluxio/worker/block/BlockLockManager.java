@@ -16,19 +16,15 @@ import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockDoesNotExistRuntimeException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
-import alluxio.resource.LockResource;
 import alluxio.resource.ResourcePool;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.OptionalLong;
 import java.util.Set;
@@ -38,13 +34,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * The block locks, the lock records and the per session lock indexes are kept in concurrent maps
+ * rather than in maps guarded by a shared lock. Each map is internally striped by key, and every
+ * update of a block lock reference count or of a session index is a single atomic operation on
+ * the entry of that block or session, so locking and unlocking distinct blocks from distinct
+ * sessions never contend.
  */
 @ThreadSafe
 public final class BlockLockManager {
@@ -65,20 +65,20 @@ public final class BlockLockManager {
     }
   };
 
-  /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
+  /**
+   * A map from block id to the read write lock used to guard that block. A lock is in this map
+   * exactly as long as its reference count is positive.
+   */
+  private final ConcurrentMap<Long, ClientRWLock> mLocks = new ConcurrentHashMap<>();
 
-  /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
+  /**
+   * A map from a session id to all the locks hold by this session. Sets are only added to and
+   * removed from within atomic updates of their entry, and removed once empty.
+   */
+  private final ConcurrentMap<Long, Set<Long>> mSessionIdToLockIdsMap = new ConcurrentHashMap<>();
 
   /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
-
-  /** Lock to guard metadata operations. */
-  private final ReentrantReadWriteLock mSharedMapsLock = new ReentrantReadWriteLock();
+  private final ConcurrentMap<Long, LockRecord> mLockIdToRecordMap = new ConcurrentHashMap<>();
 
   /**
    * Constructs a new {@link BlockLockManager}.
@@ -153,15 +153,14 @@ public final class BlockLockManager {
     }
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-        mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
-        Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+      mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
+      mSessionIdToLockIdsMap.compute(sessionId, (id, sessionLockIds) -> {
         if (sessionLockIds == null) {
-          mSessionIdToLockIdsMap.put(sessionId, Sets.newHashSet(lockId));
-        } else {
-          sessionLockIds.add(lockId);
+          sessionLockIds = ConcurrentHashMap.newKeySet();
         }
-      }
+        sessionLockIds.add(lockId);
+        return sessionLockIds;
+      });
       return OptionalLong.of(lockId);
     } catch (Throwable e) {
       // If an unexpected exception occurs, we should release the lock to be conservative.
@@ -176,19 +175,18 @@ public final class BlockLockManager {
    * @return whether the specified session holds a lock on the specified block
    */
   private boolean sessionHoldsLock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLocks == null) {
-        return false;
-      }
-      for (Long lockId : sessionLocks) {
-        LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
-        if (lockRecord.getBlockId() == blockId) {
-          return true;
-        }
-      }
+    Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLocks == null) {
       return false;
     }
+    for (Long lockId : sessionLocks) {
+      LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
+      // the record may be removed concurrently by the session releasing the lock
+      if (lockRecord != null && lockRecord.getBlockId() == blockId) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -203,32 +201,31 @@ public final class BlockLockManager {
     // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
     // block lock from the lock pool.
     while (true) {
-      ClientRWLock blockLock;
-      // Check whether a lock has already been allocated for the block id.
-      try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-        blockLock = mLocks.get(blockId);
-        if (blockLock != null) {
-          blockLock.addReference();
-          return blockLock;
-        }
+      // Check whether a lock has already been allocated for the block id. The reference is added
+      // atomically with the lookup so that the lock cannot be released in between.
+      ClientRWLock blockLock = mLocks.computeIfPresent(blockId, (id, lock) -> {
+        lock.addReference();
+        return lock;
+      });
+      if (blockLock != null) {
+        return blockLock;
       }
       // Since a block lock hasn't already been allocated, try to acquire a new one from the pool.
-      // Acquire the lock outside the synchronized section because #acquire might need to block.
+      // Acquire the lock outside of any map update because #acquire might need to block.
       // We shouldn't wait indefinitely in acquire because the another lock for this block could be
       // allocated to another thread, in which case we could just use that lock.
-      blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
-      if (blockLock != null) {
-        try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-          // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
-            mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
-          } else {
-            mLocks.put(blockId, blockLock);
-          }
-          blockLock.addReference();
-          return blockLock;
+      ClientRWLock newLock = mLockPool.acquire(1, TimeUnit.SECONDS);
+      if (newLock != null) {
+        // Use the lock someone else allocated for blockId while we were acquiring one, if any.
+        blockLock = mLocks.compute(blockId, (id, lock) -> {
+          ClientRWLock result = lock == null ? newLock : lock;
+          result.addReference();
+          return result;
+        });
+        if (blockLock != newLock) {
+          mLockPool.release(newLock);
         }
+        return blockLock;
       }
     }
   }
@@ -239,23 +236,16 @@ public final class BlockLockManager {
    * @param lockId the id of the lock to release
    */
   public void unlockBlock(long lockId) {
-    Lock lock;
-    LockRecord record;
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        return;
-      }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      sessionLockIds.remove(lockId);
-      if (sessionLockIds.isEmpty()) {
-        mSessionIdToLockIdsMap.remove(sessionId);
-      }
+    // Only the thread removing the record releases the lock.
+    LockRecord record = mLockIdToRecordMap.remove(lockId);
+    if (record == null) {
+      return;
     }
-    unlock(lock, record.getBlockId());
+    mSessionIdToLockIdsMap.computeIfPresent(record.getSessionId(), (id, sessionLockIds) -> {
+      sessionLockIds.remove(lockId);
+      return sessionLockIds.isEmpty() ? null : sessionLockIds;
+    });
+    unlock(record.getLock(), record.getBlockId());
   }
 
   /**
@@ -270,20 +260,18 @@ public final class BlockLockManager {
   @VisibleForTesting
   public void validateLock(long sessionId, long blockId, long lockId)
       throws InvalidWorkerStateException {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistRuntimeException(
-            ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistRuntimeException(
+          ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
@@ -293,22 +281,18 @@ public final class BlockLockManager {
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-          continue;
-        }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.remove(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    for (long lockId : sessionLockIds) {
+      LockRecord record = mLockIdToRecordMap.remove(lockId);
+      if (record == null) {
+        // the lock was released concurrently by the session
+        LOG.debug(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
+        continue;
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
+      unlock(record.getLock(), record.getBlockId());
     }
   }
 
@@ -318,13 +302,11 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
-      }
-      return set;
+    Set<Long> set = new HashSet<>();
+    for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
+      set.add(lockRecord.getBlockId());
     }
+    return set;
   }
 
   /**
@@ -346,18 +328,14 @@ public final class BlockLockManager {
    * @param blockId the block id for which to potentially release the block lock
    */
   private void releaseBlockLockIfUnused(long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      ClientRWLock lock = mLocks.get(blockId);
-      if (lock == null) {
-        // Someone else probably released the block lock already.
-        return;
-      }
+    mLocks.computeIfPresent(blockId, (id, lock) -> {
       // If we were the last worker with a reference to the lock, clean it up.
       if (lock.dropReference() == 0) {
-        mLocks.remove(blockId);
         mLockPool.release(lock);
+        return null;
       }
-    }
+      return lock;
+    });
   }
 
   /**
@@ -367,36 +345,34 @@ public final class BlockLockManager {
    * state is encountered.
    */
   public void validate() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
-      }
+    // Compute block lock reference counts based off of lock records
+    ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
+    for (LockRecord record : mLockIdToRecordMap.values()) {
+      blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
+      blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    }
 
-      // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
-        }
+    // Check that the reference count for each block lock matches the lock record counts.
+    for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
+      long blockId = entry.getKey();
+      ClientRWLock lock = entry.getValue();
+      Integer recordCount = blockLockReferenceCounts.get(blockId).get();
+      Integer referenceCount = lock.getReferenceCount();
+      if (!Objects.equal(recordCount, referenceCount)) {
+        throw new IllegalStateException("There are " + recordCount + " lock records for block"
+            + " id " + blockId + ", but the reference count is " + referenceCount);
       }
+    }
 
-      // Check that if a lock id is mapped to by a session id, the lock record for that lock id
-      // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
-        for (Long lockId : entry.getValue()) {
-          LockRecord record = mLockIdToRecordMap.get(lockId);
-          if (record.getSessionId() != entry.getKey()) {
-            throw new IllegalStateException("The session id map contains lock id " + lockId
-                + "under session id " + entry.getKey() + ", but the record for that lock id ("
-                + record + ")" + " doesn't contain that session id");
-          }
+    // Check that if a lock id is mapped to by a session id, the lock record for that lock id
+    // contains that session id.
+    for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
+      for (Long lockId : entry.getValue()) {
+        LockRecord record = mLockIdToRecordMap.get(lockId);
+        if (record.getSessionId() != entry.getKey()) {
+          throw new IllegalStateException("The session id map contains lock id " + lockId
+              + "under session id " + entry.getKey() + ", but the record for that lock id ("
+              + record + ")" + " doesn't contain that session id");
         }
       }
     }
@@ -20,6 +20,7 @@ import alluxio.grpc.Command;
 import alluxio.grpc.ConfigProperty;
 import alluxio.grpc.Scope;
 import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.retry.ExponentialTimeBoundedRetry;
 import alluxio.retry.RetryPolicy;
@@ -33,6 +34,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -102,7 +104,11 @@ public final class BlockMasterSync implements HeartbeatExecutor {
     mMasterClient = mMasterClientPool.acquire();
     mAsyncBlockRemover = new AsyncBlockRemover(mBlockWorker);
 
+    long startNs = System.nanoTime();
     registerWithMaster();
+    long registerTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.WORKER_STARTUP_REGISTER_TIME_MS.getName(),
+        () -> registerTimeMs);
     mLastSuccessfulHeartbeatMs = System.currentTimeMillis();
   }
 
@@ -22,6 +22,9 @@ import alluxio.conf.ServerConfiguration;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.annotator.BlockAnnotator;
 import alluxio.worker.block.annotator.BlockIterator;
@@ -41,9 +44,11 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -62,6 +67,10 @@ public final class BlockMetadataManager {
       new DefaultStorageTierAssoc(
           PropertyKey.WORKER_TIERED_STORE_LEVELS,
           PropertyKey.Template.WORKER_TIERED_STORE_LEVEL_ALIAS);
+  /** The order in which the locks of several dirs are taken, see {@link StorageDir#getLock}. */
+  private static final Comparator<StorageDir> DIR_ORDER =
+      Comparator.<StorageDir>comparingInt(dir -> dir.getParentTier().getTierOrdinal())
+          .thenComparingInt(StorageDir::getDirIndex);
 
   /** A list of managed {@link StorageTier}, in order from lowest tier ordinal to greatest. */
   private final List<StorageTier> mTiers;
@@ -81,6 +90,7 @@ public final class BlockMetadataManager {
       "alluxio.worker.block.evictor.GreedyEvictor";
 
   private BlockMetadataManager() {
+    long startNs = System.nanoTime();
     mTiers = IntStream.range(0, WORKER_STORAGE_TIER_ASSOC.size()).mapToObj(
         tierOrdinal -> {
           try {
@@ -94,6 +104,10 @@ public final class BlockMetadataManager {
           }
         })
         .collect(toImmutableList());
+    long loadTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+    LOG.info("Loaded the metadata of {} storage tiers in {}ms", mTiers.size(), loadTimeMs);
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.WORKER_STARTUP_META_LOAD_TIME_MS.getName(),
+        () -> loadTimeMs);
     mAliasToTiers = mTiers.stream().collect(toImmutableMap(StorageTier::getTierAlias, identity()));
     // Create the block iterator.
     if (ServerConfiguration.isSet(PropertyKey.WORKER_EVICTOR_CLASS)) {
@@ -178,8 +192,11 @@ public final class BlockMetadataManager {
     }
     BlockMeta block = new DefaultBlockMeta(Preconditions.checkNotNull(tempBlockMeta));
     StorageDir dir = tempBlockMeta.getParentDir();
-    dir.removeTempBlockMeta(tempBlockMeta);
-    dir.addBlockMeta(block);
+    // the space of the temp block is given to the block at once, so allocations can not take it
+    try (LockResource r = new LockResource(dir.getLock().writeLock())) {
+      dir.removeTempBlockMeta(tempBlockMeta);
+      dir.addBlockMeta(block);
+    }
   }
 
   /**
@@ -250,8 +267,9 @@ public final class BlockMetadataManager {
   public Optional<BlockMeta> getBlockMeta(long blockId) {
     for (StorageTier tier : mTiers) {
       for (StorageDir dir : tier.getStorageDirs()) {
-        if (dir.hasBlockMeta(blockId)) {
-          return dir.getBlockMeta(blockId);
+        Optional<BlockMeta> blockMeta = dir.getBlockMeta(blockId);
+        if (blockMeta.isPresent()) {
+          return blockMeta;
         }
       }
     }
@@ -301,8 +319,9 @@ public final class BlockMetadataManager {
   public Optional<TempBlockMeta> getTempBlockMeta(long blockId) {
     for (StorageTier tier : mTiers) {
       for (StorageDir dir : tier.getStorageDirs()) {
-        if (dir.hasTempBlockMeta(blockId)) {
-          return dir.getTempBlockMeta(blockId);
+        Optional<TempBlockMeta> tempBlockMeta = dir.getTempBlockMeta(blockId);
+        if (tempBlockMeta.isPresent()) {
+          return tempBlockMeta;
         }
       }
     }
@@ -410,12 +429,19 @@ public final class BlockMetadataManager {
       throws WorkerOutOfSpaceException {
     StorageDir srcDir = blockMeta.getParentDir();
     StorageDir dstDir = tempBlockMeta.getParentDir();
-    srcDir.removeBlockMeta(blockMeta);
-    BlockMeta newBlockMeta =
-        new DefaultBlockMeta(blockMeta.getBlockId(), blockMeta.getBlockSize(), dstDir);
-    dstDir.removeTempBlockMeta(tempBlockMeta);
-    dstDir.addBlockMeta(newBlockMeta);
-    return newBlockMeta;
+    // locks the dirs in a fixed order so that concurrent moves between them do not deadlock
+    boolean srcFirst = DIR_ORDER.compare(srcDir, dstDir) <= 0;
+    StorageDir firstDir = srcFirst ? srcDir : dstDir;
+    StorageDir secondDir = srcFirst ? dstDir : srcDir;
+    try (LockResource r1 = new LockResource(firstDir.getLock().writeLock());
+         LockResource r2 = new LockResource(secondDir.getLock().writeLock())) {
+      srcDir.removeBlockMeta(blockMeta);
+      BlockMeta newBlockMeta =
+          new DefaultBlockMeta(blockMeta.getBlockId(), blockMeta.getBlockSize(), dstDir);
+      dstDir.removeTempBlockMeta(tempBlockMeta);
+      dstDir.addBlockMeta(newBlockMeta);
+      return newBlockMeta;
+    }
   }
 
   /**
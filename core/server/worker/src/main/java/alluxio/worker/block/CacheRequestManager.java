@@ -258,6 +258,13 @@ public class CacheRequestManager {
    */
   private boolean cacheBlockFromUfs(long blockId, long blockSize,
       Protocol.OpenUfsBlockOptions openUfsBlockOptions) throws IOException, AlluxioException {
+    if (mBlockWorker.getLocalBlockStore().hasTempBlockMeta(blockId)) {
+      // A reader of the block is already caching it. Reading the block again would only fetch it
+      // from UFS another time, as the block can not be created twice.
+      LOG.debug("block already being cached: {}", blockId);
+      UFS_READS_DEDUPLICATED.inc();
+      return true;
+    }
     try (BlockReader reader = mBlockWorker.createUfsBlockReader(
         Sessions.CACHE_UFS_SESSION_ID, blockId, 0, false, openUfsBlockOptions)) {
       // Read the entire block, caching to block store will be handled internally in UFS block store
@@ -345,4 +352,6 @@ public class CacheRequestManager {
           MetricsSystem.counter(MetricKey.WORKER_CACHE_UFS_BLOCKS.getName());
   private static final Counter CACHE_BLOCKS_SIZE =
       MetricsSystem.counter(MetricKey.WORKER_CACHE_BLOCKS_SIZE.getName());
+  private static final Counter UFS_READS_DEDUPLICATED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_READS_DEDUPLICATED.getName());
 }
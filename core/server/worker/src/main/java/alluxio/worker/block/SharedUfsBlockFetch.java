@@ -0,0 +1,309 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.OpenOptions;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A fetch of a block from UFS shared by the concurrent sequential readers of the block. The block
+ * is read from a single UFS stream, and the bytes fetched so far are kept in memory. Each reader
+ * reads through its own {@link Stream}: the bytes already fetched are copied from memory, and a
+ * reader ahead of the fetch continues it up to the bytes it needs, while the other readers wait
+ * for them.
+ */
+@ThreadSafe
+class SharedUfsBlockFetch {
+  private static final Logger LOG = LoggerFactory.getLogger(SharedUfsBlockFetch.class);
+  private static final Counter BYTES_READ_UFS_DEDUPLICATED =
+      MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_UFS_DEDUPLICATED.getName());
+
+  /** Size of the buffers holding the fetched bytes. */
+  private static final int CHUNK_SIZE = Constants.MB;
+  /**
+   * The number of bytes a reader can be ahead of the fetch and still attach to it. Readers further
+   * ahead read from UFS separately instead of fetching the bytes in between.
+   */
+  private static final long MAX_ATTACH_DISTANCE = 4L * CHUNK_SIZE;
+
+  private final UfsInputStreamCache mStreamCache;
+  private final UnderFileSystem mUfs;
+  private final String mPath;
+  private final long mFileId;
+  private final long mBlockId;
+  /** The offset of the block in the UFS file. */
+  private final long mBlockStart;
+  private final long mBlockSize;
+  /** The fetched bytes, chunks are allocated as the fetch reaches them. */
+  private final byte[][] mChunks;
+  /** Serializes reads from the UFS stream. */
+  private final Lock mFetchLock = new ReentrantLock();
+
+  /**
+   * Number of bytes fetched from the start of the block. Chunk contents are written before this
+   * is updated, so readers see the bytes below it without locking.
+   */
+  private volatile long mFetched;
+  /** Whether the UFS file ended before the end of the block. */
+  private volatile boolean mEof;
+  @GuardedBy("mFetchLock")
+  private InputStream mUfsStream;
+  /** Number of streams reading the fetch, only updated within updates of its cache entry. */
+  private int mReferences = 1;
+
+  /**
+   * @param streamCache the cache to acquire the UFS stream from
+   * @param ufs the under file system
+   * @param path the path of the UFS file
+   * @param fileId the file id
+   * @param blockId the block id
+   * @param blockStart the offset of the block in the UFS file
+   * @param blockSize the block size
+   */
+  SharedUfsBlockFetch(UfsInputStreamCache streamCache, UnderFileSystem ufs, String path,
+      long fileId, long blockId, long blockStart, long blockSize) {
+    Preconditions.checkArgument(blockSize <= (long) Integer.MAX_VALUE * CHUNK_SIZE,
+        "Block size %s is too large to be fetched", blockSize);
+    mStreamCache = streamCache;
+    mUfs = ufs;
+    mPath = path;
+    mFileId = fileId;
+    mBlockId = blockId;
+    mBlockStart = blockStart;
+    mBlockSize = blockSize;
+    mChunks = new byte[(int) ((blockSize + CHUNK_SIZE - 1) / CHUNK_SIZE)][];
+  }
+
+  /**
+   * @return the block id
+   */
+  long getBlockId() {
+    return mBlockId;
+  }
+
+  /**
+   * @return the block size, which is the upper bound of the memory used by the fetch
+   */
+  long getBlockSize() {
+    return mBlockSize;
+  }
+
+  /**
+   * @param offset the offset in the block
+   * @return whether a reader starting at the offset can read from this fetch
+   */
+  boolean canServe(long offset) {
+    return offset <= mFetched + MAX_ATTACH_DISTANCE;
+  }
+
+  /**
+   * Adds a reader of the fetch.
+   */
+  void retain() {
+    mReferences++;
+  }
+
+  /**
+   * Removes a reader of the fetch.
+   *
+   * @return whether this was the last reader
+   */
+  boolean release() {
+    Preconditions.checkState(mReferences > 0, "Fetch of block %s is already released", mBlockId);
+    return --mReferences == 0;
+  }
+
+  /**
+   * @param offset the offset in the block to start reading from
+   * @return a new stream reading the fetch
+   */
+  Stream openStream(long offset) {
+    return new Stream(offset);
+  }
+
+  /**
+   * Releases the UFS stream of the fetch, called once all readers released the fetch.
+   */
+  void close() {
+    mFetchLock.lock();
+    try {
+      closeUfsStream();
+    } finally {
+      mFetchLock.unlock();
+    }
+  }
+
+  /**
+   * Reads the bytes of the block at a position, fetching them from UFS if needed.
+   *
+   * @param pos the position in the block
+   * @param b the buffer to read into
+   * @param off the offset in the buffer
+   * @param len the maximum number of bytes to read, positive
+   * @return the number of bytes read, or -1 if the UFS file ended
+   */
+  private int read(long pos, byte[] b, int off, int len) throws IOException {
+    long end = Math.min(mBlockSize, pos + len);
+    long fetchedByReader = 0;
+    if (mFetched < end) {
+      fetchedByReader = fetch(end);
+    }
+    end = Math.min(end, mFetched);
+    if (pos >= end) {
+      return -1;
+    }
+    int read = (int) (end - pos);
+    for (int copied = 0; copied < read; ) {
+      long position = pos + copied;
+      int chunkOffset = (int) (position % CHUNK_SIZE);
+      int length = Math.min(read - copied, CHUNK_SIZE - chunkOffset);
+      System.arraycopy(mChunks[(int) (position / CHUNK_SIZE)], chunkOffset, b, off + copied,
+          length);
+      copied += length;
+    }
+    BYTES_READ_UFS_DEDUPLICATED.inc(Math.max(0, read - fetchedByReader));
+    return read;
+  }
+
+  /**
+   * Fetches the block from UFS until the given position.
+   *
+   * @param end the position in the block
+   * @return the number of bytes fetched by this call
+   */
+  private long fetch(long end) throws IOException {
+    long fetched = 0;
+    mFetchLock.lock();
+    try {
+      while (mFetched < end && !mEof) {
+        if (mUfsStream == null) {
+          mUfsStream = mStreamCache.acquire(mUfs, mPath, mFileId,
+              OpenOptions.defaults().setOffset(mBlockStart + mFetched));
+        }
+        int index = (int) (mFetched / CHUNK_SIZE);
+        int chunkOffset = (int) (mFetched % CHUNK_SIZE);
+        if (mChunks[index] == null) {
+          mChunks[index] = new byte[(int) Math.min(CHUNK_SIZE, mBlockSize - mFetched)];
+        }
+        int read;
+        try {
+          read = mUfsStream.read(mChunks[index], chunkOffset,
+              (int) Math.min(mChunks[index].length - chunkOffset, end - mFetched));
+        } catch (IOException e) {
+          // the stream is reopened at the current position by the next fetch
+          closeUfsStream();
+          throw e;
+        }
+        if (read == -1) {
+          mEof = true;
+          break;
+        }
+        mFetched += read;
+        fetched += read;
+      }
+    } finally {
+      mFetchLock.unlock();
+    }
+    return fetched;
+  }
+
+  @GuardedBy("mFetchLock")
+  private void closeUfsStream() {
+    if (mUfsStream == null) {
+      return;
+    }
+    try {
+      mStreamCache.release(mUfsStream);
+    } catch (IOException e) {
+      LOG.warn("Failed to release UFS stream of block {} from {}: {}", mBlockId, mPath,
+          e.toString());
+    }
+    mUfsStream = null;
+  }
+
+  /**
+   * A stream reading the fetched block sequentially. A stream that falls too far ahead of the
+   * fetch detaches from it and reads from UFS separately. Closing the stream releases the fetch.
+   */
+  final class Stream extends InputStream {
+    /** The position in the block. */
+    private long mPos;
+    /** The UFS stream used once detached from the fetch. */
+    private InputStream mDetachedStream;
+    private boolean mClosed;
+
+    private Stream(long offset) {
+      mPos = offset;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      int read = read(b, 0, 1);
+      return read == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      Preconditions.checkState(!mClosed, "Stream is closed");
+      Preconditions.checkPositionIndexes(off, off + len, b.length);
+      if (len == 0) {
+        return 0;
+      }
+      if (mPos >= mBlockSize) {
+        return -1;
+      }
+      if (mDetachedStream == null && !canServe(mPos)) {
+        LOG.debug("Reader of block {} at {} detached from the fetch at {}", mBlockId, mPos,
+            mFetched);
+        mDetachedStream = mStreamCache.acquire(mUfs, mPath, mFileId,
+            OpenOptions.defaults().setOffset(mBlockStart + mPos));
+        mStreamCache.release(SharedUfsBlockFetch.this);
+      }
+      int read = mDetachedStream != null
+          ? mDetachedStream.read(b, off, (int) Math.min(len, mBlockSize - mPos))
+          : SharedUfsBlockFetch.this.read(mPos, b, off, len);
+      if (read > 0) {
+        mPos += read;
+      }
+      return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
+      if (mDetachedStream != null) {
+        mStreamCache.release(mDetachedStream);
+      } else {
+        mStreamCache.release(SharedUfsBlockFetch.this);
+      }
+    }
+  }
+}
@@ -23,6 +23,7 @@ import alluxio.exception.WorkerOutOfSpaceException;
 import alluxio.exception.status.DeadlineExceededException;
 import alluxio.master.block.BlockId;
 import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.annotator.BlockIterator;
@@ -35,6 +36,7 @@ import alluxio.worker.block.io.StoreBlockWriter;
 import alluxio.worker.block.management.DefaultStoreLoadTracker;
 import alluxio.worker.block.management.ManagementTaskCoordinator;
 import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.BlockMetaSnapshot;
 import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.StorageTier;
@@ -50,16 +52,23 @@ import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -77,9 +86,12 @@ import javax.annotation.concurrent.NotThreadSafe;
  * read/write lock, guarding both the metadata operations and the following I/O on this block. It
  * coordinates different threads (clients) when accessing the same block concurrently.</li>
  * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}
- * and guarded by {@link TieredBlockStore#mMetadataLock}. This is also a read/write lock and
- * coordinates different threads (clients) when accessing the shared data structure for metadata.
- * </li>
+ * and guarded by the read lock of {@link TieredBlockStore#mMetadataLock}. The metadata of each
+ * {@link StorageDir} is guarded by its own lock, see {@link StorageDir#getLock}, so operations on
+ * different dirs do not block each other. The write lock of {@link TieredBlockStore#mMetadataLock}
+ * is only taken to remove dirs from the store.</li>
+ * <li>Allocations of space are serialized by {@link TieredBlockStore#mAllocationLock}, so that the
+ * space found by the allocator in a dir is still available when it is reserved.</li>
  * <li>Method {@link #createBlock} does not acquire the block lock, because it only creates a
  * temp block which is only visible to its writer before committed (thus no concurrent access).</li>
  * <li>Method {@link #abortBlock(long, long)} does not acquire the block lock, because only
@@ -96,6 +108,12 @@ public class TieredBlockStore implements LocalBlockStore
   private static final long REMOVE_BLOCK_TIMEOUT_MS = 60_000;
   private static final long FREE_AHEAD_BYTETS =
       ServerConfiguration.getBytes(PropertyKey.WORKER_TIERED_STORE_FREE_AHEAD_BYTES);
+  /**
+   * How long a storage dir must be left unmodified before its metadata is snapshotted. Block files
+   * are moved before their metadata is updated, and some file systems only keep the modification
+   * time of a directory to the second, so a recently modified dir is not snapshotted.
+   */
+  private static final long SNAPSHOT_QUIET_PERIOD_MS = 2000;
   private final BlockMetadataManager mMetaManager;
   private final BlockLockManager mLockManager;
   private final Allocator mAllocator;
@@ -106,18 +124,30 @@ public class TieredBlockStore implements LocalBlockStore
   /** A set of pinned inodes fetched from the master. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
 
-  /** Lock to guard metadata operations. */
+  /** Lock to guard the dirs of the store, the metadata of each dir is guarded by its own lock. */
   private final ReentrantReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
 
-  /** ReadLock provided by {@link #mMetadataLock} to guard metadata read operations. */
+  /** ReadLock provided by {@link #mMetadataLock} to guard metadata operations. */
   private final Lock mMetadataReadLock = mMetadataLock.readLock();
 
-  /** WriteLock provided by {@link #mMetadataLock} to guard metadata write operations. */
+  /** WriteLock provided by {@link #mMetadataLock} to guard the removal of dirs. */
   private final Lock mMetadataWriteLock = mMetadataLock.writeLock();
 
+  /** Lock to serialize the allocations of space. */
+  private final Lock mAllocationLock = new ReentrantLock();
+
   /** Management task coordinator. */
   private final ManagementTaskCoordinator mTaskCoordinator;
 
+  /** Takes the snapshots of block metadata of the storage dirs, null if they are disabled. */
+  private final ScheduledExecutorService mSnapshotExecutor;
+
+  /** The modification times of the storage dirs in their last snapshots, by dir path. */
+  private final Map<String, Long> mSnapshotModifiedTimes = new ConcurrentHashMap<>();
+
+  /** Makes the committed blocks durable. */
+  private final BlockCommitSyncer mCommitSyncer = BlockCommitSyncer.create();
+
   /**
    * Creates a new instance of {@link TieredBlockStore}.
    */
@@ -154,6 +184,16 @@ public class TieredBlockStore implements LocalBlockStore
     mTaskCoordinator = new ManagementTaskCoordinator(this, mMetaManager,
         new DefaultStoreLoadTracker(), this::getUpdatedView);
     mTaskCoordinator.start();
+
+    if (ServerConfiguration.getBoolean(PropertyKey.WORKER_BLOCK_META_SNAPSHOT_ENABLED)) {
+      long intervalMs = ServerConfiguration.getMs(PropertyKey.WORKER_BLOCK_META_SNAPSHOT_INTERVAL);
+      mSnapshotExecutor = Executors.newSingleThreadScheduledExecutor(
+          ThreadFactoryUtils.build("block-meta-snapshot-%d", true));
+      mSnapshotExecutor.scheduleWithFixedDelay(() -> snapshotMeta(false), intervalMs, intervalMs,
+          TimeUnit.MILLISECONDS);
+    } else {
+      mSnapshotExecutor = null;
+    }
   }
 
   @Override
@@ -296,7 +336,8 @@ public class TieredBlockStore implements LocalBlockStore
     }
     // NOTE: a temp block is only visible to its own writer, unnecessary to acquire
     // block lock here since no sharing
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock);
+         LockResource allocation = new LockResource(mAllocationLock)) {
       TempBlockMeta tempBlockMeta = checkAndGetTempBlockMeta(sessionId, blockId);
       BlockStoreLocation location = tempBlockMeta.getBlockLocation();
       StorageDirView allocationDir = allocateSpace(sessionId,
@@ -378,7 +419,7 @@ public class TieredBlockStore implements LocalBlockStore
       blockMeta = mMetaManager.getBlockMeta(blockId);
     }
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
       if (blockMeta.isPresent()) {
         removeBlockFileAndMeta(blockMeta.get());
       }
@@ -515,7 +556,7 @@ public class TieredBlockStore implements LocalBlockStore
     // we do not lock it.
     Files.delete(Paths.get(tempBlockMeta.getPath()));
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
       mMetaManager.abortTempBlockMeta(tempBlockMeta);
     }
   }
@@ -545,8 +586,15 @@ public class TieredBlockStore implements LocalBlockStore
 
     // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
     FileUtils.move(srcPath, dstPath);
+    try {
+      mCommitSyncer.sync(dstPath);
+    } catch (IOException e) {
+      // leaves the temp block in place so that it can be aborted
+      FileUtils.move(dstPath, srcPath);
+      throw e;
+    }
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
       mMetaManager.commitTempBlockMeta(tempBlockMeta);
     } catch (WorkerOutOfSpaceException e) {
       throw Throwables.propagate(e); // we shall never reach here
@@ -656,7 +704,8 @@ public class TieredBlockStore implements LocalBlockStore
       checkBlockDoesNotExist(blockId);
       checkTempBlockDoesNotExist(blockId);
     }
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock);
+         LockResource allocation = new LockResource(mAllocationLock)) {
       // NOTE: a temp block is supposed to be visible for its own writer,
       // unnecessary to acquire block lock here since no sharing.
       // Allocate space.
@@ -742,13 +791,25 @@ public class TieredBlockStore implements LocalBlockStore
       long blockToDelete = evictionCandidates.next();
       blocksIterated++;
       if (evictorView.isBlockEvictable(blockToDelete)) {
-        Optional<BlockMeta> optionalBlockMeta = mMetaManager.getBlockMeta(blockToDelete);
-        if (!optionalBlockMeta.isPresent()) {
-          LOG.warn("Failed to evict blockId {}, it could be already deleted", blockToDelete);
+        // metadata updates do not block readers anymore, so the block is locked to not remove it
+        // under a reader that locked it after the view was taken
+        OptionalLong lockId = mLockManager.tryLockBlock(sessionId, blockToDelete,
+            BlockLockType.WRITE, 0, TimeUnit.MILLISECONDS);
+        if (!lockId.isPresent()) {
           continue;
         }
-        BlockMeta blockMeta = optionalBlockMeta.get();
-        removeBlockFileAndMeta(blockMeta);
+        BlockMeta blockMeta;
+        try {
+          Optional<BlockMeta> optionalBlockMeta = mMetaManager.getBlockMeta(blockToDelete);
+          if (!optionalBlockMeta.isPresent()) {
+            LOG.warn("Failed to evict blockId {}, it could be already deleted", blockToDelete);
+            continue;
+          }
+          blockMeta = optionalBlockMeta.get();
+          removeBlockFileAndMeta(blockMeta);
+        } finally {
+          mLockManager.unlockBlock(lockId.getAsLong());
+        }
         blocksRemoved++;
         for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
           synchronized (listener) {
@@ -837,7 +898,7 @@ public class TieredBlockStore implements LocalBlockStore
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       FileUtils.move(srcFilePath, dstFilePath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try (LockResource r = new LockResource(mMetadataReadLock)) {
         // If this metadata update fails, we panic for now.
         // TODO(bin): Implement rollback scheme to recover from IO failures.
         mMetaManager.moveBlockMeta(srcBlockMeta, dstTempBlock);
@@ -943,9 +1004,86 @@ public class TieredBlockStore implements LocalBlockStore
     }
   }
 
+  /**
+   * Writes the snapshots of block metadata of the storage dirs, see {@link BlockMetaSnapshot}.
+   * A dir is skipped if it was modified recently, or while its blocks were listed.
+   *
+   * @param force whether to snapshot the dirs that are unchanged since their last snapshots, so
+   *        that the snapshots keep the latest order of access of the blocks, and the dirs that
+   *        were modified recently, which is only safe once the store no longer changes its dirs
+   */
+  @VisibleForTesting
+  void snapshotMeta(boolean force) {
+    for (StorageTier tier : mMetaManager.getTiers()) {
+      for (StorageDir dir : tier.getStorageDirs()) {
+        String dirPath = dir.getDirPath();
+        try {
+          BlockMetaSnapshot.createSnapshotFolder(dirPath);
+          long modifiedTime = BlockMetaSnapshot.getModifiedTime(dirPath);
+          if (!force && mSnapshotModifiedTimes.getOrDefault(dirPath, -1L) == modifiedTime) {
+            continue;
+          }
+          if (!force && System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(modifiedTime)
+              < SNAPSHOT_QUIET_PERIOD_MS) {
+            LOG.debug("Skipping the snapshot of recently modified StorageDir {}", dirPath);
+            continue;
+          }
+          long[] blockIds;
+          long[] blockSizes;
+          try (LockResource r = new LockResource(mMetadataReadLock);
+               LockResource dirLock = new LockResource(dir.getLock().readLock())) {
+            List<Long> ids = new ArrayList<>(dir.getBlockIds().size());
+            // the least recently accessed blocks come first, so that they are annotated first
+            // when the snapshot is loaded
+            mMetaManager.getBlockIterator()
+                .getIterator(dir.toBlockStoreLocation(), BlockOrder.NATURAL)
+                .forEachRemaining(ids::add);
+            blockIds = new long[ids.size()];
+            blockSizes = new long[ids.size()];
+            int numBlocks = 0;
+            for (long blockId : ids) {
+              Optional<BlockMeta> blockMeta = dir.getBlockMeta(blockId);
+              if (blockMeta.isPresent()) {
+                blockIds[numBlocks] = blockId;
+                blockSizes[numBlocks] = blockMeta.get().getBlockSize();
+                numBlocks++;
+              }
+            }
+            if (numBlocks != ids.size()) {
+              blockIds = Arrays.copyOf(blockIds, numBlocks);
+              blockSizes = Arrays.copyOf(blockSizes, numBlocks);
+            }
+          }
+          if (BlockMetaSnapshot.getModifiedTime(dirPath) != modifiedTime) {
+            LOG.debug("Skipping the snapshot of StorageDir {} modified while listed", dirPath);
+            continue;
+          }
+          new BlockMetaSnapshot(blockIds, blockSizes).write(dirPath, modifiedTime);
+          mSnapshotModifiedTimes.put(dirPath, modifiedTime);
+          LOG.debug("Snapshotted the metadata of {} blocks of StorageDir {}", blockIds.length,
+              dirPath);
+        } catch (IOException e) {
+          LOG.warn("Failed to snapshot the block metadata of StorageDir {}: {}", dirPath,
+              e.toString());
+        }
+      }
+    }
+  }
+
   @Override
   public void close() throws IOException {
     mTaskCoordinator.close();
+    mCommitSyncer.close();
+    if (mSnapshotExecutor != null) {
+      mSnapshotExecutor.shutdownNow();
+      try {
+        mSnapshotExecutor.awaitTermination(REMOVE_BLOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      snapshotMeta(true);
+    }
   }
 
   /**
@@ -14,6 +14,8 @@ package alluxio.worker.block;
 import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.underfs.SeekableUnderFileInputStream;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
@@ -22,6 +24,7 @@ import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.logging.SamplingLogger;
 import alluxio.worker.block.io.BlockReader;
 
+import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -41,6 +44,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -53,6 +57,8 @@ public final class UfsInputStreamCache {
   private static final Logger SAMPLING_LOG = new SamplingLogger(LOG, 10L * Constants.MINUTE_MS);
   private static final boolean CACHE_ENABLED =
       ServerConfiguration.getBoolean(PropertyKey.WORKER_UFS_INSTREAM_CACHE_ENABLED);
+  private static final Counter UFS_READS_DEDUPLICATED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_READS_DEDUPLICATED.getName());
 
   /**
    * A map from the ufs file id to the metadata of the input streams. Synchronization on this map
@@ -63,12 +69,21 @@ public final class UfsInputStreamCache {
   private final Cache<Long, CachedSeekableInputStream> mStreamCache;
   /** Thread pool for asynchronously removing the expired input streams. */
   private final ExecutorService mRemovalThreadPool;
+  /** Whether concurrent reads of a block share a fetch of the block. */
+  private final boolean mDedupEnabled;
+  /** The fetches of blocks shared by their readers, from the block id to the fetch. */
+  private final Map<Long, SharedUfsBlockFetch> mBlockFetches = new ConcurrentHashMap<>();
+  /** The memory left for new shared fetches. */
+  private final AtomicLong mDedupBytesAvailable;
 
   /**
    * Constructs a new UFS input stream cache.
    */
   public UfsInputStreamCache() {
     mFileIdToStreamIds = new ConcurrentHashMap<>();
+    mDedupEnabled = ServerConfiguration.getBoolean(PropertyKey.WORKER_UFS_READ_DEDUP_ENABLED);
+    mDedupBytesAvailable = new AtomicLong(
+        ServerConfiguration.getBytes(PropertyKey.WORKER_UFS_READ_DEDUP_BUFFER_SIZE));
     mRemovalThreadPool = ExecutorServiceFactories
         .fixedThreadPool(Constants.UFS_INPUT_STREAM_CACHE_EXPIRATION, 2)
         .create();
@@ -158,6 +173,26 @@ public final class UfsInputStreamCache {
     }
   }
 
+  /**
+   * Releases a reader of a shared fetch. The fetch is dropped when its last reader releases it.
+   *
+   * @param fetch the fetch
+   */
+  void release(SharedUfsBlockFetch fetch) {
+    boolean[] dropped = new boolean[1];
+    mBlockFetches.computeIfPresent(fetch.getBlockId(), (key, current) -> {
+      if (current != fetch || !fetch.release()) {
+        return current;
+      }
+      dropped[0] = true;
+      return null;
+    });
+    if (dropped[0]) {
+      fetch.close();
+      mDedupBytesAvailable.addAndGet(fetch.getBlockSize());
+    }
+  }
+
   /**
    * Acquires an input stream. For seekable input streams, if there is an available input stream in
    * the cache, reuse it and repositions the offset, otherwise the manager opens a new input stream.
@@ -233,6 +268,53 @@ public final class UfsInputStreamCache {
     return inputStream;
   }
 
+  /**
+   * Acquires an input stream to read a block sequentially. If shared fetches are enabled with
+   * {@link PropertyKey#WORKER_UFS_READ_DEDUP_ENABLED}, concurrent readers of the block share a
+   * single fetch of the block from UFS, otherwise this is the same as
+   * {@link #acquire(UnderFileSystem, String, long, OpenOptions)}. The input stream must be
+   * released with {@link #release(InputStream)}.
+   *
+   * @param ufs the under file system
+   * @param path the path to the under storage file
+   * @param fileId the file id
+   * @param blockId the block id
+   * @param blockStart the offset of the block in the under storage file
+   * @param blockSize the block size
+   * @param openOptions the open options, with the offset in the file to start reading from
+   * @return the acquired input stream
+   * @throws IOException if the input stream fails to open
+   */
+  public InputStream acquire(UnderFileSystem ufs, String path, long fileId, long blockId,
+      long blockStart, long blockSize, OpenOptions openOptions) throws IOException {
+    if (!mDedupEnabled || openOptions.getPositionShort()) {
+      // positioned reads of small buffers are not sequential and would not benefit
+      return acquire(ufs, path, fileId, openOptions);
+    }
+    long offset = openOptions.getOffset() - blockStart;
+    SharedUfsBlockFetch[] attached = new SharedUfsBlockFetch[1];
+    mBlockFetches.compute(blockId, (key, fetch) -> {
+      if (fetch == null) {
+        if (mDedupBytesAvailable.addAndGet(-blockSize) < 0) {
+          mDedupBytesAvailable.addAndGet(blockSize);
+          return null;
+        }
+        fetch = new SharedUfsBlockFetch(this, ufs, path, fileId, blockId, blockStart, blockSize);
+      } else if (fetch.canServe(offset)) {
+        fetch.retain();
+        UFS_READS_DEDUPLICATED.inc();
+      } else {
+        return fetch;
+      }
+      attached[0] = fetch;
+      return fetch;
+    });
+    if (attached[0] == null) {
+      return acquire(ufs, path, fileId, openOptions);
+    }
+    return attached[0].openStream(offset);
+  }
+
   /**
    * The metadata of the input streams associated with an under storage file that tracks which input
    * streams are in-use or available. Each input stream is identified by a unique id.
@@ -312,7 +312,8 @@ public final class UnderFileSystemBlockReader extends BlockReader {
       UnderFileSystem ufs = mUfsResource.get();
       mUnderFileSystemInputStream = mUfsInstreamCache
           .acquire(ufs, mBlockMeta.getUnderFileSystemPath(),
-              IdUtils.fileIdFromBlockId(mBlockMeta.getBlockId()),
+              IdUtils.fileIdFromBlockId(mBlockMeta.getBlockId()), mBlockMeta.getBlockId(),
+              mBlockMeta.getOffset(), mBlockMeta.getBlockSize(),
               OpenOptions.defaults().setOffset(mBlockMeta.getOffset() + offset)
                   .setPositionShort(mIsPositionShort));
       mInStreamPos = offset;
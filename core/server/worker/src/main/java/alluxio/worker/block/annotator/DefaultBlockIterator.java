@@ -15,6 +15,8 @@ import static java.util.Objects.requireNonNull;
 
 import alluxio.collections.ConcurrentHashSet;
 import alluxio.collections.Pair;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.worker.block.AbstractBlockStoreEventListener;
 import alluxio.worker.block.BlockMetadataManager;
 import alluxio.worker.block.BlockStoreEventListener;
@@ -34,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -77,6 +80,7 @@ public class DefaultBlockIterator implements BlockIterator {
    * Initializes with the existing blocks.
    */
   private void initialize() {
+    long startNs = System.nanoTime();
     // Initialize sets per location.
     for (StorageTier tier : mMetaManager.getTiers()) {
       for (StorageDir dir : tier.getStorageDirs()) {
@@ -94,6 +98,10 @@ public class DefaultBlockIterator implements BlockIterator {
         }
       }
     }
+    long annotationTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+    LOG.info("Annotated the existing blocks in {}ms", annotationTimeMs);
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricKey.WORKER_STARTUP_BLOCK_ANNOTATION_TIME_MS.getName(), () -> annotationTimeMs);
   }
 
   /**
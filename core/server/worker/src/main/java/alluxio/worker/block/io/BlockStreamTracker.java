@@ -65,6 +65,21 @@ public class BlockStreamTracker {
     }
   }
 
+  /**
+   * Called when a block reader has read bytes of a block.
+   *
+   * @param reader block reader
+   * @param location location of read
+   * @param blockId the id of the block
+   * @param bytes the number of bytes read
+   */
+  public static void readerRead(BlockReader reader, BlockStoreLocation location, long blockId,
+      long bytes) {
+    for (BlockClientListener listener : sListeners) {
+      listener.clientRead(reader, location, blockId, bytes);
+    }
+  }
+
   /**
    * Called with a new block writer.
    *
@@ -13,7 +13,10 @@ package alluxio.worker.block.io;
 
 import alluxio.worker.block.meta.BlockMeta;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A local block reader used by block store.
@@ -41,6 +44,27 @@ public class StoreBlockReader extends LocalFileBlockReader {
     }
   }
 
+  @Override
+  public ByteBuffer read(long offset, long length) throws IOException {
+    ByteBuffer buffer = super.read(offset, length);
+    bytesRead(buffer.remaining());
+    return buffer;
+  }
+
+  @Override
+  public ByteBuffer readMapped(long offset, long length) throws IOException {
+    ByteBuffer buffer = super.readMapped(offset, length);
+    bytesRead(buffer.remaining());
+    return buffer;
+  }
+
+  @Override
+  public int transferTo(ByteBuf buf) throws IOException {
+    int bytes = super.transferTo(buf);
+    bytesRead(bytes);
+    return bytes;
+  }
+
   @Override
   public void close() throws IOException {
     if (mSessionId > 0) {
@@ -48,4 +72,15 @@ public class StoreBlockReader extends LocalFileBlockReader {
     }
     super.close();
   }
+
+  /**
+   * Reports the bytes read as they are read, so that long-lived readers count towards the read
+   * rates of their blocks while they are open.
+   */
+  private void bytesRead(long bytes) {
+    if (mSessionId > 0 && bytes > 0) {
+      BlockStreamTracker.readerRead(this, mBlockMeta.getBlockLocation(), mBlockMeta.getBlockId(),
+          bytes);
+    }
+  }
 }
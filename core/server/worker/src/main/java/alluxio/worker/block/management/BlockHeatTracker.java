@@ -0,0 +1,186 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.management;
+
+import alluxio.StorageTierAssoc;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.io.BlockClient;
+import alluxio.worker.block.io.BlockClientListener;
+import alluxio.worker.block.io.BlockStreamTracker;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the read rates of the blocks of the local block store, from the bytes reported by the
+ * readers of the blocks as they read through {@link BlockStreamTracker}.
+ *
+ * Readers only add their bytes to a per-block counter, without taking any lock. The counters are
+ * folded into the heat of the blocks by {@link #update()}, which is called by the management
+ * thread before it looks at the rates. The heat of a block decays exponentially with the
+ * configured half-life, so the read rate of a block is its heat divided by the mean life of a
+ * byte, and blocks which are no longer read are forgotten once their heat drops below a byte.
+ * The tracked blocks are thus the blocks read recently, and {@link #getReadRates(double)} lets
+ * callers look at the hot blocks without going through all the blocks of the store.
+ */
+@ThreadSafe
+public class BlockHeatTracker implements BlockClientListener, Closeable {
+  /** Heat below which a block is forgotten. */
+  private static final double MIN_HEAT = 1.0;
+
+  private final Clock mClock;
+  private final long mHalfLifeMs;
+  private final String mTopTierAlias;
+
+  /** Bytes read from each block since the last update. */
+  private final Map<Long, LongAdder> mPendingBytes = new ConcurrentHashMap<>();
+  /** Bytes read from the top tier, and from all the tiers. */
+  private final LongAdder mTopTierBytes = new LongAdder();
+  private final LongAdder mTotalBytes = new LongAdder();
+
+  /** The decayed bytes read from each block, as of {@link #mLastUpdateMs}. */
+  @GuardedBy("this")
+  private final Map<Long, Double> mHeat = new HashMap<>();
+  @GuardedBy("this")
+  private long mLastUpdateMs;
+
+  /**
+   * Creates a heat tracker and registers it to receive the reads of the block store.
+   *
+   * @param tierAssoc the tiers of the block store
+   * @param halfLifeMs the half-life of the heat of the blocks
+   * @param clock the clock
+   */
+  public BlockHeatTracker(StorageTierAssoc tierAssoc, long halfLifeMs, Clock clock) {
+    Preconditions.checkArgument(halfLifeMs > 0, "halfLifeMs must be positive");
+    mClock = clock;
+    mHalfLifeMs = halfLifeMs;
+    mTopTierAlias = tierAssoc.getAlias(0);
+    mLastUpdateMs = clock.millis();
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricsSystem.getMetricName(MetricKey.WORKER_BLOCK_READ_TOP_TIER_RATIO.getName()),
+        this::getTopTierReadRatio);
+    BlockStreamTracker.registerListener(this);
+  }
+
+  @Override
+  public void clientOpened(BlockClient blockClient, BlockStoreLocation location) {}
+
+  @Override
+  public void clientClosed(BlockClient blockClient, BlockStoreLocation location) {}
+
+  @Override
+  public void clientRead(BlockClient blockClient, BlockStoreLocation location, long blockId,
+      long bytes) {
+    LongAdder pending = mPendingBytes.get(blockId);
+    if (pending == null) {
+      pending = mPendingBytes.computeIfAbsent(blockId, id -> new LongAdder());
+    }
+    pending.add(bytes);
+    if (location.tierAlias().equals(mTopTierAlias)) {
+      mTopTierBytes.add(bytes);
+    }
+    mTotalBytes.add(bytes);
+  }
+
+  /**
+   * Decays the heat of the blocks to the current time and adds the bytes read since the last
+   * update.
+   */
+  public synchronized void update() {
+    long now = mClock.millis();
+    double decay = Math.pow(0.5, (double) Math.max(0, now - mLastUpdateMs) / mHalfLifeMs);
+    mLastUpdateMs = now;
+    Iterator<Map.Entry<Long, Double>> heatIterator = mHeat.entrySet().iterator();
+    while (heatIterator.hasNext()) {
+      Map.Entry<Long, Double> entry = heatIterator.next();
+      double heat = entry.getValue() * decay;
+      if (heat < MIN_HEAT) {
+        heatIterator.remove();
+      } else {
+        entry.setValue(heat);
+      }
+    }
+    Iterator<Map.Entry<Long, LongAdder>> pendingIterator = mPendingBytes.entrySet().iterator();
+    while (pendingIterator.hasNext()) {
+      Map.Entry<Long, LongAdder> entry = pendingIterator.next();
+      long bytes = entry.getValue().sumThenReset();
+      if (bytes == 0) {
+        // a read racing with the removal may be lost, which only makes the rate a bit lower
+        pendingIterator.remove();
+      } else {
+        mHeat.merge(entry.getKey(), (double) bytes, Double::sum);
+      }
+    }
+  }
+
+  /**
+   * @param blockId the block id
+   * @return the read rate of the block in bytes per second, as of the last update
+   */
+  public synchronized double getReadRate(long blockId) {
+    Double heat = mHeat.get(blockId);
+    return heat == null ? 0 : toRate(heat);
+  }
+
+  /**
+   * @param minRate the minimum read rate in bytes per second
+   * @return the read rates of the blocks read at least at the minimum rate, as of the last update
+   */
+  public synchronized Map<Long, Double> getReadRates(double minRate) {
+    Map<Long, Double> rates = new HashMap<>();
+    for (Map.Entry<Long, Double> entry : mHeat.entrySet()) {
+      double rate = toRate(entry.getValue());
+      if (rate >= minRate) {
+        rates.put(entry.getKey(), rate);
+      }
+    }
+    return rates;
+  }
+
+  /**
+   * @return the number of blocks with a read rate
+   */
+  public synchronized int getTrackedBlocks() {
+    return mHeat.size();
+  }
+
+  /**
+   * @return the fraction of the bytes read which were read from the top tier
+   */
+  public double getTopTierReadRatio() {
+    long total = mTotalBytes.sum();
+    return total == 0 ? 0 : (double) mTopTierBytes.sum() / total;
+  }
+
+  private double toRate(double heat) {
+    // the heat sums the bytes read weighted by exp(-age / mean life), so dividing it by the
+    // mean life of ln2 half-lives gives the rate
+    return heat * Math.log(2) * 1000 / mHalfLifeMs;
+  }
+
+  @Override
+  public void close() {
+    BlockStreamTracker.unregisterListener(this);
+  }
+}
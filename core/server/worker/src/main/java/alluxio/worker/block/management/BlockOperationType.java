@@ -19,5 +19,7 @@ public enum BlockOperationType {
     PROMOTE_MOVE,           // {@link PromoteTask} move transfers.
     SWAP_RESTORE_REMOVE,    // {@link SwapRestoreTask} removals.
     SWAP_RESTORE_FLUSH,     // {@link SwapRestoreTask} flush moves.
-    SWAP_RESTORE_BALANCE    // {@link SwapRestoreTask} balance moves.
+    SWAP_RESTORE_BALANCE,   // {@link SwapRestoreTask} balance moves.
+    HEAT_PROMOTE_MOVE,      // {@link HeatMigrateTask} move transfers.
+    HEAT_SWAP               // {@link HeatMigrateTask} swap transfers.
 }
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -53,6 +54,9 @@ public class ManagementTaskCoordinator implements Closeable {
   /** This coordinator requires to calculate eviction view per each task. */
   private final Supplier<BlockMetadataEvictorView> mEvictionViewSupplier;
 
+  /** Tracks the read rates of the blocks, when tiers are managed by read rates. */
+  private BlockHeatTracker mHeatTracker;
+
   /** List of management task providers. */
   private List<ManagementTaskProvider> mTaskProviders;
 
@@ -102,6 +106,10 @@ public class ManagementTaskCoordinator implements Closeable {
   @Override
   public void close() throws IOException {
     try {
+      // Stop tracking reads.
+      if (mHeatTracker != null) {
+        mHeatTracker.close();
+      }
       // Shutdown task executor.
       mTaskExecutor.shutdownNow();
       // Interrupt and wait for runner thread.
@@ -123,9 +131,14 @@ public class ManagementTaskCoordinator implements Closeable {
     if (ServerConfiguration.isSet(PropertyKey.WORKER_EVICTOR_CLASS)) {
       LOG.warn("Tier management tasks will be disabled under eviction emulation mode.");
     } else {
+      if (ServerConfiguration.getBoolean(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_ENABLED)) {
+        mHeatTracker = new BlockHeatTracker(mMetadataManager.getStorageTierAssoc(),
+            ServerConfiguration.getMs(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_HALF_LIFE),
+            Clock.systemUTC());
+      }
       // TODO(ggezer): Improve on views per task type.
       mTaskProviders.add(new TierManagementTaskProvider(mBlockStore, mMetadataManager,
-          mEvictionViewSupplier, mLoadTracker, mTaskExecutor));
+          mEvictionViewSupplier, mLoadTracker, mTaskExecutor, mHeatTracker));
     }
   }
 
@@ -0,0 +1,242 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.management.tier;
+
+import alluxio.collections.Pair;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.worker.block.BlockMetadataEvictorView;
+import alluxio.worker.block.BlockMetadataManager;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.LocalBlockStore;
+import alluxio.worker.block.annotator.BlockOrder;
+import alluxio.worker.block.evictor.BlockTransferInfo;
+import alluxio.worker.block.management.AbstractBlockManagementTask;
+import alluxio.worker.block.management.BlockHeatTracker;
+import alluxio.worker.block.management.BlockManagementTaskResult;
+import alluxio.worker.block.management.BlockOperationResult;
+import alluxio.worker.block.management.BlockOperationType;
+import alluxio.worker.block.management.ManagementTaskCoordinator;
+import alluxio.worker.block.management.StoreLoadTracker;
+import alluxio.worker.block.meta.BlockMeta;
+import alluxio.worker.block.meta.StorageTier;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A BlockStore management task that moves blocks between tiers by their read rates, as tracked
+ * by a {@link BlockHeatTracker}.
+ *
+ * For each tier intersection without client load, the blocks of the lower tier read faster than
+ * the minimum rate are promoted, hottest first, while the upper tier is within its promotion
+ * quota. The remaining hot blocks are swapped with the blocks of the upper tier least worth
+ * keeping according to the block annotator, coldest first, as long as they are read a configured
+ * factor faster, so that blocks of similar rates do not move back and forth. Only the blocks read
+ * recently are tracked, so the task never goes through all the blocks of a tier. The bytes moved
+ * are limited by a rate limiter shared by the tasks.
+ *
+ * A single task may not move all the hot blocks, so {@link ManagementTaskCoordinator} will keep
+ * instantiating new tasks until no longer needed.
+ */
+public class HeatMigrateTask extends AbstractBlockManagementTask {
+  private static final Logger LOG = LoggerFactory.getLogger(HeatMigrateTask.class);
+
+  private final BlockHeatTracker mHeatTracker;
+  private final RateLimiter mBandwidthLimiter;
+
+  /**
+   * Creates a new heat migrate task.
+   *
+   * @param blockStore the block store
+   * @param metadataManager the meta manager
+   * @param evictorView the evictor view
+   * @param loadTracker the load tracker
+   * @param executor the executor
+   * @param heatTracker the heat tracker, updated before creating the task
+   * @param bandwidthLimiter the limiter of the bytes moved, in bytes per second
+   */
+  public HeatMigrateTask(LocalBlockStore blockStore, BlockMetadataManager metadataManager,
+      BlockMetadataEvictorView evictorView, StoreLoadTracker loadTracker,
+      ExecutorService executor, BlockHeatTracker heatTracker, RateLimiter bandwidthLimiter) {
+    super(blockStore, metadataManager, evictorView, loadTracker, executor);
+    mHeatTracker = heatTracker;
+    mBandwidthLimiter = bandwidthLimiter;
+  }
+
+  @Override
+  public BlockManagementTaskResult run() {
+    LOG.debug("Running heat migrate task.");
+    final double minRate =
+        ServerConfiguration.getBytes(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE);
+    final double swapFactor =
+        ServerConfiguration.getDouble(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_SWAP_FACTOR);
+    final double quotaRatio = (double) ServerConfiguration
+        .getInt(PropertyKey.WORKER_MANAGEMENT_TIER_PROMOTE_QUOTA_PERCENT) / 100;
+
+    // the rates of the blocks read recently, the others are not read at all
+    Map<Long, Double> rates = mHeatTracker.getReadRates(0);
+    BlockManagementTaskResult result = new BlockManagementTaskResult();
+    for (Pair<BlockStoreLocation, BlockStoreLocation> intersection : mMetadataManager
+        .getStorageTierAssoc().intersectionList()) {
+      BlockStoreLocation tierUpLoc = intersection.getFirst();
+      BlockStoreLocation tierDownLoc = intersection.getSecond();
+      if (mLoadTracker.loadDetected(tierUpLoc, tierDownLoc)) {
+        LOG.debug("Load detected on {} - {}, skipping heat migration.", tierUpLoc.tierAlias(),
+            tierDownLoc.tierAlias());
+        continue;
+      }
+
+      // Hottest blocks of the lower tier first.
+      List<RatedBlock> hotBlocks = getHotBlocks(rates, tierDownLoc, minRate);
+      hotBlocks.sort(Comparator.comparingDouble((RatedBlock block) -> block.mRate).reversed());
+
+      // Promote while the upper tier is within its quota.
+      StorageTier tierUp = mMetadataManager.getTier(tierUpLoc.tierAlias());
+      List<BlockTransferInfo> moves = new ArrayList<>();
+      long bytesToAllocate = 0;
+      int hotIndex = 0;
+      for (; hotIndex < hotBlocks.size(); hotIndex++) {
+        RatedBlock hot = hotBlocks.get(hotIndex);
+        double projectedUsedRatio = 1.0 - ((double) (tierUp.getAvailableBytes()
+            - bytesToAllocate - hot.mMeta.getBlockSize()) / tierUp.getCapacityBytes());
+        if (projectedUsedRatio > quotaRatio || !acquire(hot.mMeta.getBlockSize())) {
+          break;
+        }
+        bytesToAllocate += hot.mMeta.getBlockSize();
+        moves.add(BlockTransferInfo.createMove(hot.mMeta.getBlockLocation(),
+            hot.mMeta.getBlockId(), tierUpLoc));
+      }
+
+      // Swap the remaining hot blocks with the coldest blocks of the upper tier.
+      List<RatedBlock> coldBlocks = getColdBlocks(rates, tierUpLoc, hotBlocks.size() - hotIndex);
+      coldBlocks.sort(Comparator.comparingDouble(block -> block.mRate));
+      List<BlockTransferInfo> swaps = new ArrayList<>();
+      for (int coldIndex = 0;
+          hotIndex < hotBlocks.size() && coldIndex < coldBlocks.size();
+          hotIndex++, coldIndex++) {
+        RatedBlock hot = hotBlocks.get(hotIndex);
+        RatedBlock cold = coldBlocks.get(coldIndex);
+        if (hot.mRate <= swapFactor * cold.mRate
+            || !acquire(hot.mMeta.getBlockSize() + cold.mMeta.getBlockSize())) {
+          break;
+        }
+        swaps.add(BlockTransferInfo.createSwap(cold.mMeta.getBlockLocation(),
+            cold.mMeta.getBlockId(), hot.mMeta.getBlockLocation(), hot.mMeta.getBlockId()));
+      }
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Generated {} promotions and {} swaps between {} - {}:\n ->{}", moves.size(),
+            swaps.size(), tierUpLoc.tierAlias(), tierDownLoc.tierAlias(),
+            Stream.concat(moves.stream(), swaps.stream()).map(Objects::toString)
+                .collect(Collectors.joining("\n ->")));
+      }
+
+      // Trigger swap-restore task when a swap fails due to insufficient reserved space.
+      Consumer<Exception> excHandler = (e) -> {
+        if (e instanceof WorkerOutOfSpaceException) {
+          LOG.warn("Insufficient space for worker swap space, swap restore task called.");
+          TierManagementTaskProvider.setSwapRestoreRequired(true);
+        }
+      };
+
+      BlockOperationResult moveResult = mTransferExecutor.executeTransferList(moves);
+      BlockOperationResult swapResult = mTransferExecutor.executeTransferList(swaps, excHandler);
+      MetricsSystem.counter(MetricKey.WORKER_BLOCKS_HEAT_MOVED.getName()).inc(
+          moveResult.opCount() - moveResult.failCount() - moveResult.backOffCount()
+          + 2 * (swapResult.opCount() - swapResult.failCount() - swapResult.backOffCount()));
+      result.addOpResults(BlockOperationType.HEAT_PROMOTE_MOVE, moveResult);
+      result.addOpResults(BlockOperationType.HEAT_SWAP, swapResult);
+    }
+    return result;
+  }
+
+  /**
+   * @param rates the read rates of the blocks read recently
+   * @param location the tier location
+   * @param minRate the minimum read rate
+   * @return the evictable blocks of the tier read at least at the minimum rate
+   */
+  private List<RatedBlock> getHotBlocks(Map<Long, Double> rates, BlockStoreLocation location,
+      double minRate) {
+    List<RatedBlock> blocks = new ArrayList<>();
+    for (Map.Entry<Long, Double> entry : rates.entrySet()) {
+      if (entry.getValue() < minRate) {
+        continue;
+      }
+      // blocks which are not evictable have no meta in the view
+      Optional<BlockMeta> blockMeta = mEvictorView.getBlockMeta(entry.getKey());
+      if (blockMeta.isPresent() && blockMeta.get().getBlockLocation().belongsTo(location)) {
+        blocks.add(new RatedBlock(blockMeta.get(), entry.getValue()));
+      }
+    }
+    return blocks;
+  }
+
+  /**
+   * Gets candidates to make room for hot blocks, from the evictable blocks of a tier in the order
+   * of the block annotator, which starts with the blocks least worth keeping.
+   *
+   * @param rates the read rates of the blocks read recently
+   * @param location the tier location
+   * @param count the number of blocks to get
+   * @return at most count evictable blocks of the tier
+   */
+  private List<RatedBlock> getColdBlocks(Map<Long, Double> rates, BlockStoreLocation location,
+      int count) {
+    List<RatedBlock> blocks = new ArrayList<>();
+    Iterator<Long> iterator =
+        mMetadataManager.getBlockIterator().getIterator(location, BlockOrder.NATURAL);
+    while (blocks.size() < count && iterator.hasNext()) {
+      long blockId = iterator.next();
+      Optional<BlockMeta> blockMeta = mEvictorView.getBlockMeta(blockId);
+      if (blockMeta.isPresent()) {
+        blocks.add(new RatedBlock(blockMeta.get(), rates.getOrDefault(blockId, 0.0)));
+      }
+    }
+    return blocks;
+  }
+
+  private boolean acquire(long bytes) {
+    // the limiter lets a move through whenever it is not in debt, so large blocks still move
+    return mBandwidthLimiter.tryAcquire((int) Math.min(Math.max(bytes, 1), Integer.MAX_VALUE));
+  }
+
+  /**
+   * A block with its read rate.
+   */
+  private static final class RatedBlock {
+    private final BlockMeta mMeta;
+    private final double mRate;
+
+    RatedBlock(BlockMeta meta, double rate) {
+      mMeta = meta;
+      mRate = rate;
+    }
+  }
+}
@@ -19,25 +19,33 @@ import alluxio.worker.block.BlockMetadataManager;
 import alluxio.worker.block.LocalBlockStore;
 import alluxio.worker.block.BlockStoreLocation;
 import alluxio.worker.block.annotator.BlockOrder;
+import alluxio.worker.block.management.BlockHeatTracker;
 import alluxio.worker.block.management.BlockManagementTask;
 import alluxio.worker.block.management.ManagementTaskProvider;
 import alluxio.worker.block.management.StoreLoadTracker;
+import alluxio.worker.block.meta.BlockMeta;
 import alluxio.worker.block.meta.StorageTier;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
  * {@link ManagementTaskProvider} implementation for tier management tasks.
  *
- * It currently creates three types of tasks:
+ * It currently creates four types of tasks:
  *  1- {@link AlignTask} for aligning tiers based on user access pattern.
  *  2- {@link SwapRestoreTask} for when swap task can't run due to reserved space exhaustion.
  *  3- {@link PromoteTask} for utilizing speed of higher tiers by moving blocks from below.
+ *  4- {@link HeatMigrateTask} for moving blocks by their read rates, which replaces the align
+ *     and promote tasks when a {@link BlockHeatTracker} is given.
  */
 public class TierManagementTaskProvider implements ManagementTaskProvider {
   private static final Logger LOG = LoggerFactory.getLogger(TierManagementTaskProvider.class);
@@ -47,6 +55,11 @@ public class TierManagementTaskProvider implements ManagementTaskProvider {
   private final Supplier<BlockMetadataEvictorView> mEvictorViewSupplier;
   private final StoreLoadTracker mLoadTracker;
   private final ExecutorService mExecutor;
+  @Nullable
+  private final BlockHeatTracker mHeatTracker;
+  /** Limits the bytes moved by the heat migrate tasks. */
+  @Nullable
+  private final RateLimiter mHeatBandwidthLimiter;
 
   /** Used to set whether swap-restore task is required. */
   private static boolean sSwapRestoreRequired = false;
@@ -73,11 +86,32 @@ public class TierManagementTaskProvider implements ManagementTaskProvider {
   public TierManagementTaskProvider(LocalBlockStore blockStore,
       BlockMetadataManager metadataManager, Supplier<BlockMetadataEvictorView> evictorViewSupplier,
       StoreLoadTracker loadTracker, ExecutorService executor) {
+    this(blockStore, metadataManager, evictorViewSupplier, loadTracker, executor, null);
+  }
+
+  /**
+   * Creates a task provider for tier management functions.
+   *
+   * @param blockStore the block store
+   * @param metadataManager the meta manager
+   * @param evictorViewSupplier the evictor view supplier
+   * @param loadTracker the load tracker
+   * @param executor the executor
+   * @param heatTracker the heat tracker to move blocks by their read rates, or null to align
+   *        and promote them by the annotator order
+   */
+  public TierManagementTaskProvider(LocalBlockStore blockStore,
+      BlockMetadataManager metadataManager, Supplier<BlockMetadataEvictorView> evictorViewSupplier,
+      StoreLoadTracker loadTracker, ExecutorService executor,
+      @Nullable BlockHeatTracker heatTracker) {
     mBlockStore = blockStore;
     mMetadataManager = metadataManager;
     mEvictorViewSupplier = evictorViewSupplier;
     mLoadTracker = loadTracker;
     mExecutor = executor;
+    mHeatTracker = heatTracker;
+    mHeatBandwidthLimiter = heatTracker == null ? null : RateLimiter.create(
+        ServerConfiguration.getBytes(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_BANDWIDTH));
   }
 
   @Override
@@ -94,6 +128,9 @@ public class TierManagementTaskProvider implements ManagementTaskProvider {
       case SWAP_RESTORE:
         return new SwapRestoreTask(mBlockStore, mMetadataManager, mEvictorViewSupplier.get(),
             mLoadTracker, mExecutor);
+      case HEAT:
+        return new HeatMigrateTask(mBlockStore, mMetadataManager, mEvictorViewSupplier.get(),
+            mLoadTracker, mExecutor, mHeatTracker, mHeatBandwidthLimiter);
       default:
         throw new IllegalArgumentException("Unknown task type.");
     }
@@ -121,6 +158,12 @@ public class TierManagementTaskProvider implements ManagementTaskProvider {
     // Acquire a recent evictor view.
     BlockMetadataEvictorView evictorView = mEvictorViewSupplier.get();
 
+    // Moving blocks by their read rates replaces aligning and promoting them.
+    if (mHeatTracker != null) {
+      return heatMigrationNeeded(evictorView)
+          ? TierManagementTaskType.HEAT : TierManagementTaskType.NONE;
+    }
+
     // Iterate all tier intersections and decide which task to run.
     for (Pair<BlockStoreLocation, BlockStoreLocation> intersection : mMetadataManager
         .getStorageTierAssoc().intersectionList()) {
@@ -162,6 +205,34 @@ public class TierManagementTaskProvider implements ManagementTaskProvider {
     return TierManagementTaskType.NONE;
   }
 
+  /**
+   * @param evictorView the evictor view
+   * @return whether a block of a lower tier is read fast enough to move up
+   */
+  private boolean heatMigrationNeeded(BlockMetadataEvictorView evictorView) {
+    mHeatTracker.update();
+    long minRate = ServerConfiguration.getBytes(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE);
+    // only the blocks read recently are tracked, so look at them rather than at all the blocks
+    Set<Long> hotBlocks = mHeatTracker.getReadRates(minRate).keySet();
+    if (hotBlocks.isEmpty()) {
+      return false;
+    }
+    for (Pair<BlockStoreLocation, BlockStoreLocation> intersection : mMetadataManager
+        .getStorageTierAssoc().intersectionList()) {
+      for (long blockId : hotBlocks) {
+        // blocks which are not evictable have no meta in the view
+        Optional<BlockMeta> blockMeta = evictorView.getBlockMeta(blockId);
+        if (blockMeta.isPresent()
+            && blockMeta.get().getBlockLocation().belongsTo(intersection.getSecond())) {
+          LOG.debug("Heat migration needed from {} to {}", intersection.getSecond().tierAlias(),
+              intersection.getFirst().tierAlias());
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   /**
    * Supported tier management tasks.
    */
@@ -169,6 +240,7 @@ public class TierManagementTaskProvider implements ManagementTaskProvider {
     NONE,
     ALIGN,
     PROMOTE,
-    SWAP_RESTORE
+    SWAP_RESTORE,
+    HEAT
   }
 }
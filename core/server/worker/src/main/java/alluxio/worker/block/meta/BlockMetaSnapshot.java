@@ -0,0 +1,184 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A snapshot of the committed blocks of a storage directory, which lets a restarting worker load
+ * the metadata of the directory without listing it and reading the length of every block file.
+ *
+ * The snapshot is kept in the {@link #SNAPSHOT_FOLDER} of the directory and records the block ids
+ * and sizes, in the order in which the blocks were last accessed, along with the modification
+ * time of the directory. Blocks are committed, moved and removed by renaming or deleting their
+ * files in the directory, which updates its modification time, so a snapshot is only valid while
+ * the directory has the modification time it records. Snapshots are also checksummed.
+ */
+@ThreadSafe
+public final class BlockMetaSnapshot {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockMetaSnapshot.class);
+
+  /** The folder of a storage directory holding its snapshot. */
+  public static final String SNAPSHOT_FOLDER = ".meta_snapshot";
+  private static final String SNAPSHOT_FILE = "blocks";
+  private static final int MAGIC = 0x414c4253;
+  private static final int VERSION = 1;
+
+  private final long[] mBlockIds;
+  private final long[] mBlockSizes;
+
+  /**
+   * @param blockIds the ids of the blocks, in the order in which they were last accessed
+   * @param blockSizes the sizes of the blocks
+   */
+  public BlockMetaSnapshot(long[] blockIds, long[] blockSizes) {
+    Preconditions.checkArgument(blockIds.length == blockSizes.length);
+    mBlockIds = blockIds;
+    mBlockSizes = blockSizes;
+  }
+
+  /**
+   * @return the ids of the blocks, in the order in which they were last accessed
+   */
+  public long[] getBlockIds() {
+    return mBlockIds;
+  }
+
+  /**
+   * @return the sizes of the blocks
+   */
+  public long[] getBlockSizes() {
+    return mBlockSizes;
+  }
+
+  /**
+   * Creates the snapshot folder of a storage directory if it does not exist. This modifies the
+   * directory, so it must be called before its modification time is read for a snapshot.
+   *
+   * @param dirPath the path of the storage directory
+   */
+  public static void createSnapshotFolder(String dirPath) throws IOException {
+    Files.createDirectories(Paths.get(dirPath, SNAPSHOT_FOLDER));
+  }
+
+  /**
+   * @param dirPath the path of the storage directory
+   * @return the modification time of the directory in nanoseconds
+   */
+  public static long getModifiedTime(String dirPath) throws IOException {
+    return Files.getLastModifiedTime(Paths.get(dirPath)).to(TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Writes the snapshot of a storage directory, replacing the previous one.
+   *
+   * @param dirPath the path of the storage directory
+   * @param modifiedTime the modification time of the directory when the blocks were listed
+   */
+  public void write(String dirPath, long modifiedTime) throws IOException {
+    Path file = Paths.get(dirPath, SNAPSHOT_FOLDER, SNAPSHOT_FILE);
+    Path tmpFile = Paths.get(dirPath, SNAPSHOT_FOLDER, SNAPSHOT_FILE + ".tmp");
+    CRC32 crc = new CRC32();
+    try (OutputStream out = Files.newOutputStream(tmpFile);
+         DataOutputStream checkedOut = new DataOutputStream(
+             new CheckedOutputStream(new BufferedOutputStream(out), crc))) {
+      checkedOut.writeInt(MAGIC);
+      checkedOut.writeInt(VERSION);
+      checkedOut.writeUTF(dirPath);
+      checkedOut.writeLong(modifiedTime);
+      checkedOut.writeInt(mBlockIds.length);
+      for (int i = 0; i < mBlockIds.length; i++) {
+        checkedOut.writeLong(mBlockIds[i]);
+        checkedOut.writeLong(mBlockSizes[i]);
+      }
+      // the checksum covers everything written before it
+      checkedOut.writeLong(crc.getValue());
+    }
+    Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads the snapshot of a storage directory.
+   *
+   * @param dirPath the path of the storage directory
+   * @return the snapshot, or empty if there is no snapshot or if it is invalid or stale
+   */
+  public static Optional<BlockMetaSnapshot> read(String dirPath) {
+    Path file = Paths.get(dirPath, SNAPSHOT_FOLDER, SNAPSHOT_FILE);
+    CRC32 crc = new CRC32();
+    try (InputStream in = Files.newInputStream(file);
+         DataInputStream checkedIn =
+             new DataInputStream(new CheckedInputStream(new BufferedInputStream(in), crc))) {
+      if (checkedIn.readInt() != MAGIC || checkedIn.readInt() != VERSION) {
+        LOG.warn("Ignoring block metadata snapshot {} of an unknown format", file);
+        return Optional.empty();
+      }
+      if (!checkedIn.readUTF().equals(dirPath)) {
+        LOG.warn("Ignoring block metadata snapshot {} of another directory", file);
+        return Optional.empty();
+      }
+      long modifiedTime = checkedIn.readLong();
+      if (modifiedTime != getModifiedTime(dirPath)) {
+        LOG.info("Ignoring block metadata snapshot {}, the directory was modified since", file);
+        return Optional.empty();
+      }
+      int numBlocks = checkedIn.readInt();
+      if (numBlocks < 0 || (long) numBlocks * 2 * Long.BYTES > Files.size(file)) {
+        LOG.warn("Ignoring corrupted block metadata snapshot {}", file);
+        return Optional.empty();
+      }
+      long[] blockIds = new long[numBlocks];
+      long[] blockSizes = new long[numBlocks];
+      for (int i = 0; i < numBlocks; i++) {
+        blockIds[i] = checkedIn.readLong();
+        blockSizes[i] = checkedIn.readLong();
+      }
+      long expectedCrc = crc.getValue();
+      if (checkedIn.readLong() != expectedCrc || checkedIn.read() != -1) {
+        LOG.warn("Ignoring corrupted block metadata snapshot {}", file);
+        return Optional.empty();
+      }
+      return Optional.of(new BlockMetaSnapshot(blockIds, blockSizes));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (EOFException e) {
+      LOG.warn("Ignoring truncated block metadata snapshot {}", file);
+      return Optional.empty();
+    } catch (IOException e) {
+      LOG.warn("Failed to read block metadata snapshot {}: {}", file, e.toString());
+      return Optional.empty();
+    }
+  }
+}
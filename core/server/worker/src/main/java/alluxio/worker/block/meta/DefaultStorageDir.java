@@ -19,26 +19,34 @@ import alluxio.conf.ServerConfiguration;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.BlockStoreLocation;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import javax.annotation.concurrent.NotThreadSafe;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
@@ -49,18 +57,27 @@ import javax.annotation.concurrent.NotThreadSafe;
  * - committed for user I/Os
  * - available for internal I/Os.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class DefaultStorageDir implements StorageDir {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultStorageDir.class);
 
   private final long mCapacityBytes;
   private final String mDirMedium;
-  /** A map from block id to block metadata. */
-  private final Map<Long, BlockMeta> mBlockIdToBlockMap = new HashMap<>(200);
+  /**
+   * Guards the metadata of this dir. Updates take the write lock, so that the maps and the space
+   * of the dir are updated together, and reads of {@link #mBlockIdToBlockMap} take the read lock.
+   */
+  private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+  /**
+   * A map from block id to block metadata. Blocks are kept in the order they were added, so that
+   * blocks loaded from a {@link BlockMetaSnapshot} are listed in their last access order.
+   */
+  @GuardedBy("mLock")
+  private final Map<Long, BlockMeta> mBlockIdToBlockMap = new LinkedHashMap<>(200);
   /** A map from block id to temp block metadata. */
-  private final Map<Long, TempBlockMeta> mBlockIdToTempBlockMap = new HashMap<>(200);
+  private final Map<Long, TempBlockMeta> mBlockIdToTempBlockMap = new ConcurrentHashMap<>(200);
   /** A map from session id to the set of temp blocks created by this session. */
-  private final Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap = new HashMap<>(200);
+  private final Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap = new ConcurrentHashMap<>(200);
   private final AtomicLong mAvailableBytes;
   private final AtomicLong mCommittedBytes;
   private final AtomicLong mReservedBytes;
@@ -116,6 +133,9 @@ public final class DefaultStorageDir implements StorageDir {
    * {@link DefaultBlockMeta#commitPath(StorageDir, long)} are legal, should be in format like
    * {dir}/{blockId}. other paths will be deleted.
    *
+   * If {@link PropertyKey#WORKER_BLOCK_META_SNAPSHOT_ENABLED} is set and the directory has a
+   * valid {@link BlockMetaSnapshot}, the blocks are loaded from the snapshot instead.
+   *
    * @throws WorkerOutOfSpaceException when metadata can not be added due to limited left space
    */
   private void initializeMeta() throws IOException, WorkerOutOfSpaceException {
@@ -128,13 +148,39 @@ public final class DefaultStorageDir implements StorageDir {
       LOG.info("Folder {} was created!", mDirPath);
     }
 
+    if (ServerConfiguration.getBoolean(PropertyKey.WORKER_BLOCK_META_SNAPSHOT_ENABLED)) {
+      Optional<BlockMetaSnapshot> snapshot = BlockMetaSnapshot.read(mDirPath);
+      if (snapshot.isPresent()) {
+        long[] blockIds = snapshot.get().getBlockIds();
+        long[] blockSizes = snapshot.get().getBlockSizes();
+        for (int i = 0; i < blockIds.length; i++) {
+          addBlockMeta(new DefaultBlockMeta(blockIds[i], blockSizes[i], this));
+        }
+        LOG.info("Loaded {} blocks of StorageDir {} from snapshot", blockIds.length, mDirPath);
+        MetricsSystem.counter(MetricKey.WORKER_STORAGE_DIRS_LOADED_FROM_SNAPSHOT.getName()).inc();
+        return;
+      }
+    }
+
+    MetricsSystem.counter(MetricKey.WORKER_STORAGE_DIRS_SCANNED.getName()).inc();
     File dir = new File(mDirPath);
     File[] paths = dir.listFiles();
     if (paths == null) {
       return;
     }
     for (File path : paths) {
-      if (!path.isFile()) {
+      // a single stat gives both the type and the length of the file
+      BasicFileAttributes attributes;
+      try {
+        attributes = Files.readAttributes(path.toPath(), BasicFileAttributes.class);
+      } catch (IOException e) {
+        LOG.error("can not read attributes of {} in StorageDir", path.getAbsolutePath(), e);
+        continue;
+      }
+      if (!attributes.isRegularFile()) {
+        if (path.getName().equals(BlockMetaSnapshot.SNAPSHOT_FOLDER)) {
+          continue;
+        }
         if (!path.getName().equals(tmpDir)) {
           LOG.error("{} in StorageDir is not a file", path.getAbsolutePath());
         }
@@ -147,7 +193,7 @@ public final class DefaultStorageDir implements StorageDir {
       } else {
         try {
           long blockId = Long.parseLong(path.getName());
-          addBlockMeta(new DefaultBlockMeta(blockId, path.length(), this));
+          addBlockMeta(new DefaultBlockMeta(blockId, attributes.size(), this));
         } catch (NumberFormatException e) {
           LOG.error("filename of {} in StorageDir can not be parsed into long",
               path.getAbsolutePath(), e);
@@ -198,17 +244,23 @@ public final class DefaultStorageDir implements StorageDir {
 
   @Override
   public List<Long> getBlockIds() {
-    return new ArrayList<>(mBlockIdToBlockMap.keySet());
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      return new ArrayList<>(mBlockIdToBlockMap.keySet());
+    }
   }
 
   @Override
   public List<BlockMeta> getBlocks() {
-    return new ArrayList<>(mBlockIdToBlockMap.values());
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      return new ArrayList<>(mBlockIdToBlockMap.values());
+    }
   }
 
   @Override
   public boolean hasBlockMeta(long blockId) {
-    return mBlockIdToBlockMap.containsKey(blockId);
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      return mBlockIdToBlockMap.containsKey(blockId);
+    }
   }
 
   @Override
@@ -218,7 +270,9 @@ public final class DefaultStorageDir implements StorageDir {
 
   @Override
   public Optional<BlockMeta> getBlockMeta(long blockId) {
-    return Optional.ofNullable(mBlockIdToBlockMap.get(blockId));
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      return Optional.ofNullable(mBlockIdToBlockMap.get(blockId));
+    }
   }
 
   @Override
@@ -232,14 +286,16 @@ public final class DefaultStorageDir implements StorageDir {
     long blockId = blockMeta.getBlockId();
     long blockSize = blockMeta.getBlockSize();
 
-    if (getAvailableBytes() + getReservedBytes() < blockSize) {
-      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
-          blockSize, getAvailableBytes(), blockMeta.getBlockLocation().tierAlias());
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      if (getAvailableBytes() + getReservedBytes() < blockSize) {
+        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
+            blockSize, getAvailableBytes(), blockMeta.getBlockLocation().tierAlias());
+      }
+      checkState(!hasBlockMeta(blockId), ExceptionMessage.ADD_EXISTING_BLOCK.getMessage(
+          blockId, blockMeta.getBlockLocation().tierAlias()));
+      mBlockIdToBlockMap.put(blockId, blockMeta);
+      reserveSpace(blockSize, true);
     }
-    checkState(!hasBlockMeta(blockId), ExceptionMessage.ADD_EXISTING_BLOCK.getMessage(
-        blockId, blockMeta.getBlockLocation().tierAlias()));
-    mBlockIdToBlockMap.put(blockId, blockMeta);
-    reserveSpace(blockSize, true);
   }
 
   @Override
@@ -249,30 +305,30 @@ public final class DefaultStorageDir implements StorageDir {
     long blockId = tempBlockMeta.getBlockId();
     long blockSize = tempBlockMeta.getBlockSize();
 
-    checkState(getAvailableBytes() + getReservedBytes() >= blockSize,
-        ExceptionMessage.NO_SPACE_FOR_BLOCK_META.getMessage(blockId,
-            blockSize, getAvailableBytes(), tempBlockMeta.getBlockLocation().tierAlias()));
-    checkState(!hasTempBlockMeta(blockId),
-        ExceptionMessage.ADD_EXISTING_BLOCK.getMessage(
-            blockId, tempBlockMeta.getBlockLocation().tierAlias()));
-
-    mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    if (sessionTempBlocks == null) {
-      mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
-    } else {
-      sessionTempBlocks.add(blockId);
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      checkState(getAvailableBytes() + getReservedBytes() >= blockSize,
+          ExceptionMessage.NO_SPACE_FOR_BLOCK_META.getMessage(blockId,
+              blockSize, getAvailableBytes(), tempBlockMeta.getBlockLocation().tierAlias()));
+      checkState(!hasTempBlockMeta(blockId),
+          ExceptionMessage.ADD_EXISTING_BLOCK.getMessage(
+              blockId, tempBlockMeta.getBlockLocation().tierAlias()));
+
+      mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
+      mSessionIdToTempBlockIdsMap.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet())
+          .add(blockId);
+      reserveSpace(blockSize, false);
     }
-    reserveSpace(blockSize, false);
   }
 
   @Override
   public void removeBlockMeta(BlockMeta blockMeta) {
     Preconditions.checkNotNull(blockMeta, "blockMeta");
     long blockId = blockMeta.getBlockId();
-    BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
-    if (deletedBlockMeta != null) {
-      reclaimSpace(blockMeta.getBlockSize(), true);
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
+      if (deletedBlockMeta != null) {
+        reclaimSpace(blockMeta.getBlockSize(), true);
+      }
     }
   }
 
@@ -282,73 +338,81 @@ public final class DefaultStorageDir implements StorageDir {
     Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
     final long blockId = tempBlockMeta.getBlockId();
     final long sessionId = tempBlockMeta.getSessionId();
-    TempBlockMeta deletedTempBlockMeta = mBlockIdToTempBlockMap.remove(blockId);
-    checkState(deletedTempBlockMeta != null,
-        ExceptionMessage.BLOCK_META_NOT_FOUND.getMessage(blockId));
-    Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    checkState(sessionBlocks != null && sessionBlocks.remove(blockId),
-        ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION.getMessage(blockId, mTier.getTierAlias(),
-            sessionId));
-    if (sessionBlocks.isEmpty()) {
-      mSessionIdToTempBlockIdsMap.remove(sessionId);
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      TempBlockMeta deletedTempBlockMeta = mBlockIdToTempBlockMap.remove(blockId);
+      checkState(deletedTempBlockMeta != null,
+          ExceptionMessage.BLOCK_META_NOT_FOUND.getMessage(blockId));
+      Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      checkState(sessionBlocks != null && sessionBlocks.remove(blockId),
+          ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION.getMessage(blockId, mTier.getTierAlias(),
+              sessionId));
+      if (sessionBlocks.isEmpty()) {
+        mSessionIdToTempBlockIdsMap.remove(sessionId);
+      }
+      reclaimSpace(tempBlockMeta.getBlockSize(), false);
     }
-    reclaimSpace(tempBlockMeta.getBlockSize(), false);
   }
 
   @Override
   public void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize)
       throws InvalidWorkerStateException {
-    long oldSize = tempBlockMeta.getBlockSize();
-    if (newSize > oldSize) {
-      reserveSpace(newSize - oldSize, false);
-      tempBlockMeta.setBlockSize(newSize);
-    } else if (newSize < oldSize) {
-      throw new InvalidWorkerStateException("Shrinking block, not supported!");
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      long oldSize = tempBlockMeta.getBlockSize();
+      if (newSize > oldSize) {
+        reserveSpace(newSize - oldSize, false);
+        tempBlockMeta.setBlockSize(newSize);
+      } else if (newSize < oldSize) {
+        throw new InvalidWorkerStateException("Shrinking block, not supported!");
+      }
     }
   }
 
   @Override
   public void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    // The session's temporary blocks have already been removed.
-    if (sessionTempBlocks == null) {
-      return;
-    }
-    for (Long tempBlockId : tempBlockIds) {
-      if (!mBlockIdToTempBlockMap.containsKey(tempBlockId)) {
-        // This temp block does not exist in this dir, this is expected for some blocks since the
-        // input list is across all dirs
-        continue;
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      // The session's temporary blocks have already been removed.
+      if (sessionTempBlocks == null) {
+        return;
+      }
+      for (Long tempBlockId : tempBlockIds) {
+        if (!mBlockIdToTempBlockMap.containsKey(tempBlockId)) {
+          // This temp block does not exist in this dir, this is expected for some blocks since
+          // the input list is across all dirs
+          continue;
+        }
+        sessionTempBlocks.remove(tempBlockId);
+        TempBlockMeta tempBlockMeta = mBlockIdToTempBlockMap.remove(tempBlockId);
+        if (tempBlockMeta != null) {
+          reclaimSpace(tempBlockMeta.getBlockSize(), false);
+        } else {
+          LOG.error("Cannot find blockId {} when cleanup sessionId {}", tempBlockId, sessionId);
+        }
       }
-      sessionTempBlocks.remove(tempBlockId);
-      TempBlockMeta tempBlockMeta = mBlockIdToTempBlockMap.remove(tempBlockId);
-      if (tempBlockMeta != null) {
-        reclaimSpace(tempBlockMeta.getBlockSize(), false);
+      if (sessionTempBlocks.isEmpty()) {
+        mSessionIdToTempBlockIdsMap.remove(sessionId);
       } else {
-        LOG.error("Cannot find blockId {} when cleanup sessionId {}", tempBlockId, sessionId);
+        // This may happen if the client comes back during clean up and creates more blocks or
+        // some temporary blocks failed to be deleted
+        LOG.warn("Blocks still owned by session {} after cleanup.", sessionId);
       }
     }
-    if (sessionTempBlocks.isEmpty()) {
-      mSessionIdToTempBlockIdsMap.remove(sessionId);
-    } else {
-      // This may happen if the client comes back during clean up and creates more blocks or some
-      // temporary blocks failed to be deleted
-      LOG.warn("Blocks still owned by session {} after cleanup.", sessionId);
-    }
   }
 
   @Override
   public List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
-    Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
 
-    if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
-      return Collections.emptyList();
-    }
-    List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
-    for (long blockId : sessionTempBlockIds) {
-      sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+      if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
+        return Collections.emptyList();
+      }
+      List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
+      for (long blockId : sessionTempBlockIds) {
+        sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+      }
+      return sessionTempBlocks;
     }
-    return sessionTempBlocks;
   }
 
   @Override
@@ -361,6 +425,11 @@ public final class DefaultStorageDir implements StorageDir {
     return mReservedBytes.get();
   }
 
+  @Override
+  public ReadWriteLock getLock() {
+    return mLock;
+  }
+
   private void reclaimSpace(long size, boolean committed) {
     mAvailableBytes.getAndUpdate(oldAvailableBytes -> {
       long newAvailableBytes = oldAvailableBytes + size;
@@ -21,12 +21,14 @@ import alluxio.util.CommonUtils;
 import alluxio.util.FormatUtils;
 import alluxio.util.OSUtils;
 import alluxio.util.ShellUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.UnixMountInfo;
 import alluxio.util.io.FileUtils;
 import alluxio.util.io.PathUtils;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +37,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -90,29 +96,49 @@ public final class DefaultStorageTier implements StorageTier {
           ServerConfiguration.getBytes(PropertyKey.WORKER_MANAGEMENT_TIER_ALIGN_RESERVED_BYTES);
     }
 
-    for (int i = 0; i < dirPaths.size(); i++) {
-      int index = i >= dirQuotas.size() ? dirQuotas.size() - 1 : i;
-      int mediumTypeindex = i >= dirMedium.size() ? dirMedium.size() - 1 : i;
-      long capacity = FormatUtils.parseSpaceSize(dirQuotas.get(index));
-      try {
-        StorageDir dir = DefaultStorageDir.newStorageDir(this, i, capacity, reservedBytes,
-            dirPaths.get(i), dirMedium.get(mediumTypeindex));
-        mDirs.put(i, dir);
-      } catch (IOException e) {
-        LOG.error("Unable to initialize storage directory at {}", dirPaths.get(i), e);
-        mLostStorage.add(dirPaths.get(i));
-        continue;
+    // Initialize the directories in parallel, as loading the blocks of each takes long
+    List<Future<StorageDir>> dirs = new ArrayList<>(dirPaths.size());
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, dirPaths.size()),
+        ThreadFactoryUtils.build("storage-dir-init-" + mTierAlias + "-%d", true));
+    try {
+      for (int i = 0; i < dirPaths.size(); i++) {
+        int dirIndex = i;
+        int index = i >= dirQuotas.size() ? dirQuotas.size() - 1 : i;
+        int mediumTypeindex = i >= dirMedium.size() ? dirMedium.size() - 1 : i;
+        long capacity = FormatUtils.parseSpaceSize(dirQuotas.get(index));
+        long dirReservedBytes = reservedBytes;
+        dirs.add(executor.submit(() -> DefaultStorageDir.newStorageDir(this, dirIndex, capacity,
+            dirReservedBytes, dirPaths.get(dirIndex), dirMedium.get(mediumTypeindex))));
       }
+      for (int i = 0; i < dirPaths.size(); i++) {
+        try {
+          mDirs.put(i, dirs.get(i).get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+          if (!(e.getCause() instanceof IOException)) {
+            Throwables.propagateIfPossible(e.getCause(), WorkerOutOfSpaceException.class);
+            throw new RuntimeException(e.getCause());
+          }
+          LOG.error("Unable to initialize storage directory at {}", dirPaths.get(i),
+              e.getCause());
+          mLostStorage.add(dirPaths.get(i));
+          continue;
+        }
 
-      // Delete tmp directory.
-      String tmpDirPath = PathUtils.concatPath(dirPaths.get(i), tmpDir);
-      try {
-        FileUtils.deletePathRecursively(tmpDirPath);
-      } catch (IOException e) {
-        if (FileUtils.exists(tmpDirPath)) {
-          LOG.error("Failed to clean up temporary directory: {}.", tmpDirPath);
+        // Delete tmp directory.
+        String tmpDirPath = PathUtils.concatPath(dirPaths.get(i), tmpDir);
+        try {
+          FileUtils.deletePathRecursively(tmpDirPath);
+        } catch (IOException e) {
+          if (FileUtils.exists(tmpDirPath)) {
+            LOG.error("Failed to clean up temporary directory: {}.", tmpDirPath);
+          }
         }
       }
+    } finally {
+      executor.shutdownNow();
     }
     if (mTierAlias.equals(Constants.MEDIUM_MEM) && mDirs.size() == 1) {
       checkEnoughMemSpace(mDirs.values().iterator().next());
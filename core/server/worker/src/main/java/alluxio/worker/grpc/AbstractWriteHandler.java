@@ -95,7 +95,8 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
       AuthenticatedUserInfo userInfo) {
     mResponseObserver = responseObserver;
     mUserInfo = userInfo;
-    mSerializingExecutor = new SerializingExecutor(GrpcExecutors.BLOCK_WRITER_EXECUTOR);
+    mSerializingExecutor =
+        new SerializingExecutor(GrpcExecutors.getBlockWriterExecutor(userInfo));
   }
 
   /**
@@ -275,6 +276,7 @@ abstract class AbstractWriteHandler<T extends WriteRequestContext<?>> {
         return;
       }
       int readableBytes = buf.readableBytes();
+      GrpcExecutors.chargeWriteBandwidth(mUserInfo, readableBytes);
       mContext.setPos(mContext.getPos() + readableBytes);
 
       long writeStartMs = System.currentTimeMillis();
@@ -94,6 +94,8 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
       ServerConfiguration.getMs(PropertyKey.WORKER_REMOTE_IO_SLOW_THRESHOLD);
   private static final boolean IS_READER_BUFFER_POOLED =
       ServerConfiguration.getBoolean(PropertyKey.WORKER_NETWORK_READER_BUFFER_POOLED);
+  private static final boolean IS_READER_MMAP_ENABLED =
+      ServerConfiguration.getBoolean(PropertyKey.WORKER_NETWORK_READER_MMAP_ENABLED);
   /** Metrics. */
   private static final Counter RPC_READ_COUNT =
       MetricsSystem.counterWithTags(MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.getName(),
@@ -398,6 +400,12 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
             mContext.setDataReaderActive(false);
             break;
           }
+          if (GrpcExecutors.isReadThrottled(mUserInfo)) {
+            // give the thread back, the reader is started again once the user is under its
+            // bandwidth
+            mDataReaderExecutor.submit(createDataReader(mContext, mResponse));
+            return;
+          }
           chunkSize = (int) Math.min(mRequest.getEnd() - mContext.getPosToQueue(), mChunkSize);
 
           // chunkSize should always be > 0 here when reaches here.
@@ -409,6 +417,7 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
           // Once we get the data buffer, the lock on the block has been acquired.
           // If there are any stream errors during this time, we must unlock the block
           // before exiting.
+          GrpcExecutors.chargeReadBandwidth(mUserInfo, chunkSize);
           chunk = getDataBuffer(mContext, start, chunkSize);
           if (chunk != null) {
             try (LockResource lr = new LockResource(mLock)) {
@@ -521,6 +530,13 @@ public class BlockReadHandler implements StreamObserver<alluxio.grpc.ReadRequest
         blockReader = context.getBlockReader();
         Preconditions.checkState(blockReader != null);
         startTransferMs = System.currentTimeMillis();
+        if (IS_READER_MMAP_ENABLED) {
+          // blocks in worker storage are sent straight from the page cache
+          ByteBuffer buf = blockReader.readMapped(offset, len);
+          if (buf != null) {
+            return new NettyDataBuffer(Unpooled.wrappedBuffer(buf));
+          }
+        }
         if (IS_READER_BUFFER_POOLED) {
           ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(len, len);
           try {
@@ -109,9 +109,10 @@ public class BlockWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorker
       callStreamObserver =
           new DataMessageServerStreamObserver<>(callStreamObserver, mReadResponseMarshaller);
     }
-    BlockReadHandler readHandler = new BlockReadHandler(GrpcExecutors.BLOCK_READER_EXECUTOR,
-        mBlockWorker, callStreamObserver,
-        getAuthenticatedUserInfo(), mDomainSocketEnabled);
+    AuthenticatedUserInfo userInfo = getAuthenticatedUserInfo();
+    BlockReadHandler readHandler = new BlockReadHandler(
+        GrpcExecutors.getBlockReaderExecutor(userInfo), mBlockWorker, callStreamObserver,
+        userInfo, mDomainSocketEnabled);
     callStreamObserver.setOnReadyHandler(readHandler::onReady);
     return readHandler;
   }
@@ -0,0 +1,380 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Shares the threads of an executor between classes of tasks, such as the tasks of the different
+ * users of a worker, so that one class submitting many long tasks does not starve the others.
+ *
+ * At most a fixed number of tasks run at a time. The tasks waiting for a thread are queued by
+ * class, and the queues are served by deficit round-robin: when its turn comes, a class may start
+ * as many tasks as its weight before the next class gets its turn. A class may also be limited to
+ * a bandwidth: its tasks report the bytes they move with {@link ShareClass#charge(long)}, and a
+ * class which moved more than its bandwidth allows is skipped by the round-robin until it is back
+ * under its bandwidth, so that no thread ever waits for the bandwidth of a class. The depth of the
+ * queue and the time spent in the queue are exported for each class.
+ */
+@ThreadSafe
+public final class FairShareExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(FairShareExecutor.class);
+
+  /** The class of tasks without a user. */
+  public static final String DEFAULT_CLASS = "default";
+  /** The bytes a limited class may move at once after being idle, in seconds of its bandwidth. */
+  private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final ExecutorService mExecutor;
+  private final int mMaxRunning;
+  private final Map<String, Integer> mWeights;
+  private final int mDefaultWeight;
+  private final Map<String, Long> mBandwidths;
+  private final MetricKey mQueueDepthMetric;
+  private final MetricKey mQueueTimeMetric;
+  private final Map<String, ShareClass> mClasses = new ConcurrentHashMap<>();
+  /** Puts the classes skipped for their bandwidth back in the round-robin, if any is limited. */
+  @Nullable
+  private final ScheduledExecutorService mTimer;
+
+  /** The classes with queued tasks, in the order of their turns. */
+  @GuardedBy("this")
+  private final Queue<ShareClass> mActive = new ArrayDeque<>();
+  @GuardedBy("this")
+  private int mRunning;
+
+  /**
+   * @param executor the executor to run the tasks, which must be able to run the maximum number
+   *        of tasks at a time
+   * @param maxRunning the maximum number of tasks to run at a time
+   * @param weights the weights of the classes
+   * @param defaultWeight the weight of the classes without a weight
+   * @param bandwidths the bandwidths in bytes per second of the limited classes
+   * @param queueDepthMetric the metric of the number of tasks queued by a class
+   * @param queueTimeMetric the metric of the time spent in the queue by the tasks of a class
+   */
+  public FairShareExecutor(ExecutorService executor, int maxRunning, Map<String, Integer> weights,
+      int defaultWeight, Map<String, Long> bandwidths, MetricKey queueDepthMetric,
+      MetricKey queueTimeMetric) {
+    Preconditions.checkArgument(maxRunning > 0, "maxRunning must be positive");
+    Preconditions.checkArgument(defaultWeight > 0, "defaultWeight must be positive");
+    weights.forEach((name, weight) -> Preconditions.checkArgument(weight > 0,
+        "The weight of class %s must be positive", name));
+    bandwidths.forEach((name, bandwidth) -> Preconditions.checkArgument(bandwidth > 0,
+        "The bandwidth of class %s must be positive", name));
+    mExecutor = executor;
+    mMaxRunning = maxRunning;
+    mWeights = weights;
+    mDefaultWeight = defaultWeight;
+    mBandwidths = bandwidths;
+    mQueueDepthMetric = queueDepthMetric;
+    mQueueTimeMetric = queueTimeMetric;
+    mTimer = bandwidths.isEmpty() ? null : Executors.newSingleThreadScheduledExecutor(
+        ThreadFactoryUtils.build("fair-share-timer-%d", true));
+  }
+
+  /**
+   * @param name the name of the class, or null for the {@link #DEFAULT_CLASS}
+   * @return the class, which is created when first requested
+   */
+  public ShareClass getShareClass(@Nullable String name) {
+    String className = name == null ? DEFAULT_CLASS : name;
+    ShareClass shareClass = mClasses.get(className);
+    if (shareClass != null) {
+      return shareClass;
+    }
+    return mClasses.computeIfAbsent(className, ShareClass::new);
+  }
+
+  /**
+   * @return the number of running tasks
+   */
+  public synchronized int getRunning() {
+    return mRunning;
+  }
+
+  private void enqueue(ShareClass shareClass, Runnable task) {
+    QueuedTask queued = new QueuedTask(shareClass, task);
+    List<QueuedTask> started;
+    synchronized (this) {
+      if (shareClass.mQueue.isEmpty() && !shareClass.mDeferred) {
+        mActive.add(shareClass);
+      }
+      shareClass.mQueue.add(queued);
+      started = dispatch();
+    }
+    start(started);
+  }
+
+  private void onComplete() {
+    List<QueuedTask> started;
+    synchronized (this) {
+      mRunning--;
+      started = dispatch();
+    }
+    start(started);
+  }
+
+  private void onResume(ShareClass shareClass) {
+    List<QueuedTask> started;
+    synchronized (this) {
+      shareClass.mDeferred = false;
+      if (shareClass.mQueue.isEmpty()) {
+        return;
+      }
+      mActive.add(shareClass);
+      started = dispatch();
+    }
+    start(started);
+  }
+
+  /**
+   * Takes the tasks to start until the maximum number of tasks run or no task is queued. A class
+   * over its bandwidth leaves the round-robin until the bandwidth allows it to move data again.
+   *
+   * @return the tasks to start
+   */
+  @GuardedBy("this")
+  private List<QueuedTask> dispatch() {
+    List<QueuedTask> started = new ArrayList<>();
+    long now = System.nanoTime();
+    while (mRunning < mMaxRunning && !mActive.isEmpty()) {
+      ShareClass shareClass = mActive.peek();
+      long delayNanos = shareClass.mAvailableNanos - now;
+      if (delayNanos > 0 && defer(shareClass, delayNanos)) {
+        mActive.remove();
+        continue;
+      }
+      if (shareClass.mDeficit < 1) {
+        // the turn of the class starts
+        shareClass.mDeficit += shareClass.mWeight;
+      }
+      started.add(shareClass.mQueue.remove());
+      shareClass.mDeficit--;
+      mRunning++;
+      if (shareClass.mQueue.isEmpty()) {
+        // an idle class does not keep its unused turn
+        mActive.remove();
+        shareClass.mDeficit = 0;
+      } else if (shareClass.mDeficit < 1) {
+        mActive.add(mActive.remove());
+      }
+    }
+    return started;
+  }
+
+  /**
+   * @param shareClass the class to defer
+   * @param delayNanos the time until the class is under its bandwidth
+   * @return whether the class is deferred, which fails once the executor is shut down
+   */
+  @GuardedBy("this")
+  private boolean defer(ShareClass shareClass, long delayNanos) {
+    try {
+      mTimer.schedule(() -> onResume(shareClass), delayNanos, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+    // the class keeps its turn for when it is back
+    shareClass.mDeferred = true;
+    return true;
+  }
+
+  private void start(List<QueuedTask> tasks) {
+    for (QueuedTask task : tasks) {
+      try {
+        mExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+        // only happens once the executor is shut down
+        LOG.warn("Failed to start a task of class {}: {}", task.mShareClass.mName, e.toString());
+        synchronized (this) {
+          mRunning--;
+        }
+      }
+    }
+  }
+
+  /**
+   * A task waiting for a thread.
+   */
+  private final class QueuedTask implements Runnable {
+    private final ShareClass mShareClass;
+    private final Runnable mTask;
+    private final long mQueuedNanos = System.nanoTime();
+
+    QueuedTask(ShareClass shareClass, Runnable task) {
+      mShareClass = shareClass;
+      mTask = task;
+    }
+
+    @Override
+    public void run() {
+      MetricsSystem.timer(mShareClass.mQueueTimeMetricName)
+          .update(System.nanoTime() - mQueuedNanos, TimeUnit.NANOSECONDS);
+      try {
+        mTask.run();
+      } finally {
+        onComplete();
+      }
+    }
+  }
+
+  /**
+   * A class of tasks sharing the executor, which runs its tasks through the shared executor.
+   * Shutting down a class shuts down the shared executor.
+   */
+  public final class ShareClass extends AbstractExecutorService {
+    private final String mName;
+    private final int mWeight;
+    /** The bandwidth of the class in bytes per second, or 0 if it is not limited. */
+    private final long mBandwidth;
+    private final String mQueueTimeMetricName;
+    @GuardedBy("FairShareExecutor.this")
+    private final Queue<QueuedTask> mQueue = new ArrayDeque<>();
+    /** The number of tasks the class may still start in its turn. */
+    @GuardedBy("FairShareExecutor.this")
+    private int mDeficit;
+    /** The {@link System#nanoTime()} at which the bytes moved by the class fit its bandwidth. */
+    @GuardedBy("FairShareExecutor.this")
+    private long mAvailableNanos = System.nanoTime() - BURST_NANOS;
+    /** Whether the class waits for its bandwidth out of the round-robin. */
+    @GuardedBy("FairShareExecutor.this")
+    private boolean mDeferred;
+
+    private ShareClass(String name) {
+      mName = name;
+      mWeight = mWeights.getOrDefault(name, mDefaultWeight);
+      mBandwidth = mBandwidths.getOrDefault(name, 0L);
+      mQueueTimeMetricName = Metric.getMetricNameWithUserTag(mQueueTimeMetric.getName(), name);
+      MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getMetricName(
+          Metric.getMetricNameWithUserTag(mQueueDepthMetric.getName(), name)),
+          this::getQueueDepth);
+    }
+
+    /**
+     * @return the name of the class
+     */
+    public String getName() {
+      return mName;
+    }
+
+    /**
+     * @return the weight of the class
+     */
+    public int getWeight() {
+      return mWeight;
+    }
+
+    /**
+     * @return the number of queued tasks of the class
+     */
+    public int getQueueDepth() {
+      synchronized (FairShareExecutor.this) {
+        return mQueue.size();
+      }
+    }
+
+    /**
+     * Counts the given number of bytes against the bandwidth of the class. Never waits: the
+     * queued tasks of a class over its bandwidth are started later instead.
+     *
+     * @param bytes the number of bytes moved
+     */
+    public void charge(long bytes) {
+      if (mBandwidth == 0 || bytes <= 0) {
+        return;
+      }
+      long costNanos = (long) (bytes * (double) TimeUnit.SECONDS.toNanos(1) / mBandwidth);
+      long now = System.nanoTime();
+      synchronized (FairShareExecutor.this) {
+        // an idle class may move up to one second of its bandwidth at once
+        mAvailableNanos = Math.max(mAvailableNanos, now - BURST_NANOS) + costNanos;
+      }
+    }
+
+    /**
+     * @return whether the class moved more bytes than its bandwidth allows so far, in which case
+     *         its running tasks should give their thread back by queueing the rest of their work
+     */
+    public boolean isThrottled() {
+      if (mBandwidth == 0) {
+        return false;
+      }
+      long now = System.nanoTime();
+      synchronized (FairShareExecutor.this) {
+        return mAvailableNanos - now > 0;
+      }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (mExecutor.isShutdown()) {
+        throw new RejectedExecutionException("The executor is shut down");
+      }
+      enqueue(this, command);
+    }
+
+    @Override
+    public void shutdown() {
+      if (mTimer != null) {
+        mTimer.shutdown();
+      }
+      mExecutor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      if (mTimer != null) {
+        mTimer.shutdownNow();
+      }
+      return mExecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return mExecutor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return mExecutor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return mExecutor.awaitTermination(timeout, unit);
+    }
+  }
+}
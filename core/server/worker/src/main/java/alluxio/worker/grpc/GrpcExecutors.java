@@ -18,16 +18,24 @@ import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.security.User;
 import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.security.authentication.AuthenticatedUserInfo;
+import alluxio.util.FormatUtils;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.executor.UniqueBlockingQueue;
 
+import com.google.common.base.Preconditions;
+
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -70,6 +78,19 @@ public final class GrpcExecutors {
   public static final ExecutorService BLOCK_WRITER_EXECUTOR =
           new ImpersonateThreadPoolExecutor(BLOCK_WRITE_THREAD_POOL_EXECUTOR);
 
+  /** Shares the block reader threads between users, or null when fair sharing is disabled. */
+  @Nullable
+  private static final FairShareExecutor BLOCK_READER_FAIR_SHARE_EXECUTOR =
+      createFairShareExecutor(BLOCK_READER_THREAD_POOL_EXECUTOR,
+          MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_DEPTH,
+          MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_TIME);
+  /** Shares the block writer threads between users, or null when fair sharing is disabled. */
+  @Nullable
+  private static final FairShareExecutor BLOCK_WRITER_FAIR_SHARE_EXECUTOR =
+      createFairShareExecutor(BLOCK_WRITE_THREAD_POOL_EXECUTOR,
+          MetricKey.WORKER_BLOCK_WRITER_FAIR_SHARE_QUEUE_DEPTH,
+          MetricKey.WORKER_BLOCK_WRITER_FAIR_SHARE_QUEUE_TIME);
+
   static {
     MetricsSystem.registerCachedGaugeIfAbsent(MetricsSystem.getMetricName(
         MetricKey.WORKER_CACHE_MANAGER_THREAD_ACTIVE_COUNT.getName()),
@@ -121,6 +142,100 @@ public final class GrpcExecutors {
    */
   private GrpcExecutors() {}
 
+  /**
+   * @param userInfo the user of the request
+   * @return the executor to read blocks for the user
+   */
+  public static ExecutorService getBlockReaderExecutor(@Nullable AuthenticatedUserInfo userInfo) {
+    if (BLOCK_READER_FAIR_SHARE_EXECUTOR == null) {
+      return BLOCK_READER_EXECUTOR;
+    }
+    return new ImpersonateThreadPoolExecutor(
+        BLOCK_READER_FAIR_SHARE_EXECUTOR.getShareClass(getUserName(userInfo)));
+  }
+
+  /**
+   * @param userInfo the user of the request
+   * @return the executor to write blocks for the user
+   */
+  public static ExecutorService getBlockWriterExecutor(@Nullable AuthenticatedUserInfo userInfo) {
+    if (BLOCK_WRITER_FAIR_SHARE_EXECUTOR == null) {
+      return BLOCK_WRITER_EXECUTOR;
+    }
+    return new ImpersonateThreadPoolExecutor(
+        BLOCK_WRITER_FAIR_SHARE_EXECUTOR.getShareClass(getUserName(userInfo)));
+  }
+
+  /**
+   * Counts bytes read by the user against the read bandwidth of the user, without waiting.
+   *
+   * @param userInfo the user of the request
+   * @param bytes the number of bytes read
+   */
+  public static void chargeReadBandwidth(@Nullable AuthenticatedUserInfo userInfo, long bytes) {
+    if (BLOCK_READER_FAIR_SHARE_EXECUTOR != null) {
+      BLOCK_READER_FAIR_SHARE_EXECUTOR.getShareClass(getUserName(userInfo)).charge(bytes);
+    }
+  }
+
+  /**
+   * @param userInfo the user of the request
+   * @return whether the user read more than its read bandwidth allows so far, in which case a
+   *         reader should queue the rest of its work on {@link #getBlockReaderExecutor} again
+   */
+  public static boolean isReadThrottled(@Nullable AuthenticatedUserInfo userInfo) {
+    return BLOCK_READER_FAIR_SHARE_EXECUTOR != null
+        && BLOCK_READER_FAIR_SHARE_EXECUTOR.getShareClass(getUserName(userInfo)).isThrottled();
+  }
+
+  /**
+   * Counts bytes written by the user against the write bandwidth of the user, without waiting.
+   *
+   * @param userInfo the user of the request
+   * @param bytes the number of bytes written
+   */
+  public static void chargeWriteBandwidth(@Nullable AuthenticatedUserInfo userInfo, long bytes) {
+    if (BLOCK_WRITER_FAIR_SHARE_EXECUTOR != null) {
+      BLOCK_WRITER_FAIR_SHARE_EXECUTOR.getShareClass(getUserName(userInfo)).charge(bytes);
+    }
+  }
+
+  @Nullable
+  private static String getUserName(@Nullable AuthenticatedUserInfo userInfo) {
+    return userInfo == null ? null : userInfo.getAuthorizedUserName();
+  }
+
+  @Nullable
+  private static FairShareExecutor createFairShareExecutor(ThreadPoolExecutor pool,
+      MetricKey queueDepthMetric, MetricKey queueTimeMetric) {
+    if (!ServerConfiguration.getBoolean(PropertyKey.WORKER_NETWORK_FAIR_SHARE_ENABLED)) {
+      return null;
+    }
+    // the pool rejects the tasks it has no thread for
+    int maxRunning = Math.min(pool.getMaximumPoolSize(),
+        ServerConfiguration.getInt(PropertyKey.WORKER_NETWORK_FAIR_SHARE_MAX_RUNNING));
+    return new FairShareExecutor(pool, maxRunning,
+        parseUserValues(PropertyKey.WORKER_NETWORK_FAIR_SHARE_WEIGHTS, Integer::parseInt), 1,
+        parseUserValues(PropertyKey.WORKER_NETWORK_FAIR_SHARE_BANDWIDTH,
+            FormatUtils::parseSpaceSize),
+        queueDepthMetric, queueTimeMetric);
+  }
+
+  private static <T> Map<String, T> parseUserValues(PropertyKey key, Function<String, T> parser) {
+    Map<String, T> values = new HashMap<>();
+    if (!ServerConfiguration.isSet(key)) {
+      return values;
+    }
+    for (String entry : ServerConfiguration.getList(key)) {
+      int separator = entry.lastIndexOf(':');
+      Preconditions.checkArgument(separator > 0, "Invalid entry %s of %s, expected user:value",
+          entry, key);
+      values.put(entry.substring(0, separator).trim(),
+          parser.apply(entry.substring(separator + 1).trim()));
+    }
+    return values;
+  }
+
   /**
    * This executor passes impersonation information to the real worker thread.
    * The proxy user is tracked by {@link AuthenticatedClientUser#sUserThreadLocal}.
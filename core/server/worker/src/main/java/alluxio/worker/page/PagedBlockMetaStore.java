@@ -27,12 +27,11 @@ import alluxio.worker.block.BlockStoreMeta;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.concurrent.GuardedBy;
 
@@ -51,8 +50,9 @@ public class PagedBlockMetaStore extends DefaultMetaStore implements BlockStoreM
 
   private final long mCapacity;
   private final ReentrantReadWriteLock mBlockPageMapLock = new ReentrantReadWriteLock();
+  /** A map from block id to the indexes of its cached pages, which are dense within a block. */
   @GuardedBy("mBlockPageMapLock")
-  private final Map<Long, Set<Long>> mBlockPageMap = new HashMap<>();
+  private final Map<Long, BitSet> mBlockPageMap = new HashMap<>();
 
   /**
    * Constructor of PagedBlockMetaStore.
@@ -69,8 +69,8 @@ public class PagedBlockMetaStore extends DefaultMetaStore implements BlockStoreM
     long blockId = Long.parseLong(pageId.getFileId());
     try (LockResource lock = new LockResource(mBlockPageMapLock.writeLock())) {
       mBlockPageMap
-          .computeIfAbsent(blockId, k -> new HashSet<>())
-          .add(pageId.getPageIndex());
+          .computeIfAbsent(blockId, k -> new BitSet())
+          .set(Math.toIntExact(pageId.getPageIndex()));
     }
   }
 
@@ -80,7 +80,7 @@ public class PagedBlockMetaStore extends DefaultMetaStore implements BlockStoreM
     long blockId = Long.parseLong(pageId.getFileId());
     try (LockResource lock = new LockResource(mBlockPageMapLock.writeLock())) {
       mBlockPageMap.computeIfPresent(blockId, (k, pageIndexes) -> {
-        pageIndexes.remove(pageId.getPageIndex());
+        pageIndexes.clear(Math.toIntExact(pageId.getPageIndex()));
         if (pageIndexes.isEmpty()) {
           return null;
         } else {
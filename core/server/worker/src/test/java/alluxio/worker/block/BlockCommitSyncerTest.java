@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link BlockCommitSyncer}.
+ */
+public final class BlockCommitSyncerTest {
+  private static final int NUM_BLOCKS = 20;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Test
+  public void syncEach() throws Exception {
+    try (BlockCommitSyncer syncer = new BlockCommitSyncer(BlockCommitSyncMode.EACH, 1, 0)) {
+      syncer.sync(mFolder.newFile().getPath());
+    }
+  }
+
+  @Test
+  public void syncGroup() throws Exception {
+    long batches = getBatches();
+    // a long delay lets all the concurrent commits join the first batches
+    try (BlockCommitSyncer syncer = new BlockCommitSyncer(BlockCommitSyncMode.GROUP, 256, 500)) {
+      syncConcurrently(syncer, newFiles());
+    }
+    long synced = getBatches() - batches;
+    assertTrue("Expected fewer batches than blocks, got " + synced, synced < NUM_BLOCKS);
+  }
+
+  @Test
+  public void maxBatch() throws Exception {
+    long batches = getBatches();
+    try (BlockCommitSyncer syncer = new BlockCommitSyncer(BlockCommitSyncMode.GROUP, 1, 500)) {
+      syncConcurrently(syncer, newFiles());
+    }
+    assertEquals(NUM_BLOCKS, getBatches() - batches);
+  }
+
+  @Test
+  public void missingFileFailsAlone() throws Exception {
+    List<String> files = newFiles();
+    try (BlockCommitSyncer syncer = new BlockCommitSyncer(BlockCommitSyncMode.GROUP, 256, 100)) {
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        Future<?> missing = executor.submit(() -> {
+          syncer.sync(new File(mFolder.getRoot(), "missing").getPath());
+          return null;
+        });
+        Future<?> existing = executor.submit(() -> {
+          syncer.sync(files.get(0));
+          return null;
+        });
+        existing.get();
+        try {
+          missing.get();
+          fail("Syncing a missing file should fail");
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof IOException);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Test
+  public void syncAfterClose() throws Exception {
+    BlockCommitSyncer syncer = new BlockCommitSyncer(BlockCommitSyncMode.GROUP, 256, 0);
+    String file = mFolder.newFile().getPath();
+    syncer.sync(file);
+    syncer.close();
+    try {
+      syncer.sync(file);
+      fail("Syncing after closing should fail");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private List<String> newFiles() throws IOException {
+    List<String> files = new ArrayList<>();
+    for (int i = 0; i < NUM_BLOCKS; i++) {
+      files.add(mFolder.newFile().getPath());
+    }
+    return files;
+  }
+
+  private static void syncConcurrently(BlockCommitSyncer syncer, List<String> files)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(files.size());
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (String file : files) {
+        futures.add(executor.submit(() -> {
+          syncer.sync(file);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static long getBatches() {
+    return MetricsSystem.counter(MetricKey.WORKER_BLOCK_COMMIT_SYNC_BATCHES.getName()).getCount();
+  }
+}
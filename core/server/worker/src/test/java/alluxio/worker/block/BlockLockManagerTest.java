@@ -351,6 +351,40 @@ public final class BlockLockManagerTest {
     manager.validate();
   }
 
+  /**
+   * Tests that a lock released by its session while the session is cleaned up is only released
+   * once, and that all block locks are returned afterwards.
+   */
+  @Test(timeout = 10000)
+  public void unlockRacingCleanupSession() throws Throwable {
+    final int numLocks = 1000;
+    final List<Long> lockIds = new ArrayList<>();
+    for (int i = 0; i < numLocks; i++) {
+      lockIds.add(mLockManager.lockBlock(TEST_SESSION_ID, i % 10, BlockLockType.READ));
+    }
+    final CyclicBarrier barrier = new CyclicBarrier(2);
+    Thread unlocker = new Thread(() -> {
+      try {
+        barrier.await();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+      for (long lockId : lockIds) {
+        mLockManager.unlockBlock(lockId);
+      }
+    });
+    unlocker.start();
+    barrier.await();
+    mLockManager.cleanupSession(TEST_SESSION_ID);
+    unlocker.join();
+    mLockManager.validate();
+    assertTrue(mLockManager.getLockedBlocks().isEmpty());
+    // a lock released twice would let a write lock through while the block is read locked
+    mLockManager.lockBlock(TEST_SESSION_ID, 0, BlockLockType.READ);
+    assertEquals(OptionalLong.empty(), mLockManager.tryLockBlock(TEST_SESSION_ID2, 0,
+        BlockLockType.WRITE, 10, TimeUnit.MILLISECONDS));
+  }
+
   private void setMaxLocks(int maxLocks) {
     ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS,
         maxLocks);
@@ -11,6 +11,7 @@
 
 package alluxio.worker.block;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -34,6 +35,7 @@ import alluxio.worker.block.annotator.BlockIterator;
 import alluxio.worker.block.evictor.EvictionPlan;
 import alluxio.worker.block.evictor.Evictor;
 import alluxio.worker.block.evictor.Evictor.Mode;
+import alluxio.worker.block.meta.BlockMetaSnapshot;
 import alluxio.worker.block.meta.DefaultBlockMeta;
 import alluxio.worker.block.meta.DefaultTempBlockMeta;
 import alluxio.worker.block.meta.StorageDir;
@@ -354,6 +356,44 @@ public final class TieredBlockStoreTest {
     }
   }
 
+  /**
+   * Tests that blocks can be created, committed, moved and removed concurrently in different dirs
+   * without losing track of the space of the dirs.
+   */
+  @Test
+  public void concurrentOperationsOnDifferentDirs() throws Exception {
+    StorageDir[] dirs = {mTestDir1, mTestDir2, mTestDir3, mTestDir4};
+    List<Runnable> runnables = new ArrayList<>();
+    for (int i = 0; i < dirs.length; i++) {
+      long sessionId = 100 + i;
+      StorageDir dir = dirs[i];
+      // moves the blocks to the dir of the next thread, so that moves cross the dirs both ways
+      StorageDir moveDir = dirs[(i + 1) % dirs.length];
+      runnables.add(() -> {
+        try {
+          for (long blockId = sessionId * 1000; blockId < sessionId * 1000 + 50; blockId++) {
+            TieredBlockStoreTestUtils.cache(sessionId, blockId, BLOCK_SIZE, mBlockStore,
+                dir.toBlockStoreLocation(), false);
+            assertTrue(mBlockStore.hasBlockMeta(blockId));
+            mBlockStore.moveBlock(sessionId, blockId,
+                AllocateOptions.forMove(moveDir.toBlockStoreLocation()));
+            assertEquals(moveDir.toBlockStoreLocation(),
+                mBlockStore.getVolatileBlockMeta(blockId).get().getBlockLocation());
+            mBlockStore.removeBlock(sessionId, blockId);
+          }
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+    }
+    ConcurrencyUtils.assertConcurrent(runnables, 60);
+    for (StorageDir dir : dirs) {
+      assertTrue(dir.getBlockIds().isEmpty());
+      assertEquals(dir.getCapacityBytes(), dir.getAvailableBytes());
+      assertEquals(0, dir.getCommittedBytes());
+    }
+  }
+
   /**
    * Tests the {@link TieredBlockStore#freeSpace(long, long, long, BlockStoreLocation)} method.
    */
@@ -754,4 +794,20 @@ public final class TieredBlockStoreTest {
     assertTrue("blocks in working storage path should be retained",
         meta.getBlockList().get(FIRST_TIER_ALIAS).contains(BLOCK_ID1));
   }
+
+  /**
+   * Tests that a forced snapshot includes a dir which was just modified.
+   */
+  @Test
+  public void forcedSnapshotOfRecentlyModifiedDir() throws Exception {
+    TieredBlockStoreTestUtils.cache2(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mBlockIterator);
+    String dirPath = mTestDir1.getDirPath();
+    mBlockStore.snapshotMeta(false);
+    assertFalse(BlockMetaSnapshot.read(dirPath).isPresent());
+
+    mBlockStore.snapshotMeta(true);
+    assertArrayEquals(new long[] {BLOCK_ID1},
+        BlockMetaSnapshot.read(dirPath).get().getBlockIds());
+  }
 }
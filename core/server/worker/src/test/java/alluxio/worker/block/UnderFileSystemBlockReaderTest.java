@@ -45,6 +45,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.Closeable;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
@@ -249,6 +250,53 @@ public final class UnderFileSystemBlockReaderTest {
     Assert.assertFalse(mAlluxioBlockStore.hasTempBlockMeta(BLOCK_ID));
   }
 
+  @Test
+  public void concurrentReadersShareFetch() throws Exception {
+    try (Closeable r = new ConfigurationRule(PropertyKey.WORKER_UFS_READ_DEDUP_ENABLED, true,
+        ServerConfiguration.global()).toResource()) {
+      mUfsInstreamCache = new UfsInputStreamCache();
+      Counter dedupReads =
+          MetricsSystem.counter(MetricKey.WORKER_UFS_READS_DEDUPLICATED.getName());
+      Counter dedupBytes =
+          MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_UFS_DEDUPLICATED.getName());
+      long dedupReadsBefore = dedupReads.getCount();
+      long dedupBytesBefore = dedupBytes.getCount();
+
+      mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
+          mAlluxioBlockStore, mUfsClient, mUfsInstreamCache, mUfsBytesRead,
+          mUfsBytesReadThroughput);
+      ByteBuffer buffer = mReader.read(0, TEST_BLOCK_SIZE / 2);
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE / 2, buffer));
+
+      // a second reader of the block attaches to the fetch of the first one
+      UnderFileSystemBlockReader reader = UnderFileSystemBlockReader.create(
+          new UnderFileSystemBlockMeta(SESSION_ID + 1, BLOCK_ID, mOpenUfsBlockOptions), 0, false,
+          mAlluxioBlockStore, mUfsClient, mUfsInstreamCache, mUfsBytesRead,
+          mUfsBytesReadThroughput);
+      Assert.assertEquals(dedupReadsBefore + 1, dedupReads.getCount());
+      ByteBuf buf =
+          PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE, (int) TEST_BLOCK_SIZE);
+      try {
+        while (buf.writableBytes() > 0 && reader.transferTo(buf) != -1) {
+        }
+        assertTrue(BufferUtils
+            .equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buf.nioBuffer()));
+      } finally {
+        buf.release();
+      }
+      Assert.assertEquals(dedupBytesBefore + TEST_BLOCK_SIZE / 2, dedupBytes.getCount());
+
+      // the rest of the block was fetched by the second reader
+      buffer = mReader.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 2);
+      assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 2,
+          (int) TEST_BLOCK_SIZE / 2, buffer));
+      Assert.assertEquals(dedupBytesBefore + TEST_BLOCK_SIZE, dedupBytes.getCount());
+      reader.close();
+      mReader.close();
+      checkTempBlock(0, TEST_BLOCK_SIZE);
+    }
+  }
+
   @Test
   public void getLocation() throws Exception {
     mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
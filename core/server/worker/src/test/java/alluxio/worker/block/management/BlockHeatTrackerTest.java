@@ -0,0 +1,136 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.management;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.DefaultStorageTierAssoc;
+import alluxio.clock.ManualClock;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.io.StoreBlockReader;
+import alluxio.worker.block.meta.BlockMeta;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for {@link BlockHeatTracker}.
+ */
+public final class BlockHeatTrackerTest {
+  private static final long HALF_LIFE_MS = 60 * Constants.SECOND_MS;
+  private static final BlockStoreLocation MEM = new BlockStoreLocation(Constants.MEDIUM_MEM, 0);
+  private static final BlockStoreLocation HDD = new BlockStoreLocation(Constants.MEDIUM_HDD, 0);
+
+  private ManualClock mClock;
+  private BlockHeatTracker mTracker;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Before
+  public void before() {
+    mClock = new ManualClock();
+    mTracker = new BlockHeatTracker(new DefaultStorageTierAssoc(
+        ImmutableList.of(Constants.MEDIUM_MEM, Constants.MEDIUM_HDD)), HALF_LIFE_MS, mClock);
+  }
+
+  @After
+  public void after() {
+    mTracker.close();
+  }
+
+  @Test
+  public void readsCountAfterUpdate() {
+    mTracker.clientRead(null, HDD, 1, 1000);
+    assertEquals(0, mTracker.getReadRate(1), 0);
+    mTracker.update();
+    assertEquals(1000 * Math.log(2) / 60, mTracker.getReadRate(1), 1e-9);
+    assertEquals(0, mTracker.getReadRate(2), 0);
+  }
+
+  @Test
+  public void halfLife() {
+    mTracker.clientRead(null, HDD, 1, 1000);
+    mTracker.update();
+    double rate = mTracker.getReadRate(1);
+    mClock.addTimeMs(HALF_LIFE_MS);
+    mTracker.update();
+    assertEquals(rate / 2, mTracker.getReadRate(1), 1e-9);
+  }
+
+  @Test
+  public void recentReadsAreHotter() {
+    mTracker.clientRead(null, HDD, 1, 1000);
+    mTracker.update();
+    mClock.addTimeMs(HALF_LIFE_MS);
+    mTracker.clientRead(null, HDD, 2, 800);
+    mTracker.update();
+    assertTrue(mTracker.getReadRate(2) > mTracker.getReadRate(1));
+  }
+
+  @Test
+  public void coldBlocksForgotten() {
+    mTracker.clientRead(null, HDD, 1, 1000);
+    mTracker.update();
+    assertEquals(1, mTracker.getTrackedBlocks());
+    mClock.addTimeMs(10 * HALF_LIFE_MS);
+    mTracker.update();
+    assertEquals(0, mTracker.getTrackedBlocks());
+    assertEquals(0, mTracker.getReadRate(1), 0);
+  }
+
+  @Test
+  public void topTierReadRatio() {
+    assertEquals(0, mTracker.getTopTierReadRatio(), 0);
+    mTracker.clientRead(null, MEM, 1, 300);
+    mTracker.clientRead(null, HDD, 2, 100);
+    assertEquals(0.75, mTracker.getTopTierReadRatio(), 1e-9);
+  }
+
+  @Test
+  public void readRatesOfHotBlocks() {
+    mTracker.clientRead(null, HDD, 1, 1000);
+    mTracker.clientRead(null, HDD, 2, 10);
+    mTracker.update();
+    assertEquals(ImmutableMap.of(1L, mTracker.getReadRate(1), 2L, mTracker.getReadRate(2)),
+        mTracker.getReadRates(0));
+    assertEquals(ImmutableMap.of(1L, mTracker.getReadRate(1)),
+        mTracker.getReadRates(mTracker.getReadRate(2) * 2));
+  }
+
+  @Test
+  public void readsCountWhileReaderOpen() throws Exception {
+    File block = mFolder.newFile();
+    Files.write(block.toPath(), new byte[1000]);
+    BlockMeta meta = mock(BlockMeta.class);
+    when(meta.getBlockId()).thenReturn(1L);
+    when(meta.getBlockLocation()).thenReturn(HDD);
+    when(meta.getPath()).thenReturn(block.getPath());
+    try (StoreBlockReader reader = new StoreBlockReader(1, meta)) {
+      reader.read(0, 1000);
+      mTracker.update();
+      assertEquals(1000 * Math.log(2) / 60, mTracker.getReadRate(1), 1e-9);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.management.tier;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.meta.StorageDir;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HeatMigrateTaskTest extends BaseTierManagementTaskTest {
+  private static final int HOT_BLOCKS = 3;
+  private static final int READS = 10;
+
+  /**
+   * Sets up all dependencies before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    ServerConfiguration.reset();
+    // Current tier layout could end up swapping 2 blocks concurrently.
+    ServerConfiguration.set(PropertyKey.WORKER_MANAGEMENT_TIER_ALIGN_RESERVED_BYTES,
+        2 * BLOCK_SIZE);
+    ServerConfiguration.set(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_ENABLED, true);
+    ServerConfiguration.set(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_HALF_LIFE, "10sec");
+    ServerConfiguration.set(PropertyKey.WORKER_MANAGEMENT_TIER_HEAT_MIN_RATE, "1B");
+    // Initialize the tier layout.
+    init();
+  }
+
+  @After
+  public void after() throws Exception {
+    mBlockStore.close();
+  }
+
+  @Test
+  public void testHotBlocksSwappedUp() throws Exception {
+    // Start simulating load on worker.
+    startSimulateLoad();
+
+    // Fill the upper tier with blocks which are never read.
+    long sessionIdCounter = 1000;
+    long blockIdCounter = 1000;
+    for (StorageDir dir : new StorageDir[] {mTestDir1, mTestDir2}) {
+      while (dir.getAvailableBytes() > 0) {
+        TieredBlockStoreTestUtils.cache(sessionIdCounter++, blockIdCounter++, BLOCK_SIZE,
+            mBlockStore, dir.toBlockStoreLocation(), false);
+      }
+    }
+    // Cache blocks on the lower tier, and read a few of them.
+    List<Long> hotBlocks = new ArrayList<>();
+    for (int i = 0; i < 2 * HOT_BLOCKS; i++) {
+      long blockId = blockIdCounter++;
+      TieredBlockStoreTestUtils.cache(sessionIdCounter++, blockId, BLOCK_SIZE, mBlockStore,
+          mTestDir3.toBlockStoreLocation(), false);
+      if (i % 2 == 0) {
+        hotBlocks.add(blockId);
+        for (int read = 0; read < READS; read++) {
+          try (BlockReader reader =
+              mBlockStore.createBlockReader(sessionIdCounter++, blockId, 0)) {
+            reader.read(0, BLOCK_SIZE);
+          }
+        }
+      }
+    }
+
+    // Stop the load for the task to continue.
+    stopSimulateLoad();
+
+    CommonUtils.waitFor("Hot blocks to be moved to the upper tier.",
+        () -> hotBlocks.stream().allMatch(blockId -> mMetaManager.getBlockMeta(blockId)
+            .map(meta -> meta.getBlockLocation().tierAlias().equals(FIRST_TIER_ALIAS))
+            .orElse(false)),
+        WaitForOptions.defaults().setTimeoutMs(60000));
+  }
+}
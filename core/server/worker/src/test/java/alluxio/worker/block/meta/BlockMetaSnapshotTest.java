@@ -0,0 +1,145 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationRule;
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Longs;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+/**
+ * Unit tests for {@link BlockMetaSnapshot}.
+ */
+public final class BlockMetaSnapshotTest {
+  private static final long[] BLOCK_IDS = {5, 3, 9, 1};
+  private static final long[] BLOCK_SIZES = {50, 30, 90, 10};
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Rule
+  public ConfigurationRule mConfigurationRule = new ConfigurationRule(
+      ImmutableMap.of(PropertyKey.WORKER_BLOCK_META_SNAPSHOT_ENABLED, true),
+      ServerConfiguration.global());
+
+  private StorageTier mTier;
+  private String mDirPath;
+
+  /**
+   * Sets up a storage dir with block files and an unmodified snapshot folder.
+   */
+  @Before
+  public void before() throws Exception {
+    TieredBlockStoreTestUtils.setupConfWithSingleTier(null, 0, Constants.MEDIUM_MEM,
+        new String[] {mFolder.newFolder().getAbsolutePath()}, new long[] {1},
+        new String[] {Constants.MEDIUM_MEM}, null);
+    mTier = DefaultStorageTier.newStorageTier(Constants.MEDIUM_MEM, 0, false);
+    mDirPath = mFolder.newFolder().getAbsolutePath();
+    for (int i = 0; i < BLOCK_IDS.length; i++) {
+      BufferUtils.writeBufferToFile(new File(mDirPath, String.valueOf(BLOCK_IDS[i])).getPath(),
+          BufferUtils.getIncreasingByteArray((int) BLOCK_SIZES[i]));
+    }
+    BlockMetaSnapshot.createSnapshotFolder(mDirPath);
+    setModifiedTime(1000);
+  }
+
+  @Test
+  public void writeAndRead() throws Exception {
+    new BlockMetaSnapshot(BLOCK_IDS, BLOCK_SIZES)
+        .write(mDirPath, BlockMetaSnapshot.getModifiedTime(mDirPath));
+    Optional<BlockMetaSnapshot> snapshot = BlockMetaSnapshot.read(mDirPath);
+    assertTrue(snapshot.isPresent());
+    assertArrayEquals(BLOCK_IDS, snapshot.get().getBlockIds());
+    assertArrayEquals(BLOCK_SIZES, snapshot.get().getBlockSizes());
+  }
+
+  @Test
+  public void noSnapshot() {
+    assertFalse(BlockMetaSnapshot.read(mDirPath).isPresent());
+  }
+
+  @Test
+  public void staleAfterDirModified() throws Exception {
+    new BlockMetaSnapshot(BLOCK_IDS, BLOCK_SIZES)
+        .write(mDirPath, BlockMetaSnapshot.getModifiedTime(mDirPath));
+    new File(mDirPath, "100").createNewFile();
+    setModifiedTime(2000);
+    assertFalse(BlockMetaSnapshot.read(mDirPath).isPresent());
+  }
+
+  @Test
+  public void corruptedSnapshot() throws Exception {
+    new BlockMetaSnapshot(BLOCK_IDS, BLOCK_SIZES)
+        .write(mDirPath, BlockMetaSnapshot.getModifiedTime(mDirPath));
+    File file = Paths.get(mDirPath, BlockMetaSnapshot.SNAPSHOT_FOLDER, "blocks").toFile();
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      // flips a bit of the size of the last block
+      raf.seek(raf.length() - Long.BYTES - 1);
+      int b = raf.read();
+      raf.seek(raf.length() - Long.BYTES - 1);
+      raf.write(b ^ 1);
+      assertFalse(BlockMetaSnapshot.read(mDirPath).isPresent());
+      // truncates the checksum
+      raf.setLength(raf.length() - 4);
+      assertFalse(BlockMetaSnapshot.read(mDirPath).isPresent());
+    }
+  }
+
+  @Test
+  public void storageDirLoadsSnapshotInOrder() throws Exception {
+    DefaultStorageDir dir = newStorageDir();
+    // without a snapshot the dir is scanned and keeps the snapshot folder
+    assertEquals(BLOCK_IDS.length, dir.getBlockIds().size());
+    assertTrue(Files.isDirectory(Paths.get(mDirPath, BlockMetaSnapshot.SNAPSHOT_FOLDER)));
+
+    new BlockMetaSnapshot(BLOCK_IDS, BLOCK_SIZES)
+        .write(mDirPath, BlockMetaSnapshot.getModifiedTime(mDirPath));
+    dir = newStorageDir();
+    assertEquals(Longs.asList(BLOCK_IDS), dir.getBlockIds());
+    long used = 0;
+    for (int i = 0; i < BLOCK_IDS.length; i++) {
+      assertEquals(BLOCK_SIZES[i], dir.getBlockMeta(BLOCK_IDS[i]).get().getBlockSize());
+      used += BLOCK_SIZES[i];
+    }
+    assertEquals(Constants.MB - used, dir.getAvailableBytes());
+  }
+
+  private DefaultStorageDir newStorageDir() throws Exception {
+    return (DefaultStorageDir) DefaultStorageDir.newStorageDir(mTier, 0, Constants.MB, 0,
+        mDirPath, Constants.MEDIUM_MEM);
+  }
+
+  private void setModifiedTime(long seconds) throws Exception {
+    Files.setLastModifiedTime(Paths.get(mDirPath), FileTime.fromMillis(seconds * 1000));
+  }
+}
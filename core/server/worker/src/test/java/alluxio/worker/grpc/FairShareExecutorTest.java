@@ -0,0 +1,230 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.metrics.MetricKey;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link FairShareExecutor}.
+ */
+public final class FairShareExecutorTest {
+  private ManualExecutor mExecutor;
+  private List<String> mRun;
+
+  @Before
+  public void before() {
+    mExecutor = new ManualExecutor();
+    mRun = new ArrayList<>();
+  }
+
+  @Test
+  public void weightedRoundRobin() {
+    FairShareExecutor executor = newExecutor(1, ImmutableMap.of("a", 2));
+    ExecutorService a = executor.getShareClass("a");
+    ExecutorService b = executor.getShareClass("b");
+    for (int i = 1; i <= 6; i++) {
+      a.execute(task("a" + i));
+    }
+    for (int i = 1; i <= 3; i++) {
+      b.execute(task("b" + i));
+    }
+    mExecutor.runAll();
+    // a1 runs right away, then a starts two tasks per turn and b one
+    assertEquals(Arrays.asList("a1", "a2", "a3", "b1", "a4", "a5", "b2", "a6", "b3"), mRun);
+    assertEquals(0, executor.getRunning());
+  }
+
+  @Test
+  public void idleClassLosesTurn() {
+    FairShareExecutor executor = newExecutor(1, ImmutableMap.of("a", 3));
+    ExecutorService a = executor.getShareClass("a");
+    ExecutorService b = executor.getShareClass("b");
+    b.execute(task("b1"));
+    a.execute(task("a1"));
+    for (int i = 2; i <= 4; i++) {
+      b.execute(task("b" + i));
+    }
+    mExecutor.runOne();
+    mExecutor.runOne();
+    // a became idle with two starts left in its turn, its next turn has three starts again
+    for (int i = 2; i <= 5; i++) {
+      a.execute(task("a" + i));
+    }
+    mExecutor.runAll();
+    assertEquals(Arrays.asList("b1", "a1", "b2", "b3", "a2", "a3", "a4", "b4", "a5"), mRun);
+  }
+
+  @Test
+  public void maxRunning() {
+    FairShareExecutor executor = newExecutor(2, Collections.emptyMap());
+    FairShareExecutor.ShareClass a = executor.getShareClass("a");
+    for (int i = 1; i <= 5; i++) {
+      a.execute(task("a" + i));
+    }
+    assertEquals(2, executor.getRunning());
+    assertEquals(2, mExecutor.mTasks.size());
+    assertEquals(3, a.getQueueDepth());
+    mExecutor.runOne();
+    assertEquals(2, executor.getRunning());
+    assertEquals(2, a.getQueueDepth());
+    mExecutor.runAll();
+    assertEquals(0, executor.getRunning());
+    assertEquals(0, a.getQueueDepth());
+    assertEquals(5, mRun.size());
+  }
+
+  @Test
+  public void shareClasses() {
+    FairShareExecutor executor = newExecutor(1, ImmutableMap.of("a", 4));
+    assertSame(executor.getShareClass("a"), executor.getShareClass("a"));
+    assertEquals(4, executor.getShareClass("a").getWeight());
+    assertEquals(1, executor.getShareClass("b").getWeight());
+    assertEquals(FairShareExecutor.DEFAULT_CLASS, executor.getShareClass(null).getName());
+    // classes without a bandwidth are not limited
+    executor.getShareClass("a").charge(Long.MAX_VALUE);
+    assertFalse(executor.getShareClass("a").isThrottled());
+  }
+
+  @Test
+  public void throttledClassIsDeferred() throws Exception {
+    FairShareExecutor executor = new FairShareExecutor(mExecutor, 1, Collections.emptyMap(), 1,
+        ImmutableMap.of("b", 10000L), MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_DEPTH,
+        MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_TIME);
+    FairShareExecutor.ShareClass a = executor.getShareClass("a");
+    FairShareExecutor.ShareClass b = executor.getShareClass("b");
+    // one second of bandwidth is free, the next 0.2 second is owed
+    b.execute(() -> {
+      b.charge(12000);
+      mRun.add("b1");
+    });
+    b.execute(task("b2"));
+    a.execute(task("a1"));
+    mExecutor.runAll();
+    assertTrue(b.isThrottled());
+    // b2 is not started while b is over its bandwidth, and does not hold the only slot
+    assertEquals(Arrays.asList("b1", "a1"), mRun);
+    assertEquals(1, b.getQueueDepth());
+    assertEquals(0, executor.getRunning());
+    CommonUtils.waitFor("b2 to be started", () -> !mExecutor.mTasks.isEmpty(),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    mExecutor.runAll();
+    assertFalse(b.isThrottled());
+    assertEquals(Arrays.asList("b1", "a1", "b2"), mRun);
+  }
+
+  @Test
+  public void threadPool() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      FairShareExecutor executor = new FairShareExecutor(pool, 4, ImmutableMap.of("a", 2), 1,
+          ImmutableMap.of("b", 1024L * 1024 * 1024),
+          MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_DEPTH,
+          MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_TIME);
+      int numTasks = 1000;
+      CountDownLatch done = new CountDownLatch(2 * numTasks);
+      AtomicInteger bytes = new AtomicInteger();
+      for (int i = 0; i < numTasks; i++) {
+        executor.getShareClass("a").execute(done::countDown);
+        FairShareExecutor.ShareClass b = executor.getShareClass("b");
+        b.execute(() -> {
+          b.charge(1024);
+          bytes.addAndGet(1024);
+          done.countDown();
+        });
+      }
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+      assertEquals(numTasks * 1024, bytes.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private FairShareExecutor newExecutor(int maxRunning, Map<String, Integer> weights) {
+    return new FairShareExecutor(mExecutor, maxRunning, weights, 1, Collections.emptyMap(),
+        MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_DEPTH,
+        MetricKey.WORKER_BLOCK_READER_FAIR_SHARE_QUEUE_TIME);
+  }
+
+  private Runnable task(String name) {
+    return () -> mRun.add(name);
+  }
+
+  /**
+   * An executor which runs its tasks when asked, in the order they were submitted.
+   */
+  private static final class ManualExecutor extends AbstractExecutorService {
+    private final Queue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+
+    void runOne() {
+      mTasks.remove().run();
+    }
+
+    void runAll() {
+      while (!mTasks.isEmpty()) {
+        runOne();
+      }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      mTasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return new ArrayList<>(mTasks);
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return false;
+    }
+  }
+}
@@ -14,6 +14,7 @@ package alluxio.fuse.cli;
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileSystemMasterClient;
 import alluxio.client.file.URIStatus;
+import alluxio.collections.Pair;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.CheckAccessPOptions;
@@ -34,6 +35,7 @@ import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.BatchResult;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -70,6 +72,12 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> createFileBatch(
+      List<Pair<AlluxioURI, CreateFilePOptions>> requests) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public void completeFile(AlluxioURI path, CompleteFilePOptions options)
       throws AlluxioStatusException {
@@ -79,6 +87,12 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
   public void delete(AlluxioURI path, DeletePOptions options) throws AlluxioStatusException {
   }
 
+  @Override
+  public List<BatchResult<Void>> deleteBatch(List<Pair<AlluxioURI, DeletePOptions>> requests)
+      throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public boolean exists(AlluxioURI path, ExistsPOptions options)
       throws AlluxioStatusException {
@@ -100,6 +114,12 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> getStatusBatch(
+      List<Pair<AlluxioURI, GetStatusPOptions>> requests) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public long getNewBlockIdForFile(AlluxioURI path) throws AlluxioStatusException {
     return 0;
@@ -160,6 +180,12 @@ class MockFuseFileSystemMasterClient implements FileSystemMasterClient {
       throws AlluxioStatusException {
   }
 
+  @Override
+  public List<BatchResult<Void>> setAttributeBatch(
+      List<Pair<AlluxioURI, SetAttributePOptions>> requests) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public void startSync(AlluxioURI path) throws AlluxioStatusException {
   }
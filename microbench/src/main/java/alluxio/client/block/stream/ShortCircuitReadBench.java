@@ -0,0 +1,178 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.block.stream;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
+import alluxio.worker.block.io.LocalFileBlockReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the short circuit read of a local block, as done by {@link LocalFileDataReader}:
+ * <ul>
+ *   <li>PREAD: each read is a positioned read of the file channel</li>
+ *   <li>MAP: each read maps its range of the file, as {@link LocalFileBlockReader} does, and
+ *   unmaps it afterwards</li>
+ *   <li>SHARED_MAP: each read is a slice of the mapping shared through
+ *   {@link LocalBlockMappingCache}</li>
+ * </ul>
+ * The data is copied into a heap array as it is into the buffer of a positioned read of a file.
+ * The RANDOM pattern reads small ranges at random offsets, the SCAN pattern reads the whole block
+ * sequentially in chunks of 1MB. The block file is read before the measurement, so data comes
+ * from the page cache as for blocks in a memory tier.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class ShortCircuitReadBench {
+  private static final WorkerNetAddress ADDRESS = new WorkerNetAddress().setHost("localhost");
+  private static final int SCAN_CHUNK_SIZE = Constants.MB;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"PREAD", "MAP", "SHARED_MAP"})
+    public String mMode;
+
+    @Param({"RANDOM", "SCAN"})
+    public String mPattern;
+
+    @Param({"4096"})
+    public int mRandomReadSize;
+
+    @Param({"67108864"})
+    public int mBlockSize;
+
+    File mFile;
+    LocalBlockMappingCache.Mapping mMapping;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mFile = File.createTempFile("short-circuit-read-bench", ".block");
+      byte[] data = new byte[Constants.MB];
+      ThreadLocalRandom.current().nextBytes(data);
+      try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+        for (int written = 0; written < mBlockSize; written += data.length) {
+          file.write(data, 0, Math.min(data.length, mBlockSize - written));
+        }
+      }
+      mMapping = LocalBlockMappingCache.getInstance().acquire(ADDRESS, 1L, mFile.getPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      LocalBlockMappingCache.getInstance().release(mMapping);
+      mFile.delete();
+    }
+
+    int readSize() {
+      return mPattern.equals("RANDOM") ? mRandomReadSize : SCAN_CHUNK_SIZE;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    LocalFileBlockReader mReader;
+    FileChannel mChannel;
+    byte[] mDestination;
+    long mOffset;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) throws Exception {
+      mReader = new LocalFileBlockReader(state.mFile.getAbsolutePath());
+      mChannel = (FileChannel) mReader.getChannel();
+      mDestination = new byte[state.readSize()];
+      // warm up the page cache
+      ByteBuffer buffer = ByteBuffer.allocateDirect(Constants.MB);
+      while (mChannel.read(buffer) > 0) {
+        buffer.clear();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mReader.close();
+    }
+
+    long nextOffset(BenchState state) {
+      int readSize = mDestination.length;
+      if (state.mPattern.equals("RANDOM")) {
+        return ThreadLocalRandom.current().nextLong(state.mBlockSize - readSize + 1);
+      }
+      if (mOffset + readSize > state.mBlockSize) {
+        mOffset = 0;
+      }
+      long offset = mOffset;
+      mOffset += readSize;
+      return offset;
+    }
+  }
+
+  @Benchmark
+  public int read(BenchState state, ThreadState threadState) throws Exception {
+    long offset = threadState.nextOffset(state);
+    byte[] destination = threadState.mDestination;
+    switch (state.mMode) {
+      case "PREAD":
+        ByteBuffer target = ByteBuffer.wrap(destination);
+        while (target.hasRemaining()) {
+          threadState.mChannel.read(target, offset + target.position());
+        }
+        break;
+      case "MAP":
+        ByteBuffer mapped = threadState.mReader.read(offset, destination.length);
+        mapped.get(destination);
+        // unmap right away, the mappings of small reads otherwise exceed the limit of the OS
+        // before they are garbage collected
+        BufferUtils.cleanDirectBuffer(mapped);
+        break;
+      case "SHARED_MAP":
+        state.mMapping.slice(offset, destination.length).get(destination);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown mode " + state.mMode);
+    }
+    return destination.length;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(ShortCircuitReadBench.class.getName())
+        .build()).run();
+  }
+}
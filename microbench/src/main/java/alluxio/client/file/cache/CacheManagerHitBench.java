@@ -0,0 +1,115 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.ShardedLRUCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.ConfigurationUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks cache hit throughput of {@link LocalCacheManager} with different evictors. Every
+ * read is a hit on a small page, so the cost is dominated by metadata lookups and evictor updates.
+ * Running {@link #main} repeats the benchmark with 1 to 128 threads.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class CacheManagerHitBench {
+  private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64, 128};
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"LRU", "SHARDED_LRU"})
+    public String mEvictor;
+
+    @Param({"100000"})
+    public int mNumPages;
+
+    CacheManager mCacheManager;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      InstancedConfiguration conf = new InstancedConfiguration(ConfigurationUtils.copyDefaults());
+      conf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.MEM);
+      conf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, Constants.KB);
+      conf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, (long) mNumPages * 2 * Constants.KB);
+      conf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+      conf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+      conf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS, mEvictor.equals("LRU")
+          ? LRUCacheEvictor.class.getName() : ShardedLRUCacheEvictor.class.getName());
+      mCacheManager = LocalCacheManager.create(conf, MetaStore.create(conf));
+      byte[] page = new byte[Constants.KB];
+      for (int i = 0; i < mNumPages; i++) {
+        mCacheManager.put(new PageId(Integer.toString(i), 0), page);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mCacheManager.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    byte[] mBuffer = new byte[64];
+  }
+
+  @Benchmark
+  public int hit(BenchState state, ThreadState threadState) {
+    PageId pageId =
+        new PageId(Integer.toString(ThreadLocalRandom.current().nextInt(state.mNumPages)), 0);
+    return state.mCacheManager.get(pageId, threadState.mBuffer.length, threadState.mBuffer, 0);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    for (int threads : THREADS) {
+      Options opts = new OptionsBuilder()
+          .parent(argsCli)
+          .include(CacheManagerHitBench.class.getName())
+          .threads(threads)
+          .result(String.format("results-%d-threads.json", threads))
+          .resultFormat(ResultFormatType.JSON)
+          .build();
+      new Runner(opts).run();
+    }
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.evictor.LFUCacheEvictor;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.ShardedLRUCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.client.file.cache.trace.CacheTraceReader;
+import alluxio.client.file.cache.trace.CacheTraceRecord;
+import alluxio.client.file.cache.trace.CacheTraceWriter;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.ConfigurationUtils;
+import alluxio.util.FormatUtils;
+import alluxio.util.io.FileUtils;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Replays a trace of accesses to the client cache, recorded by setting
+ * {@link PropertyKey#USER_CLIENT_CACHE_TRACE_FILE}, against {@link CacheManager}s with different
+ * evictors, page sizes, capacities and admission policies. For each configuration, the hit ratio,
+ * byte hit ratio, throughput and latency percentiles of cache accesses are printed.
+ *
+ * Cache managers are created by {@link CacheManager.Factory}, as in a client, so other client
+ * cache properties such as {@link PropertyKey#USER_CLIENT_CACHE_TIERED_ENABLED} or
+ * {@link PropertyKey#USER_CLIENT_CACHE_QUOTA_ENABLED} select the cache manager and the meta store
+ * to replay against.
+ *
+ * Every read in the trace is replayed as a read through the cache: on a miss, the page is put
+ * into the cache, as {@link alluxio.client.file.cache.LocalCacheFileInStream} does. Puts recorded
+ * in the trace are therefore skipped, while deletes are replayed. With a page size different from
+ * the one of the trace, each read is split into reads of the pages covering the same bytes.
+ *
+ * The tool can also generate a synthetic trace, where reads of a hot set of pages following a
+ * Zipf distribution are interleaved with sequential scans of files read only once.
+ *
+ * The memory page store holds a copy of every page, so capacities must fit in the heap.
+ */
+public final class CacheTraceReplay {
+  private static final Map<String, String> EVICTORS = ImmutableMap.of(
+      "FIFO", FIFOCacheEvictor.class.getName(),
+      "LFU", LFUCacheEvictor.class.getName(),
+      "LRU", LRUCacheEvictor.class.getName(),
+      "SHARDED_LRU", ShardedLRUCacheEvictor.class.getName());
+
+  private static final Options OPTIONS = new Options()
+      .addOption("help", false, "Show help for this tool.")
+      .addOption("trace", true, "Path of the trace to replay or generate.")
+      .addOption("evictors", true, "Comma-separated evictors to replay against, among "
+          + String.join(", ", EVICTORS.keySet()) + " or class names. Defaults to LRU.")
+      .addOption("capacities", true,
+          "Comma-separated cache capacities, e.g. 512MB,1GB. Defaults to 1GB.")
+      .addOption("pageSizes", true,
+          "Comma-separated page sizes. Defaults to the page size of the trace.")
+      .addOption("admission", true, "Comma-separated values of "
+          + PropertyKey.Name.USER_CLIENT_CACHE_ADMISSION_ENABLED + ". Defaults to false.")
+      .addOption("store", true, "Page store type. Defaults to MEM.")
+      .addOption("conf", true, "A client property applied to every configuration, as "
+          + "key=value. Can be repeated.")
+      .addOption("generate", false, "Generate a synthetic trace instead of replaying one.")
+      .addOption("reads", true, "Number of reads of the generated trace. Defaults to 1000000.")
+      .addOption("hotPages", true,
+          "Number of pages of the hot set of the generated trace. Defaults to 1000.")
+      .addOption("scanFraction", true,
+          "Fraction of the reads of the generated trace which are scans. Defaults to 0.5.")
+      .addOption("pageSize", true, "Page size of the generated trace. Defaults to 1MB.");
+
+  /**
+   * Results of the replay of a trace against one configuration.
+   */
+  private static final class Result {
+    private long mReads;
+    private long mHits;
+    private long mBytesRead;
+    private long mBytesHit;
+    private long mElapsedNanos;
+    private final List<Long> mLatencies = new ArrayList<>();
+
+    private String percentile(long[] sorted, double p) {
+      if (sorted.length == 0) {
+        return "-";
+      }
+      int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+      return String.format("%.1f", sorted[Math.max(0, index)] / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+      long[] sorted = mLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+      return String.format("reads %d, hit ratio %.4f, byte hit ratio %.4f, throughput %.0f ops/s,"
+              + " latency (us) p50 %s p90 %s p99 %s p99.9 %s",
+          mReads, mReads == 0 ? 0 : (double) mHits / mReads,
+          mBytesRead == 0 ? 0 : (double) mBytesHit / mBytesRead,
+          mElapsedNanos == 0 ? 0 : mReads * 1e9 / mElapsedNanos,
+          percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+          percentile(sorted, 0.999));
+    }
+  }
+
+  /**
+   * @param args command line arguments
+   */
+  public static void main(String[] args) throws Exception {
+    CommandLine cmd;
+    try {
+      cmd = new DefaultParser().parse(OPTIONS, args);
+    } catch (ParseException e) {
+      System.out.println("Failed to parse input args: " + e);
+      usage();
+      System.exit(1);
+      return;
+    }
+    if (cmd.hasOption("help") || !cmd.hasOption("trace")) {
+      usage();
+      System.exit(cmd.hasOption("help") ? 0 : 1);
+    }
+    String trace = cmd.getOptionValue("trace");
+    if (cmd.hasOption("generate")) {
+      generate(trace, Integer.parseInt(cmd.getOptionValue("reads", "1000000")),
+          Integer.parseInt(cmd.getOptionValue("hotPages", "1000")),
+          Double.parseDouble(cmd.getOptionValue("scanFraction", "0.5")),
+          FormatUtils.parseSpaceSize(cmd.getOptionValue("pageSize", "1MB")));
+      return;
+    }
+    long tracePageSize;
+    try (CacheTraceReader reader = CacheTraceReader.open(trace)) {
+      tracePageSize = reader.getPageSize();
+    }
+    List<String> pageSizes = split(cmd.getOptionValue("pageSizes", Long.toString(tracePageSize)));
+    String store = cmd.getOptionValue("store", PageStoreType.MEM.name());
+    Map<PropertyKey, String> properties = new HashMap<>();
+    if (cmd.hasOption("conf")) {
+      for (String property : cmd.getOptionValues("conf")) {
+        String[] keyValue = property.split("=", 2);
+        if (keyValue.length != 2) {
+          System.out.println("Invalid property " + property + ", expected key=value");
+          System.exit(1);
+        }
+        properties.put(PropertyKey.fromString(keyValue[0].trim()), keyValue[1].trim());
+      }
+    }
+    for (String evictor : split(cmd.getOptionValue("evictors", "LRU"))) {
+      for (String capacity : split(cmd.getOptionValue("capacities", "1GB"))) {
+        for (String pageSize : pageSizes) {
+          for (String admission : split(cmd.getOptionValue("admission", "false"))) {
+            Result result = replay(trace, EVICTORS.getOrDefault(evictor, evictor),
+                FormatUtils.parseSpaceSize(capacity), FormatUtils.parseSpaceSize(pageSize),
+                Boolean.parseBoolean(admission), PageStoreType.valueOf(store), properties);
+            System.out.printf("evictor=%s capacity=%s pageSize=%s admission=%s: %s%n", evictor,
+                capacity, pageSize, admission, result);
+          }
+        }
+      }
+    }
+  }
+
+  private static Result replay(String trace, String evictor, long capacity, long pageSize,
+      boolean admission, PageStoreType store, Map<PropertyKey, String> properties)
+      throws Exception {
+    File dir = Files.createTempDirectory("cache-trace-replay").toFile();
+    InstancedConfiguration conf = new InstancedConfiguration(ConfigurationUtils.copyDefaults());
+    properties.forEach(conf::set);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, store);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_DIR, dir.getAbsolutePath());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, pageSize);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, capacity);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS, evictor);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_ADMISSION_ENABLED, admission);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    // the replay must not record a trace of its own
+    conf.unset(PropertyKey.USER_CLIENT_CACHE_TRACE_FILE);
+    Result result = new Result();
+    byte[] page = new byte[(int) pageSize];
+    byte[] buffer = new byte[(int) pageSize];
+    try (CacheManager cacheManager =
+             CacheManager.Factory.create(conf, MetaStore.create(conf));
+         CacheTraceReader reader = CacheTraceReader.open(trace)) {
+      long tracePageSize = reader.getPageSize();
+      long start = System.nanoTime();
+      CacheTraceRecord record;
+      while ((record = reader.next()) != null) {
+        String fileId = record.getPageId().getFileId();
+        long offset = record.getPageId().getPageIndex() * tracePageSize + record.getPageOffset();
+        if (record.getOp() == CacheTraceRecord.Op.DELETE) {
+          for (long index = offset / pageSize;
+              index <= (offset + tracePageSize - 1) / pageSize; index++) {
+            cacheManager.delete(new PageId(fileId, index));
+          }
+          continue;
+        }
+        if (record.getOp() != CacheTraceRecord.Op.GET) {
+          continue;
+        }
+        long end = offset + record.getLength();
+        while (offset < end) {
+          PageId pageId = new PageId(fileId, offset / pageSize);
+          int pageOffset = (int) (offset % pageSize);
+          int length = (int) Math.min(pageSize - pageOffset, end - offset);
+          long readStart = System.nanoTime();
+          boolean hit = cacheManager.get(pageId, pageOffset, length, buffer, 0) > 0;
+          if (!hit) {
+            cacheManager.put(pageId, page);
+          }
+          result.mLatencies.add(System.nanoTime() - readStart);
+          result.mReads++;
+          result.mBytesRead += length;
+          if (hit) {
+            result.mHits++;
+            result.mBytesHit += length;
+          }
+          offset += length;
+        }
+      }
+      result.mElapsedNanos = System.nanoTime() - start;
+    } finally {
+      FileUtils.deletePathRecursively(dir.getAbsolutePath());
+    }
+    return result;
+  }
+
+  /**
+   * Generates a trace of reads of whole pages. Reads of the hot set pick a page following a Zipf
+   * distribution with exponent 1, scans read the pages of a new file one after another.
+   */
+  private static void generate(String trace, int reads, int hotPages, double scanFraction,
+      long pageSize) throws IOException {
+    double[] cdf = new double[hotPages];
+    double sum = 0;
+    for (int i = 0; i < hotPages; i++) {
+      sum += 1.0 / (i + 1);
+      cdf[i] = sum;
+    }
+    Random random = new Random(0);
+    int scanFile = 0;
+    int scanPage = 0;
+    int scanLength = 256;
+    try (CacheTraceWriter writer = CacheTraceWriter.create(trace, pageSize)) {
+      for (int i = 0; i < reads; i++) {
+        PageId pageId;
+        if (random.nextDouble() < scanFraction) {
+          if (scanPage == scanLength) {
+            scanFile++;
+            scanPage = 0;
+          }
+          pageId = new PageId("scan-" + scanFile, scanPage++);
+        } else {
+          int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+          int hotPage = index >= 0 ? index : -index - 1;
+          // ten pages per file
+          pageId = new PageId("hot-" + hotPage / 10, hotPage % 10);
+        }
+        writer.record(CacheTraceRecord.Op.GET, pageId, 0, (int) pageSize);
+        if (i % 10000 == 0) {
+          // the writer only queues the records until they are flushed
+          writer.flush();
+        }
+      }
+    }
+  }
+
+  private static List<String> split(String values) {
+    return Arrays.stream(values.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  private static void usage() {
+    new HelpFormatter().printHelp("java -cp <microbench jar> "
+        + CacheTraceReplay.class.getCanonicalName(), "Replays a trace of client cache accesses.",
+        OPTIONS, "", true);
+  }
+
+  private CacheTraceReplay() {} // prevent instantiation
+}
@@ -0,0 +1,128 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreOptions;
+import alluxio.client.file.cache.store.OffHeapMemoryPageStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing the on-heap {@link MemoryPageStore} with the
+ * {@link OffHeapMemoryPageStore}. The store is kept full, so every put replaces a page and every
+ * get is a hit. The GC profiler is always enabled, so the results compare the allocation rate,
+ * GC count and GC time of the two stores alongside their throughput.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 6, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class MemoryPageStoreBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"HEAP", "OFF_HEAP"})
+    public String mStoreType;
+
+    @Param({"1024"})
+    public int mCacheSizeMB;
+
+    @Param({"1024"})
+    public int mPageSizeKB;
+
+    PageStore mPageStore;
+    byte[] mPage;
+    int mNumPages;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      MemoryPageStoreOptions options = new MemoryPageStoreOptions()
+          .setOffHeap(mStoreType.equals("OFF_HEAP"));
+      options.setPageSize((long) mPageSizeKB * Constants.KB)
+          .setCacheSize((long) mCacheSizeMB * Constants.MB);
+      mPageStore = options.isOffHeap()
+          ? new OffHeapMemoryPageStore(options) : new MemoryPageStore(options);
+      mPage = new byte[mPageSizeKB * Constants.KB];
+      ThreadLocalRandom.current().nextBytes(mPage);
+      mNumPages = mCacheSizeMB * Constants.MB / mPage.length;
+      for (int i = 0; i < mNumPages; i++) {
+        mPageStore.put(new PageId("0", i), mPage);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mPageStore.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    byte[] mBuffer;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) {
+      mBuffer = new byte[state.mPage.length];
+    }
+  }
+
+  @Benchmark
+  public int get(BenchState state, ThreadState threadState) throws Exception {
+    PageId pageId = new PageId("0", ThreadLocalRandom.current().nextInt(state.mNumPages));
+    return state.mPageStore.get(pageId, threadState.mBuffer);
+  }
+
+  @Benchmark
+  public void replace(BenchState state) throws Exception {
+    PageId pageId = new PageId("0", ThreadLocalRandom.current().nextInt(state.mNumPages));
+    synchronized (state) {
+      state.mPageStore.delete(pageId);
+      state.mPageStore.put(pageId, state.mPage);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(MemoryPageStoreBench.class.getName())
+        .addProfiler(GCProfiler.class)
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
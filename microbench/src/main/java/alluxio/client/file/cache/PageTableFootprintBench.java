@@ -0,0 +1,131 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.index.CompactPageTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the page index used by {@link DefaultMetaStore}, a {@link CompactPageTable}, with a
+ * concurrent map from {@link PageId} to {@link PageInfo}. The retained heap per page is printed
+ * when each trial is set up, and the benchmark itself measures lookup throughput.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class PageTableFootprintBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"HASH_MAP", "COMPACT"})
+    public String mIndex;
+
+    @Param({"10000"})
+    public int mNumFiles;
+
+    @Param({"100"})
+    public int mPagesPerFile;
+
+    String[] mFileIds;
+    Map<PageId, PageInfo> mMap;
+    CompactPageTable mTable;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mFileIds = new String[mNumFiles];
+      for (int i = 0; i < mNumFiles; i++) {
+        mFileIds[i] = "/warehouse/table/partition/file-" + i;
+      }
+      long before = usedHeap();
+      if (mIndex.equals("HASH_MAP")) {
+        mMap = new ConcurrentHashMap<>();
+      } else {
+        mTable = new CompactPageTable();
+      }
+      for (String fileId : mFileIds) {
+        for (int page = 0; page < mPagesPerFile; page++) {
+          PageInfo pageInfo = new PageInfo(new PageId(fileId, page), Constants.MB);
+          if (mMap != null) {
+            mMap.put(pageInfo.getPageId(), pageInfo);
+          } else {
+            mTable.put(pageInfo);
+          }
+        }
+      }
+      long retained = usedHeap() - before;
+      long numPages = (long) mNumFiles * mPagesPerFile;
+      System.out.printf("%n%s: %d pages retain %d bytes of heap, %.1f bytes per page%n",
+          mIndex, numPages, retained, (double) retained / numPages);
+    }
+
+    private static long usedHeap() {
+      MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+      long used = Long.MAX_VALUE;
+      // collect until the heap stops shrinking so that only reachable objects are counted
+      for (int i = 0; i < 10; i++) {
+        System.gc();
+        long current = memory.getHeapMemoryUsage().getUsed();
+        if (current >= used) {
+          break;
+        }
+        used = current;
+      }
+      return used;
+    }
+  }
+
+  @Benchmark
+  public PageInfo lookup(BenchState state) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    PageId pageId = new PageId(state.mFileIds[random.nextInt(state.mNumFiles)],
+        random.nextInt(state.mPagesPerFile));
+    return state.mMap != null ? state.mMap.get(pageId) : state.mTable.get(pageId);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(PageTableFootprintBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
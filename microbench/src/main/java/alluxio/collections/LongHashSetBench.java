@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import alluxio.master.block.BlockId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the sets of block ids kept by the master for each worker, see
+ * {@code MasterWorkerInfo}, with a {@link HashSet} of boxed ids and with a {@link LongHashSet}.
+ * The block ids are those of single block files, as created by the master. Besides the
+ * throughput of the operations of the heartbeat and register paths, the heap retained by the
+ * set is printed per block when each trial is set up.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LongHashSetBench {
+  private static final MemoryMXBean MEMORY_MX_BEAN = ManagementFactory.getMemoryMXBean();
+  private static final long FIRST_CONTAINER_ID = 1L << 20;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"HASH_SET", "LONG_HASH_SET"})
+    public String mType;
+
+    @Param({"1000000", "5000000"})
+    public int mNumBlocks;
+
+    Set<Long> mBlocks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      long before = usedHeap();
+      mBlocks = create();
+      for (int i = 0; i < mNumBlocks; i++) {
+        add(mBlocks, blockId(i));
+      }
+      System.out.printf("%n%s of %d blocks retains %.1f bytes per block%n", mType, mNumBlocks,
+          (double) (usedHeap() - before) / mNumBlocks);
+    }
+
+    Set<Long> create() {
+      return mType.equals("HASH_SET") ? new HashSet<>() : new LongHashSet();
+    }
+
+    Set<Long> copy() {
+      return mType.equals("HASH_SET")
+          ? new HashSet<>(mBlocks) : new LongHashSet((LongHashSet) mBlocks);
+    }
+  }
+
+  // Looks up a block, as when blocks are added or removed by a heartbeat.
+  @Benchmark
+  public boolean contains(BenchState state) {
+    long blockId = blockId(ThreadLocalRandom.current().nextInt(state.mNumBlocks * 2));
+    return state.mBlocks instanceof LongHashSet
+        ? ((LongHashSet) state.mBlocks).contains(blockId) : state.mBlocks.contains(blockId);
+  }
+
+  // Copies the set, as when the blocks of a worker are listed.
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int copy(BenchState state) {
+    return state.copy().size();
+  }
+
+  // Builds the set, as when a worker registers.
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int build(BenchState state) {
+    Set<Long> blocks = state.create();
+    for (int i = 0; i < state.mNumBlocks; i++) {
+      add(blocks, blockId(i));
+    }
+    return blocks.size();
+  }
+
+  private static long blockId(int index) {
+    return BlockId.createBlockId(FIRST_CONTAINER_ID + index, 0);
+  }
+
+  private static void add(Set<Long> blocks, long blockId) {
+    if (blocks instanceof LongHashSet) {
+      ((LongHashSet) blocks).add(blockId);
+    } else {
+      blocks.add(blockId);
+    }
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed();
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(LongHashSetBench.class.getName())
+        .build()).run();
+  }
+}
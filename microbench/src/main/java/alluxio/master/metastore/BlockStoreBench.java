@@ -0,0 +1,180 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore;
+
+import alluxio.master.block.BlockId;
+import alluxio.master.metastore.heap.CompactBlockStore;
+import alluxio.master.metastore.heap.HeapBlockStore;
+import alluxio.master.metastore.rocks.RocksBlockStore;
+import alluxio.proto.meta.Block.BlockLocation;
+import alluxio.proto.meta.Block.BlockMeta;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the block stores of the master: {@link HeapBlockStore}, {@link CompactBlockStore} and
+ * {@link RocksBlockStore}. Each block has a length and a number of replicas spread over the
+ * workers. As when workers report blocks through heartbeats, the workers share one location
+ * object for all their blocks. The heap retained per block is printed when each trial is set up,
+ * along with the size on disk for the rocks store, and the benchmarks measure the operations of
+ * the block master.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx8g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BlockStoreBench {
+  private static final long FIRST_CONTAINER_ID = 1L << 20;
+  private static final int NUM_WORKERS = 100;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"HEAP", "COMPACT", "ROCKS"})
+    public String mStoreType;
+
+    @Param({"1000000"})
+    public int mNumBlocks;
+
+    @Param({"1", "3"})
+    public int mReplicas;
+
+    BlockStore mStore;
+    BlockLocation[] mLocations;
+    File mDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mLocations = new BlockLocation[NUM_WORKERS];
+      for (int i = 0; i < NUM_WORKERS; i++) {
+        mLocations[i] = BlockLocation.newBuilder().setWorkerId(1000L + i * 7919L)
+            .setTier("MEM").setMediumType("MEM").build();
+      }
+      long before = usedHeap();
+      switch (mStoreType) {
+        case "HEAP":
+          mStore = new HeapBlockStore();
+          break;
+        case "COMPACT":
+          mStore = new CompactBlockStore(3);
+          break;
+        case "ROCKS":
+          mDir = Files.createTempDirectory("block-store-bench").toFile();
+          mStore = new RocksBlockStore(mDir.getAbsolutePath());
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown block store " + mStoreType);
+      }
+      for (int i = 0; i < mNumBlocks; i++) {
+        long blockId = blockId(i);
+        mStore.putBlock(blockId, BlockMeta.newBuilder().setLength(64L << 20).build());
+        for (int r = 0; r < mReplicas; r++) {
+          mStore.addLocation(blockId, location(i, r));
+        }
+      }
+      long retained = usedHeap() - before;
+      System.out.printf("%n%s: %d blocks with %d replicas retain %.1f bytes of heap per block%n",
+          mStoreType, mNumBlocks, mReplicas, (double) retained / mNumBlocks);
+      if (mDir != null) {
+        System.out.printf("%s: %.1f bytes on disk per block%n", mStoreType,
+            (double) FileUtils.sizeOfDirectory(mDir) / mNumBlocks);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mStore.close();
+      if (mDir != null) {
+        FileUtils.deleteDirectory(mDir);
+      }
+    }
+
+    BlockLocation location(int index, int replica) {
+      return mLocations[(index + replica * 37) % NUM_WORKERS];
+    }
+
+    private static long usedHeap() {
+      MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+      long used = Long.MAX_VALUE;
+      // collect until the heap stops shrinking so that only reachable objects are counted
+      for (int i = 0; i < 10; i++) {
+        System.gc();
+        long current = memory.getHeapMemoryUsage().getUsed();
+        if (current >= used) {
+          break;
+        }
+        used = current;
+      }
+      return used;
+    }
+  }
+
+  // Looks up a block, as when a client asks for block info.
+  @Benchmark
+  public Optional<BlockMeta> getBlock(BenchState state) {
+    return state.mStore.getBlock(blockId(ThreadLocalRandom.current().nextInt(state.mNumBlocks)));
+  }
+
+  // Lists the locations of a block, as when a client asks for block info.
+  @Benchmark
+  public List<BlockLocation> getLocations(BenchState state) {
+    return state.mStore.getLocations(
+        blockId(ThreadLocalRandom.current().nextInt(state.mNumBlocks)));
+  }
+
+  // Removes and adds back a replica of a block, as when heartbeats report blocks.
+  @Benchmark
+  public int moveLocation(BenchState state) {
+    int index = ThreadLocalRandom.current().nextInt(state.mNumBlocks);
+    long blockId = blockId(index);
+    BlockLocation location = state.location(index, 0);
+    state.mStore.removeLocation(blockId, location.getWorkerId());
+    state.mStore.addLocation(blockId, location);
+    return index;
+  }
+
+  private static long blockId(int index) {
+    return BlockId.createBlockId(FIRST_CONTAINER_ID + index, 0);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(BlockStoreBench.class.getName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.worker.block.io.BlockWriter;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the commits per second of small blocks written concurrently to a
+ * {@link TieredBlockStore} with each {@link BlockCommitSyncMode}. Each operation writes, commits
+ * and removes a block. The store is in a temporary directory of the parent directory given by the
+ * "dir" parameter, which should be on the device to measure since syncs are nearly free on a
+ * memory file system.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BlockCommitBench {
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"NONE", "EACH", "GROUP"})
+    public BlockCommitSyncMode mMode;
+
+    @Param({"4096"})
+    public int mBlockSize;
+
+    @Param({"/tmp"})
+    public String mDir;
+
+    TieredBlockStore mStore;
+    File mRoot;
+    final AtomicLong mNextBlockId = new AtomicLong(1L << 40);
+    final AtomicLong mNextSessionId = new AtomicLong(1);
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      // debug logging of the store would dominate the measurements
+      LogManager.getRootLogger().setLevel(org.apache.log4j.Level.WARN);
+      mRoot = Files.createTempDirectory(Paths.get(mDir), "block-commit-bench").toFile();
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, 1);
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_ALIAS, Constants.MEDIUM_SSD);
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_PATH,
+          mRoot.getAbsolutePath());
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_QUOTA, "1GB");
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_MEDIUMTYPE,
+          Constants.MEDIUM_SSD);
+      ServerConfiguration.set(PropertyKey.WORKER_BLOCK_COMMIT_SYNC_MODE, mMode);
+      mStore = new TieredBlockStore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mStore.close();
+      FileUtils.deleteDirectory(mRoot);
+      ServerConfiguration.reset();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    long mSessionId;
+    ByteBuffer mData;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) {
+      mSessionId = state.mNextSessionId.getAndIncrement();
+      mData = ByteBuffer.allocate(state.mBlockSize);
+    }
+  }
+
+  // Writes, commits and removes a small block, as done by the writer of a small file.
+  @Benchmark
+  @Threads(32)
+  public long commit(BenchState state, ThreadState threadState) throws Exception {
+    long blockId = state.mNextBlockId.getAndIncrement();
+    state.mStore.createBlock(threadState.mSessionId, blockId,
+        AllocateOptions.forCreate(state.mBlockSize, BlockStoreLocation.anyTier()));
+    try (BlockWriter writer = state.mStore.createBlockWriter(threadState.mSessionId, blockId)) {
+      writer.append(threadState.mData.duplicate());
+    }
+    state.mStore.commitBlock(threadState.mSessionId, blockId, false);
+    state.mStore.removeBlock(threadState.mSessionId, blockId);
+    return blockId;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(BlockCommitBench.class.getName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks lock and unlock throughput of {@link BlockLockManager}, as done by a worker serving
+ * many short reads. Each operation takes a read lock on a random block for a session of the
+ * calling thread and releases it right away. With few blocks, threads share the locks of the same
+ * blocks, with many blocks they mostly lock distinct blocks. Running {@link #main} repeats the
+ * benchmark with 1 to 128 threads.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BlockLockManagerBench {
+  private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64, 128};
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"16", "100000"})
+    public int mNumBlocks;
+
+    BlockLockManager mLockManager;
+    final AtomicLong mSessionIds = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mLockManager = new BlockLockManager();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    long mSessionId;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) {
+      mSessionId = state.mSessionIds.incrementAndGet();
+    }
+  }
+
+  @Benchmark
+  public long lockUnlock(BenchState state, ThreadState threadState) {
+    long blockId = ThreadLocalRandom.current().nextInt(state.mNumBlocks);
+    long lockId = state.mLockManager.lockBlock(threadState.mSessionId, blockId,
+        BlockLockType.READ);
+    state.mLockManager.unlockBlock(lockId);
+    return lockId;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    for (int threads : THREADS) {
+      Options opts = new OptionsBuilder()
+          .parent(argsCli)
+          .include(BlockLockManagerBench.class.getName())
+          .threads(threads)
+          .result(String.format("results-%d-threads.json", threads))
+          .resultFormat(ResultFormatType.JSON)
+          .build();
+      new Runner(opts).run();
+    }
+  }
+}
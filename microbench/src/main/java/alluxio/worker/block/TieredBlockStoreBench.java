@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.worker.block.io.BlockReader;
+
+import com.google.common.base.Joiner;
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks concurrent metadata operations of a {@link TieredBlockStore} with a single tier of
+ * one or more dirs. Each writer thread creates, commits and removes blocks in its own dir, and
+ * readers open readers of random existing blocks of all dirs. The runs over different numbers
+ * of dirs only compare how much the dirs contend when the host has a core for each thread.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class TieredBlockStoreBench {
+  private static final int BLOCK_SIZE = 4 * Constants.KB;
+  private static final int BLOCKS_PER_DIR = 1000;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"1", "4", "16"})
+    public int mNumDirs;
+
+    TieredBlockStore mStore;
+    File mRoot;
+    long[] mBlockIds;
+    final AtomicLong mNextBlockId = new AtomicLong(1L << 40);
+    final AtomicLong mNextSessionId = new AtomicLong(1);
+    final AtomicInteger mNextDir = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      // debug logging of the store would dominate the measurements
+      LogManager.getRootLogger().setLevel(org.apache.log4j.Level.WARN);
+      mRoot = Files.createTempDirectory("tiered-block-store-bench").toFile();
+      List<String> dirs = new ArrayList<>();
+      for (int i = 0; i < mNumDirs; i++) {
+        dirs.add(new File(mRoot, "dir" + i).getAbsolutePath());
+      }
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVELS, 1);
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_ALIAS, Constants.MEDIUM_MEM);
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_PATH,
+          Joiner.on(',').join(dirs));
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_QUOTA,
+          Joiner.on(',').join(Collections.nCopies(mNumDirs, "1GB")));
+      ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_MEDIUMTYPE,
+          Joiner.on(',').join(Collections.nCopies(mNumDirs, Constants.MEDIUM_MEM)));
+      mStore = new TieredBlockStore();
+
+      mBlockIds = new long[mNumDirs * BLOCKS_PER_DIR];
+      long sessionId = mNextSessionId.getAndIncrement();
+      for (int i = 0; i < mBlockIds.length; i++) {
+        mBlockIds[i] = mNextBlockId.getAndIncrement();
+        writeBlock(sessionId, mBlockIds[i], i % mNumDirs);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mStore.close();
+      FileUtils.deleteDirectory(mRoot);
+      ServerConfiguration.reset();
+    }
+
+    void writeBlock(long sessionId, long blockId, int dirIndex) throws Exception {
+      mStore.createBlock(sessionId, blockId, AllocateOptions.forCreate(BLOCK_SIZE,
+          new BlockStoreLocation(Constants.MEDIUM_MEM, dirIndex, Constants.MEDIUM_MEM)));
+      mStore.commitBlock(sessionId, blockId, false);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    long mSessionId;
+    int mDirIndex;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) {
+      mSessionId = state.mNextSessionId.getAndIncrement();
+      mDirIndex = state.mNextDir.getAndIncrement() % state.mNumDirs;
+    }
+  }
+
+  // Creates, commits and removes a block in the dir of the thread, as done by a block writer.
+  @Benchmark
+  @Threads(8)
+  public long write(BenchState state, ThreadState threadState) throws Exception {
+    long blockId = state.mNextBlockId.getAndIncrement();
+    state.writeBlock(threadState.mSessionId, blockId, threadState.mDirIndex);
+    state.mStore.removeBlock(threadState.mSessionId, blockId);
+    return blockId;
+  }
+
+  // Opens and closes a reader of a random block, as done by a block reader.
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(6)
+  public long mixedRead(BenchState state, ThreadState threadState) throws Exception {
+    long blockId = state.mBlockIds[ThreadLocalRandom.current().nextInt(state.mBlockIds.length)];
+    try (BlockReader reader = state.mStore.createBlockReader(threadState.mSessionId, blockId, 0)) {
+      return reader.getLength();
+    }
+  }
+
+  // Writes blocks while other threads read, see write.
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(2)
+  public long mixedWrite(BenchState state, ThreadState threadState) throws Exception {
+    return write(state, threadState);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(TieredBlockStoreBench.class.getName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.io;
+
+import alluxio.Constants;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the ways a worker can produce the chunks of a block in local storage sent to remote
+ * readers, see {@code BlockReadHandler}:
+ * <ul>
+ *   <li>POOLED: the chunk is copied from the file into a pooled direct buffer</li>
+ *   <li>MAP: each chunk is memory mapped separately</li>
+ *   <li>MMAP: the file is mapped once and each chunk is a slice of the mapping</li>
+ * </ul>
+ * Each chunk is then copied once into a direct buffer, as the kernel copies it into the socket.
+ * Besides the throughput in chunks per second, the CPU time spent per GB read over the measurement
+ * iterations is printed at the end of each trial. The block file is read before the measurement,
+ * so data comes from the page cache as for hot blocks.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BlockReaderBench {
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"POOLED", "MAP", "MMAP"})
+    public String mMode;
+
+    @Param({"65536", "1048576"})
+    public int mChunkSize;
+
+    @Param({"67108864"})
+    public int mBlockSize;
+
+    File mFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mFile = File.createTempFile("block-reader-bench", ".block");
+      byte[] data = new byte[Constants.MB];
+      ThreadLocalRandom.current().nextBytes(data);
+      try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+        for (int written = 0; written < mBlockSize; written += data.length) {
+          file.write(data, 0, Math.min(data.length, mBlockSize - written));
+        }
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      mFile.delete();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    LocalFileBlockReader mReader;
+    ByteBuf mSink;
+    long mOffset;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) throws Exception {
+      mReader = new LocalFileBlockReader(state.mFile.getAbsolutePath());
+      mSink = Unpooled.directBuffer(state.mChunkSize, state.mChunkSize);
+      // warm up the page cache
+      ByteBuffer buffer = ByteBuffer.allocateDirect(Constants.MB);
+      FileChannel channel = (FileChannel) mReader.getChannel();
+      while (channel.read(buffer) > 0) {
+        buffer.clear();
+      }
+      channel.position(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mReader.close();
+      mSink.release();
+    }
+  }
+
+  /**
+   * CPU time of the benchmark threads over the measurement iterations, printed per GB read.
+   */
+  @State(Scope.Thread)
+  public static class CpuCounters {
+    private boolean mMeasured;
+    private long mStartCpuNanos;
+    private long mCpuNanos;
+    private long mTotalBytes;
+    private long mBytes;
+
+    @Setup(Level.Iteration)
+    public void setup(IterationParams params) {
+      mMeasured = params.getType() == IterationType.MEASUREMENT;
+      mStartCpuNanos = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+      mBytes = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+      if (mMeasured) {
+        mCpuNanos += THREAD_MX_BEAN.getCurrentThreadCpuTime() - mStartCpuNanos;
+        mTotalBytes += mBytes;
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void report(BenchState state) {
+      if (mTotalBytes > 0) {
+        System.out.printf("%n%s with %d byte chunks used %.0f CPU nanoseconds per GB%n",
+            state.mMode, state.mChunkSize, (double) mCpuNanos * Constants.GB / mTotalBytes);
+      }
+    }
+  }
+
+  @Benchmark
+  public int readChunk(BenchState state, ThreadState threadState, CpuCounters counters)
+      throws Exception {
+    if (threadState.mOffset + state.mChunkSize > state.mBlockSize) {
+      threadState.mOffset = 0;
+      ((FileChannel) threadState.mReader.getChannel()).position(0);
+    }
+    long offset = threadState.mOffset;
+    ByteBuf chunk;
+    switch (state.mMode) {
+      case "POOLED":
+        chunk = PooledByteBufAllocator.DEFAULT.buffer(state.mChunkSize, state.mChunkSize);
+        while (chunk.writableBytes() > 0 && threadState.mReader.transferTo(chunk) != -1) {
+        }
+        break;
+      case "MAP":
+        chunk = Unpooled.wrappedBuffer(threadState.mReader.read(offset, state.mChunkSize));
+        break;
+      case "MMAP":
+        chunk = Unpooled.wrappedBuffer(threadState.mReader.readMapped(offset, state.mChunkSize));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown mode " + state.mMode);
+    }
+    try {
+      int length = chunk.readableBytes();
+      threadState.mSink.clear();
+      chunk.readBytes(threadState.mSink, length);
+      threadState.mOffset += length;
+      counters.mBytes += length;
+      return length;
+    } finally {
+      chunk.release();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(BlockReaderBench.class.getName())
+        .build()).run();
+  }
+}
@@ -36,6 +36,8 @@ import java.util.zip.DataFormatException;
 public final class MasterBenchSummary extends GeneralBenchSummary<MasterBenchTaskResult> {
   private long mDurationMs;
   private long mEndTimeMs;
+  private float mObjectThroughput;
+  private long mPeakMasterHeapBytes;
   private MasterBenchParameters mParameters;
 
   private SummaryStatistics mStatistics;
@@ -71,6 +73,8 @@ public final class MasterBenchSummary extends GeneralBenchSummary<MasterBenchTas
     mDurationMs = mergedTaskResults.getEndMs() - mergedTaskResults.getRecordStartMs();
     mEndTimeMs = mergedTaskResults.getEndMs();
     mThroughput = ((float) mStatistics.mNumSuccess / mDurationMs) * 1000.0f;
+    mObjectThroughput = ((float) mergedTaskResults.getNumObjects() / mDurationMs) * 1000.0f;
+    mPeakMasterHeapBytes = mergedTaskResults.getPeakMasterHeapBytes();
     mParameters = mergedTaskResults.getParameters();
     mNodeResults = nodes;
   }
@@ -89,6 +93,34 @@ public final class MasterBenchSummary extends GeneralBenchSummary<MasterBenchTas
     mDurationMs = durationMs;
   }
 
+  /**
+   * @return the number of objects processed per second
+   */
+  public float getObjectThroughput() {
+    return mObjectThroughput;
+  }
+
+  /**
+   * @param objectThroughput the number of objects processed per second
+   */
+  public void setObjectThroughput(float objectThroughput) {
+    mObjectThroughput = objectThroughput;
+  }
+
+  /**
+   * @return the peak heap usage of the master during the run (in bytes), or -1 if unknown
+   */
+  public long getPeakMasterHeapBytes() {
+    return mPeakMasterHeapBytes;
+  }
+
+  /**
+   * @param peakMasterHeapBytes the peak heap usage of the master during the run (in bytes)
+   */
+  public void setPeakMasterHeapBytes(long peakMasterHeapBytes) {
+    mPeakMasterHeapBytes = peakMasterHeapBytes;
+  }
+
   /**
    * @return the parameters
    */
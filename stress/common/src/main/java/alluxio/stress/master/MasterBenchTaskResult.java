@@ -27,6 +27,8 @@ public final class MasterBenchTaskResult implements TaskResult {
   private long mRecordStartMs;
   private long mEndMs;
   private long mDurationMs;
+  private long mNumObjects;
+  private long mPeakMasterHeapBytes = -1;
   private BaseParameters mBaseParameters;
   private MasterBenchParameters mParameters;
   private List<String> mErrors;
@@ -65,6 +67,8 @@ public final class MasterBenchTaskResult implements TaskResult {
     // When merging result from different workers, we don't need to merge the error information
     // since we will keep all the result information in a map.
     mStatistics.merge(result.mStatistics);
+    mNumObjects += result.mNumObjects;
+    mPeakMasterHeapBytes = Math.max(mPeakMasterHeapBytes, result.mPeakMasterHeapBytes);
 
     mRecordStartMs = result.mRecordStartMs;
     if (result.mEndMs > mEndMs) {
@@ -109,6 +113,43 @@ public final class MasterBenchTaskResult implements TaskResult {
     mStatistics.mNumSuccess += numSuccess;
   }
 
+  /**
+   * @return the number of objects the recorded operations processed
+   */
+  public long getNumObjects() {
+    return mNumObjects;
+  }
+
+  /**
+   * @param numObjects the number of objects the recorded operations processed
+   */
+  public void setNumObjects(long numObjects) {
+    mNumObjects = numObjects;
+  }
+
+  /**
+   * Increments the number of processed objects by an amount.
+   *
+   * @param numObjects the amount to increment by
+   */
+  public void incrementNumObjects(long numObjects) {
+    mNumObjects += numObjects;
+  }
+
+  /**
+   * @return the peak heap usage of the master during the run (in bytes), or -1 if unknown
+   */
+  public long getPeakMasterHeapBytes() {
+    return mPeakMasterHeapBytes;
+  }
+
+  /**
+   * @param peakMasterHeapBytes the peak heap usage of the master during the run (in bytes)
+   */
+  public void setPeakMasterHeapBytes(long peakMasterHeapBytes) {
+    mPeakMasterHeapBytes = peakMasterHeapBytes;
+  }
+
   @Override
   public BaseParameters getBaseParameters() {
     return mBaseParameters;
@@ -22,6 +22,7 @@ public enum Operation {
   LIST_DIR("ListDir"), // call for fixed-N
   LIST_DIR_LOCATED("ListDirLocated"), // call for fixed-N
   OPEN_FILE("OpenFile"), // open for fixed-N
+  LOAD_METADATA("LoadMetadata"), // sync the fixed portion with the UFS, for fixed-N
 
   // Dependent on CreateFile
   RENAME_FILE("RenameFile"), // rename fixed-N, then rename in extra, need plenty of extra
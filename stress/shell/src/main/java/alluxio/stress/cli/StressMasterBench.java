@@ -12,7 +12,11 @@
 package alluxio.stress.cli;
 
 import alluxio.AlluxioURI;
+import alluxio.ClientContext;
+import alluxio.Constants;
 import alluxio.annotation.SuppressFBWarnings;
+import alluxio.client.metrics.MetricsMasterClient;
+import alluxio.client.metrics.RetryHandlingMetricsMasterClient;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.Source;
@@ -21,7 +25,11 @@ import alluxio.exception.UnexpectedAlluxioException;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.FileSystemMasterCommonPOptions;
+import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.MetricValue;
 import alluxio.hadoop.HadoopConfigurationUtils;
+import alluxio.master.MasterClientContext;
 import alluxio.stress.BaseParameters;
 import alluxio.stress.StressConstants;
 import alluxio.stress.common.FileSystemClientType;
@@ -66,6 +74,9 @@ import java.util.concurrent.atomic.AtomicLong;
 public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult,
     MasterBenchParameters> {
   private static final Logger LOG = LoggerFactory.getLogger(StressMasterBench.class);
+  /** The master metric of the used heap, sampled for the peak memory of the run. */
+  private static final String MASTER_HEAP_USED_METRIC = "heap.used";
+  private static final long MASTER_HEAP_SAMPLE_INTERVAL_MS = 1000;
 
   private byte[] mFiledata;
 
@@ -74,6 +85,8 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
 
   /** In case the Alluxio Native API is used,  use the following instead. */
   protected alluxio.client.file.FileSystem[] mCachedNativeFs;
+  /** Samples the heap usage of the master, or null if the master is not an Alluxio master. */
+  private MetricsMasterClient mMetricsClient;
   /* Directories where the stress bench creates files depending on the --operation chosen. */
   protected final String mDirsDir = "dirs";
   protected final String mFilesDir = "files";
@@ -172,6 +185,14 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
 
     hdfsConf.set(PropertyKey.Name.USER_FILE_WRITE_TYPE_DEFAULT, mParameters.mWriteType);
 
+    alluxio.conf.AlluxioProperties alluxioProperties = ConfigurationUtils.copyDefaults();
+    alluxioProperties.merge(HadoopConfigurationUtils.getConfigurationFromHadoop(hdfsConf),
+        Source.RUNTIME);
+    if (new URI(mParameters.mBasePath).getScheme().equals(Constants.SCHEME)) {
+      mMetricsClient = new RetryHandlingMetricsMasterClient(MasterClientContext
+          .newBuilder(ClientContext.create(new InstancedConfiguration(alluxioProperties))).build());
+    }
+
     if (mParameters.mClientType == FileSystemClientType.ALLUXIO_HDFS) {
       LOG.info("Using ALLUXIO HDFS Compatible API to perform the test.");
       mCachedFs = new FileSystem[mParameters.mClients];
@@ -180,10 +201,6 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
       }
     } else {
       LOG.info("Using ALLUXIO Native API to perform the test.");
-      alluxio.conf.AlluxioProperties alluxioProperties = ConfigurationUtils.copyDefaults();
-      alluxioProperties.merge(HadoopConfigurationUtils.getConfigurationFromHadoop(hdfsConf),
-          Source.RUNTIME);
-
       mCachedNativeFs = new alluxio.client.file.FileSystem[mParameters.mClients];
       for (int i = 0; i < mCachedNativeFs.length; i++) {
         mCachedNativeFs[i] = alluxio.client.file.FileSystem.Factory
@@ -300,6 +317,11 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
     for (int i = 0; i < mParameters.mThreads; i++) {
       callables.add(getBenchThread(context, i));
     }
+    ExecutorService sampler = null;
+    if (mMetricsClient != null) {
+      sampler = ExecutorServiceFactories.fixedThreadPool("bench-heap-sampler", 1).create();
+      sampler.submit(() -> sampleMasterHeap(context));
+    }
     LOG.info("Starting {} bench threads", callables.size());
     service.invokeAll(callables, FormatUtils.parseTimeSize(mBaseParameters.mBenchTimeout),
         TimeUnit.MILLISECONDS);
@@ -307,6 +329,12 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
 
     service.shutdownNow();
     service.awaitTermination(30, TimeUnit.SECONDS);
+    if (sampler != null) {
+      sampler.shutdownNow();
+      sampler.awaitTermination(30, TimeUnit.SECONDS);
+      mMetricsClient.close();
+    }
+    context.addPeakMasterHeapBytes();
 
     if (!mBaseParameters.mProfileAgent.isEmpty()) {
       context.addAdditionalResult();
@@ -315,6 +343,29 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
     return context.getResult();
   }
 
+  /**
+   * Samples the heap usage of the master until interrupted, recording the peak in the context.
+   * Sampling stops at the first failure, leaving the peak unknown if no sample was taken.
+   *
+   * @param context the bench context
+   */
+  private void sampleMasterHeap(BenchContext context) {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        MetricValue heapUsed = mMetricsClient.getMetrics().get(MASTER_HEAP_USED_METRIC);
+        if (heapUsed == null) {
+          LOG.warn("The master does not report the metric {}", MASTER_HEAP_USED_METRIC);
+          return;
+        }
+        context.sampleMasterHeapBytes((long) heapUsed.getDoubleValue());
+      } catch (IOException e) {
+        LOG.warn("Failed to sample the heap usage of the master", e);
+        return;
+      }
+      CommonUtils.sleepMs(MASTER_HEAP_SAMPLE_INTERVAL_MS);
+    }
+  }
+
   @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
   private BenchThread getBenchThread(BenchContext context, int index) {
     if (mParameters.mClientType == FileSystemClientType.ALLUXIO_HDFS) {
@@ -331,6 +382,8 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
     private final AtomicLong mCounter;
     private final Path mBasePath;
     private final Path mFixedBasePath;
+    /** The peak heap usage of the master sampled during the run, -1 if none was sampled. */
+    private final AtomicLong mPeakMasterHeapBytes = new AtomicLong(-1);
 
     /** The results. Access must be synchronized for thread safety. */
     private MasterBenchTaskResult mResult;
@@ -389,6 +442,16 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
       }
     }
 
+    public void sampleMasterHeapBytes(long heapBytes) {
+      mPeakMasterHeapBytes.accumulateAndGet(heapBytes, Math::max);
+    }
+
+    public synchronized void addPeakMasterHeapBytes() {
+      if (mResult != null) {
+        mResult.setPeakMasterHeapBytes(mPeakMasterHeapBytes.get());
+      }
+    }
+
     @SuppressFBWarnings(value = "DMI_HARDCODED_ABSOLUTE_FILENAME")
     public synchronized void addAdditionalResult() throws IOException {
       if (mResult == null) {
@@ -490,13 +553,14 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
 
         mContext.getRateLimiter().acquire();
         long startNs = System.nanoTime();
-        applyOperation(localCounter);
+        long objects = applyOperation(localCounter);
         long endNs = System.nanoTime();
 
         long currentMs = CommonUtils.getCurrentMs();
         // Start recording after the warmup
         if (currentMs > recordMs) {
           mResult.incrementNumSuccess(1);
+          mResult.incrementNumObjects(objects);
 
           // record response times
           long responseTimeNs = endNs - startNs;
@@ -513,7 +577,11 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
       }
     }
 
-    protected abstract void applyOperation(long counter) throws IOException, AlluxioException;
+    /**
+     * @param counter the counter of the operation
+     * @return the number of objects the operation processed
+     */
+    protected abstract long applyOperation(long counter) throws IOException, AlluxioException;
   }
 
   private final class AlluxioHDFSBenchThread extends BenchThread {
@@ -526,8 +594,9 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
 
     @Override
     @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
-    protected void applyOperation(long counter) throws IOException {
+    protected long applyOperation(long counter) throws IOException {
       Path path;
+      long objects = 1;
       switch (mParameters.mOperation) {
         case CREATE_DIR:
           if (counter < mParameters.mFixedCount) {
@@ -568,6 +637,7 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
                 .format("listing `%s` expected %d files but got %d files", mFixedBasePath,
                     mParameters.mFixedCount, files.length));
           }
+          objects = files.length;
           break;
         case LIST_DIR_LOCATED:
           RemoteIterator<LocatedFileStatus> it = mFs.listLocatedStatus(mFixedBasePath);
@@ -581,7 +651,10 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
                 .format("listing located `%s` expected %d files but got %d files", mFixedBasePath,
                     mParameters.mFixedCount, listedFiles));
           }
+          objects = listedFiles;
           break;
+        case LOAD_METADATA:
+          throw new UnsupportedOperationException("LOAD_METADATA is not supported!");
         case OPEN_FILE:
           counter = counter % mParameters.mFixedCount;
           path = new Path(mFixedBasePath, Long.toString(counter));
@@ -611,6 +684,7 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
         default:
           throw new IllegalStateException("Unknown operation: " + mParameters.mOperation);
       }
+      return objects;
     }
   }
 
@@ -624,8 +698,9 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
 
     @Override
     @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
-    protected void applyOperation(long counter) throws IOException, AlluxioException {
+    protected long applyOperation(long counter) throws IOException, AlluxioException {
       Path path;
+      long objects = 1;
       switch (mParameters.mOperation) {
         case CREATE_DIR:
           if (counter < mParameters.mFixedCount) {
@@ -665,9 +740,23 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
                 .format("listing `%s` expected %d files but got %d files", mFixedBasePath,
                     mParameters.mFixedCount, files.size()));
           }
+          objects = files.size();
           break;
         case LIST_DIR_LOCATED:
           throw new UnsupportedOperationException("LIST_DIR_LOCATED is not supported!");
+        case LOAD_METADATA:
+          // a sync interval of 0 syncs the whole fixed portion with the UFS on every call
+          List<alluxio.client.file.URIStatus> synced = mFs.listStatus(
+              new AlluxioURI(mFixedBasePath.toString()), ListStatusPOptions.newBuilder()
+                  .setRecursive(true).setCommonOptions(FileSystemMasterCommonPOptions.newBuilder()
+                      .setSyncIntervalMs(0)).build());
+          if (synced.size() < mParameters.mFixedCount) {
+            throw new IOException(String
+                .format("loading `%s` expected at least %d files but got %d files",
+                    mFixedBasePath, mParameters.mFixedCount, synced.size()));
+          }
+          objects = synced.size();
+          break;
         case OPEN_FILE:
           counter = counter % mParameters.mFixedCount;
           path = new Path(mFixedBasePath, Long.toString(counter));
@@ -695,6 +784,7 @@ public class StressMasterBench extends AbstractStressBench<MasterBenchTaskResult
         default:
           throw new IllegalStateException("Unknown operation: " + mParameters.mOperation);
       }
+      return objects;
     }
   }
 }
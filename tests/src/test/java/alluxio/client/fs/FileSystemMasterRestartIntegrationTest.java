@@ -238,6 +238,7 @@ public class FileSystemMasterRestartIntegrationTest extends BaseIntegrationTest
         .thenReturn(Boolean.TRUE);
 
     UnderFileSystem mockUfs = Mockito.mock(UnderFileSystem.class);
+    Mockito.when(mockUfs.listStatusIterator(ArgumentMatchers.anyString())).thenCallRealMethod();
     UfsDirectoryStatus ufsStatus = new
         UfsDirectoryStatus("test", "owner", "group", (short) 511);
     Mockito.when(mockUfsFactory.create(ArgumentMatchers.eq(ufsBase), ArgumentMatchers.any()))
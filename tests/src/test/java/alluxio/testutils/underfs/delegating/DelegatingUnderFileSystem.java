@@ -34,6 +34,7 @@ import alluxio.underfs.options.OpenOptions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -247,6 +248,11 @@ public class DelegatingUnderFileSystem implements UnderFileSystem {
     return mUfs.listStatus(path, options);
   }
 
+  @Override
+  public Iterator<UfsStatus> listStatusIterator(String path) throws IOException {
+    return mUfs.listStatusIterator(path);
+  }
+
   @Override
   public boolean mkdirs(String path) throws IOException {
     return mUfs.mkdirs(path);